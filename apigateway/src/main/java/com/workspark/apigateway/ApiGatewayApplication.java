@@ -3,6 +3,7 @@ package com.workspark.apigateway;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The main class for the API Gateway application.
@@ -13,6 +14,7 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 //@RefreshScope
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 public class ApigatewayApplication {
 
     /**
@@ -0,0 +1,104 @@
+package com.workspark.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT settings used by the gateway to verify access tokens issued by the authentication service.
+ * The secret is shared with the authentication service (same {@code jwt.secret} key) through the config service.
+ */
+@Component
+@ConfigurationProperties(prefix = "jwt")
+@Data
+public class JwtConfig {
+
+    /**
+     * Secret currently used by the authentication service to sign tokens.
+     */
+    private String secret;
+
+    /**
+     * Secrets that were in use before the last rotation. Tokens signed with them are accepted until they expire.
+     */
+    private List<String> previousSecrets = new ArrayList<>();
+
+    /**
+     * How the gateway validates access tokens.
+     */
+    private ValidationMode validationMode = ValidationMode.LOCAL;
+
+    /**
+     * Base url of the authentication service, used for remote validation.
+     */
+    private String validationServiceUrl = "lb://authenticationservice";
+
+    /**
+     * Connection pool and timeouts of the client used for remote validation.
+     */
+    private ValidationClient validationClient = new ValidationClient();
+
+    /**
+     * Cache of validation results, keyed by token digest.
+     */
+    private Cache cache = new Cache();
+
+    public enum ValidationMode {
+        /**
+         * Verify the signature and claims in the gateway.
+         */
+        LOCAL,
+        /**
+         * Verify in the gateway and fall back to the authentication service when no known key matches the signature.
+         */
+        LOCAL_WITH_REMOTE_FALLBACK,
+        /**
+         * Call the authentication service for every token.
+         */
+        REMOTE
+    }
+
+    @Data
+    public static class ValidationClient {
+
+        private int maxConnections = 100;
+
+        /**
+         * Maximum number of requests waiting for a pooled connection before new ones are rejected.
+         */
+        private int pendingAcquireMaxCount = 500;
+
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Idle connections are kept alive for reuse up to this time.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        private Duration connectTimeout = Duration.ofSeconds(1);
+
+        private Duration responseTimeout = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached validation results before entries get evicted.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * How long a rejected token stays rejected without being validated again.
+         */
+        private Duration negativeTtl = Duration.ofSeconds(10);
+    }
+}
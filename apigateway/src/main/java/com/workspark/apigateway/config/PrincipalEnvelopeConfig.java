@@ -0,0 +1,28 @@
+package com.workspark.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the signed principal envelope forwarded to the services in the {@code X-Principal} header.
+ * The secret is shared with the services (same {@code workspark.principal-envelope.secret} key) through the
+ * config service. Without a secret no envelope is sent and the services look users up in Redis.
+ */
+@Component
+@ConfigurationProperties(prefix = "workspark.principal-envelope")
+@Data
+public class PrincipalEnvelopeConfig {
+
+    /**
+     * Secret used to sign envelopes, at least 32 bytes.
+     */
+    private String secret;
+
+    /**
+     * How long an envelope is accepted after it has been signed, capped by the token expiration.
+     */
+    private Duration maxAge = Duration.ofSeconds(60);
+}
@@ -0,0 +1,23 @@
+package com.workspark.apigateway.config;
+
+import org.springframework.boot.actuate.data.redis.RedisReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+
+/**
+ * Reports the health of Redis only when the gateway uses it, that is when the session check or the token
+ * revocation check is enabled. It replaces the auto-configured indicator, whose
+ * {@code management.health.redis.enabled} switch cannot follow two properties.
+ */
+@Configuration
+@ConditionalOnExpression("${workspark.session-check.enabled:false} or ${workspark.token-revocation.enabled:false}")
+public class RedisHealthConfig {
+
+    @Bean
+    public ReactiveHealthIndicator redisHealthIndicator(ReactiveRedisConnectionFactory redisConnectionFactory) {
+        return new RedisReactiveHealthIndicator(redisConnectionFactory);
+    }
+}
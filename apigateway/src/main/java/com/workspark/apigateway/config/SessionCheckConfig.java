@@ -0,0 +1,45 @@
+package com.workspark.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the optional session check: once a token is verified, the gateway checks in Redis that the session
+ * of its {@code uuid} still exists, so that a logged out user is rejected before the token expires.
+ */
+@Component
+@ConfigurationProperties(prefix = "workspark.session-check")
+@Data
+public class SessionCheckConfig {
+
+    /**
+     * Check the session of every authenticated request in Redis.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Prefix of the Redis key of a session, followed by the {@code uuid} claim. Sessions are the auth users
+     * saved by the authentication service.
+     */
+    private String keyPrefix = "auth_user:";
+
+    /**
+     * Maximum time to wait for Redis.
+     */
+    private Duration timeout = Duration.ofMillis(200);
+
+    /**
+     * Maximum number of checks waiting for Redis. Checks over the limit are not sent and resolved with
+     * {@link #failOpen}, so that a slow Redis cannot accumulate unbounded work in the gateway.
+     */
+    private int maxPendingChecks = 1024;
+
+    /**
+     * Let the request through when the session cannot be checked (Redis unavailable, slow or saturated).
+     * The token itself has been verified in any case.
+     */
+    private boolean failOpen = true;
+}
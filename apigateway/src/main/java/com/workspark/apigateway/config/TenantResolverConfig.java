@@ -0,0 +1,28 @@
+package com.workspark.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the host to tenant table: it is reloaded when a tenant configuration change is published, and
+ * periodically in case a change was missed.
+ */
+@Component
+@ConfigurationProperties(prefix = "tenant-resolver")
+@Data
+public class TenantResolverConfig {
+
+    /**
+     * Redis channel on which the tenant configuration changes are published, the same as
+     * {@code workspark.tenant-registry.channel} in the services.
+     */
+    private String channel = "tenant-config";
+
+    /**
+     * How often the table is reloaded when no change is published.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+}
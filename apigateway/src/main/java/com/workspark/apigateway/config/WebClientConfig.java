@@ -1,9 +1,15 @@
 package com.workspark.apigateway.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * Configuration class for setting up the WebClient bean.
@@ -26,4 +32,56 @@ public class WebClientConfig {
     public WebClient.Builder loadBalancedWebClientBuilder() {
         return WebClient.builder();
     }
+
+    /**
+     * Creates the WebClient used to validate tokens against the authentication service.
+     * It is built once, on a dedicated connection pool, and decodes responses with the application ObjectMapper.
+     * Pool occupancy ({@code reactor.netty.connection.provider.*}) and per-call latency
+     * ({@code reactor.netty.http.client.*}) are published to Micrometer.
+     *
+     * @param loadBalancedWebClientBuilder builder resolving {@code lb://} urls
+     * @param jwtConfig                    jwt settings holding the url, pool size and timeouts
+     * @param objectMapper                 application ObjectMapper
+     *
+     * @return WebClient for the authentication service
+     */
+    @Bean
+    public WebClient authServiceWebClient(WebClient.Builder loadBalancedWebClientBuilder, JwtConfig jwtConfig,
+                                          ObjectMapper objectMapper) {
+        return loadBalancedWebClientBuilder.clone()
+                .baseUrl(jwtConfig.getValidationServiceUrl())
+                .clientConnector(new ReactorClientHttpConnector(authServiceHttpClient(jwtConfig.getValidationClient())))
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper)))
+                .build();
+    }
+
+    /**
+     * Builds the HTTP client of the authentication service on its own connection pool, with the pool limits and
+     * timeouts of {@code jwt.validation-client}.
+     *
+     * @param clientConfig pool size and timeouts
+     *
+     * @return HttpClient for the authentication service
+     */
+    static HttpClient authServiceHttpClient(JwtConfig.ValidationClient clientConfig) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("authservice")
+                .maxConnections(clientConfig.getMaxConnections())
+                .pendingAcquireMaxCount(clientConfig.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(clientConfig.getPendingAcquireTimeout())
+                .maxIdleTime(clientConfig.getMaxIdleTime())
+                .maxLifeTime(clientConfig.getMaxLifeTime())
+                .metrics(true)
+                .build();
+
+        return HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) clientConfig.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(clientConfig.getResponseTimeout())
+                // tag by path only: the query string carries the token
+                .metrics(true, uri -> {
+                    int queryStart = uri.indexOf('?');
+                    return queryStart < 0 ? uri : uri.substring(0, queryStart);
+                });
+    }
 }
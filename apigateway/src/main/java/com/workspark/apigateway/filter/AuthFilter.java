@@ -3,27 +3,47 @@ package com.workspark.apigateway.filter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.workspark.apigateway.config.AppConfig;
+import com.workspark.apigateway.model.TokenClaims;
 import com.workspark.apigateway.service.AuthService;
+import com.workspark.apigateway.service.PrincipalEnvelopeSigner;
+import com.workspark.apigateway.service.SessionStateService;
+import com.workspark.apigateway.service.TokenRevocationList;
 import com.workspark.models.response.BaseRes;
+import com.workspark.observability.tracing.Span;
+import com.workspark.observability.tracing.TraceContext;
+import com.workspark.observability.tracing.Tracer;
+import com.workspark.securitycore.WhitelistPathMatcher;
+import com.workspark.securitycore.principal.PrincipalEnvelopeCodec;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
 import java.util.Objects;
 
 /**
  * AuthFilter is a GatewayFilter implementation that handles authentication for incoming requests.
- * It checks for whitelisted APIs, validates JWT tokens, and adds user information to the request headers.
- * If authentication fails, it returns an unauthorized response.
+ * It checks for whitelisted APIs, validates JWT tokens, and adds user information to the request headers:
+ * the Redis user id in {@code X-UserId} and, when the claims were verified in the gateway, a signed principal
+ * envelope in {@code X-Principal} that lets the services authenticate the user without reading Redis.
+ * Envelopes sent by clients are always removed. If authentication fails, it returns an unauthorized response.
+ * Token validation is recorded as the {@code gateway.auth} span; its context is passed to the
+ * {@link AuthService} in the Reactor context. When {@code workspark.session-check.enabled} is set, the session of
+ * the user must also still exist in Redis ({@link SessionStateService}). When
+ * {@code workspark.token-revocation.enabled} is set, revoked sessions and tokens are rejected
+ * ({@link TokenRevocationList}).
  */
 @Order(2)
 @Slf4j
@@ -32,7 +52,24 @@ import java.util.Objects;
 public class AuthFilter implements GlobalFilter {
 
     private final AuthService authService;
+    private final PrincipalEnvelopeSigner principalEnvelopeSigner;
+    private final SessionStateService sessionStateService;
+    private final TokenRevocationList tokenRevocationList;
     private final AppConfig appConfig;
+    private final ObjectMapper objectMapper;
+    private final Tracer tracer;
+
+    private volatile WhitelistPathMatcher whitelistPathMatcher;
+
+    /**
+     * Compiles the whitelisted paths at startup and again once refreshed {@code app.*} properties have been bound.
+     */
+    @PostConstruct
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void compileWhitelistedPaths() {
+        whitelistPathMatcher = WhitelistPathMatcher.compile(appConfig.getWhitelistedPaths());
+        log.info("Compiled whitelisted paths: {}", whitelistPathMatcher.getPatterns());
+    }
 
     /**
      * Processes the request through the filter chain.
@@ -45,28 +82,23 @@ public class AuthFilter implements GlobalFilter {
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         String path = exchange.getRequest().getURI().getPath();
-        log.info("Processing request for path: {}", path);
+        log.debug("Processing request for path: {}", path);
 
 
         // Skipping for public paths
         if (isWhitelistedApi(exchange.getRequest())) {
-            log.info("Whitelisted API detected. Skipping authentication for path: {}", path);
-            return chain.filter(exchange);
+            log.debug("Whitelisted API detected. Skipping authentication for path: {}", path);
+            return chain.filter(withoutPrincipalEnvelope(exchange));
         }
 
         // Extract JWT token
-        log.info("Extracting JWT token from request for path: {}", path);
         String token = extractJwtFromRequest(exchange.getRequest());
-        log.info("token : {}", token);
 
         if (token == null) {
             log.warn("Missing or invalid JWT token for path: {}", path);
             return unauthorizedResponse(exchange, "Missing or invalid JWT token");
         }
 
-        // Validate token and process asynchronously
-        log.info("Validating tenantName");
-
         String tenantName;
         try {
             tenantName = Objects.requireNonNull(exchange.getRequest().getHeaders().get("X-Tenant")).getFirst();
@@ -76,22 +108,27 @@ public class AuthFilter implements GlobalFilter {
             return unauthorizedResponse(exchange, "Missing required header X-Tenant");
         }
 
-        log.info("tenant name : {}", tenantName);
+        log.debug("tenant name : {}", tenantName);
 
+        // Validate token and process asynchronously
+        Span span = tracer.startSpan("gateway.auth", exchange.getAttribute(LogFilter.TRACE_CONTEXT_ATTRIBUTE));
         return authService.validateToken(token, tenantName)
+                .doOnError(span::error)
+                .doFinally(signal -> span.end())
+                .contextWrite(Context.of(TraceContext.class, span.context()))
                 .flatMap(response -> {
                     if (!response.isSuccess()) {
                         log.warn("Invalid token for user");
                         return unauthorizedResponse(exchange, "Invalid token");
                     }
-                    String redisAuthUserId = response.getItem();
-                    // Add user information to headers
-                    ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                            .header("X-UserId", redisAuthUserId)
-                            .build();
-                    log.info("Token valid. User ID: {}. Forwarding request.", redisAuthUserId);
-
-                    return chain.filter(exchange.mutate().request(mutatedRequest).build());
+                    TokenClaims claims = response.getItem();
+                    if (!tokenRevocationList.isEnabled()) {
+                        return checkSession(exchange, chain, claims);
+                    }
+                    return tokenRevocationList.isRevoked(claims.getUuid(), claims.getJti())
+                            .flatMap(revoked -> revoked
+                                    ? unauthorizedResponse(exchange, "Token revoked")
+                                    : checkSession(exchange, chain, claims));
                 })
                 .onErrorResume(e -> {
                     log.error("Error during authentication for path: {}. Cause: {}", path, e.getMessage(), e);
@@ -99,6 +136,53 @@ public class AuthFilter implements GlobalFilter {
                 });
     }
 
+    /**
+     * Forwards an authenticated request once its session has been checked, if sessions are checked.
+     *
+     * @param exchange the current server exchange
+     * @param chain    provides a way to delegate to the next filter
+     * @param claims   the verified claims of the token
+     *
+     * @return Mono<Void> to indicate when request processing is complete
+     */
+    private Mono<Void> checkSession(ServerWebExchange exchange, GatewayFilterChain chain, TokenClaims claims) {
+        if (!sessionStateService.isEnabled()) {
+            return forwardAuthenticated(exchange, chain, claims);
+        }
+        return sessionStateService.isSessionActive(claims.getUuid())
+                .flatMap(active -> active
+                        ? forwardAuthenticated(exchange, chain, claims)
+                        : unauthorizedResponse(exchange, "Session expired"));
+    }
+
+    /**
+     * Forwards an authenticated request with the user headers.
+     *
+     * @param exchange the current server exchange
+     * @param chain    provides a way to delegate to the next filter
+     * @param claims   the verified claims of the token
+     *
+     * @return Mono<Void> to indicate when request processing is complete
+     */
+    private Mono<Void> forwardAuthenticated(ServerWebExchange exchange, GatewayFilterChain chain, TokenClaims claims) {
+        String principalEnvelope = principalEnvelopeSigner.sign(claims);
+        // Add user information to headers
+        ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.set("X-UserId", claims.getUuid());
+                    if (principalEnvelope != null) {
+                        headers.set(PrincipalEnvelopeCodec.HEADER, principalEnvelope);
+                    } else {
+                        headers.remove(PrincipalEnvelopeCodec.HEADER);
+                    }
+                })
+                .build();
+        exchange.getAttributes().put(LogFilter.USER_ID_ATTRIBUTE, claims.getUuid());
+        log.debug("Token valid. User ID: {}. Forwarding request.", claims.getUuid());
+
+        return chain.filter(exchange.mutate().request(mutatedRequest).build());
+    }
+
     /**
      * Extracts the JWT token from the Authorization header of the request.
      *
@@ -114,6 +198,23 @@ public class AuthFilter implements GlobalFilter {
         return null;
     }
 
+    /**
+     * Removes a principal envelope sent by the client: only the gateway may set it.
+     *
+     * @param exchange ServerWebExchange object containing the request details
+     *
+     * @return the exchange without the {@code X-Principal} header
+     */
+    private ServerWebExchange withoutPrincipalEnvelope(ServerWebExchange exchange) {
+        if (!exchange.getRequest().getHeaders().containsKey(PrincipalEnvelopeCodec.HEADER)) {
+            return exchange;
+        }
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> headers.remove(PrincipalEnvelopeCodec.HEADER))
+                .build();
+        return exchange.mutate().request(request).build();
+    }
+
     /**
      * Creates an unauthorized response with the provided error message.
      *
@@ -138,13 +239,12 @@ public class AuthFilter implements GlobalFilter {
                                 .bufferFactory()
                                 .wrap(serializeToJson(response).getBytes()))
                 )
-                .doOnTerminate(() -> log.info("Completed unauthorized response"));
+                .doOnTerminate(() -> log.debug("Completed unauthorized response"));
     }
 
 
     private String serializeToJson(BaseRes<String> response) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
             return objectMapper.writeValueAsString(response);
         } catch (JsonProcessingException e) {
             log.error("Error serializing error response to JSON", e);
@@ -160,11 +260,7 @@ public class AuthFilter implements GlobalFilter {
      *  @return boolean indicating if the request is whitelisted
      */
     private boolean isWhitelistedApi(ServerHttpRequest request) {
-        log.info("whitelisted apis: {}", appConfig.getWhitelistedPaths());
-        log.info("Checking if the request is whitelisted: {}", request.getURI().getPath());
-        String requestUri = request.getURI().getPath();
-        AntPathMatcher matcher = new AntPathMatcher();
-        return appConfig.getWhitelistedPaths().stream().anyMatch(pattern -> matcher.match(pattern, requestUri));
+        return whitelistPathMatcher.matches(request.getURI().getPath());
     }
 
 }
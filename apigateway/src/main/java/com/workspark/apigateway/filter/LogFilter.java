@@ -1,10 +1,19 @@
 package com.workspark.apigateway.filter;
 
+import com.workspark.observability.accesslog.AccessLogEvent;
+import com.workspark.observability.accesslog.AccessLogWriter;
+import com.workspark.observability.tracing.Span;
+import com.workspark.observability.tracing.TraceContext;
+import com.workspark.observability.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.annotation.Order;
-import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -12,14 +21,51 @@ import reactor.core.publisher.Mono;
 import java.util.UUID;
 
 /**
- * LogFilter is a global filter that logs request and response details.
+ * LogFilter is a global filter that starts the trace of a request and writes one access log line per request.
  * It implements the GlobalFilter interface from Spring Cloud Gateway.
+ *
+ * <p>Every request starts a new trace: the request id and the {@code traceparent} of the gateway span are
+ * forwarded downstream in {@code X-RequestId} and {@code traceparent}, replacing any client supplied value, and the
+ * trace context is kept in the {@value #TRACE_CONTEXT_ATTRIBUTE} exchange attribute for the stages of the other
+ * filters. The gateway span is named after the route and ends with the response.</p>
+ *
+ * <p>The line is queued to the asynchronous {@link AccessLogWriter} once the response is complete, failed or
+ * cancelled, with the route, status and duration. The tenant and user are read from exchange attributes set by
+ * {@link TenantResolverFilter} and {@link AuthFilter}.</p>
  */
 @Order(0)
 @Slf4j
 @Component
 public class LogFilter implements GlobalFilter {
 
+    /**
+     * Exchange attribute holding the request id.
+     */
+    public static final String REQUEST_ID_ATTRIBUTE = "X-RequestId";
+
+    /**
+     * Exchange attribute holding the resolved tenant.
+     */
+    public static final String TENANT_ATTRIBUTE = "X-Tenant";
+
+    /**
+     * Exchange attribute holding the authenticated Redis user id.
+     */
+    public static final String USER_ID_ATTRIBUTE = "X-UserId";
+
+    /**
+     * Exchange attribute holding the {@link TraceContext} of the gateway span.
+     */
+    public static final String TRACE_CONTEXT_ATTRIBUTE = TraceContext.class.getName();
+
+    private final AccessLogWriter accessLogWriter;
+    private final Tracer tracer;
+
+    public LogFilter(ObjectProvider<AccessLogWriter> accessLogWriter, Tracer tracer) {
+        this.accessLogWriter = accessLogWriter.getIfAvailable();
+        this.tracer = tracer;
+    }
+
     /**
      * Filters incoming requests and logs request and response details.
      *
@@ -30,28 +76,51 @@ public class LogFilter implements GlobalFilter {
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         // Generate a unique request ID
         String requestId = UUID.randomUUID().toString();
-        exchange.getAttributes().put("X-RequestId", requestId);
+        Span span = tracer.startTrace("gateway", requestId);
+        TraceContext traceContext = span.context();
+        exchange.getAttributes().put(REQUEST_ID_ATTRIBUTE, requestId);
+        exchange.getAttributes().put(TRACE_CONTEXT_ATTRIBUTE, traceContext);
 
-        // Log request details
-        logRequestDetails(exchange, requestId);
+        ServerHttpRequest tracedRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.set(TraceContext.REQUEST_ID_HEADER, requestId);
+                    headers.set(TraceContext.TRACEPARENT_HEADER, traceContext.traceparent());
+                })
+                .build();
+        ServerWebExchange tracedExchange = exchange.mutate().request(tracedRequest).build();
+        long startedAt = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
 
-        // Proceed with the filter chain while logging the response
-        return chain.filter(exchange).doOnSuccess((r) -> logResponseDetails(exchange, requestId));
+        // Proceed with the filter chain and log once the response is complete
+        return chain.filter(tracedExchange)
+                .doOnError(span::error)
+                .doFinally(signal -> {
+                    long durationNanos = System.nanoTime() - startNanos;
+                    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                    span.name(route != null ? "gateway " + route.getId() : "gateway").end();
+                    if (accessLogWriter != null) {
+                        logRequest(exchange, route, requestId, startedAt, durationNanos);
+                    }
+                });
     }
 
-    private void logRequestDetails(ServerWebExchange exchange, String requestId) {
-        String method = exchange.getRequest().getMethod().toString();
-        String path = exchange.getRequest().getURI().getPath();
-        String queryParams = exchange.getRequest().getQueryParams().toString();
-
-        log.info("Start Request - Request ID: {}", requestId);
-        log.info("Request Method: {}, Request Path: {}, Query Params: {}", method, path, queryParams);
-    }
+    private void logRequest(ServerWebExchange exchange, Route route, String requestId, long startedAt,
+                            long durationNanos) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
 
-    private void logResponseDetails(ServerWebExchange exchange, String requestId) {
-        ServerHttpResponse response = exchange.getResponse();
-        log.info("Response Status: {}, Request ID: {}", response.getStatusCode(), requestId);
-        log.info("End Request - Request ID: {}", requestId);
+        accessLogWriter.submit(AccessLogEvent.builder()
+                .startedAt(startedAt)
+                .requestId(requestId)
+                .tenant(exchange.getAttribute(TENANT_ATTRIBUTE))
+                .userId(exchange.getAttribute(USER_ID_ATTRIBUTE))
+                .method(request.getMethod().name())
+                .route(route != null ? route.getId() : null)
+                .path(request.getURI().getRawPath())
+                .query(request.getURI().getRawQuery())
+                .status(status != null ? status.value() : 0)
+                .durationNanos(durationNanos)
+                .build());
     }
 
 }
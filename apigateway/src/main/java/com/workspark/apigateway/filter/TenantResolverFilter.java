@@ -2,6 +2,7 @@ package com.workspark.apigateway.filter;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.apigateway.service.TenantDomainRegistry;
 import com.workspark.models.response.BaseRes;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,8 +22,9 @@ import reactor.core.publisher.Mono;
  *
  * <p>This filter:
  * <ul>
- *   <li>Resolves domain names based on the request path.</li>
- *   <li>Injects resolved domain or user information into the request headers.</li>
+ *   <li>Resolves the tenant from the Host header using the {@link TenantDomainRegistry}.</li>
+ *   <li>Rejects hosts not mapped to an active tenant before any downstream service is called.</li>
+ *   <li>Injects the resolved tenant into the request headers, replacing any client supplied value.</li>
  * </ul>
  */
 @Order(1)
@@ -31,6 +33,9 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class TenantResolverFilter implements GlobalFilter  {
 
+    private final ObjectMapper objectMapper;
+    private final TenantDomainRegistry tenantDomainRegistry;
+
     /**
      * Filters incoming requests, resolves domains, and injects user information.
      *
@@ -41,14 +46,15 @@ public class TenantResolverFilter implements GlobalFilter  {
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
             String tenant = resolveTenant(exchange.getRequest());
-            log.info("Resolved tenant: {}", tenant);
+            log.debug("Resolved tenant: {}", tenant);
 
             if (tenant == null) {
                 return unauthorizedResponse(exchange);
             }
 
+            exchange.getAttributes().put(LogFilter.TENANT_ATTRIBUTE, tenant);
             ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                    .header("X-Tenant", tenant)
+                    .headers(headers -> headers.set("X-Tenant", tenant))
                     .build();
 
             return chain.filter(exchange.mutate().request(mutatedRequest).build());
@@ -56,24 +62,24 @@ public class TenantResolverFilter implements GlobalFilter  {
 
 
     /**
-     * Resolves the tenant from the request path or headers.
+     * Resolves the tenant from the Host header.
      *
      * @param request the incoming {@link ServerRequest}
-     * @return the resolved domain name
+     * @return the resolved tenant name, or null if the host is missing or unknown
      */
     private String resolveTenant(ServerHttpRequest request) {
-        // Extract the 'Host' header
         String host = request.getHeaders().getFirst(HttpHeaders.HOST);
-        log.info("tenant: {}", host);
 
-        if (host != null && !host.isEmpty()) {
-            String tenant = host.split(":")[0]; // ignoring port if present
-            tenant = tenant.split("\\.")[0]; // get subdomain value
-            return tenant;
+        if (host == null || host.isEmpty()) {
+            log.warn("Host header is missing in the request");
+            return null;
         }
 
-        log.warn("Host header is missing in the request");
-        return null;
+        String tenant = tenantDomainRegistry.resolve(host);
+        if (tenant == null) {
+            log.warn("No active tenant mapped to host: {}", host);
+        }
+        return tenant;
     }
 
 
@@ -99,13 +105,12 @@ public class TenantResolverFilter implements GlobalFilter  {
                                 .bufferFactory()
                                 .wrap(serializeToJson(response).getBytes()))
                 )
-                .doOnTerminate(() -> log.info("Completed unauthorized response"));
+                .doOnTerminate(() -> log.debug("Completed unauthorized response"));
     }
 
 
     private String serializeToJson(BaseRes<String> response) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
             return objectMapper.writeValueAsString(response);
         } catch (JsonProcessingException e) {
             log.error("Error serializing error response to JSON", e);
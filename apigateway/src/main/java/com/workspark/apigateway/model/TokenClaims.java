@@ -0,0 +1,47 @@
+package com.workspark.apigateway.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of the claims carried by a verified access token.
+ */
+@Value
+@Builder
+public class TokenClaims implements Serializable {
+
+    /**
+     * Key of the authenticated user in Redis ({@code uuid} claim).
+     */
+    String uuid;
+
+    /**
+     * Id of the user in the user service ({@code id} claim), null when the token was validated by the
+     * authentication service or issued before tokens carried one.
+     */
+    Long id;
+
+    /**
+     * Unique id of the token ({@code jti} claim), null when the token was validated by the authentication service
+     * or issued before tokens carried one.
+     */
+    String jti;
+
+    /**
+     * Tenant the token was issued for ({@code tenant} claim).
+     */
+    String tenant;
+
+    String email;
+
+    /**
+     * Roles of the user, null when the token was validated by the authentication service.
+     */
+    List<String> roles;
+
+    Instant expiresAt;
+}
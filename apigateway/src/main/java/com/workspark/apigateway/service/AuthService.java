@@ -1,15 +1,23 @@
 package com.workspark.apigateway.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.apigateway.config.JwtConfig;
+import com.workspark.apigateway.model.TokenClaims;
 import com.workspark.models.response.BaseRes;
+import com.workspark.observability.tracing.Span;
+import com.workspark.observability.tracing.TraceContext;
+import com.workspark.observability.tracing.Tracer;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.util.Objects;
+
 /**
  * Service class for handling authentication-related operations.
  * This class is responsible for validating tokens and retrieving user information.
@@ -19,43 +27,143 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class AuthService {
 
-    private final WebClient.Builder webClienbuilder;
+    private static final String VALIDATE_TOKEN_PATH = "/auth/public/validate-token";
+    private static final ParameterizedTypeReference<BaseRes<String>> REMOTE_VALIDATION_RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient authServiceWebClient;
+    private final JwtConfig jwtConfig;
+    private final JwtVerifier jwtVerifier;
+    private final TokenValidationCache tokenValidationCache;
+    private final Tracer tracer;
 
     /**
-     * Validates the provided token by making a request to the authentication service.
+     * Validates the provided token, either in the gateway or by making a request to the authentication service,
+     * depending on the configured {@link JwtConfig.ValidationMode}. Results are served from the
+     * {@link TokenValidationCache} while the token has not expired.
      *
-     * @param token The JWT token to be validated
+     * @param token      The JWT token to be validated
+     * @param tenantName The tenant resolved for the request
      *
-     * @return A Mono containing the AuthResponse object with validation status and user information
+     * @return A Mono containing the BaseRes object with validation status and the verified claims
+     */
+    public Mono<BaseRes<TokenClaims>> validateToken(String token, String tenantName) {
+        String cacheKey = tokenValidationCache.key(token, tenantName);
+        BaseRes<TokenClaims> cachedResponse = tokenValidationCache.get(cacheKey);
+        if (cachedResponse != null) {
+            return Mono.just(cachedResponse);
+        }
+
+        return validateUncachedToken(token, tenantName)
+                .doOnNext(response -> tokenValidationCache.put(cacheKey, token, response));
+    }
+
+    private Mono<BaseRes<TokenClaims>> validateUncachedToken(String token, String tenantName) {
+        return switch (jwtConfig.getValidationMode()) {
+            case LOCAL -> validateTokenLocally(token, tenantName);
+            case LOCAL_WITH_REMOTE_FALLBACK -> validateTokenLocally(token, tenantName)
+                    .onErrorResume(e -> e instanceof SignatureException || e instanceof IllegalStateException,
+                            e -> {
+                                log.debug("Local token validation not possible, falling back to authentication service: {}", e.getMessage());
+                                return validateTokenRemotely(token, tenantName);
+                            });
+            case REMOTE -> validateTokenRemotely(token, tenantName);
+        };
+    }
+
+    /**
+     * Validates the token in the gateway. The {@code uuid} and {@code tenant} claims are taken
+     * from the verified token; a token without a tenant, or issued for another tenant, is rejected.
+     *
+     * @param token      The JWT token to be validated
+     * @param tenantName The tenant resolved for the request
+     *
+     * @return A Mono containing the BaseRes object with validation status and the verified claims
+     */
+    private Mono<BaseRes<TokenClaims>> validateTokenLocally(String token, String tenantName) {
+        return Mono.fromCallable(() -> jwtVerifier.verify(token))
+                .map(claims -> toValidationResponse(claims, tenantName))
+                .onErrorResume(e -> e instanceof JwtException && !(e instanceof SignatureException && fallbackEnabled()),
+                        e -> Mono.just(invalidTokenResponse(e.getMessage())));
+    }
+
+    private BaseRes<TokenClaims> toValidationResponse(TokenClaims claims, String tenantName) {
+        if (claims.getTenant() == null) {
+            log.warn("Token without a tenant used for tenant {}", tenantName);
+            return invalidTokenResponse("Token was not issued for a tenant");
+        }
+        if (!Objects.equals(claims.getTenant(), tenantName)) {
+            log.warn("Token issued for tenant {} used for tenant {}", claims.getTenant(), tenantName);
+            return invalidTokenResponse("Token was not issued for this tenant");
+        }
+        return BaseRes.<TokenClaims>builder()
+                .item(claims)
+                .success(true)
+                .build();
+    }
+
+    /**
+     * Converts the answer of the authentication service, which only carries the Redis user id. The claims have
+     * no roles, so no principal envelope is forwarded and the services look the user up.
      */
-    public Mono<BaseRes<String>> validateToken(String token, String tenantName) {
+    private BaseRes<TokenClaims> toValidationResponse(BaseRes<String> response, String tenantName) {
+        if (response == null || !response.isSuccess()) {
+            return invalidTokenResponse(response != null ? response.getError() : "Empty validation response");
+        }
+        return BaseRes.<TokenClaims>builder()
+                .item(TokenClaims.builder().uuid(response.getItem()).tenant(tenantName).build())
+                .success(true)
+                .build();
+    }
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        WebClient webClient = webClienbuilder
-                .baseUrl("lb://authenticationservice")
+    private BaseRes<TokenClaims> invalidTokenResponse(String error) {
+        return BaseRes.<TokenClaims>builder()
+                .success(false)
+                .error(error)
                 .build();
+    }
+
+    private boolean fallbackEnabled() {
+        return jwtConfig.getValidationMode() == JwtConfig.ValidationMode.LOCAL_WITH_REMOTE_FALLBACK;
+    }
+
+    /**
+     * Validates the provided token by making a request to the authentication service. The call is recorded as
+     * the {@code gateway.validate-token} span, nested in the {@link TraceContext} of the Reactor context if any,
+     * and the trace is propagated to the authentication service.
+     *
+     * @param token The JWT token to be validated
+     *
+     * @return A Mono containing the AuthResponse object with validation status and user information
+     */
+    private Mono<BaseRes<TokenClaims>> validateTokenRemotely(String token, String tenantName) {
+        log.debug("Validating token at url: {}", VALIDATE_TOKEN_PATH);
 
-        String url = "/auth/public/validate-token";
-        log.info("Validating token at url: {}", url);
-
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path(url)
-                        .queryParam("token", token)
-                        .build())
-                .header("X-Tenant", tenantName)
-                .header("X-InternalServiceSkipAuth", "true")
-                .retrieve()
-                .bodyToMono(String.class)
-                .doOnNext(body -> log.info("Raw response body: {}", body))
-                .map(body -> {
-                    try {
-                        return objectMapper.readValue(body, new TypeReference<BaseRes<String>>() {});
-                    } catch (JsonProcessingException e) {
-                        throw new RuntimeException(e);
-                    }
-                })
-                .onErrorResume(e -> Mono.error(new RuntimeException("Failed to validate token: " + e.getMessage())));
+        return Mono.deferContextual(reactorContext -> {
+            Span span = tracer.startSpan("gateway.validate-token", reactorContext.getOrDefault(TraceContext.class, null));
+            TraceContext traceContext = span.context();
+            return authServiceWebClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path(VALIDATE_TOKEN_PATH)
+                            .queryParam("token", token)
+                            .build())
+                    .header("X-Tenant", tenantName)
+                    .header("X-InternalServiceSkipAuth", "true")
+                    .header(TraceContext.TRACEPARENT_HEADER, traceContext.traceparent())
+                    .headers(headers -> {
+                        if (traceContext.requestId() != null) {
+                            headers.set(TraceContext.REQUEST_ID_HEADER, traceContext.requestId());
+                        }
+                    })
+                    .retrieve()
+                    .bodyToMono(REMOTE_VALIDATION_RESPONSE_TYPE)
+                    .doOnError(span::error)
+                    .doFinally(signal -> span.end())
+                    .map(response -> toValidationResponse(response, tenantName))
+                    // The authentication service answered and rejected the token: cacheable negative result
+                    .onErrorResume(WebClientResponseException.class, e -> Mono.just(invalidTokenResponse(e.getStatusText())))
+                    .onErrorResume(e -> Mono.error(new RuntimeException("Failed to validate token: " + e.getMessage())));
+        });
     }
 
 }
@@ -0,0 +1,127 @@
+package com.workspark.apigateway.service;
+
+import com.workspark.apigateway.config.JwtConfig;
+import com.workspark.apigateway.model.TokenClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.impl.TextCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifies access tokens signed by the authentication service without leaving the gateway.
+ *
+ * <p>One parser is built per configured secret (current secret first, then the previous ones) so that
+ * tokens issued before a key rotation stay valid until they expire. Parsers are fully configured when
+ * they are built and only read afterwards, which makes them safe to share between event-loop threads.
+ * They are rebuilt whenever the configuration is refreshed.</p>
+ */
+@Slf4j
+@Component
+public class JwtVerifier {
+
+    private static final String ACCESS_TOKEN_SUBJECT = "userAccessToken";
+
+    private final JwtConfig jwtConfig;
+    private volatile List<JwtParser> parsers;
+
+    public JwtVerifier(JwtConfig jwtConfig) {
+        this.jwtConfig = jwtConfig;
+        this.parsers = buildParsers(jwtConfig);
+    }
+
+    /**
+     * Verifies the signature, expiration and subject of an access token.
+     *
+     * @param token The JWT token to verify
+     *
+     * @return the claims of the verified token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired, not an access token
+     *                                      or not signed with any of the configured secrets
+     */
+    public TokenClaims verify(String token) {
+        List<JwtParser> currentParsers = parsers;
+        if (currentParsers.isEmpty()) {
+            throw new IllegalStateException("No jwt secret configured for local token validation");
+        }
+
+        SignatureException signatureException = null;
+        for (JwtParser parser : currentParsers) {
+            try {
+                return toTokenClaims(parser.parseClaimsJws(token).getBody());
+            } catch (SignatureException e) {
+                signatureException = e;
+            }
+        }
+        throw signatureException;
+    }
+
+    /**
+     * Checks if local verification is possible with the current configuration.
+     *
+     * @return true if at least one secret is configured
+     */
+    public boolean isConfigured() {
+        return !parsers.isEmpty();
+    }
+
+    /**
+     * Rebuilds the parsers once refreshed {@code jwt.*} properties have been bound.
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        parsers = buildParsers(jwtConfig);
+        log.info("Jwt verification keys reloaded. Active keys: {}", parsers.size());
+    }
+
+    private static List<JwtParser> buildParsers(JwtConfig jwtConfig) {
+        List<JwtParser> jwtParsers = new ArrayList<>();
+        if (StringUtils.hasText(jwtConfig.getSecret())) {
+            jwtParsers.add(buildParser(jwtConfig.getSecret()));
+        }
+        if (jwtConfig.getPreviousSecrets() != null) {
+            jwtConfig.getPreviousSecrets().stream()
+                    .filter(StringUtils::hasText)
+                    .map(JwtVerifier::buildParser)
+                    .forEach(jwtParsers::add);
+        }
+        return List.copyOf(jwtParsers);
+    }
+
+    /**
+     * Decodes the secret exactly like {@code Jwts.builder().signWith(SignatureAlgorithm.HS256, secret)} does on
+     * the authentication service, once, instead of on every parse.
+     */
+    private static JwtParser buildParser(String secret) {
+        byte[] keyBytes = TextCodec.BASE64.decode(secret);
+        return Jwts.parser()
+                .setSigningKey(new SecretKeySpec(keyBytes, SignatureAlgorithm.HS256.getJcaName()))
+                .requireSubject(ACCESS_TOKEN_SUBJECT);
+    }
+
+    private static TokenClaims toTokenClaims(Claims claims) {
+        List<String> roles = claims.get("roles") instanceof List<?> roleList
+                ? roleList.stream().map(String::valueOf).toList()
+                : List.of();
+
+        return TokenClaims.builder()
+                .uuid(claims.get("uuid", String.class))
+                .id(claims.get("id", Long.class))
+                .jti(claims.getId())
+                .tenant(claims.get("tenant", String.class))
+                .email(claims.get("email", String.class))
+                .roles(roles)
+                .expiresAt(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.workspark.apigateway.service;
+
+import com.workspark.apigateway.config.PrincipalEnvelopeConfig;
+import com.workspark.apigateway.model.TokenClaims;
+import com.workspark.securitycore.principal.PrincipalEnvelope;
+import com.workspark.securitycore.principal.PrincipalEnvelopeCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+
+/**
+ * Signs the principal envelope forwarded to the services, built from the claims of a verified access token.
+ *
+ * <p>Envelopes are signed for every request and expire after {@code workspark.principal-envelope.max-age}, or
+ * with the token if it expires first. The codec is rebuilt whenever the configuration is refreshed.</p>
+ */
+@Slf4j
+@Component
+public class PrincipalEnvelopeSigner {
+
+    private final PrincipalEnvelopeConfig principalEnvelopeConfig;
+    private volatile PrincipalEnvelopeCodec codec;
+
+    public PrincipalEnvelopeSigner(PrincipalEnvelopeConfig principalEnvelopeConfig) {
+        this.principalEnvelopeConfig = principalEnvelopeConfig;
+        this.codec = buildCodec(principalEnvelopeConfig);
+    }
+
+    /**
+     * Signs an envelope for the claims.
+     *
+     * @param claims claims of a verified access token
+     *
+     * @return the header value, or null if no secret is configured or the claims were not read from the token
+     *         (remote validation only returns the user id)
+     */
+    public String sign(TokenClaims claims) {
+        PrincipalEnvelopeCodec currentCodec = codec;
+        if (currentCodec == null || claims.getRoles() == null) {
+            return null;
+        }
+        Instant expiresAt = Instant.now().plus(principalEnvelopeConfig.getMaxAge());
+        if (claims.getExpiresAt() != null && claims.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = claims.getExpiresAt();
+        }
+        try {
+            return currentCodec.encode(new PrincipalEnvelope(claims.getUuid(), claims.getId(), claims.getEmail(), claims.getRoles(),
+                    claims.getTenant(), expiresAt));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unable to sign principal envelope, services will look the user up: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Rebuilds the codec once refreshed {@code workspark.principal-envelope.*} properties have been bound.
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        codec = buildCodec(principalEnvelopeConfig);
+        log.info("Principal envelope signing {}.", codec != null ? "enabled" : "disabled");
+    }
+
+    private static PrincipalEnvelopeCodec buildCodec(PrincipalEnvelopeConfig principalEnvelopeConfig) {
+        if (!StringUtils.hasText(principalEnvelopeConfig.getSecret())) {
+            return null;
+        }
+        try {
+            return PrincipalEnvelopeCodec.of(principalEnvelopeConfig.getSecret());
+        } catch (IllegalArgumentException e) {
+            log.error("Principal envelope signing disabled: {}", e.getMessage());
+            return null;
+        }
+    }
+}
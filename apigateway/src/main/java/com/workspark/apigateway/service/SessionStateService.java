@@ -0,0 +1,115 @@
+package com.workspark.apigateway.service;
+
+import com.workspark.apigateway.config.SessionCheckConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks in Redis whether the session of a user still exists, without blocking the event loop.
+ *
+ * <p>Checks use the reactive Lettuce client: the command is written to the shared connection and the result
+ * completes the {@link Mono} on the Lettuce I/O thread. Concurrent checks from all the requests are therefore
+ * pipelined on one connection instead of each waiting for its own round trip, and concurrent checks of the same
+ * user share one command. The number of checks waiting for Redis is bounded by
+ * {@code workspark.session-check.max-pending-checks}; checks over the limit, failed or slower than
+ * {@code timeout} are resolved with {@code fail-open}.</p>
+ *
+ * <p>Outcomes are counted as {@code workspark.gateway.session.check} tagged {@code active}, {@code inactive},
+ * {@code error} or {@code rejected}, and the pending checks are published as
+ * {@code workspark.gateway.session.check.pending}.</p>
+ */
+@Slf4j
+@Service
+public class SessionStateService {
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final SessionCheckConfig sessionCheckConfig;
+    private final Map<String, Mono<Boolean>> pendingChecks = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final Counter activeCounter;
+    private final Counter inactiveCounter;
+    private final Counter errorCounter;
+    private final Counter rejectedCounter;
+
+    public SessionStateService(ReactiveStringRedisTemplate redisTemplate, SessionCheckConfig sessionCheckConfig,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.sessionCheckConfig = sessionCheckConfig;
+        this.activeCounter = outcomeCounter(meterRegistry, "active");
+        this.inactiveCounter = outcomeCounter(meterRegistry, "inactive");
+        this.errorCounter = outcomeCounter(meterRegistry, "error");
+        this.rejectedCounter = outcomeCounter(meterRegistry, "rejected");
+        Gauge.builder("workspark.gateway.session.check.pending", pendingCount, AtomicInteger::get)
+                .description("Session checks waiting for Redis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if sessions are checked
+     */
+    public boolean isEnabled() {
+        return sessionCheckConfig.isEnabled();
+    }
+
+    /**
+     * Checks that the session of a user exists.
+     *
+     * @param uuid the Redis user id of the token
+     *
+     * @return a Mono emitting true if the session exists, or if it cannot be checked and the check fails open
+     */
+    public Mono<Boolean> isSessionActive(String uuid) {
+        if (uuid == null) {
+            return Mono.just(false);
+        }
+        return Mono.defer(() -> {
+            Mono<Boolean> pending = pendingChecks.get(uuid);
+            if (pending != null) {
+                return pending;
+            }
+            if (pendingCount.get() >= sessionCheckConfig.getMaxPendingChecks()) {
+                rejectedCounter.increment();
+                return Mono.just(sessionCheckConfig.isFailOpen());
+            }
+            return pendingChecks.computeIfAbsent(uuid, this::newCheck);
+        });
+    }
+
+    /**
+     * Creates the shared check of a user, removed from the pending checks once Redis answered.
+     */
+    private Mono<Boolean> newCheck(String uuid) {
+        pendingCount.incrementAndGet();
+        return redisTemplate.hasKey(sessionCheckConfig.getKeyPrefix() + uuid)
+                .timeout(sessionCheckConfig.getTimeout())
+                .doOnNext(active -> (active ? activeCounter : inactiveCounter).increment())
+                .onErrorResume(e -> {
+                    errorCounter.increment();
+                    log.warn("Unable to check the session of user {}: {}", uuid, e.toString());
+                    return Mono.just(sessionCheckConfig.isFailOpen());
+                })
+                .defaultIfEmpty(false)
+                .doFinally(signal -> {
+                    pendingChecks.remove(uuid);
+                    pendingCount.decrementAndGet();
+                })
+                .cache();
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("workspark.gateway.session.check")
+                .description("Session checks by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
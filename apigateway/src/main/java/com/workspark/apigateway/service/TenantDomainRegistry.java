@@ -0,0 +1,276 @@
+package com.workspark.apigateway.service;
+
+import com.workspark.apigateway.config.TenantResolverConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory host to tenant table built from the {@code tenant_domain} column of {@code workspark.tenant_config}.
+ *
+ * <p>The table is loaded at startup and reloaded, off the event loop, whenever a tenant configuration change is
+ * published on the {@code tenant-resolver.channel} Redis channel, so a new tenant is routed as soon as it is
+ * onboarded. The gateway subscribes before its first reload, so no change is missed between the two. It is also
+ * reloaded every {@code tenant-resolver.refresh-interval}, in case a change was published while the subscription
+ * was down, and after a configuration refresh. Reloads requested while one is pending are coalesced, the table is
+ * swapped atomically and a failed reload keeps the previous table. Like the services' tenant schema registry,
+ * only active tenants ({@code status = 1}) are loaded.</p>
+ *
+ * <p>A domain containing a dot is matched against the whole host, any other domain against the first label of
+ * the host ({@code mindfire} for {@code mindfire.workspark.com}). Matching is case-insensitive, ignores the port
+ * and works on the Host header in place, without regular expressions or allocations. The number of mappings is
+ * published as the {@code gateway.tenant.domains} gauge.</p>
+ */
+@Slf4j
+@Component
+public class TenantDomainRegistry {
+
+    static final String TENANT_DOMAINS_QUERY =
+            "SELECT tenant_name, tenant_domain FROM workspark.tenant_config WHERE status = 1";
+
+    private static final Duration MIN_RESUBSCRIBE_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RESUBSCRIBE_DELAY = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final TenantResolverConfig tenantResolverConfig;
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+    private volatile DomainTable domainTable = DomainTable.EMPTY;
+    private volatile Disposable subscription;
+
+    public TenantDomainRegistry(JdbcTemplate jdbcTemplate, ReactiveStringRedisTemplate redisTemplate,
+                                TenantResolverConfig tenantResolverConfig, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.tenantResolverConfig = tenantResolverConfig;
+        Gauge.builder("gateway.tenant.domains", this, TenantDomainRegistry::size)
+                .description("Number of host to tenant mappings known to the gateway")
+                .register(meterRegistry);
+        reload();
+    }
+
+    /**
+     * Resolves the tenant serving a host.
+     *
+     * @param host value of the Host header, with or without port
+     *
+     * @return the tenant name, or null if no active tenant is mapped to the host
+     */
+    public String resolve(String host) {
+        return host != null ? domainTable.resolve(host) : null;
+    }
+
+    /**
+     * @return the number of known domains
+     */
+    public int size() {
+        return domainTable.size();
+    }
+
+    /**
+     * Subscribes to the tenant configuration changes, then reloads the table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (subscription != null) {
+            return;
+        }
+        subscription = redisTemplate.listenToChannelLater(tenantResolverConfig.getChannel())
+                // subscribed: a reload now sees every tenant onboarded before a missed message
+                .flatMapMany(messages -> messages.doOnSubscribe(s -> scheduleReload()))
+                .doOnNext(message -> {
+                    log.debug("Tenant configuration of {} changed", message.getMessage());
+                    scheduleReload();
+                })
+                .doOnError(e -> log.warn("Tenant configuration subscription failed: {}", e.toString()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_RESUBSCRIBE_DELAY).maxBackoff(MAX_RESUBSCRIBE_DELAY))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable currentSubscription = subscription;
+        if (currentSubscription != null) {
+            currentSubscription.dispose();
+        }
+    }
+
+    /**
+     * Reloads the table from the database. Runs in the background every {@code tenant-resolver.refresh-interval}.
+     */
+    @Scheduled(fixedDelayString = "${tenant-resolver.refresh-interval:5m}",
+            initialDelayString = "${tenant-resolver.refresh-interval:5m}")
+    public synchronized void reload() {
+        List<TenantDomain> tenantDomains;
+        try {
+            tenantDomains = jdbcTemplate.query(TENANT_DOMAINS_QUERY,
+                    (resultSet, rowNum) -> new TenantDomain(resultSet.getString(1), resultSet.getString(2)));
+        } catch (DataAccessException e) {
+            log.error("Unable to load tenant domains, keeping the {} known mappings", size(), e);
+            return;
+        }
+
+        Map<String, String> tenantsByDomain = new LinkedHashMap<>();
+        for (TenantDomain tenantDomain : tenantDomains) {
+            if (tenantDomain.domain() == null || tenantDomain.domain().isBlank()) {
+                continue;
+            }
+            String domain = tenantDomain.domain().trim().toLowerCase(Locale.ROOT);
+            String previousTenant = tenantsByDomain.putIfAbsent(domain, tenantDomain.tenantName());
+            if (previousTenant != null) {
+                log.warn("Domain {} is mapped to tenants {} and {}, keeping {}",
+                        domain, previousTenant, tenantDomain.tenantName(), previousTenant);
+            }
+        }
+
+        DomainTable currentTable = domainTable;
+        if (!currentTable.hasSameMappings(tenantsByDomain)) {
+            domainTable = DomainTable.of(tenantsByDomain);
+            log.info("Loaded {} tenant domains", tenantsByDomain.size());
+        }
+    }
+
+    /**
+     * Reloads the table once refreshed properties have been bound, off the thread publishing the event.
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        scheduleReload();
+    }
+
+    /**
+     * Reloads the table on a blocking-friendly thread, unless a reload is already pending.
+     */
+    private void scheduleReload() {
+        if (reloadPending.compareAndSet(false, true)) {
+            Schedulers.boundedElastic().schedule(() -> {
+                reloadPending.set(false);
+                reload();
+            });
+        }
+    }
+
+    record TenantDomain(String tenantName, String domain) {
+    }
+
+    /**
+     * Immutable table of lower case domains, sorted by hash code.
+     */
+    private static final class DomainTable {
+
+        private static final DomainTable EMPTY = new DomainTable(new int[0], new String[0], new String[0]);
+
+        private final int[] hashes;
+        private final String[] domains;
+        private final String[] tenants;
+
+        private DomainTable(int[] hashes, String[] domains, String[] tenants) {
+            this.hashes = hashes;
+            this.domains = domains;
+            this.tenants = tenants;
+        }
+
+        private static DomainTable of(Map<String, String> tenantsByDomain) {
+            List<Map.Entry<String, String>> entries = new ArrayList<>(tenantsByDomain.entrySet());
+            entries.sort(Comparator.comparingInt(entry -> entry.getKey().hashCode()));
+            int[] hashes = new int[entries.size()];
+            String[] domains = new String[entries.size()];
+            String[] tenants = new String[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                domains[i] = entries.get(i).getKey();
+                tenants[i] = entries.get(i).getValue();
+                hashes[i] = domains[i].hashCode();
+            }
+            return new DomainTable(hashes, domains, tenants);
+        }
+
+        private int size() {
+            return domains.length;
+        }
+
+        private boolean hasSameMappings(Map<String, String> tenantsByDomain) {
+            if (tenantsByDomain.size() != domains.length) {
+                return false;
+            }
+            for (int i = 0; i < domains.length; i++) {
+                if (!tenants[i].equals(tenantsByDomain.get(domains[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String resolve(String host) {
+            int hostEnd = hostEnd(host);
+            String tenant = lookup(host, 0, hostEnd);
+            if (tenant != null) {
+                return tenant;
+            }
+            int labelEnd = host.indexOf('.');
+            return labelEnd > 0 && labelEnd < hostEnd ? lookup(host, 0, labelEnd) : null;
+        }
+
+        /**
+         * End of the host name, excluding the port and a trailing dot.
+         */
+        private static int hostEnd(String host) {
+            int end;
+            if (host.startsWith("[")) {
+                int bracket = host.indexOf(']');
+                end = bracket < 0 ? host.length() : bracket + 1;
+            } else {
+                int colon = host.indexOf(':');
+                end = colon < 0 ? host.length() : colon;
+            }
+            return end > 0 && host.charAt(end - 1) == '.' ? end - 1 : end;
+        }
+
+        private String lookup(String host, int start, int end) {
+            if (hashes.length == 0 || start >= end) {
+                return null;
+            }
+            // same function as String.hashCode over the lower case characters
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + Character.toLowerCase(host.charAt(i));
+            }
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) {
+                return null;
+            }
+            while (index > 0 && hashes[index - 1] == hash) {
+                index--;
+            }
+            int length = end - start;
+            for (; index < hashes.length && hashes[index] == hash; index++) {
+                String domain = domains[index];
+                if (domain.length() == length && host.regionMatches(true, start, domain, 0, length)) {
+                    return tenants[index];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.workspark.apigateway.service;
+
+import com.workspark.apigateway.config.TokenRevocationConfig;
+import com.workspark.securitycore.revocation.RevocationBloomFilter;
+import com.workspark.securitycore.revocation.RevocationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rejects tokens whose session ({@code uuid} claim) or token ({@code jti} claim) has been revoked, without
+ * reading Redis for the requests that are not.
+ *
+ * <p>The revocations stored by the services in the {@code revoked_tokens} sorted set are kept in a
+ * {@link RevocationBloomFilter}. A request the filter rules out is answered with a shared, already completed
+ * {@link Mono}: no Redis read and no allocation in the check. Only the requests the filter cannot rule out,
+ * revoked ones and about {@code false-positive-rate} of the others, are confirmed with a {@code ZMSCORE}, which
+ * needs Redis 6.2 or later.</p>
+ *
+ * <p>The gateway subscribes to the {@code token-revocation} channel before loading the set, so no revocation
+ * can be missed between the load and the subscription. The filter is rebuilt every {@code rebuild-interval} to
+ * drop expired revocations, and after the subscription is restored following a Redis failure. Until the first
+ * load completes, and while the subscription is down, every request is confirmed in Redis: a load only enables
+ * the filter if it was started after the current subscription was made and the subscription is still up when
+ * it completes.</p>
+ *
+ * <p>Checks are counted as {@code workspark.gateway.token.revocation.check} tagged {@code filtered},
+ * {@code confirmed} (false positive), {@code revoked} or {@code error}; the filter size is published as
+ * {@code workspark.gateway.token.revocation.filter.insertions} and
+ * {@code workspark.gateway.token.revocation.filter.bytes}.</p>
+ */
+@Slf4j
+@Service
+public class TokenRevocationList {
+
+    private static final Mono<Boolean> NOT_REVOKED = Mono.just(false);
+    // placeholder until the first load, never consulted
+    private static final RevocationBloomFilter UNLOADED = RevocationBloomFilter.create(1, 0.5);
+    private static final Duration MIN_RESUBSCRIBE_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RESUBSCRIBE_DELAY = Duration.ofSeconds(30);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final TokenRevocationConfig tokenRevocationConfig;
+
+    private volatile RevocationBloomFilter filter;
+    // filter being loaded, also receiving the published revocations until it replaces the current one
+    private volatile RevocationBloomFilter loadingFilter;
+    private volatile boolean loaded;
+    private volatile boolean subscribed;
+    // incremented on each subscription, so that a load can tell whether it started after the current one
+    private volatile long subscriptionCount;
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private volatile Disposable subscription;
+
+    private final Counter filteredCounter;
+    private final Counter confirmedCounter;
+    private final Counter revokedCounter;
+    private final Counter errorCounter;
+
+    public TokenRevocationList(ReactiveStringRedisTemplate redisTemplate, TokenRevocationConfig tokenRevocationConfig,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.tokenRevocationConfig = tokenRevocationConfig;
+        this.filter = UNLOADED;
+        this.filteredCounter = outcomeCounter(meterRegistry, "filtered");
+        this.confirmedCounter = outcomeCounter(meterRegistry, "confirmed");
+        this.revokedCounter = outcomeCounter(meterRegistry, "revoked");
+        this.errorCounter = outcomeCounter(meterRegistry, "error");
+        Gauge.builder("workspark.gateway.token.revocation.filter.insertions", this,
+                        list -> list.filter.getInsertionCount())
+                .description("Revocations in the gateway bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("workspark.gateway.token.revocation.filter.bytes", this, list -> list.filter.memoryBytes())
+                .description("Memory of the gateway bloom filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if revocations are checked
+     */
+    public boolean isEnabled() {
+        return tokenRevocationConfig.isEnabled();
+    }
+
+    /**
+     * Checks whether the session or the token has been revoked.
+     *
+     * @param uuid the {@code uuid} claim of the token
+     * @param jti  the {@code jti} claim of the token, may be null
+     *
+     * @return a Mono emitting true if the session or the token has been revoked, false if not, or if it cannot be
+     * checked and the check fails open
+     */
+    public Mono<Boolean> isRevoked(String uuid, String jti) {
+        if (!isEnabled()) {
+            return NOT_REVOKED;
+        }
+        RevocationBloomFilter currentFilter = filter;
+        if (loaded
+                && !currentFilter.mightContain(RevocationType.SESSION, uuid)
+                && !currentFilter.mightContain(RevocationType.TOKEN, jti)) {
+            filteredCounter.increment();
+            return NOT_REVOKED;
+        }
+        return confirm(uuid, jti);
+    }
+
+    /**
+     * Subscribes to the published revocations and loads the stored ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isEnabled() || subscription != null) {
+            return;
+        }
+        subscription = redisTemplate.listenToChannelLater(RevocationType.CHANNEL)
+                // subscribed: the stored revocations can now be loaded without missing a published one
+                .flatMapMany(messages -> messages.doOnSubscribe(s -> {
+                    subscriptionCount++;
+                    subscribed = true;
+                    rebuild();
+                }))
+                .doOnNext(message -> add(message.getMessage()))
+                .doOnError(e -> {
+                    // revocations published until the subscription is restored would be missed by the filter
+                    subscribed = false;
+                    loaded = false;
+                    log.warn("Token revocation subscription failed: {}", e.toString());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_RESUBSCRIBE_DELAY).maxBackoff(MAX_RESUBSCRIBE_DELAY))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable currentSubscription = subscription;
+        if (currentSubscription != null) {
+            currentSubscription.dispose();
+        }
+    }
+
+    /**
+     * Builds a new filter from the revocations stored in Redis that have not expired, and replaces the current
+     * one. Runs every {@code workspark.token-revocation.rebuild-interval}; a failed load keeps the current filter.
+     * A rebuild requested while one is running runs once it completes.
+     */
+    @Scheduled(fixedDelayString = "${workspark.token-revocation.rebuild-interval:10m}",
+            initialDelayString = "${workspark.token-revocation.rebuild-interval:10m}")
+    public void rebuild() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!loading.compareAndSet(false, true)) {
+            rebuildPending.set(true);
+            // the running load may have completed before the flag was set
+            if (!loading.compareAndSet(false, true)) {
+                return;
+            }
+        }
+        rebuildPending.set(false);
+        // read before the load: a revocation published before the subscription would be missed by the filter
+        boolean startedSubscribed = subscribed;
+        long startSubscriptionCount = subscriptionCount;
+        RevocationBloomFilter nextFilter = newFilter();
+        loadingFilter = nextFilter;
+        Range<Double> live = Range.rightUnbounded(Range.Bound.exclusive((double) Instant.now().getEpochSecond()));
+        redisTemplate.opsForZSet().rangeByScore(RevocationType.REVOKED_TOKENS_KEY, live)
+                .doOnNext(member -> add(nextFilter, member))
+                .count()
+                .doFinally(signal -> {
+                    loadingFilter = null;
+                    loading.set(false);
+                    if (rebuildPending.get()) {
+                        rebuild();
+                    }
+                })
+                .subscribe(count -> {
+                    filter = nextFilter;
+                    loaded = startedSubscribed && subscribed && startSubscriptionCount == subscriptionCount;
+                    log.info("Loaded {} token revocations", count);
+                }, e -> log.error("Unable to load token revocations, keeping the {} known revocations",
+                        filter.getInsertionCount(), e));
+    }
+
+    /**
+     * Adds a published revocation to the current filter and to the one being loaded.
+     */
+    private void add(String member) {
+        // read the loading filter first: once it is cleared, it has replaced the current one
+        RevocationBloomFilter nextFilter = loadingFilter;
+        if (nextFilter != null) {
+            add(nextFilter, member);
+        }
+        add(filter, member);
+    }
+
+    private static void add(RevocationBloomFilter bloomFilter, String member) {
+        RevocationType type = RevocationType.of(member);
+        if (type == null) {
+            log.warn("Ignoring unknown token revocation {}", member);
+            return;
+        }
+        bloomFilter.put(type, type.id(member));
+    }
+
+    /**
+     * Checks the revocations stored in Redis.
+     */
+    private Mono<Boolean> confirm(String uuid, String jti) {
+        List<Object> members = jti != null
+                ? List.of(RevocationType.SESSION.member(uuid), RevocationType.TOKEN.member(jti))
+                : List.of(RevocationType.SESSION.member(uuid));
+        long now = Instant.now().getEpochSecond();
+        return redisTemplate.opsForZSet().score(RevocationType.REVOKED_TOKENS_KEY, members.toArray())
+                .timeout(tokenRevocationConfig.getTimeout())
+                .map(scores -> scores.stream().anyMatch(score -> score != null && score > now))
+                .doOnNext(revoked -> (revoked ? revokedCounter : confirmedCounter).increment())
+                .onErrorResume(e -> {
+                    errorCounter.increment();
+                    log.warn("Unable to check the revocation of session {}: {}", uuid, e.toString());
+                    return Mono.just(!tokenRevocationConfig.isFailOpen());
+                })
+                .defaultIfEmpty(false);
+    }
+
+    private RevocationBloomFilter newFilter() {
+        return RevocationBloomFilter.create(tokenRevocationConfig.getExpectedRevocations(),
+                tokenRevocationConfig.getFalsePositiveRate());
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("workspark.gateway.token.revocation.check")
+                .description("Token revocation checks by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,146 @@
+package com.workspark.apigateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.workspark.apigateway.config.JwtConfig;
+import com.workspark.apigateway.model.TokenClaims;
+import com.workspark.models.response.BaseRes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cache of token validation results.
+ *
+ * <p>Entries are keyed by the SHA-256 digest of the token and the tenant, so raw tokens are never kept in memory.
+ * A successful validation lives until the token's own {@code exp}; a rejected token is remembered for
+ * {@code jwt.cache.negative-ttl}. The cache is bounded by {@code jwt.cache.maximum-size} and its hit, miss and
+ * eviction counts are published under the {@code gateway.token.validation} cache name.</p>
+ */
+@Slf4j
+@Component
+public class TokenValidationCache {
+
+    static final String CACHE_NAME = "gateway.token.validation";
+
+    private final Cache<String, CachedValidation> cache;
+    private final boolean enabled;
+    private final long negativeTtlNanos;
+    private final ObjectMapper objectMapper;
+
+    public TokenValidationCache(JwtConfig jwtConfig, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        JwtConfig.Cache cacheConfig = jwtConfig.getCache();
+        this.enabled = cacheConfig.isEnabled();
+        this.negativeTtlNanos = cacheConfig.getNegativeTtl().toNanos();
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaximumSize())
+                .expireAfter(new CachedValidationExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Builds the cache key for a token used against a tenant.
+     *
+     * @param token      The JWT token
+     * @param tenantName The tenant resolved for the request
+     *
+     * @return the cache key
+     */
+    public String key(String token, String tenantName) {
+        return sha256(token) + ':' + tenantName;
+    }
+
+    /**
+     * Returns the cached validation result for the key, if it has not expired yet.
+     *
+     * @param key The cache key
+     *
+     * @return the cached result or null
+     */
+    public BaseRes<TokenClaims> get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        CachedValidation cachedValidation = cache.getIfPresent(key);
+        return cachedValidation != null ? cachedValidation.response() : null;
+    }
+
+    /**
+     * Caches a validation result. Successful results expire with the token, failed ones after the negative TTL.
+     *
+     * @param key      The cache key
+     * @param token    The validated JWT token, used to read its expiration
+     * @param response The validation result
+     */
+    public void put(String key, String token, BaseRes<TokenClaims> response) {
+        if (!enabled) {
+            return;
+        }
+        long ttlNanos = response.isSuccess()
+                ? TimeUnit.MILLISECONDS.toNanos(readExpirationMillis(token) - System.currentTimeMillis())
+                : negativeTtlNanos;
+        if (ttlNanos > 0) {
+            cache.put(key, new CachedValidation(response, ttlNanos));
+        }
+    }
+
+    /**
+     * Reads the {@code exp} claim without verifying the token. Only called for tokens that were just verified.
+     */
+    private long readExpirationMillis(String token) {
+        try {
+            int payloadStart = token.indexOf('.') + 1;
+            int payloadEnd = token.indexOf('.', payloadStart);
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(payloadStart, payloadEnd));
+            JsonNode exp = objectMapper.readTree(payload).get("exp");
+            return exp != null ? TimeUnit.SECONDS.toMillis(exp.asLong()) : 0;
+        } catch (Exception e) {
+            log.debug("Unable to read token expiration, result will not be cached: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record CachedValidation(BaseRes<TokenClaims> response, long ttlNanos) {
+    }
+
+    private static class CachedValidationExpiry implements Expiry<String, CachedValidation> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedValidation value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedValidation value, long currentTime, long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedValidation value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.workspark.apigateway.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.apigateway.config.JwtConfig;
+import com.workspark.apigateway.config.WebClientConfig;
+import com.workspark.apigateway.model.TokenClaims;
+import com.workspark.apigateway.service.AuthService;
+import com.workspark.apigateway.service.JwtVerifier;
+import com.workspark.apigateway.service.TokenValidationCache;
+import com.workspark.models.response.BaseRes;
+import com.workspark.observability.tracing.Tracer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load benchmark for gateway token validation, before (REMOTE) and after (LOCAL) in-process verification,
+ * with and without the token validation cache.
+ *
+ * <p>The remote mode calls a local stub of {@code /auth/public/validate-token} over HTTP, so its numbers
+ * are a lower bound: the real authentication service adds discovery, a servlet dispatch and its own
+ * token parse on top of the round trip measured here.</p>
+ *
+ * <ul>
+ *   <li>{@code latency} reports p50/p90/p99 in microseconds (sample time mode).</li>
+ *   <li>{@code throughput} reports validated requests per second.</li>
+ * </ul>
+ *
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.workspark.apigateway.benchmark.AuthServiceBenchmark}
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(8)
+public class AuthServiceBenchmark {
+
+    private static final String SECRET = "worksparkMindfire";
+    private static final String TENANT = "acme";
+
+    @Param({"REMOTE", "LOCAL"})
+    public JwtConfig.ValidationMode validationMode;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private DisposableServer authServiceStub;
+    private AuthService authService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String redisAuthUserId = UUID.randomUUID().toString();
+        String validationResponse = "{\"item\":\"" + redisAuthUserId + "\",\"success\":true}";
+
+        authServiceStub = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/auth/public/validate-token", (request, response) -> response
+                        .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.just(validationResponse))))
+                .bindNow();
+
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(SECRET);
+        jwtConfig.setValidationMode(validationMode);
+        jwtConfig.setValidationServiceUrl("http://localhost:" + authServiceStub.port());
+        jwtConfig.getCache().setEnabled(cacheEnabled);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        WebClient authServiceWebClient = new WebClientConfig()
+                .authServiceWebClient(WebClient.builder(), jwtConfig, objectMapper);
+        authService = new AuthService(authServiceWebClient, jwtConfig, new JwtVerifier(jwtConfig),
+                new TokenValidationCache(jwtConfig, new SimpleMeterRegistry(), objectMapper), Tracer.noop());
+        token = Jwts.builder()
+                .setClaims(Map.of(
+                        "name", "Bench User",
+                        "roles", List.of("USER"),
+                        "email", "bench@workspark.com",
+                        "uuid", redisAuthUserId,
+                        "tenant", TENANT))
+                .setSubject("userAccessToken")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        authServiceStub.disposeNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BaseRes<TokenClaims> latency() {
+        return authService.validateToken(token, TENANT).block();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public BaseRes<TokenClaims> throughput() {
+        return authService.validateToken(token, TENANT).block();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
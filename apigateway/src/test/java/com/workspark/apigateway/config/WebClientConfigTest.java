@@ -0,0 +1,49 @@
+package com.workspark.apigateway.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebClientConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(WebClientConfig.class)
+            .withBean(JwtConfig.class)
+            .withBean(ObjectMapper.class);
+
+    @Test
+    void testAuthServiceWebClientIsBuiltOnce() {
+        contextRunner.run(context -> {
+            WebClient webClient = context.getBean("authServiceWebClient", WebClient.class);
+
+            assertTrue(context.isSingleton("authServiceWebClient"));
+            assertSame(webClient, context.getBean("authServiceWebClient", WebClient.class));
+        });
+    }
+
+    @Test
+    void testPoolLimitsAndTimeoutsAreApplied() {
+        JwtConfig.ValidationClient clientConfig = new JwtConfig.ValidationClient();
+        clientConfig.setMaxConnections(7);
+        clientConfig.setConnectTimeout(Duration.ofMillis(250));
+        clientConfig.setResponseTimeout(Duration.ofMillis(750));
+
+        HttpClient httpClient = WebClientConfig.authServiceHttpClient(clientConfig);
+
+        try {
+            assertEquals(7, httpClient.configuration().connectionProvider().maxConnections());
+            assertEquals(250, httpClient.configuration().options().get(ChannelOption.CONNECT_TIMEOUT_MILLIS));
+            assertEquals(true, httpClient.configuration().options().get(ChannelOption.SO_KEEPALIVE));
+            assertEquals(Duration.ofMillis(750), httpClient.configuration().responseTimeout());
+        } finally {
+            httpClient.configuration().connectionProvider().dispose();
+        }
+    }
+}
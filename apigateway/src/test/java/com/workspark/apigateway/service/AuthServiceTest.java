@@ -0,0 +1,77 @@
+package com.workspark.apigateway.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.apigateway.config.JwtConfig;
+import com.workspark.apigateway.model.TokenClaims;
+import com.workspark.models.response.BaseRes;
+import com.workspark.observability.tracing.Tracer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthServiceTest {
+
+    private static final String SECRET = "worksparkMindfire";
+
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(SECRET);
+        jwtConfig.setValidationMode(JwtConfig.ValidationMode.LOCAL);
+        jwtConfig.getCache().setEnabled(false);
+        authService = new AuthService(WebClient.create(), jwtConfig, new JwtVerifier(jwtConfig),
+                new TokenValidationCache(jwtConfig, new SimpleMeterRegistry(), new ObjectMapper()), Tracer.noop());
+    }
+
+    @Test
+    void testTokenOfTheTenantIsAccepted() {
+        BaseRes<TokenClaims> response = authService.validateToken(buildToken("acme"), "acme").block();
+
+        assertTrue(response.isSuccess());
+        assertEquals("redis-user-id", response.getItem().getUuid());
+    }
+
+    @Test
+    void testTokenOfAnotherTenantIsRejected() {
+        BaseRes<TokenClaims> response = authService.validateToken(buildToken("globex"), "acme").block();
+
+        assertFalse(response.isSuccess());
+        assertNull(response.getItem());
+    }
+
+    @Test
+    void testTokenWithoutTenantIsRejected() {
+        BaseRes<TokenClaims> response = authService.validateToken(buildToken(null), "acme").block();
+
+        assertFalse(response.isSuccess());
+        assertNull(response.getItem());
+    }
+
+    private static String buildToken(String tenant) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("roles", List.of("USER"));
+        claims.put("uuid", "redis-user-id");
+        if (tenant != null) {
+            claims.put("tenant", tenant);
+        }
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject("userAccessToken")
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+    }
+}
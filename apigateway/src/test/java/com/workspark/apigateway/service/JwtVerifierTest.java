@@ -0,0 +1,108 @@
+package com.workspark.apigateway.service;
+
+import com.workspark.apigateway.config.JwtConfig;
+import com.workspark.apigateway.model.TokenClaims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "worksparkMindfire";
+    private static final String OLD_SECRET = "worksparkPrevious";
+
+    private JwtConfig jwtConfig;
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    void setUp() {
+        jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(SECRET);
+        jwtVerifier = new JwtVerifier(jwtConfig);
+    }
+
+    @Test
+    void testVerifyReturnsClaimsOfValidToken() {
+        String token = buildToken(SECRET, "userAccessToken", 60_000);
+
+        TokenClaims claims = jwtVerifier.verify(token);
+
+        assertEquals("redis-user-id", claims.getUuid());
+        assertEquals(42L, claims.getId());
+        assertEquals("acme", claims.getTenant());
+        assertEquals("john@workspark.com", claims.getEmail());
+        assertEquals(List.of("USER", "ADMIN"), claims.getRoles());
+        assertNotNull(claims.getExpiresAt());
+    }
+
+    @Test
+    void testVerifyRejectsExpiredToken() {
+        String token = buildToken(SECRET, "userAccessToken", -60_000);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtVerifier.verify(token));
+    }
+
+    @Test
+    void testVerifyRejectsRefreshToken() {
+        String token = buildToken(SECRET, "userRefreshToken", 60_000);
+
+        assertThrows(IncorrectClaimException.class, () -> jwtVerifier.verify(token));
+    }
+
+    @Test
+    void testVerifyRejectsUnknownKey() {
+        String token = buildToken(OLD_SECRET, "userAccessToken", 60_000);
+
+        assertThrows(SignatureException.class, () -> jwtVerifier.verify(token));
+    }
+
+    @Test
+    void testVerifyAcceptsPreviousKeyAfterRefresh() {
+        String token = buildToken(OLD_SECRET, "userAccessToken", 60_000);
+
+        jwtConfig.setPreviousSecrets(List.of(OLD_SECRET));
+        jwtVerifier.onRefresh();
+
+        assertEquals("redis-user-id", jwtVerifier.verify(token).getUuid());
+    }
+
+    @Test
+    void testVerifyWithoutSecretFails() {
+        JwtVerifier unconfigured = new JwtVerifier(new JwtConfig());
+
+        assertFalse(unconfigured.isConfigured());
+        assertThrows(IllegalStateException.class, () -> unconfigured.verify("token"));
+    }
+
+    /**
+     * Builds a token the same way JwtUtil.buildToken does in the authentication service.
+     */
+    private static String buildToken(String secret, String subject, long expTime) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("name", "John Doe");
+        claims.put("roles", List.of("USER", "ADMIN"));
+        claims.put("email", "john@workspark.com");
+        claims.put("uuid", "redis-user-id");
+        // serialized as a JSON number, read back as an Integer
+        claims.put("id", 42);
+        claims.put("tenant", "acme");
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(subject)
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + expTime))
+                .signWith(SignatureAlgorithm.HS256, secret)
+                .compact();
+    }
+}
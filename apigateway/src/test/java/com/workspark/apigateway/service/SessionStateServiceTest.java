@@ -0,0 +1,156 @@
+package com.workspark.apigateway.service;
+
+import com.workspark.apigateway.config.SessionCheckConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs with BlockHound installed: a blocking call on a Reactor non-blocking thread fails the check with a
+ * {@link BlockingOperationError}. Tagged so that surefire runs it in its own fork, leaving
+ * the other tests uninstrumented.
+ */
+@Tag("blockhound")
+class SessionStateServiceTest {
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private SessionCheckConfig sessionCheckConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private SessionStateService sessionStateService;
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.install();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        sessionCheckConfig = new SessionCheckConfig();
+        sessionCheckConfig.setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        sessionStateService = new SessionStateService(redisTemplate, sessionCheckConfig, meterRegistry);
+    }
+
+    /**
+     * Fails if BlockHound is not active, in which case the other checks would pass without proving anything.
+     */
+    @Test
+    void testBlockingCallOnReactorThreadIsDetected() {
+        Mono<Long> blocking = Mono.delay(Duration.ofMillis(1))
+                .doOnNext(tick -> {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+        StepVerifier.create(blocking)
+                .expectErrorMatches(e -> e instanceof BlockingOperationError)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testChecksDoNotBlockReactorThreads() {
+        // answers on a parallel scheduler thread, like the Lettuce event loop
+        when(redisTemplate.hasKey(anyString())).thenAnswer(invocation -> {
+            boolean active = !invocation.getArgument(0, String.class).endsWith("-0");
+            return Mono.delay(Duration.ofMillis(2)).map(tick -> active);
+        });
+
+        Mono<List<Boolean>> checks = Flux.range(0, 1_000)
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> sessionStateService.isSessionActive("user-" + (i % 10)))
+                .sequential()
+                .collectList();
+
+        StepVerifier.create(checks)
+                .assertNext(results -> {
+                    assertEquals(1_000, results.size());
+                    assertEquals(100, results.stream().filter(active -> !active).count());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testConcurrentChecksOfSameUserShareOneCommand() {
+        Sinks.One<Boolean> redisAnswer = Sinks.one();
+        when(redisTemplate.hasKey("auth_user:user-1")).thenReturn(redisAnswer.asMono());
+
+        Mono<Boolean> first = sessionStateService.isSessionActive("user-1");
+        Mono<Boolean> second = sessionStateService.isSessionActive("user-1");
+        StepVerifier.create(first.zipWith(second))
+                .then(() -> redisAnswer.tryEmitValue(true))
+                .assertNext(results -> {
+                    assertTrue(results.getT1());
+                    assertTrue(results.getT2());
+                })
+                .verifyComplete();
+
+        verify(redisTemplate, times(1)).hasKey("auth_user:user-1");
+    }
+
+    @Test
+    void testUnavailableRedisFollowsFailOpen() {
+        when(redisTemplate.hasKey(anyString())).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+        StepVerifier.create(sessionStateService.isSessionActive("user-1")).expectNext(true).verifyComplete();
+
+        sessionCheckConfig.setFailOpen(false);
+        StepVerifier.create(sessionStateService.isSessionActive("user-1")).expectNext(false).verifyComplete();
+        assertEquals(2.0, meterRegistry.get("workspark.gateway.session.check").tag("outcome", "error").counter().count());
+    }
+
+    @Test
+    void testSlowRedisTimesOut() {
+        sessionCheckConfig.setTimeout(Duration.ofMillis(20));
+        sessionCheckConfig.setFailOpen(false);
+        when(redisTemplate.hasKey(anyString())).thenReturn(Mono.never());
+
+        StepVerifier.create(sessionStateService.isSessionActive("user-1"))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void testChecksOverTheLimitAreNotSent() {
+        sessionCheckConfig.setMaxPendingChecks(1);
+        sessionCheckConfig.setFailOpen(false);
+        Sinks.One<Boolean> redisAnswer = Sinks.one();
+        when(redisTemplate.hasKey("auth_user:user-1")).thenReturn(redisAnswer.asMono());
+
+        StepVerifier.create(sessionStateService.isSessionActive("user-1"))
+                .then(() -> StepVerifier.create(sessionStateService.isSessionActive("user-2"))
+                        .expectNext(false)
+                        .verifyComplete())
+                .then(() -> redisAnswer.tryEmitValue(true))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(redisTemplate, times(0)).hasKey("auth_user:user-2");
+        assertEquals(1.0, meterRegistry.get("workspark.gateway.session.check").tag("outcome", "rejected").counter().count());
+    }
+}
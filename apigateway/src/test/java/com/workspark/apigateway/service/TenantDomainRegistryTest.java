@@ -0,0 +1,128 @@
+package com.workspark.apigateway.service;
+
+import com.workspark.apigateway.config.TenantResolverConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TenantDomainRegistryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private TenantDomainRegistry tenantDomainRegistry;
+    private Sinks.Many<ReactiveSubscription.Message<String, String>> published;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        published = Sinks.many().multicast().directBestEffort();
+        doReturn(Mono.just(published.asFlux())).when(redisTemplate).listenToChannelLater("tenant-config");
+        meterRegistry = new SimpleMeterRegistry();
+        givenTenantDomains(
+                new TenantDomainRegistry.TenantDomain("mindfire", "mindfire"),
+                new TenantDomainRegistry.TenantDomain("acme", "rewards.acme.com"));
+        tenantDomainRegistry = new TenantDomainRegistry(jdbcTemplate, redisTemplate, new TenantResolverConfig(),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantDomainRegistry.stop();
+    }
+
+    @Test
+    void testResolvesSubdomainIgnoringPortAndCase() {
+        assertEquals("mindfire", tenantDomainRegistry.resolve("mindfire.workspark.com"));
+        assertEquals("mindfire", tenantDomainRegistry.resolve("MindFire.workspark.com:8080"));
+        assertEquals("mindfire", tenantDomainRegistry.resolve("mindfire"));
+    }
+
+    @Test
+    void testResolvesFullHostDomain() {
+        assertEquals("acme", tenantDomainRegistry.resolve("rewards.acme.com:443"));
+        assertEquals("acme", tenantDomainRegistry.resolve("rewards.acme.com."));
+        assertNull(tenantDomainRegistry.resolve("rewards.workspark.com"));
+    }
+
+    @Test
+    void testUnknownHostIsNotResolved() {
+        assertNull(tenantDomainRegistry.resolve("globex.workspark.com"));
+        assertNull(tenantDomainRegistry.resolve("[::1]:8080"));
+        assertNull(tenantDomainRegistry.resolve(""));
+        assertNull(tenantDomainRegistry.resolve(null));
+    }
+
+    @Test
+    void testReloadPicksUpNewTenants() {
+        givenTenantDomains(new TenantDomainRegistry.TenantDomain("globex", "globex"));
+
+        tenantDomainRegistry.reload();
+
+        assertEquals("globex", tenantDomainRegistry.resolve("globex.workspark.com"));
+        assertNull(tenantDomainRegistry.resolve("mindfire.workspark.com"));
+        assertEquals(1.0, meterRegistry.get("gateway.tenant.domains").gauge().value());
+    }
+
+    @Test
+    void testFailedReloadKeepsKnownTenants() {
+        when(jdbcTemplate.query(eq(TenantDomainRegistry.TENANT_DOMAINS_QUERY), any(RowMapper.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        tenantDomainRegistry.reload();
+
+        assertEquals("mindfire", tenantDomainRegistry.resolve("mindfire.workspark.com"));
+        assertEquals(2.0, meterRegistry.get("gateway.tenant.domains").gauge().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPublishedChangeReloadsWithoutWaitingForTheRefreshInterval() throws InterruptedException {
+        tenantDomainRegistry.start();
+        // the reload following the subscription
+        verify(jdbcTemplate, timeout(1000).times(2))
+                .query(eq(TenantDomainRegistry.TENANT_DOMAINS_QUERY), any(RowMapper.class));
+        givenTenantDomains(
+                new TenantDomainRegistry.TenantDomain("mindfire", "mindfire"),
+                new TenantDomainRegistry.TenantDomain("globex", "globex"));
+
+        published.tryEmitNext(new ReactiveSubscription.ChannelMessage<>("tenant-config", "globex"));
+
+        awaitResolved("globex.workspark.com", "globex");
+        assertEquals("mindfire", tenantDomainRegistry.resolve("mindfire.workspark.com"));
+        verify(jdbcTemplate, times(3)).query(eq(TenantDomainRegistry.TENANT_DOMAINS_QUERY), any(RowMapper.class));
+    }
+
+    private void awaitResolved(String host, String tenant) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && !tenant.equals(tenantDomainRegistry.resolve(host)); attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(tenant, tenantDomainRegistry.resolve(host));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTenantDomains(TenantDomainRegistry.TenantDomain... tenantDomains) {
+        when(jdbcTemplate.query(eq(TenantDomainRegistry.TENANT_DOMAINS_QUERY), any(RowMapper.class)))
+                .thenReturn(List.of(tenantDomains));
+    }
+}
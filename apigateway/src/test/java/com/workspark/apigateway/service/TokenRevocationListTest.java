@@ -0,0 +1,183 @@
+package com.workspark.apigateway.service;
+
+import com.workspark.apigateway.config.TokenRevocationConfig;
+import com.workspark.securitycore.revocation.RevocationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationListTest {
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private ReactiveZSetOperations<String, String> zSetOperations;
+    private TokenRevocationConfig tokenRevocationConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationList tokenRevocationList;
+    private Sinks.Many<ReactiveSubscription.Message<String, String>> published;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        zSetOperations = mock(ReactiveZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        published = Sinks.many().multicast().directBestEffort();
+        doReturn(Mono.just(published.asFlux())).when(redisTemplate).listenToChannelLater(RevocationType.CHANNEL);
+
+        tokenRevocationConfig = new TokenRevocationConfig();
+        tokenRevocationConfig.setEnabled(true);
+        tokenRevocationConfig.setExpectedRevocations(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationList = new TokenRevocationList(redisTemplate, tokenRevocationConfig, meterRegistry);
+    }
+
+    @Test
+    void testDisabledCheckDoesNotReadRedis() {
+        tokenRevocationConfig.setEnabled(false);
+
+        StepVerifier.create(tokenRevocationList.isRevoked("uuid-1", "jti-1"))
+                .expectNext(false)
+                .verifyComplete();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void testUnloadedListConfirmsInRedis() {
+        when(zSetOperations.score(anyString(), any(Object[].class)))
+                .thenReturn(Mono.just(Arrays.asList(null, null)));
+
+        StepVerifier.create(tokenRevocationList.isRevoked("uuid-1", "jti-1"))
+                .expectNext(false)
+                .verifyComplete();
+        verify(zSetOperations).score(RevocationType.REVOKED_TOKENS_KEY, "uuid:uuid-1", "jti:jti-1");
+    }
+
+    @Test
+    void testLoadedListAnswersWithoutRedis() {
+        loadStored("uuid:revoked-session");
+
+        StepVerifier.create(tokenRevocationList.isRevoked("uuid-1", "jti-1"))
+                .expectNext(false)
+                .verifyComplete();
+        verify(zSetOperations, never()).score(anyString(), any(Object[].class));
+        assertEquals(1, meterRegistry.get("workspark.gateway.token.revocation.check")
+                .tag("outcome", "filtered").counter().count());
+    }
+
+    @Test
+    void testStoredRevocationIsConfirmedInRedis() {
+        loadStored("uuid:revoked-session");
+        long future = System.currentTimeMillis() / 1000 + 3600;
+        when(zSetOperations.score(anyString(), any(Object[].class)))
+                .thenReturn(Mono.just(Arrays.asList((double) future, null)));
+
+        StepVerifier.create(tokenRevocationList.isRevoked("revoked-session", "jti-1"))
+                .expectNext(true)
+                .verifyComplete();
+        assertEquals(1, meterRegistry.get("workspark.gateway.token.revocation.check")
+                .tag("outcome", "revoked").counter().count());
+    }
+
+    @Test
+    void testPublishedRevocationIsAddedToFilter() {
+        loadStored();
+        when(zSetOperations.score(anyString(), any(Object[].class)))
+                .thenReturn(Mono.just(List.of((double) System.currentTimeMillis() / 1000 + 3600)));
+
+        published.tryEmitNext(new ReactiveSubscription.ChannelMessage<>(RevocationType.CHANNEL, "jti:revoked-token"));
+
+        StepVerifier.create(tokenRevocationList.isRevoked("uuid-1", "revoked-token"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void testRedisFailureFailsOpen() {
+        when(zSetOperations.score(anyString(), any(Object[].class)))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+        StepVerifier.create(tokenRevocationList.isRevoked("uuid-1", null))
+                .expectNext(false)
+                .verifyComplete();
+
+        tokenRevocationConfig.setFailOpen(false);
+        StepVerifier.create(tokenRevocationList.isRevoked("uuid-1", null))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoadBeforeSubscriptionDoesNotEnableFilter() {
+        when(zSetOperations.rangeByScore(eq(RevocationType.REVOKED_TOKENS_KEY), any(Range.class)))
+                .thenReturn(Flux.empty());
+        when(zSetOperations.score(anyString(), any(Object[].class)))
+                .thenReturn(Mono.just(Arrays.asList(null, null)));
+
+        tokenRevocationList.rebuild();
+
+        StepVerifier.create(tokenRevocationList.isRevoked("uuid-1", "jti-1"))
+                .expectNext(false)
+                .verifyComplete();
+        verify(zSetOperations).score(RevocationType.REVOKED_TOKENS_KEY, "uuid:uuid-1", "jti:jti-1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoadCompletingAfterSubscriptionFailureDoesNotEnableFilter() {
+        Sinks.Many<String> stored = Sinks.many().unicast().onBackpressureBuffer();
+        when(zSetOperations.rangeByScore(eq(RevocationType.REVOKED_TOKENS_KEY), any(Range.class)))
+                .thenReturn(stored.asFlux());
+        when(zSetOperations.score(anyString(), any(Object[].class)))
+                .thenReturn(Mono.just(Arrays.asList(null, null)));
+        // the restored subscription never delivers, keeping the subscription down
+        doReturn(Mono.just(published.asFlux()), Mono.never())
+                .when(redisTemplate).listenToChannelLater(RevocationType.CHANNEL);
+
+        tokenRevocationList.start();
+        published.tryEmitError(new RedisConnectionFailureException("down"));
+        stored.tryEmitComplete();
+
+        try {
+            StepVerifier.create(tokenRevocationList.isRevoked("uuid-1", "jti-1"))
+                    .expectNext(false)
+                    .verifyComplete();
+            verify(zSetOperations).score(RevocationType.REVOKED_TOKENS_KEY, "uuid:uuid-1", "jti:jti-1");
+        } finally {
+            tokenRevocationList.stop();
+        }
+    }
+
+    /**
+     * Starts the list with the given members stored in Redis.
+     */
+    @SuppressWarnings("unchecked")
+    private void loadStored(String... members) {
+        when(zSetOperations.rangeByScore(eq(RevocationType.REVOKED_TOKENS_KEY), any(Range.class)))
+                .thenReturn(Flux.fromArray(members));
+        tokenRevocationList.start();
+    }
+}
@@ -0,0 +1,92 @@
+package com.workspark.apigateway.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.apigateway.config.JwtConfig;
+import com.workspark.apigateway.model.TokenClaims;
+import com.workspark.models.response.BaseRes;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenValidationCacheTest {
+
+    private JwtConfig jwtConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenValidationCache tokenValidationCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtConfig = new JwtConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        tokenValidationCache = new TokenValidationCache(jwtConfig, meterRegistry, new ObjectMapper());
+    }
+
+    @Test
+    void testValidTokenIsCachedUntilItExpires() {
+        String token = buildToken(60_000);
+        String key = tokenValidationCache.key(token, "acme");
+
+        tokenValidationCache.put(key, token, successResponse());
+
+        assertEquals("redis-user-id", tokenValidationCache.get(key).getItem().getUuid());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testExpiredTokenIsNotCached() {
+        String token = buildToken(-60_000);
+        String key = tokenValidationCache.key(token, "acme");
+
+        tokenValidationCache.put(key, token, successResponse());
+
+        assertNull(tokenValidationCache.get(key));
+    }
+
+    @Test
+    void testRejectedTokenIsCachedForNegativeTtl() {
+        String key = tokenValidationCache.key("not-a-jwt", "acme");
+
+        tokenValidationCache.put(key, "not-a-jwt", BaseRes.<TokenClaims>builder().success(false).build());
+
+        assertFalse(tokenValidationCache.get(key).isSuccess());
+    }
+
+    @Test
+    void testRejectedTokenIsNotCachedWithoutNegativeTtl() {
+        jwtConfig.getCache().setNegativeTtl(Duration.ZERO);
+        TokenValidationCache cache = new TokenValidationCache(jwtConfig, new SimpleMeterRegistry(), new ObjectMapper());
+        String key = cache.key("not-a-jwt", "acme");
+
+        cache.put(key, "not-a-jwt", BaseRes.<TokenClaims>builder().success(false).build());
+
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    void testKeyDependsOnTenant() {
+        String token = buildToken(60_000);
+
+        assertNotEquals(tokenValidationCache.key(token, "acme"), tokenValidationCache.key(token, "globex"));
+        assertFalse(tokenValidationCache.key(token, "acme").contains(token));
+    }
+
+    private static BaseRes<TokenClaims> successResponse() {
+        return BaseRes.<TokenClaims>builder().item(TokenClaims.builder().uuid("redis-user-id").build()).success(true).build();
+    }
+
+    private static String buildToken(long expTime) {
+        return Jwts.builder()
+                .claim("uuid", "redis-user-id")
+                .setSubject("userAccessToken")
+                .setExpiration(new Date(System.currentTimeMillis() + expTime))
+                .signWith(SignatureAlgorithm.HS256, "worksparkMindfire")
+                .compact();
+    }
+}
@@ -7,10 +7,8 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 
+import com.workspark.authenticationservice.config.ClientRegistrationProperties;
 import com.workspark.authenticationservice.repository.CustomPersistedClientRegistrationRepo;
 import com.workspark.authenticationservice.repository.Oauth2RegisteredClientRepository;
 
@@ -43,12 +41,8 @@ public class AuthenticationServiceApplication {
 	}
 	
 	@Bean
-	public PasswordEncoder getPasswordEncoder() {
-		return new BCryptPasswordEncoder();
-	}
-
-	@Bean
-	ClientRegistrationRepository a(Oauth2RegisteredClientRepository repository) {
-		return new CustomPersistedClientRegistrationRepo(repository);
+	CustomPersistedClientRegistrationRepo a(Oauth2RegisteredClientRepository repository,
+			ClientRegistrationProperties clientRegistrationProperties) {
+		return new CustomPersistedClientRegistrationRepo(repository, clientRegistrationProperties);
 	}
 }
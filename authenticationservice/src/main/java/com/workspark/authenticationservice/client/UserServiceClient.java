@@ -1,5 +1,7 @@
 package com.workspark.authenticationservice.client;
 
+import com.workspark.models.request.PasswordChangeRequest;
+import com.workspark.models.request.PasswordUpdateRequest;
 import com.workspark.models.request.SignupRequest;
 import com.workspark.models.response.BaseRes;
 import com.workspark.models.response.SignInResponse;
@@ -7,6 +9,7 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -53,14 +56,21 @@ public interface UserServiceClient {
 	BaseRes<String> getPasswordByUsername(String username);
 
 	/**
-	 * Updates a user's password by sending a POST request to the user service with
-	 * a reset token and the new password.
+	 * Changes a user's password by sending a PUT request to the user service, which checks the current password
+	 * before storing the new one. The passwords are sent in the request body.
 	 *
-	 * @param resetToken  The token that verifies the user's request to reset their
-	 *                    password.
-	 * @param newPassword The new password to be set for the user.
+	 * @param request The email of the user, the current and the new password.
 	 */
-	@PostMapping("user/api/v1/password/update")
-	void updatePassword(@RequestParam("resetToken") String resetToken, @RequestParam("newPassword") String newPassword);
+	@PutMapping("user/api/v1/password")
+	void changePassword(@RequestBody PasswordChangeRequest request);
+
+	/**
+	 * Asks the user service to hash the password a user just signed in with again, if it was stored with a
+	 * lower cost. The password is sent in the request body.
+	 *
+	 * @param request The email of the user and the password.
+	 */
+	@PutMapping("user/api/v1/password/rehash")
+	void rehashPassword(@RequestBody PasswordUpdateRequest request);
 
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.workspark.authenticationservice.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Settings of the in-memory copy of the OAuth2 client registrations from {@code oauth2_registered_client}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oauth2.client-registration")
+public class ClientRegistrationProperties {
+
+	/**
+	 * How often the registrations are read again from the database.
+	 */
+	private Duration refreshInterval = Duration.ofMinutes(10);
+
+	/**
+	 * Redis channel carrying client registration change events. Publishing any message on it makes every
+	 * instance read the registrations again.
+	 */
+	private String channel = "oauth2-client-registration";
+}
@@ -0,0 +1,39 @@
+package com.workspark.authenticationservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.workspark.authenticationservice.repository.CustomPersistedClientRegistrationRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Subscribes to client registration changes so every instance reloads its registrations as soon as one is
+ * added, changed or removed, instead of at the next scheduled refresh.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "workspark.redis", havingValue = "true", matchIfMissing = true)
+public class ClientRegistrationSubscriberConfig {
+
+	private final CustomPersistedClientRegistrationRepo clientRegistrationRepo;
+	private final ClientRegistrationProperties clientRegistrationProperties;
+
+	@Bean
+	public RedisMessageListenerContainer clientRegistrationListenerContainer(
+			RedisConnectionFactory redisConnectionFactory) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(redisConnectionFactory);
+		container.addMessageListener((message, pattern) -> {
+			log.debug("Received client registration change, reloading registrations.");
+			clientRegistrationRepo.reload();
+		}, new ChannelTopic(clientRegistrationProperties.getChannel()));
+		return container;
+	}
+}
@@ -0,0 +1,38 @@
+package com.workspark.authenticationservice.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Settings of the store of OIDC provider signing keys used to validate SSO id tokens.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt.jwks")
+public class JwksProperties {
+
+	/**
+	 * How often the keys of the known providers are refreshed in the background.
+	 */
+	private Duration refreshInterval = Duration.ofMinutes(15);
+
+	/**
+	 * Minimum time between two fetches of the keys of a provider triggered by an unknown {@code kid}, so that
+	 * tokens with made up key ids cannot make the service hammer the provider.
+	 */
+	private Duration minRefetchInterval = Duration.ofSeconds(30);
+
+	/**
+	 * Maximum time to connect to a provider.
+	 */
+	private Duration connectTimeout = Duration.ofSeconds(2);
+
+	/**
+	 * Maximum time to wait for the discovery document or the key set.
+	 */
+	private Duration requestTimeout = Duration.ofSeconds(3);
+}
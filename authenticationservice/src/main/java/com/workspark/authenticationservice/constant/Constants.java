@@ -8,12 +8,16 @@ public class Constants {
 	public static final String PASSWORD_RESET_SUCCESSFULLY = "Password has been reset successfully";
 	public static final String PASSWORD_CHANGED_SUCCESS = "Password has been changed successfully";
 	public static final String TOKEN_REFRESH_SUCCESSFULLY = "Token has been refreshed successfully";
+	public static final String SUCCESSFULLY_LOGGED_OUT = "User has been logged out successfully";
+	public static final String CLIENT_REGISTRATION_SAVED = "Client registration has been saved successfully";
+	public static final String CLIENT_REGISTRATION_DELETED = "Client registration has been deleted successfully";
 
 	// Error messages
 	public static final String PASSWORD_IS_REQUIRED = "Password is required";
 	public static final String INVALID_CREDENTIALS = "The credentials provided are invalid";
 	public static final String REFRESH_TOKEN_IS_REQUIRED = "A refresh token is required";
 	public static final String REFRESH_TOKEN_EXPIRED = "The refresh token has expired";
+	public static final String REFRESH_TOKEN_REVOKED = "The refresh token has been revoked";
 	public static final String USERNAME_IS_ALREADY_TAKEN = "This username is already taken";
 	public static final String PHONE_IS_ALREADY_TAKEN = "This Phone is already taken";
 	public static final String UNABLE_TO_CONNECT_TO_REDIS = "Unable to connect to Redis";
@@ -8,6 +8,7 @@ import com.workspark.commonconfig.service.RedisPubService;
 import com.workspark.commonconfig.utils.TemplateLoader;
 import com.workspark.models.pojo.Email;
 import com.workspark.models.pojo.Notification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -175,4 +176,21 @@ public class AuthController {
         String apiResponse = authService.validateToken(token);
         return BaseRes.success(apiResponse, "Token is valid", HttpStatus.OK);
     }
+
+    /**
+     * Logs out the session of the access token: its access and refresh tokens are rejected from now on.
+     *
+     * @param authorization The Authorization header carrying the access token.
+     * @return A response indicating successful logout.
+     */
+    @Operation(summary = "Log out", description = "Revokes the access and refresh tokens of the current session.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "User successfully logged out"),
+            @ApiResponse(responseCode = "401", description = "Invalid or expired access token")})
+    @PostMapping("/logout")
+    public ResponseEntity<BaseRes<String>> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) @Parameter(description = "Bearer access token of the session") String authorization) {
+        String token = authorization.startsWith("Bearer ") ? authorization.substring(7) : authorization;
+        authService.logout(token);
+        return BaseRes.success(Constants.SUCCESSFULLY_LOGGED_OUT, Constants.SUCCESSFULLY_LOGGED_OUT, HttpStatus.OK);
+    }
 }
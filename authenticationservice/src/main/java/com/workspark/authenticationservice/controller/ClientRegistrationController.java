@@ -0,0 +1,48 @@
+package com.workspark.authenticationservice.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.workspark.authenticationservice.constant.Constants;
+import com.workspark.authenticationservice.model.ClientRegistrationRequest;
+import com.workspark.authenticationservice.service.IClientRegistrationService;
+import com.workspark.models.response.BaseRes;
+
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Administration of the OAuth2 client registrations, restricted to super administrators. Every instance reloads
+ * its registrations after a change.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/client-registrations")
+@PreAuthorize("hasRole('SUPER_ADMIN')")
+public class ClientRegistrationController {
+
+	private final IClientRegistrationService clientRegistrationService;
+
+	@Operation(summary = "Add or replace an OAuth2 client registration")
+	@PutMapping("/{registrationId}")
+	public ResponseEntity<BaseRes<String>> saveClientRegistration(@PathVariable String registrationId,
+			@Valid @RequestBody ClientRegistrationRequest clientRegistration) {
+		clientRegistrationService.saveClientRegistration(clientRegistration.toEntity(registrationId));
+		return BaseRes.success(registrationId, Constants.CLIENT_REGISTRATION_SAVED, HttpStatus.OK);
+	}
+
+	@Operation(summary = "Remove an OAuth2 client registration")
+	@DeleteMapping("/{registrationId}")
+	public ResponseEntity<BaseRes<String>> deleteClientRegistration(@PathVariable String registrationId) {
+		clientRegistrationService.deleteClientRegistration(registrationId);
+		return BaseRes.success(registrationId, Constants.CLIENT_REGISTRATION_DELETED, HttpStatus.OK);
+	}
+}
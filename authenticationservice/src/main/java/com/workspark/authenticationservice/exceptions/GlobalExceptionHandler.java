@@ -5,11 +5,13 @@ import com.workspark.authenticationservice.exceptions.customExceptions.InvalidCr
 import com.workspark.authenticationservice.exceptions.customExceptions.PasswordResetException;
 import com.workspark.authenticationservice.exceptions.customExceptions.RefreshTokenExpiredException;
 import com.workspark.models.response.BaseRes;
+import com.workspark.security.password.PasswordHashingUnavailableException;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -57,6 +59,15 @@ public class GlobalExceptionHandler {
 		return BaseRes.error(ex.getMessage(),ex.getClass().getSimpleName(),HttpStatus.UNAUTHORIZED);
 	}
 
+	/**
+	 * Handles AccessDeniedException, raised when the caller may not perform the operation.
+	 */
+	@ExceptionHandler(AccessDeniedException.class)
+	public ResponseEntity<BaseRes<String>> handleAccessDeniedException(AccessDeniedException ex) {
+		log.warn("Access denied: {}", ex.getMessage());
+		return BaseRes.error(ex.getMessage(),ex.getClass().getSimpleName(),HttpStatus.FORBIDDEN);
+	}
+
 	/**
 	 * Handles RefreshTokenExpiredException.
 	 */
@@ -101,4 +112,13 @@ public class GlobalExceptionHandler {
 		log.warn("Authentication failed: {}", ex.getMessage());
 		return BaseRes.error(ex.getMessage(),ex.getClass().getSimpleName(),HttpStatus.UNAUTHORIZED);
 	}
+
+	/**
+	 * Handles PasswordHashingUnavailableException, raised when too many passwords are being checked at once.
+	 */
+	@ExceptionHandler(PasswordHashingUnavailableException.class)
+	public ResponseEntity<BaseRes<String>> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex) {
+		log.warn("Password hashing unavailable: {}", ex.getMessage());
+		return BaseRes.error(ex.getMessage(),ex.getClass().getSimpleName(),HttpStatus.SERVICE_UNAVAILABLE);
+	}
 }
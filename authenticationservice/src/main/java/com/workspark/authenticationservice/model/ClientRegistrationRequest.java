@@ -0,0 +1,102 @@
+package com.workspark.authenticationservice.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An OAuth2 client registration to add or replace. The provider endpoints must use https.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientRegistrationRequest {
+
+	private static final String HTTPS_URI = "^https://\\S+$";
+	private static final String HTTPS_URI_MESSAGE = "must be an https URI";
+
+	@NotBlank(message = "Client id cannot be empty")
+	@Size(max = 100)
+	private String clientId;
+
+	@Size(max = 200)
+	private String clientSecret;
+
+	@NotBlank(message = "Client authentication method cannot be empty")
+	@Size(max = 100)
+	private String clientAuthenticationMethod;
+
+	@NotBlank(message = "Authorization grant type cannot be empty")
+	@Size(max = 100)
+	private String authorizationGrantType;
+
+	@Size(max = 200)
+	private String clientName;
+
+	@NotBlank(message = "Redirect URI cannot be empty")
+	@Size(max = 1000)
+	private String redirectUri;
+
+	@NotBlank(message = "Scopes cannot be empty")
+	@Size(max = 1000)
+	private String scopes;
+
+	@Size(max = 1000)
+	@Pattern(regexp = HTTPS_URI, message = HTTPS_URI_MESSAGE)
+	private String authorizationUri;
+
+	@NotBlank(message = "Token URI cannot be empty")
+	@Size(max = 1000)
+	@Pattern(regexp = HTTPS_URI, message = HTTPS_URI_MESSAGE)
+	private String tokenUri;
+
+	@Size(max = 1000)
+	@Pattern(regexp = HTTPS_URI, message = HTTPS_URI_MESSAGE)
+	private String jwkSetUri;
+
+	@Size(max = 1000)
+	@Pattern(regexp = HTTPS_URI, message = HTTPS_URI_MESSAGE)
+	private String issuerUri;
+
+	@Size(max = 1000)
+	@Pattern(regexp = HTTPS_URI, message = HTTPS_URI_MESSAGE)
+	private String userInfoUri;
+
+	@Size(max = 100)
+	private String userInfoAuthenticationMethod;
+
+	@Size(max = 100)
+	private String userNameAttributeName;
+
+	/**
+	 * @param registrationId the id of the registration
+	 * @return the row of {@code oauth2_registered_client}
+	 */
+	public Oauth2RegisteredClientEntity toEntity(String registrationId) {
+		Oauth2RegisteredClientEntity entity = new Oauth2RegisteredClientEntity();
+		entity.setRegistrationId(registrationId);
+		entity.setClientId(clientId);
+		entity.setClientSecret(clientSecret);
+		entity.setClientAuthenticationMethod(clientAuthenticationMethod);
+		entity.setAuthorizationGrantType(authorizationGrantType);
+		entity.setClientName(clientName);
+		entity.setRedirectUri(redirectUri);
+		entity.setScopes(scopes);
+		entity.setAuthorizationUri(authorizationUri);
+		entity.setTokenUri(tokenUri);
+		entity.setJwkSetUri(jwkSetUri);
+		entity.setIssuerUri(issuerUri);
+		entity.setUserInfoUri(userInfoUri);
+		entity.setUserInfoAuthenticationMethod(userInfoAuthenticationMethod);
+		entity.setUserNameAttributeName(userNameAttributeName);
+		return entity;
+	}
+
+	@Override
+	public String toString() {
+		return "ClientRegistrationRequest(clientId=" + clientId + ", clientName=" + clientName + ")";
+	}
+}
@@ -0,0 +1,46 @@
+package com.workspark.authenticationservice.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable view of the claims of a token whose signature and expiration have been verified. Instances are
+ * shared through the verified token cache and cannot be modified.
+ */
+@Value
+@Builder
+public class VerifiedToken {
+
+	/**
+	 * Type of the token ({@code userAccessToken} or {@code userRefreshToken}).
+	 */
+	String subject;
+
+	/**
+	 * Key of the authenticated user in Redis ({@code uuid} claim).
+	 */
+	String uuid;
+
+	/**
+	 * Id of the user in the user service ({@code id} claim), null for tokens issued before tokens carried one.
+	 */
+	Long id;
+
+	/**
+	 * Unique id of the token ({@code jti} claim), null for tokens issued before tokens carried one.
+	 */
+	String jti;
+
+	String name;
+
+	String email;
+
+	List<String> roles;
+
+	String tenant;
+
+	Instant expiresAt;
+}
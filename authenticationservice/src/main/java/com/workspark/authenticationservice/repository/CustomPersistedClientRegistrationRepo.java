@@ -1,8 +1,13 @@
 package com.workspark.authenticationservice.repository;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,12 +16,22 @@ import org.springframework.security.oauth2.client.registration.ClientRegistratio
 import org.springframework.security.oauth2.core.AuthenticationMethod;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
-import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import com.workspark.authenticationservice.config.ClientRegistrationProperties;
 import com.workspark.authenticationservice.projections.Oauth2RegisteredClientProjection;
 
+/**
+ * Client registrations from {@code oauth2_registered_client}, held in memory.
+ *
+ * <p>All registrations are read when the repository is created and built once into immutable
+ * {@link ClientRegistration} objects, so lookups during OAuth2 redirects and callbacks make no database call.
+ * The registrations are read again every {@code oauth2.client-registration.refresh-interval} and on a message
+ * on the {@code oauth2.client-registration.channel} Redis channel, published by
+ * {@link com.workspark.authenticationservice.service.impl.ClientRegistrationServiceImpl}; a failed read keeps the
+ * current registrations.</p>
+ */
 public class CustomPersistedClientRegistrationRepo implements ClientRegistrationRepository {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CustomPersistedClientRegistrationRepo.class);
@@ -40,16 +55,61 @@ public class CustomPersistedClientRegistrationRepo implements ClientRegistration
 			AuthenticationMethod.HEADER, AuthenticationMethod.QUERY.getValue(), AuthenticationMethod.QUERY);
 
 	private final Oauth2RegisteredClientRepository repository;
+	private final ScheduledExecutorService refreshExecutor;
+	private volatile Map<String, ClientRegistration> registrations = Map.of();
+	private volatile boolean loaded;
 
 	/**
-	 * Constructor to initialize JdbcClientRegRep with the provided repository.
+	 * Constructor to initialize the repository and load the registrations.
 	 * 
 	 * @param repository the repository to fetch OAuth2 client details.
+	 * @param properties the refresh settings.
 	 * @throws NullPointerException if repository is null.
 	 */
-	public CustomPersistedClientRegistrationRepo(Oauth2RegisteredClientRepository repository) {
+	public CustomPersistedClientRegistrationRepo(Oauth2RegisteredClientRepository repository,
+			ClientRegistrationProperties properties) {
 		this.repository = Objects.requireNonNull(repository, "Repository cannot be null");
-		LOGGER.info("JdbcClientRegRep initialized with the provided repository.");
+		this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "client-registration-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+		reload();
+		long refreshMillis = properties.getRefreshInterval().toMillis();
+		refreshExecutor.scheduleWithFixedDelay(this::reload, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+		LOGGER.info("CustomPersistedClientRegistrationRepo initialized with {} client registrations.",
+				registrations.size());
+	}
+
+	/**
+	 * Reads all registrations from the database and replaces the ones in memory. A registration that cannot be
+	 * built is left out; if the database cannot be read, the current registrations are kept.
+	 */
+	public synchronized void reload() {
+		List<Oauth2RegisteredClientProjection> clients;
+		try {
+			clients = repository.findAllBy();
+		} catch (RuntimeException e) {
+			LOGGER.warn("Unable to load client registrations, keeping {} known registrations: {}",
+					registrations.size(), e.getMessage());
+			return;
+		}
+		Map<String, ClientRegistration> loadedRegistrations = new HashMap<>();
+		for (Oauth2RegisteredClientProjection client : clients) {
+			try {
+				loadedRegistrations.put(client.getRegistrationId(), createClientRegistration(client));
+			} catch (RuntimeException e) {
+				LOGGER.error("Skipping invalid client registration {}: {}", client.getRegistrationId(),
+						e.getMessage());
+			}
+		}
+		registrations = Map.copyOf(loadedRegistrations);
+		loaded = true;
+		LOGGER.debug("Loaded {} client registrations.", loadedRegistrations.size());
+	}
+
+	public void close() {
+		refreshExecutor.shutdownNow();
 	}
 
 	/**
@@ -66,12 +126,16 @@ public class CustomPersistedClientRegistrationRepo implements ClientRegistration
 
 		Assert.hasText(registrationId, "registrationId cannot be empty");
 
-		return repository.findByRegistrationId(registrationId).map(oauthConfigDetails -> {
-			LOGGER.debug("Client registration found for ID: {}", registrationId);
-			return createClientRegistration(oauthConfigDetails);
-		}).orElseThrow(() -> {
-			return new IllegalArgumentException("No client found with registrationId: " + registrationId);
-		});
+		ClientRegistration clientRegistration = registrations.get(registrationId);
+		if (clientRegistration == null && !loaded) {
+			// the registrations could not be read at startup
+			reload();
+			clientRegistration = registrations.get(registrationId);
+		}
+		if (clientRegistration == null) {
+			throw new IllegalArgumentException("No client found with registrationId: " + registrationId);
+		}
+		return clientRegistration;
 	}
 
 	/**
@@ -1,6 +1,7 @@
 package com.workspark.authenticationservice.repository;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.repository.CrudRepository;
@@ -13,4 +14,6 @@ import com.workspark.authenticationservice.projections.Oauth2RegisteredClientPro
 public interface Oauth2RegisteredClientRepository extends CrudRepository<Oauth2RegisteredClientEntity, Serializable> {
 
 	Optional<Oauth2RegisteredClientProjection> findByRegistrationId(String registrationId);
+
+	List<Oauth2RegisteredClientProjection> findAllBy();
 }
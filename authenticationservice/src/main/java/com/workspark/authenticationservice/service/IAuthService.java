@@ -19,5 +19,7 @@ public interface IAuthService {
 
 	String validateToken(String token);
 
+	void logout(String token);
+
 
 }
@@ -0,0 +1,10 @@
+package com.workspark.authenticationservice.service;
+
+import com.workspark.authenticationservice.model.Oauth2RegisteredClientEntity;
+
+public interface IClientRegistrationService {
+
+	void saveClientRegistration(Oauth2RegisteredClientEntity clientRegistration);
+
+	void deleteClientRegistration(String registrationId);
+}
@@ -6,7 +6,6 @@ import java.util.UUID;
 import com.workspark.models.response.BaseRes;
 import com.workspark.models.response.SignInResponse;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.workspark.authenticationservice.client.UserServiceClient;
@@ -19,13 +18,19 @@ import com.workspark.authenticationservice.exceptions.customExceptions.RefreshTo
 import com.workspark.authenticationservice.model.AuthenticationResponse;
 import com.workspark.authenticationservice.model.ChangePasswordRequest;
 import com.workspark.authenticationservice.model.SignInRequest;
+import com.workspark.authenticationservice.model.VerifiedToken;
 import com.workspark.authenticationservice.service.IAuthService;
 import com.workspark.authenticationservice.util.JwtUtil;
 import com.workspark.commonconfig.models.entity.RedisAuthUser;
 import com.workspark.commonconfig.service.RedisAuthUserService;
+import com.workspark.commonconfig.service.TokenRevocationService;
 import com.workspark.models.pojo.AuthUser;
+import com.workspark.models.request.PasswordChangeRequest;
+import com.workspark.models.request.PasswordUpdateRequest;
 import com.workspark.models.request.SignupRequest;
+import com.workspark.security.password.PasswordHasher;
 
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -44,8 +49,9 @@ public class AuthServiceJWTImpl implements IAuthService {
 
 	private final JwtUtil jwtUtil;
 	private final UserServiceClient userServiceClient;
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
 	private final RedisAuthUserService redisAuthUserService;
+	private final TokenRevocationService tokenRevocationService;
 
 	/*
 	 * Registers a new user
@@ -98,7 +104,12 @@ public class AuthServiceJWTImpl implements IAuthService {
             String jwtToken;
 			String refreshToken;
 
-			if (passwordEncoder.matches(request.getPassword(), a.getPassword())) {
+			if (passwordHasher.matches(request.getPassword(), a.getPassword())) {
+
+				// Hash the password again if it was stored with a lower cost than the current one
+				if (passwordHasher.needsRehash(a.getPassword())) {
+					rehashPassword(a.getEmail(), request.getPassword());
+				}
 
 				try {
 
@@ -148,9 +159,25 @@ public class AuthServiceJWTImpl implements IAuthService {
 	}
 
 
+	/**
+	 * Asks the user service to hash the password again with the current cost; it checks the password first.
+	 * Failures are only logged: the old hash stays valid and the next sign in tries again.
+	 *
+	 * @param email       The email of the user.
+	 * @param rawPassword The password the user just signed in with.
+	 */
+	private void rehashPassword(String email, String rawPassword) {
+		try {
+			userServiceClient.rehashPassword(new PasswordUpdateRequest(email, rawPassword));
+			log.info("Password of user {} hashed again with the current cost", email);
+		} catch (Exception e) {
+			log.warn("Unable to hash the password of user {} again: {}", email, e.getMessage());
+		}
+	}
+
 	/**
 	 * Refreshes the JWT token by validating the provided refresh token and
-	 * generating a new JWT and refresh token.
+	 * generating a new JWT and refresh token. The refresh token is revoked once used.
 	 *
 	 * @param refreshToken The refresh token to generate new JWT and refresh token.
 	 * @return AuthenticationResponse containing the new JWT and refresh tokens.
@@ -167,55 +194,65 @@ public class AuthServiceJWTImpl implements IAuthService {
 			throw new IllegalArgumentException(Constants.REFRESH_TOKEN_IS_REQUIRED);
 		}
 
-		// Check if the refresh token is expired
-		if (!jwtUtil.validateToken(refreshToken, "userRefreshToken")) {
+		// Verify the refresh token once and check its type
+		VerifiedToken verifiedToken = jwtUtil.verify(refreshToken);
+		if (!"userRefreshToken".equals(verifiedToken.getSubject())) {
 			throw new RefreshTokenExpiredException(Constants.REFRESH_TOKEN_EXPIRED);
 		}
 
+		// Check that the session has not been logged out
+		if (tokenRevocationService.isRevoked(verifiedToken.getUuid(), verifiedToken.getJti())) {
+			log.warn("Refresh token of a revoked session used");
+			throw new RefreshTokenExpiredException(Constants.REFRESH_TOKEN_REVOKED);
+		}
+
+		// Rotate the refresh token: the one used cannot be used again
+		if (verifiedToken.getJti() != null) {
+			try {
+				tokenRevocationService.revokeToken(verifiedToken.getJti(), verifiedToken.getExpiresAt());
+			} catch (Exception e) {
+				log.error("Unable to revoke refresh token {}: {}", verifiedToken.getJti(), e.getMessage());
+				throw new RedisConnectionException(Constants.UNABLE_TO_CONNECT_TO_REDIS);
+			}
+		}
+
 		// Generate new JWT and refresh token
-		String newJwtToken = jwtUtil.generateNewTokenFromOldToken(refreshToken);
-		String newRefreshToken = jwtUtil.generateNewRefreshTokenFromOldToken(refreshToken);
+		String newJwtToken = jwtUtil.generateNewTokenFromOldToken(verifiedToken);
+		String newRefreshToken = jwtUtil.generateNewRefreshTokenFromOldToken(verifiedToken);
 
 		return new AuthenticationResponse(newJwtToken, newRefreshToken);
 	}
 
 	/**
-	 * Resets the user's password by calling the `UserServiceClient` to update the
-	 * password using the provided reset token and new password.
+	 * Resets the user's password with a reset token. No reset tokens are issued yet, and the user service only
+	 * changes a password once the current one is checked, so every reset is refused.
 	 *
 	 * @param resetToken  The token used to verify the user's password reset
 	 *                    request.
 	 * @param newPassword The new password to set for the user.
+	 * @throws PasswordResetException always.
 	 */
 	@Override
 	public void resetPassword(String resetToken, String newPassword) {
-		log.info("Resetting password for user with reset token: {}", resetToken);
-		try {
-			userServiceClient.updatePassword(resetToken, newPassword);
-			log.info("Password reset successful for reset token: {}", resetToken);
-		} catch (Exception ex) {
-			log.error("Failed to reset password for reset token: {}", resetToken, ex);
-			throw new PasswordResetException(Constants.PASSWORD_RESET_FAILED);
-
-		}
+		log.warn("Refusing password reset: reset tokens are not supported");
+		throw new PasswordResetException(Constants.PASSWORD_RESET_FAILED);
 	}
 
 	/**
-	 * Handles the business logic of changing the user's password.
+	 * Handles the business logic of changing the user's password. The user service checks the current password
+	 * before storing the new one.
 	 *
 	 * @param changePasswordRequest The request containing the old and new password.
 	 */
 	public void changePassword(ChangePasswordRequest changePasswordRequest) {
 		log.info("Changing password for user: {}", changePasswordRequest.getEmail());
-		BaseRes<String> currentPasswordRes = userServiceClient.getPasswordByUsername(changePasswordRequest.getEmail());
-		String currentPassword = currentPasswordRes.getItem();
-		// Validate if the old password matches
-		if (!passwordEncoder.matches(changePasswordRequest.getOldPassword(), currentPassword)) {
+		try {
+			userServiceClient.changePassword(new PasswordChangeRequest(changePasswordRequest.getEmail(),
+					changePasswordRequest.getOldPassword(), changePasswordRequest.getNewPassword()));
+		} catch (FeignException.BadRequest e) {
 			log.error("Incorrect old password for user: {}", changePasswordRequest.getEmail());
 			throw new InvalidCredentialsException(Constants.OLD_PASSWORD_IS_INCORRECT);
 		}
-
-		userServiceClient.updatePassword(changePasswordRequest.getEmail(), changePasswordRequest.getNewPassword());
 		log.info("Password successfully changed for user: {}", changePasswordRequest.getEmail());
 
 	}
@@ -230,11 +267,35 @@ public class AuthServiceJWTImpl implements IAuthService {
 	 */
 	@Override
 	public String validateToken(String token) {
-		if(jwtUtil.validateToken(token, "userAccessToken")){
-			return jwtUtil.extractRedisAuthUserId(token);
+		VerifiedToken verifiedToken = jwtUtil.verify(token);
+		if ("userAccessToken".equals(verifiedToken.getSubject())) {
+			return verifiedToken.getUuid();
 		}
 		else throw new AuthenticationFailedException(Constants.AUTHENTICATION_FAILED_USER_NOT_AUTHENTICATED);
 	}
 
+	/**
+	 * Logs out the session of the given access token: every token of the session is revoked until the
+	 * longest lived of them expires, and the user details are removed from Redis.
+	 *
+	 * @param token The access token of the session.
+	 */
+	@Override
+	public void logout(String token) {
+		VerifiedToken verifiedToken = jwtUtil.verify(token);
+		if (!"userAccessToken".equals(verifiedToken.getSubject())) {
+			throw new AuthenticationFailedException(Constants.AUTHENTICATION_FAILED_USER_NOT_AUTHENTICATED);
+		}
+		String redisAuthUserId = verifiedToken.getUuid();
+		log.info("Logging out session: {}", redisAuthUserId);
+		try {
+			tokenRevocationService.revokeSession(redisAuthUserId, jwtUtil.sessionExpiresAt());
+		} catch (Exception e) {
+			log.error("Unable to revoke session {}: {}", redisAuthUserId, e.getMessage());
+			throw new RedisConnectionException(Constants.UNABLE_TO_CONNECT_TO_REDIS);
+		}
+		redisAuthUserService.deleteUser(redisAuthUserId);
+	}
+
 
 }
@@ -0,0 +1,85 @@
+package com.workspark.authenticationservice.service.impl;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.workspark.authenticationservice.config.ClientRegistrationProperties;
+import com.workspark.authenticationservice.model.Oauth2RegisteredClientEntity;
+import com.workspark.authenticationservice.repository.CustomPersistedClientRegistrationRepo;
+import com.workspark.authenticationservice.repository.Oauth2RegisteredClientRepository;
+import com.workspark.authenticationservice.service.IClientRegistrationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the OAuth2 client registrations of {@code oauth2_registered_client} and publishes each change on the
+ * {@code oauth2.client-registration.channel} Redis channel once committed, so that every instance reloads its
+ * registrations. If the change cannot be published, this instance reloads its own and the others pick the
+ * change up at their next scheduled refresh.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClientRegistrationServiceImpl implements IClientRegistrationService {
+
+	private final Oauth2RegisteredClientRepository oauth2RegisteredClientRepository;
+	private final CustomPersistedClientRegistrationRepo clientRegistrationRepo;
+	private final StringRedisTemplate stringRedisTemplate;
+	private final ClientRegistrationProperties clientRegistrationProperties;
+
+	/**
+	 * Adds or replaces a client registration.
+	 *
+	 * @param clientRegistration the registration to save
+	 */
+	@Override
+	@Transactional
+	public void saveClientRegistration(Oauth2RegisteredClientEntity clientRegistration) {
+		oauth2RegisteredClientRepository.save(clientRegistration);
+		publishAfterCommit(clientRegistration.getRegistrationId());
+	}
+
+	/**
+	 * Removes a client registration.
+	 *
+	 * @param registrationId the registration to remove
+	 * @throws IllegalArgumentException if there is no such registration
+	 */
+	@Override
+	@Transactional
+	public void deleteClientRegistration(String registrationId) {
+		if (!oauth2RegisteredClientRepository.existsById(registrationId)) {
+			throw new IllegalArgumentException("No client found with registrationId: " + registrationId);
+		}
+		oauth2RegisteredClientRepository.deleteById(registrationId);
+		publishAfterCommit(registrationId);
+	}
+
+	private void publishAfterCommit(String registrationId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			publish(registrationId);
+			return;
+		}
+		// the other instances must not read the registrations before the change is visible
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				publish(registrationId);
+			}
+		});
+	}
+
+	void publish(String registrationId) {
+		try {
+			stringRedisTemplate.convertAndSend(clientRegistrationProperties.getChannel(), registrationId);
+		} catch (RuntimeException e) {
+			log.warn("Unable to publish the change of client registration {}, reloading locally: {}",
+					registrationId, e.getMessage());
+			clientRegistrationRepo.reload();
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package com.workspark.authenticationservice.util;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.authenticationservice.config.JwksProperties;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Signing keys of the OIDC providers, by issuer and {@code kid}.
+ *
+ * <p>The first lookup for an issuer reads its discovery document and its key set; the decoded keys are then
+ * served from memory, so an SSO login makes no remote call. The key sets of the known issuers are refreshed in
+ * the background every {@code jwt.jwks.refresh-interval}; a failed refresh keeps the known keys, and keys whose
+ * modulus and exponent did not change are kept decoded. An unknown {@code kid}, as after a key rotation, fetches
+ * the key set of its issuer again, at most once per {@code jwt.jwks.min-refetch-interval}. Concurrent lookups
+ * of an unknown {@code kid} share one fetch. Remote calls are bounded by {@code jwt.jwks.connect-timeout} and
+ * {@code jwt.jwks.request-timeout}.</p>
+ */
+@Slf4j
+@Component
+public class JwksKeyStore {
+
+	private static final String DISCOVERY_PATH = "/.well-known/openid-configuration";
+
+	private final JwksProperties jwksProperties;
+	private final ObjectMapper objectMapper;
+	private final HttpClient httpClient;
+	private final Map<String, IssuerKeys> issuers = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService refreshExecutor;
+
+	public JwksKeyStore(JwksProperties jwksProperties) {
+		this.jwksProperties = jwksProperties;
+		this.objectMapper = new ObjectMapper();
+		this.httpClient = HttpClient.newBuilder()
+				.connectTimeout(jwksProperties.getConnectTimeout())
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.build();
+		this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "jwks-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long refreshMillis = jwksProperties.getRefreshInterval().toMillis();
+		refreshExecutor.scheduleWithFixedDelay(this::refreshAll, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns the signing key of an issuer.
+	 *
+	 * @param issuer The issuer of the token, base of its discovery document.
+	 * @param kid The key id from the token header.
+	 * @return The public key.
+	 * @throws JwtException If the issuer has no key with this id, or its keys cannot be fetched.
+	 */
+	public PublicKey getKey(String issuer, String kid) {
+		IssuerKeys issuerKeys = issuers.computeIfAbsent(issuer, IssuerKeys::new);
+		PublicKey key = issuerKeys.find(kid);
+		if (key != null) {
+			return key;
+		}
+		synchronized (issuerKeys) {
+			// fetched by a concurrent lookup while waiting
+			key = issuerKeys.find(kid);
+			if (key == null && issuerKeys.mayRefetch(jwksProperties.getMinRefetchInterval().toNanos())) {
+				log.info("Unknown key {} for issuer {}, fetching its key set", kid, issuer);
+				refresh(issuerKeys, false);
+				key = issuerKeys.find(kid);
+			}
+		}
+		if (key == null) {
+			throw new JwtException("Public key not found for kid: " + kid);
+		}
+		return key;
+	}
+
+	/**
+	 * Refreshes the discovery document and the key set of every known issuer. Runs in the background.
+	 */
+	public void refreshAll() {
+		for (IssuerKeys issuerKeys : issuers.values()) {
+			synchronized (issuerKeys) {
+				try {
+					refresh(issuerKeys, true);
+				} catch (RuntimeException e) {
+					log.warn("Unable to refresh the keys of issuer {}, keeping {} known keys: {}",
+							issuerKeys.issuer, issuerKeys.keys.size(), e.getMessage());
+				}
+			}
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		refreshExecutor.shutdownNow();
+	}
+
+	/**
+	 * Fetches the key set of an issuer and replaces its keys. Called with the issuer lock held.
+	 *
+	 * @param rediscover Read the discovery document again even if the key set location is known.
+	 */
+	private void refresh(IssuerKeys issuerKeys, boolean rediscover) {
+		issuerKeys.fetched = true;
+		issuerKeys.lastFetchNanos = System.nanoTime();
+		if (issuerKeys.jwksUri == null || rediscover) {
+			JsonNode discovery = fetch(issuerKeys.issuer + DISCOVERY_PATH);
+			JsonNode jwksUri = discovery.get("jwks_uri");
+			if (jwksUri == null || !jwksUri.isTextual()) {
+				throw new JwtException("JWKS URI not found in the OIDC discovery document of " + issuerKeys.issuer);
+			}
+			issuerKeys.jwksUri = jwksUri.asText();
+		}
+
+		JsonNode keys = fetch(issuerKeys.jwksUri).get("keys");
+		if (keys == null || !keys.isArray()) {
+			throw new JwtException("No keys in the JWKS of " + issuerKeys.issuer);
+		}
+		Map<String, DecodedKey> decodedKeys = new HashMap<>();
+		for (JsonNode key : keys) {
+			String kid = key.path("kid").asText(null);
+			if (kid == null || !"RSA".equals(key.path("kty").asText()) || "enc".equals(key.path("use").asText())) {
+				continue;
+			}
+			String modulus = key.path("n").asText();
+			String exponent = key.path("e").asText();
+			DecodedKey knownKey = issuerKeys.keys.get(kid);
+			decodedKeys.put(kid, knownKey != null && knownKey.matches(modulus, exponent)
+					? knownKey
+					: new DecodedKey(modulus, exponent, toRsaPublicKey(modulus, exponent)));
+		}
+		issuerKeys.keys = Map.copyOf(decodedKeys);
+		log.debug("Loaded {} keys for issuer {}", decodedKeys.size(), issuerKeys.issuer);
+	}
+
+	private JsonNode fetch(String uri) {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+				.timeout(jwksProperties.getRequestTimeout())
+				.header("Accept", "application/json")
+				.GET()
+				.build();
+		try {
+			HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+			if (response.statusCode() != 200) {
+				throw new JwtException("Unexpected status " + response.statusCode() + " from " + uri);
+			}
+			return objectMapper.readTree(response.body());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JwtException("Interrupted while fetching " + uri, e);
+		} catch (JwtException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new JwtException("Unable to fetch " + uri + ": " + e.getMessage(), e);
+		}
+	}
+
+	private static PublicKey toRsaPublicKey(String modulus, String exponent) {
+		try {
+			RSAPublicKeySpec keySpec = new RSAPublicKeySpec(
+					new BigInteger(1, Base64.getUrlDecoder().decode(modulus)),
+					new BigInteger(1, Base64.getUrlDecoder().decode(exponent)));
+			return KeyFactory.getInstance("RSA").generatePublic(keySpec);
+		} catch (Exception e) {
+			throw new JwtException("Error creating RSAPublicKey from modulus and exponent", e);
+		}
+	}
+
+	private static final class IssuerKeys {
+
+		private final String issuer;
+		private volatile Map<String, DecodedKey> keys = Map.of();
+		private volatile String jwksUri;
+		private volatile boolean fetched;
+		private volatile long lastFetchNanos;
+
+		private IssuerKeys(String issuer) {
+			this.issuer = issuer;
+		}
+
+		private PublicKey find(String kid) {
+			DecodedKey key = kid != null ? keys.get(kid) : null;
+			return key != null ? key.publicKey() : null;
+		}
+
+		private boolean mayRefetch(long minIntervalNanos) {
+			return !fetched || System.nanoTime() - lastFetchNanos >= minIntervalNanos;
+		}
+	}
+
+	private record DecodedKey(String modulus, String exponent, PublicKey publicKey) {
+
+		private boolean matches(String otherModulus, String otherExponent) {
+			return modulus.equals(otherModulus) && exponent.equals(otherExponent);
+		}
+	}
+}
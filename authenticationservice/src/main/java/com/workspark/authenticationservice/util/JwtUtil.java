@@ -1,24 +1,38 @@
 package com.workspark.authenticationservice.util;
 
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
-import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.workspark.authenticationservice.model.VerifiedToken;
 import com.workspark.commonconfig.models.pojo.TenantContext;
-import com.workspark.models.enums.UserRole;
 import com.workspark.models.pojo.AuthUser;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -26,12 +40,22 @@ import lombok.extern.slf4j.Slf4j;
  * JSON Web Tokens (JWT). Supports both access tokens and refresh tokens, with
  * methods to handle claims, expiration, and token validation.
  *
+ * <p>Tokens are verified in a single pass by {@link #verify(String)}, with a
+ * parser and a decoded signing key built once at startup. A parser is only
+ * read once configured, which makes it safe to share between request threads.
+ * Verified tokens are kept until they expire in a cache bounded by
+ * {@code jwt.cache.maximum-size}, keyed by the SHA-256 digest of the token so
+ * that raw tokens are not kept in memory; its statistics are published under
+ * the {@code auth.verified.token} cache name.</p>
+ *
  * @author mridulj
  */
 @Slf4j
 @Component
 public class JwtUtil {
 
+	static final String CACHE_NAME = "auth.verified.token";
+
 	@Value("${jwt.secret}")
 	private String secret;
 
@@ -40,9 +64,59 @@ public class JwtUtil {
 
 	@Value("${jwt.refreshExpiration}")
 	private long refreshTokenExpiration;
-	
+
+	@Value("${jwt.cache.enabled:true}")
+	private boolean cacheEnabled = true;
+
+	@Value("${jwt.cache.maximum-size:10000}")
+	private long cacheMaximumSize = 10_000;
+
 	private static final ObjectMapper objectMapper = new ObjectMapper();
 
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+	private final JwksKeyStore jwksKeyStore;
+	private SecretKey signingKey;
+	private JwtParser parser;
+	private Cache<String, VerifiedToken> verifiedTokens;
+
+	public JwtUtil(ObjectProvider<MeterRegistry> meterRegistry, JwksKeyStore jwksKeyStore) {
+		this.meterRegistry = meterRegistry;
+		this.jwksKeyStore = jwksKeyStore;
+	}
+
+	/**
+	 * Decodes the secret exactly like {@code signWith(SignatureAlgorithm.HS256, secret)}
+	 * does, and builds the parser and the verified token cache.
+	 */
+	@PostConstruct
+	public void init() {
+		signingKey = new SecretKeySpec(TextCodec.BASE64.decode(secret), SignatureAlgorithm.HS256.getJcaName());
+		parser = Jwts.parser().setSigningKey(signingKey);
+		verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(cacheMaximumSize)
+				.expireAfter(new Expiry<String, VerifiedToken>() {
+					@Override
+					public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+						return TimeUnit.MILLISECONDS.toNanos(value.getExpiresAt().toEpochMilli() - System.currentTimeMillis());
+					}
+
+					@Override
+					public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+							long currentDuration) {
+						return currentDuration;
+					}
+
+					@Override
+					public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+							long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.recordStats()
+				.build();
+		meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, verifiedTokens, CACHE_NAME));
+	}
+
 	/**
 	 * Generates a JWT access token for the given user.
 	 *
@@ -73,99 +147,71 @@ public class JwtUtil {
 	 * @param token The JWT token.
 	 * @param tokenType The expected token type (e.g., "userAccessToken").
 	 * @return True if the token is valid, otherwise false.
+	 * @throws JwtException If the token is malformed, expired or not signed with the secret.
 	 */
 	public Boolean validateToken(String token, String tokenType) {
-		log.info("Validating token of type: {}", tokenType);
-		String subject = extractSubject(token);
-		return tokenType.equals(subject) && !isTokenExpired(token);
-	}
-
-	/**
-	 * Extracts a claim from the token using a resolver function.
-	 *
-	 * @param token The JWT token.
-	 * @param claimsResolver A function to extract the specific claim.
-	 * @param <T> The type of the claim.
-	 * @return The extracted claim.
-	 */
-	private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-		return claimsResolver.apply(extractAllClaims(token));
-	}
-
-	/**
-	 * Extracts all claims from the token.
-	 *
-	 * @param token The JWT token.
-	 * @return A Claims object containing all claims.
-	 */
-	private Claims extractAllClaims(String token) {
-		return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
-	}
-
-	/**
-	 * Extracts the subject from the token.
-	 *
-	 * @param token The JWT token.
-	 * @return The subject.
-	 */
-	private String extractSubject(String token) {
-		return extractClaim(token, Claims::getSubject);
+		log.debug("Validating token of type: {}", tokenType);
+		return tokenType.equals(verify(token).getSubject());
 	}
 
 	/**
-	 * Extracts the expiration date from the token.
+	 * Verifies the signature and expiration of the token and returns its claims,
+	 * parsing the token at most once while it is cached.
 	 *
 	 * @param token The JWT token.
-	 * @return The expiration date.
+	 * @return The verified claims.
+	 * @throws JwtException If the token is malformed, expired or not signed with the secret.
 	 */
-	private Date extractExpiration(String token) {
-		return extractClaim(token, Claims::getExpiration);
-	}
-
-	/**
-	 * Checks if the token has expired.
-	 *
-	 * @param token The JWT token.
-	 * @return True if the token has expired, otherwise false.
-	 */
-	private boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
+	public VerifiedToken verify(String token) {
+		if (!cacheEnabled) {
+			return toVerifiedToken(parser.parseClaimsJws(token).getBody());
+		}
+		String key = sha256(token);
+		VerifiedToken verifiedToken = verifiedTokens.getIfPresent(key);
+		if (verifiedToken != null && verifiedToken.getExpiresAt().isAfter(Instant.now())) {
+			return verifiedToken;
+		}
+		verifiedToken = toVerifiedToken(parser.parseClaimsJws(token).getBody());
+		if (verifiedToken.getExpiresAt() != null) {
+			verifiedTokens.put(key, verifiedToken);
+		}
+		return verifiedToken;
 	}
 
 	/**
-	 * Generates a new JWT access token from an existing token.
+	 * Generates a new JWT access token from a verified token.
 	 *
-	 * @param token The existing JWT token.
+	 * @param token The verified existing token.
 	 * @return A new JWT access token.
 	 */
-	public String generateNewTokenFromOldToken(String token) {
+	public String generateNewTokenFromOldToken(VerifiedToken token) {
 		return buildToken(extractClaimsFromToken(token), "userAccessToken", jwtExpiration);
 	}
 
 	/**
-	 * Generates a new JWT refresh token from an existing token.
+	 * Generates a new JWT refresh token from a verified token.
 	 *
-	 * @param token The existing JWT token.
+	 * @param token The verified existing token.
 	 * @return A new JWT refresh token.
 	 */
-	public String generateNewRefreshTokenFromOldToken(String token) {
+	public String generateNewRefreshTokenFromOldToken(VerifiedToken token) {
 		return buildToken(extractClaimsFromToken(token), "userRefreshToken", refreshTokenExpiration);
 	}
 
 	/**
 	 * Extracts claims for creating a new token from an existing token.
 	 *
-	 * @param token The existing JWT token.
+	 * @param token The verified existing token.
 	 * @return A map of claims extracted from the token.
 	 */
-	private Map<String, Object> extractClaimsFromToken(String token) {
-		Claims claims = extractAllClaims(token);
+	private Map<String, Object> extractClaimsFromToken(VerifiedToken token) {
 		Map<String, Object> extractedClaims = new HashMap<>();
-		extractedClaims.put("name", claims.get("name"));
-		extractedClaims.put("roles", claims.get("roles"));
-		extractedClaims.put("email", claims.get("email"));
-		extractedClaims.put("uuid", claims.get("uuid"));
-		extractedClaims.put("tenant", claims.get("tenant"));
+		extractedClaims.put("name", token.getName());
+		extractedClaims.put("roles", token.getRoles());
+		extractedClaims.put("email", token.getEmail());
+		extractedClaims.put("uuid", token.getUuid());
+		extractedClaims.put("id", token.getId());
+		extractedClaims.put("tenant", token.getTenant());
 		return extractedClaims;
 	}
 
@@ -182,12 +228,14 @@ public class JwtUtil {
 		claims.put("roles", authUser.getRoles());
 		claims.put("email", authUser.getEmail());
 		claims.put("uuid", redisAuthUserId);
+		claims.put("id", authUser.getId());
 		claims.put("tenant", TenantContext.getCurrentTenant());
 		return claims;
 	}
 
 	/**
 	 * Builds a token with the provided claims, subject, and expiration time.
+	 * Every token gets its own {@code jti}, so that it can be revoked alone.
 	 *
 	 * @param claims The claims to include in the token.
 	 * @param subject The token's subject.
@@ -195,12 +243,14 @@ public class JwtUtil {
 	 * @return The generated token as a string.
 	 */
 	private String buildToken(Map<String, Object> claims, String subject, Long expTime) {
+		long now = System.currentTimeMillis();
 		return Jwts.builder()
 				.setClaims(claims)
+				.setId(UUID.randomUUID().toString())
 				.setSubject(subject)
-				.setIssuedAt(new Date(System.currentTimeMillis()))
-				.setExpiration(new Date(System.currentTimeMillis() + expTime))
-				.signWith(SignatureAlgorithm.HS256, secret)
+				.setIssuedAt(new Date(now))
+				.setExpiration(new Date(now + expTime))
+				.signWith(SignatureAlgorithm.HS256, signingKey)
 				.compact();
 	}
 
@@ -211,16 +261,51 @@ public class JwtUtil {
 	 * @return The extracted UUID.
 	 */
 	public String extractRedisAuthUserId(String token) {
-		return extractClaim(token, claims -> (String) claims.get("uuid"));
+		return verify(token).getUuid();
+	}
+
+	/**
+	 * Returns the latest expiration of a token of a session refreshed now: the expiration of a new refresh token.
+	 *
+	 * @return The expiration instant.
+	 */
+	public Instant sessionExpiresAt() {
+		return Instant.now().plusMillis(refreshTokenExpiration);
+	}
+
+	private static VerifiedToken toVerifiedToken(Claims claims) {
+		List<String> roles = claims.get("roles") instanceof List<?> roleList
+				? roleList.stream().map(String::valueOf).toList()
+				: List.of();
+		return VerifiedToken.builder()
+				.subject(claims.getSubject())
+				.uuid(claims.get("uuid", String.class))
+				.id(claims.get("id", Long.class))
+				.jti(claims.getId())
+				.name(claims.get("name", String.class))
+				.email(claims.get("email", String.class))
+				.roles(roles)
+				.tenant(claims.get("tenant", String.class))
+				.expiresAt(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+				.build();
 	}
-	
+
+	private static String sha256(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
 	public boolean validateToken(String token, OidcUser oidcUser) {
 		try {
 			// Get the public key
 			PublicKey publicKey = getPublicKeyFromOidcProvider(token, oidcUser.getIssuer().toString());
 			log.info("---Issuer OIDC -- " + oidcUser.getIssuer().toString());
 			// Parse and validate the token using the public key
-			Claims claims = Jwts.parser().setSigningKey(publicKey).parseClaimsJws(token).getBody();
+			Jwts.parser().setSigningKey(publicKey).parseClaimsJws(token);
 
 			log.info("Token signature is valid");
 			return true;
@@ -230,60 +315,27 @@ public class JwtUtil {
 		}
 	}
 
-	public PublicKey getPublicKeyFromOidcProvider(String token, String issuer) throws Exception {
-		// Discover the JWKS URI from the OIDC provider's discovery endpoint
-		String discoveryUrl = issuer + "/.well-known/openid-configuration";
-		Map<String, String> config = objectMapper.readValue(new URL(discoveryUrl), Map.class);
-		String jwksUri = config.get("jwks_uri");
-		if (Objects.isNull(jwksUri)) {
-			throw new IllegalStateException("JWKS URI not found in the OIDC discovery document.");
-		}
-
-		// Fetch the JWKS (JSON Web Key Set) from the URI
-		Map<String, Object> jwks = objectMapper.readValue(new URL(jwksUri), Map.class);
-		List<Map<String, Object>> keys = (List<Map<String, Object>>) jwks.get("keys");
-
-		// Find the public key by matching the 'kid' in the JWT header
-		String kid = getKidFromToken(token);
-		for (Map<String, Object> key : keys) {
-			if (key.get("kid").equals(kid)) {
-				// Parse the public key from the JWKS
-				String modulus = (String) key.get("n");
-				String exponent = (String) key.get("e");
-
-				// Convert the modulus and exponent to RSAPublicKey
-				return getRSAPublicKey(modulus, exponent);
-			}
-		}
-		throw new IllegalStateException("Public key not found for kid: " + kid);
+	/**
+	 * Returns the key that signed an id token, from the keys of its issuer kept by the {@link JwksKeyStore}.
+	 *
+	 * @param token The id token.
+	 * @param issuer The issuer of the token.
+	 * @return The public key.
+	 */
+	public PublicKey getPublicKeyFromOidcProvider(String token, String issuer) {
+		return jwksKeyStore.getKey(issuer, getKidFromToken(token));
 	}
 
 	// Method to extract 'kid' from JWT header
 	private String getKidFromToken(String token) {
 		// Get JWT header and extract 'kid'
 		try {
-			String header = token.split("\\.")[0];
-			byte[] decodedHeader = Base64.getDecoder().decode(header);
+			String header = token.substring(0, token.indexOf('.'));
+			byte[] decodedHeader = Base64.getUrlDecoder().decode(header);
 			Map<String, Object> headerMap = objectMapper.readValue(decodedHeader, Map.class);
 			return (String) headerMap.get("kid");
 		} catch (Exception e) {
 			throw new JwtException("Error extracting 'kid' from token", e);
 		}
 	}
-
-	private RSAPublicKey getRSAPublicKey(String modulus, String exponent) {
-		try {
-			// Decode modulus and exponent from base64 URL encoding
-			byte[] modBytes = Base64.getUrlDecoder().decode(modulus);
-			byte[] expBytes = Base64.getUrlDecoder().decode(exponent);
-
-			// Create RSAPublicKey using the decoded modulus and exponent
-			java.security.spec.RSAPublicKeySpec keySpec = new java.security.spec.RSAPublicKeySpec(
-					new java.math.BigInteger(1, modBytes), new java.math.BigInteger(1, expBytes));
-			java.security.KeyFactory keyFactory = java.security.KeyFactory.getInstance("RSA");
-			return (RSAPublicKey) keyFactory.generatePublic(keySpec);
-		} catch (Exception e) {
-			throw new JwtException("Error creating RSAPublicKey from modulus and exponent", e);
-		}
-	}
 }
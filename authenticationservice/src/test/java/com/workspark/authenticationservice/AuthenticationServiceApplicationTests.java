@@ -16,6 +16,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
+import com.workspark.authenticationservice.config.ClientRegistrationProperties;
 import com.workspark.authenticationservice.repository.CustomPersistedClientRegistrationRepo;
 import com.workspark.authenticationservice.repository.Oauth2RegisteredClientRepository;
 
@@ -80,7 +81,7 @@ public class AuthenticationServiceApplicationTests {
 
         @Bean
         public CustomPersistedClientRegistrationRepo customPersistedClientRegistrationRepo(Oauth2RegisteredClientRepository oauth2RegisteredClientRepository) {
-            return new CustomPersistedClientRegistrationRepo(oauth2RegisteredClientRepository);
+            return new CustomPersistedClientRegistrationRepo(oauth2RegisteredClientRepository, new ClientRegistrationProperties());
         }
 
         @Bean
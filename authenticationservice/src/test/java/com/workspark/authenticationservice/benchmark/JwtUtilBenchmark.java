@@ -0,0 +1,154 @@
+package com.workspark.authenticationservice.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.workspark.authenticationservice.model.VerifiedToken;
+import com.workspark.authenticationservice.util.JwksKeyStore;
+import com.workspark.authenticationservice.util.JwtUtil;
+import com.workspark.models.enums.UserRole;
+import com.workspark.models.pojo.AuthUser;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Token validation and refresh throughput of {@link JwtUtil} against the previous implementation, reproduced
+ * here: three parses with the raw secret to validate an access token and read its {@code uuid}, four parses to
+ * refresh. {@code cached} switches the verified token cache on and off.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.workspark.authenticationservice.benchmark.JwtUtilBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+	private static final String SECRET = "worksparkMindfire";
+	private static final long ACCESS_EXPIRATION = 3_600_000;
+	private static final long REFRESH_EXPIRATION = 86_400_000;
+
+	@Param({"false", "true"})
+	public boolean cached;
+
+	private JwtUtil jwtUtil;
+	private String accessToken;
+	private String refreshToken;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		jwtUtil = new JwtUtil(mock(ObjectProvider.class), mock(JwksKeyStore.class));
+		ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", ACCESS_EXPIRATION);
+		ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", REFRESH_EXPIRATION);
+		ReflectionTestUtils.setField(jwtUtil, "cacheEnabled", cached);
+		jwtUtil.init();
+
+		AuthUser authUser = AuthUser.builder()
+				.email("jane@workspark.com")
+				.firstName("Jane")
+				.lastName("Doe")
+				.roles(List.of(UserRole.USER, UserRole.ADMIN))
+				.build();
+		accessToken = jwtUtil.generateAccessToken(authUser, "6f1c2a52-0b7e-4f8e-9d7a-2c1d5e9b8a31");
+		refreshToken = jwtUtil.generateRefreshToken(authUser, "6f1c2a52-0b7e-4f8e-9d7a-2c1d5e9b8a31");
+	}
+
+	@Benchmark
+	public String validatePrevious() {
+		if ("userAccessToken".equals(parse(accessToken).getSubject()) && !parse(accessToken).getExpiration().before(new Date())) {
+			return (String) parse(accessToken).get("uuid");
+		}
+		throw new IllegalStateException();
+	}
+
+	@Benchmark
+	public String validate() {
+		VerifiedToken verifiedToken = jwtUtil.verify(accessToken);
+		if ("userAccessToken".equals(verifiedToken.getSubject())) {
+			return verifiedToken.getUuid();
+		}
+		throw new IllegalStateException();
+	}
+
+	@Benchmark
+	public String refreshPrevious() {
+		if (!"userRefreshToken".equals(parse(refreshToken).getSubject()) || parse(refreshToken).getExpiration().before(new Date())) {
+			throw new IllegalStateException();
+		}
+		return build(copyClaims(parse(refreshToken)), "userAccessToken", ACCESS_EXPIRATION)
+				+ build(copyClaims(parse(refreshToken)), "userRefreshToken", REFRESH_EXPIRATION);
+	}
+
+	@Benchmark
+	public String refresh() {
+		VerifiedToken verifiedToken = jwtUtil.verify(refreshToken);
+		if (!"userRefreshToken".equals(verifiedToken.getSubject())) {
+			throw new IllegalStateException();
+		}
+		return jwtUtil.generateNewTokenFromOldToken(verifiedToken)
+				+ jwtUtil.generateNewRefreshTokenFromOldToken(verifiedToken);
+	}
+
+	private static Claims parse(String token) {
+		return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+	}
+
+	private static Map<String, Object> copyClaims(Claims claims) {
+		Map<String, Object> copiedClaims = new HashMap<>();
+		copiedClaims.put("name", claims.get("name"));
+		copiedClaims.put("roles", claims.get("roles"));
+		copiedClaims.put("email", claims.get("email"));
+		copiedClaims.put("uuid", claims.get("uuid"));
+		copiedClaims.put("tenant", claims.get("tenant"));
+		return copiedClaims;
+	}
+
+	private static String build(Map<String, Object> claims, String subject, long expiration) {
+		return Jwts.builder()
+				.setClaims(claims)
+				.setSubject(subject)
+				.setIssuedAt(new Date(System.currentTimeMillis()))
+				.setExpiration(new Date(System.currentTimeMillis() + expiration))
+				.signWith(SignatureAlgorithm.HS256, SECRET)
+				.compact();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtUtilBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,101 @@
+package com.workspark.authenticationservice.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.workspark.security.config.PasswordHashingProperties;
+import com.workspark.security.password.PasswordHasher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Hash and verify throughput of BCrypt by cost factor, to pick {@code workspark.password-hashing.strength}:
+ * sign in latency is about one {@code verify} and sign up one {@code hash}. The {@code Hasher} benchmarks go
+ * through {@link PasswordHasher} with 16 callers, as during a burst of sign ins: throughput is bounded by the
+ * pool size, and the callers beyond it wait in the queue instead of competing for the cores.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.workspark.authenticationservice.benchmark.PasswordHashingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+	private static final String PASSWORD = "Workspark@2024";
+
+	@Param({"8", "10", "12", "14"})
+	public int strength;
+
+	private BCryptPasswordEncoder passwordEncoder;
+	private PasswordHasher passwordHasher;
+	private String encodedPassword;
+
+	@Setup
+	public void setUp() {
+		passwordEncoder = new BCryptPasswordEncoder(strength);
+		encodedPassword = passwordEncoder.encode(PASSWORD);
+
+		PasswordHashingProperties properties = new PasswordHashingProperties();
+		properties.setStrength(strength);
+		properties.setQueueCapacity(1_000);
+		properties.setTimeout(Duration.ofMinutes(1));
+		passwordHasher = new PasswordHasher(passwordEncoder, properties, new SimpleMeterRegistry());
+	}
+
+	@TearDown
+	public void tearDown() {
+		passwordHasher.close();
+	}
+
+	@Benchmark
+	public String hash() {
+		return passwordEncoder.encode(PASSWORD);
+	}
+
+	@Benchmark
+	public boolean verify() {
+		return passwordEncoder.matches(PASSWORD, encodedPassword);
+	}
+
+	@Benchmark
+	@Threads(16)
+	public String hashWithHasher() {
+		return passwordHasher.encode(PASSWORD);
+	}
+
+	@Benchmark
+	@Threads(16)
+	public boolean verifyWithHasher() {
+		return passwordHasher.matches(PASSWORD, encodedPassword);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(PasswordHashingBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,76 @@
+package com.workspark.authenticationservice.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+class ClientRegistrationRequestTest {
+
+	private static ValidatorFactory validatorFactory;
+	private static Validator validator;
+
+	@BeforeAll
+	static void setUp() {
+		validatorFactory = Validation.buildDefaultValidatorFactory();
+		validator = validatorFactory.getValidator();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		validatorFactory.close();
+	}
+
+	@Test
+	void testValidRequestBecomesTheRow() {
+		ClientRegistrationRequest request = request();
+
+		assertTrue(validator.validate(request).isEmpty());
+		Oauth2RegisteredClientEntity entity = request.toEntity("google");
+		assertEquals("google", entity.getRegistrationId());
+		assertEquals("https://oauth2.googleapis.com/token", entity.getTokenUri());
+	}
+
+	@Test
+	void testProviderEndpointsMustUseHttps() {
+		ClientRegistrationRequest request = request();
+		request.setTokenUri("http://attacker.example/token");
+		request.setUserInfoUri("http://attacker.example/userinfo");
+		request.setClientId(null);
+
+		Set<String> invalidFields = validator.validate(request).stream()
+				.map(ConstraintViolation::getPropertyPath)
+				.map(Object::toString)
+				.collect(Collectors.toSet());
+
+		assertEquals(Set.of("tokenUri", "userInfoUri", "clientId"), invalidFields);
+	}
+
+	@Test
+	void testSecretIsNotPrinted() {
+		assertFalse(request().toString().contains("secret"));
+	}
+
+	private static ClientRegistrationRequest request() {
+		ClientRegistrationRequest request = new ClientRegistrationRequest();
+		request.setClientId("google-client");
+		request.setClientSecret("google-secret");
+		request.setClientAuthenticationMethod("client_secret_basic");
+		request.setAuthorizationGrantType("authorization_code");
+		request.setRedirectUri("{baseUrl}/login/oauth2/code/{registrationId}");
+		request.setScopes("openid,email");
+		request.setAuthorizationUri("https://accounts.google.com/o/oauth2/v2/auth");
+		request.setTokenUri("https://oauth2.googleapis.com/token");
+		request.setUserInfoUri("https://openidconnect.googleapis.com/v1/userinfo");
+		return request;
+	}
+}
@@ -0,0 +1,87 @@
+package com.workspark.authenticationservice.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+
+import com.workspark.authenticationservice.config.ClientRegistrationProperties;
+import com.workspark.authenticationservice.projections.Oauth2RegisteredClientProjection;
+
+class CustomPersistedClientRegistrationRepoTest {
+
+	private final Oauth2RegisteredClientRepository repository = mock(Oauth2RegisteredClientRepository.class);
+	private CustomPersistedClientRegistrationRepo clientRegistrationRepo;
+
+	@AfterEach
+	void tearDown() {
+		clientRegistrationRepo.close();
+	}
+
+	@Test
+	void testLookupsAreServedFromMemory() {
+		List<Oauth2RegisteredClientProjection> clients = List.of(client("google"), client("microsoft"));
+		when(repository.findAllBy()).thenReturn(clients);
+		clientRegistrationRepo = new CustomPersistedClientRegistrationRepo(repository, new ClientRegistrationProperties());
+
+		ClientRegistration google = clientRegistrationRepo.findByRegistrationId("google");
+
+		assertEquals("google-client", google.getClientId());
+		assertEquals(AuthorizationGrantType.AUTHORIZATION_CODE, google.getAuthorizationGrantType());
+		assertSame(google, clientRegistrationRepo.findByRegistrationId("google"));
+		assertThrows(IllegalArgumentException.class, () -> clientRegistrationRepo.findByRegistrationId("github"));
+		verify(repository, times(1)).findAllBy();
+		verify(repository, never()).findByRegistrationId("google");
+	}
+
+	@Test
+	void testReloadReplacesRegistrationsAndKeepsThemOnFailure() {
+		List<Oauth2RegisteredClientProjection> clients = List.of(client("google"));
+		List<Oauth2RegisteredClientProjection> changedClients = List.of(client("github"));
+		when(repository.findAllBy()).thenReturn(clients);
+		clientRegistrationRepo = new CustomPersistedClientRegistrationRepo(repository, new ClientRegistrationProperties());
+
+		when(repository.findAllBy()).thenReturn(changedClients);
+		clientRegistrationRepo.reload();
+		assertEquals("github-client", clientRegistrationRepo.findByRegistrationId("github").getClientId());
+		assertThrows(IllegalArgumentException.class, () -> clientRegistrationRepo.findByRegistrationId("google"));
+
+		when(repository.findAllBy()).thenThrow(new IllegalStateException("database unavailable"));
+		clientRegistrationRepo.reload();
+		assertEquals("github-client", clientRegistrationRepo.findByRegistrationId("github").getClientId());
+	}
+
+	@Test
+	void testUnavailableDatabaseAtStartupIsRetriedOnLookup() {
+		List<Oauth2RegisteredClientProjection> clients = List.of(client("google"));
+		when(repository.findAllBy()).thenThrow(new IllegalStateException("database unavailable"))
+				.thenReturn(clients);
+		clientRegistrationRepo = new CustomPersistedClientRegistrationRepo(repository, new ClientRegistrationProperties());
+
+		assertEquals("google-client", clientRegistrationRepo.findByRegistrationId("google").getClientId());
+		assertThrows(IllegalArgumentException.class, () -> clientRegistrationRepo.findByRegistrationId("github"));
+		verify(repository, times(2)).findAllBy();
+	}
+
+	private static Oauth2RegisteredClientProjection client(String registrationId) {
+		Oauth2RegisteredClientProjection client = mock(Oauth2RegisteredClientProjection.class);
+		when(client.getRegistrationId()).thenReturn(registrationId);
+		when(client.getClientId()).thenReturn(registrationId + "-client");
+		when(client.getClientSecret()).thenReturn("secret");
+		when(client.getAuthorizationGrantType()).thenReturn("authorization_code");
+		when(client.getRedirectUri()).thenReturn("{baseUrl}/login/oauth2/code/{registrationId}");
+		when(client.getScopes()).thenReturn("openid,email");
+		when(client.getAuthorizationUri()).thenReturn("https://" + registrationId + ".example.com/authorize");
+		when(client.getTokenUri()).thenReturn("https://" + registrationId + ".example.com/token");
+		return client;
+	}
+}
@@ -0,0 +1,76 @@
+package com.workspark.authenticationservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.workspark.authenticationservice.config.ClientRegistrationProperties;
+import com.workspark.authenticationservice.model.Oauth2RegisteredClientEntity;
+import com.workspark.authenticationservice.repository.CustomPersistedClientRegistrationRepo;
+import com.workspark.authenticationservice.repository.Oauth2RegisteredClientRepository;
+
+class ClientRegistrationServiceImplTest {
+
+	private final Oauth2RegisteredClientRepository repository = mock(Oauth2RegisteredClientRepository.class);
+	private final CustomPersistedClientRegistrationRepo clientRegistrationRepo =
+			mock(CustomPersistedClientRegistrationRepo.class);
+	private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+	private ClientRegistrationServiceImpl clientRegistrationService;
+
+	@BeforeEach
+	void setUp() {
+		clientRegistrationService = new ClientRegistrationServiceImpl(repository, clientRegistrationRepo,
+				stringRedisTemplate, new ClientRegistrationProperties());
+	}
+
+	@Test
+	void testSavedRegistrationIsPublished() {
+		Oauth2RegisteredClientEntity clientRegistration = new Oauth2RegisteredClientEntity();
+		clientRegistration.setRegistrationId("google");
+
+		clientRegistrationService.saveClientRegistration(clientRegistration);
+
+		verify(repository).save(clientRegistration);
+		verify(stringRedisTemplate).convertAndSend("oauth2-client-registration", "google");
+		verify(clientRegistrationRepo, never()).reload();
+	}
+
+	@Test
+	void testDeletedRegistrationIsPublished() {
+		when(repository.existsById("google")).thenReturn(true);
+
+		clientRegistrationService.deleteClientRegistration("google");
+
+		verify(repository).deleteById("google");
+		verify(stringRedisTemplate).convertAndSend("oauth2-client-registration", "google");
+	}
+
+	@Test
+	void testUnknownRegistrationIsNotDeleted() {
+		assertThrows(IllegalArgumentException.class, () -> clientRegistrationService.deleteClientRegistration("github"));
+
+		verify(repository, never()).deleteById("github");
+		verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+	}
+
+	@Test
+	void testUnpublishedChangeIsReloadedLocally() {
+		doThrow(new RedisConnectionFailureException("down"))
+				.when(stringRedisTemplate).convertAndSend(anyString(), anyString());
+		Oauth2RegisteredClientEntity clientRegistration = new Oauth2RegisteredClientEntity();
+		clientRegistration.setRegistrationId("google");
+
+		clientRegistrationService.saveClientRegistration(clientRegistration);
+
+		verify(clientRegistrationRepo).reload();
+	}
+}
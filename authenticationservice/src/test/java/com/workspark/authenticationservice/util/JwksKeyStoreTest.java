@@ -0,0 +1,153 @@
+package com.workspark.authenticationservice.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.workspark.authenticationservice.config.JwksProperties;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Runs against a local stub of an OIDC provider serving its discovery document and key set.
+ */
+class JwksKeyStoreTest {
+
+	private HttpServer server;
+	private String issuer;
+	private final AtomicInteger discoveryRequests = new AtomicInteger();
+	private final AtomicInteger jwksRequests = new AtomicInteger();
+	private final Map<String, RSAPublicKey> publishedKeys = new ConcurrentHashMap<>();
+	private volatile int jwksStatus = 200;
+
+	private JwksProperties jwksProperties;
+	private JwksKeyStore jwksKeyStore;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		issuer = "http://127.0.0.1:" + server.getAddress().getPort();
+		server.createContext("/.well-known/openid-configuration", exchange -> {
+			discoveryRequests.incrementAndGet();
+			respond(exchange, 200, "{\"issuer\":\"" + issuer + "\",\"jwks_uri\":\"" + issuer + "/keys\"}");
+		});
+		server.createContext("/keys", exchange -> {
+			jwksRequests.incrementAndGet();
+			respond(exchange, jwksStatus, jwks());
+		});
+		server.start();
+
+		jwksProperties = new JwksProperties();
+		jwksProperties.setMinRefetchInterval(Duration.ofHours(1));
+		jwksKeyStore = new JwksKeyStore(jwksProperties);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jwksKeyStore.close();
+		server.stop(0);
+	}
+
+	@Test
+	void testKeysAreFetchedOnceAndKeptDecoded() throws Exception {
+		RSAPublicKey key = publish("key-1");
+
+		assertEquals(key, jwksKeyStore.getKey(issuer, "key-1"));
+		assertSame(jwksKeyStore.getKey(issuer, "key-1"), jwksKeyStore.getKey(issuer, "key-1"));
+
+		assertEquals(1, discoveryRequests.get());
+		assertEquals(1, jwksRequests.get());
+	}
+
+	@Test
+	void testUnknownKidRefetchesOnceWithinInterval() throws Exception {
+		publish("key-1");
+		jwksKeyStore.getKey(issuer, "key-1");
+
+		// rotation: the first lookup of the new key fetches the key set again
+		RSAPublicKey rotatedKey = publish("key-2");
+		jwksProperties.setMinRefetchInterval(Duration.ZERO);
+		assertEquals(rotatedKey, jwksKeyStore.getKey(issuer, "key-2"));
+		assertEquals(2, jwksRequests.get());
+
+		// made up key ids do not reach the provider more than once per interval
+		jwksProperties.setMinRefetchInterval(Duration.ofHours(1));
+		assertThrows(JwtException.class, () -> jwksKeyStore.getKey(issuer, "unknown"));
+		assertThrows(JwtException.class, () -> jwksKeyStore.getKey(issuer, "unknown"));
+		assertEquals(2, jwksRequests.get());
+		assertEquals(1, discoveryRequests.get());
+	}
+
+	@Test
+	void testBackgroundRefreshKeepsKeysOnFailure() throws Exception {
+		RSAPublicKey key = publish("key-1");
+		jwksKeyStore.getKey(issuer, "key-1");
+
+		jwksStatus = 500;
+		jwksKeyStore.refreshAll();
+		assertEquals(key, jwksKeyStore.getKey(issuer, "key-1"));
+
+		jwksStatus = 200;
+		RSAPublicKey rotatedKey = publish("key-2");
+		jwksKeyStore.refreshAll();
+		int requests = jwksRequests.get();
+		assertEquals(rotatedKey, jwksKeyStore.getKey(issuer, "key-2"));
+		assertEquals(requests, jwksRequests.get());
+	}
+
+	@Test
+	void testUnreachableProviderIsReported() {
+		server.stop(0);
+
+		assertThrows(JwtException.class, () -> jwksKeyStore.getKey(issuer, "key-1"));
+	}
+
+	private RSAPublicKey publish(String kid) throws NoSuchAlgorithmException {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		KeyPair keyPair = generator.generateKeyPair();
+		RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+		publishedKeys.put(kid, publicKey);
+		return publicKey;
+	}
+
+	private String jwks() {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		StringBuilder json = new StringBuilder("{\"keys\":[");
+		publishedKeys.forEach((kid, key) -> {
+			if (json.charAt(json.length() - 1) == '}') {
+				json.append(',');
+			}
+			json.append("{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"").append(kid)
+					.append("\",\"n\":\"").append(encoder.encodeToString(key.getModulus().toByteArray()))
+					.append("\",\"e\":\"").append(encoder.encodeToString(key.getPublicExponent().toByteArray()))
+					.append("\"}");
+		});
+		return json.append("]}").toString();
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		exchange.getResponseBody().write(bytes);
+		exchange.close();
+	}
+}
@@ -0,0 +1,112 @@
+package com.workspark.authenticationservice.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.workspark.authenticationservice.model.VerifiedToken;
+import com.workspark.models.enums.UserRole;
+import com.workspark.models.pojo.AuthUser;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+
+class JwtUtilTest {
+
+	private static final String SECRET = "worksparkMindfire";
+
+	private JwtUtil jwtUtil;
+	private AuthUser authUser;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = newJwtUtil(SECRET);
+		authUser = AuthUser.builder()
+				.email("jane@workspark.com")
+				.firstName("Jane")
+				.lastName("Doe")
+				.roles(List.of(UserRole.USER))
+				.build();
+	}
+
+	@Test
+	void testVerifyReturnsClaimsInOnePass() {
+		String token = jwtUtil.generateAccessToken(authUser, "uuid-1");
+
+		VerifiedToken verifiedToken = jwtUtil.verify(token);
+
+		assertEquals("userAccessToken", verifiedToken.getSubject());
+		assertEquals("uuid-1", verifiedToken.getUuid());
+		assertEquals("jane@workspark.com", verifiedToken.getEmail());
+		assertEquals("Jane Doe", verifiedToken.getName());
+		assertEquals(List.of("USER"), verifiedToken.getRoles());
+		assertNotNull(verifiedToken.getJti());
+		assertTrue(jwtUtil.validateToken(token, "userAccessToken"));
+		assertFalse(jwtUtil.validateToken(token, "userRefreshToken"));
+	}
+
+	@Test
+	void testVerifiedTokenIsCached() {
+		String token = jwtUtil.generateRefreshToken(authUser, "uuid-1");
+
+		assertSame(jwtUtil.verify(token), jwtUtil.verify(token));
+	}
+
+	@Test
+	void testTokensSignedWithRawSecretAreAccepted() {
+		String token = Jwts.builder()
+				.setClaims(Map.of("uuid", "uuid-2"))
+				.setSubject("userAccessToken")
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(SignatureAlgorithm.HS256, SECRET)
+				.compact();
+
+		assertEquals("uuid-2", jwtUtil.verify(token).getUuid());
+		assertNull(jwtUtil.verify(token).getJti());
+	}
+
+	@Test
+	void testInvalidTokensAreRejected() {
+		String otherSecretToken = newJwtUtil("anotherSecretKey").generateAccessToken(authUser, "uuid-1");
+		String expiredToken = Jwts.builder()
+				.setSubject("userAccessToken")
+				.setExpiration(new Date(System.currentTimeMillis() - 1_000))
+				.signWith(SignatureAlgorithm.HS256, SECRET)
+				.compact();
+
+		assertThrows(SignatureException.class, () -> jwtUtil.verify(otherSecretToken));
+		assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(expiredToken));
+	}
+
+	@Test
+	void testRefreshKeepsSessionWithNewTokenId() {
+		VerifiedToken refreshToken = jwtUtil.verify(jwtUtil.generateRefreshToken(authUser, "uuid-1"));
+
+		VerifiedToken accessToken = jwtUtil.verify(jwtUtil.generateNewTokenFromOldToken(refreshToken));
+
+		assertEquals("userAccessToken", accessToken.getSubject());
+		assertEquals("uuid-1", accessToken.getUuid());
+		assertEquals(refreshToken.getRoles(), accessToken.getRoles());
+		assertNotEquals(refreshToken.getJti(), accessToken.getJti());
+	}
+
+	@SuppressWarnings("unchecked")
+	static JwtUtil newJwtUtil(String secret) {
+		JwtUtil jwtUtil = new JwtUtil(mock(ObjectProvider.class), mock(JwksKeyStore.class));
+		ReflectionTestUtils.setField(jwtUtil, "secret", secret);
+		ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 3_600_000L);
+		ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", 86_400_000L);
+		jwtUtil.init();
+		return jwtUtil;
+	}
+}
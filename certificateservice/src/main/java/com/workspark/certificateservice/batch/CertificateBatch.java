@@ -0,0 +1,48 @@
+package com.workspark.certificateservice.batch;
+
+import com.workspark.certificateservice.cache.PreparedAssets;
+import net.sf.jasperreports.engine.JasperReport;
+import org.springframework.http.MediaType;
+
+import java.util.Set;
+
+/**
+ * A template resolved for a batch of certificates: everything the rows of the batch are rendered with, so that
+ * the template is read once for the whole batch.
+ *
+ * @param tenant        the tenant the batch was requested by, set on the threads rendering its rows
+ * @param templateId    the id of the template
+ * @param type          the type of each certificate ({@code pdf}, {@code jpg} or {@code png})
+ * @param output        {@code zip} for one file per certificate, {@code pdf} for a single document
+ * @param report        the deserialized template
+ * @param dynamicFields the dynamic fields every row must provide
+ * @param assets        the prepared assets of the template
+ */
+public record CertificateBatch(String tenant, Long templateId, String type, String output, JasperReport report,
+                               Set<String> dynamicFields, PreparedAssets assets) {
+
+    public static final String OUTPUT_ZIP = "zip";
+    public static final String OUTPUT_PDF = "pdf";
+
+    /**
+     * @return the content type of the response
+     */
+    public MediaType contentType() {
+        return OUTPUT_PDF.equals(output) ? MediaType.APPLICATION_PDF : MediaType.parseMediaType("application/zip");
+    }
+
+    /**
+     * @return the name of the file of the response
+     */
+    public String filename() {
+        return "certificates." + output;
+    }
+
+    /**
+     * @param number the number of a row, from 1
+     * @return the name of the file of the certificate of this row in a ZIP
+     */
+    public String entryName(long number) {
+        return String.format("certificate-%06d.%s", number, type);
+    }
+}
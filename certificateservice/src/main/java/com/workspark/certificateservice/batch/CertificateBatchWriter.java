@@ -0,0 +1,296 @@
+package com.workspark.certificateservice.batch;
+
+import com.workspark.certificateservice.config.CertificateBatchProperties;
+import com.workspark.certificateservice.exceptions.customExceptions.CertificateException;
+import com.workspark.certificateservice.service.ReportService;
+import com.workspark.commonconfig.models.pojo.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders the rows of a {@link CertificateBatch} on a bounded pool of threads and writes the certificates, in
+ * the order of the rows, as they are done.
+ *
+ * <p>All the rows of a batch share the template and the assets resolved once for the batch. At most
+ * {@code workspark.certificate-batch.max-in-flight} certificates of a batch are rendered or waiting to be
+ * written at a time, so that a batch holds a bounded number of certificates whatever its size, and the rows
+ * are read from the request only as fast as certificates are written.</p>
+ *
+ * <p>A {@code zip} batch writes one entry per certificate as soon as it is its turn; rows that cannot be
+ * rendered, for instance because their fields do not match the template, are skipped and listed in a last
+ * {@code errors.txt} entry, up to {@code workspark.certificate-batch.max-reported-errors} of them. A {@code pdf}
+ * batch fills every row and writes a single document with one page per certificate once all are filled; the
+ * pages are handed to a swap file virtualizer, which keeps at most
+ * {@code workspark.certificate-batch.pdf-pages-in-memory} of them in memory. It fails on the first row that
+ * cannot be rendered.</p>
+ *
+ * <p>The pool is published as the {@code certificate.batch} executor metrics.</p>
+ */
+@Slf4j
+@Component
+public class CertificateBatchWriter {
+
+    private static final String METRIC_NAME = "certificate.batch";
+    private static final int SWAP_BLOCK_SIZE = 4096;
+    private static final int SWAP_MIN_GROW_COUNT = 256;
+
+    private final ReportService reportService;
+    private final CertificateBatchProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    public CertificateBatchWriter(ReportService reportService, CertificateBatchProperties properties,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this.reportService = reportService;
+        this.properties = properties;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+            Thread thread = new Thread(runnable, "certificate-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, pool) -> {
+            // a saturated pool slows down the batch that submits instead of failing it
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Certificate batch pool is shut down");
+            }
+            runnable.run();
+        });
+        meterRegistry.ifAvailable(registry ->
+                new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(registry));
+    }
+
+    /**
+     * Renders every row of a batch and writes the certificates.
+     *
+     * @param batch        the resolved template
+     * @param rows         the dynamic fields of each certificate
+     * @param outputStream the stream the ZIP or the PDF is written to, left open
+     */
+    public void write(CertificateBatch batch, Iterator<Map<String, Object>> rows, OutputStream outputStream)
+            throws IOException {
+        log.info("Writing batch of template ID: {} as {}", batch.templateId(), batch.output());
+        // the response of a batch is streamed on another thread than its request
+        TenantContext.setCurrentTenant(batch.tenant());
+        try {
+            switch (batch.output()) {
+                case CertificateBatch.OUTPUT_ZIP -> writeZip(batch, rows, outputStream);
+                case CertificateBatch.OUTPUT_PDF -> writePdf(batch, rows, outputStream);
+                default -> throw new CertificateException("Invalid batch output", HttpStatus.CONFLICT);
+            }
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * Renders every row of a batch on the pool and hands the certificates to a consumer, in the order of the
+     * rows, on the calling thread. The tenant of the calling thread must be the one of the batch.
+     *
+     * @param batch    the resolved template
+     * @param rows     the dynamic fields of each certificate
+     * @param consumer receives each certificate, or why its row could not be rendered
+     * @return the number of rows
+     */
+    public int renderEach(CertificateBatch batch, Iterator<Map<String, Object>> rows, CertificateConsumer consumer)
+            throws IOException {
+        return render(batch, rows, row -> renderCertificate(batch, row),
+                result -> consumer.accept(result.number(), result.value(), result.failure()));
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void writeZip(CertificateBatch batch, Iterator<Map<String, Object>> rows, OutputStream outputStream)
+            throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        // PDFs and images are already compressed
+        zip.setLevel(Deflater.BEST_SPEED);
+        List<String> errors = new ArrayList<>();
+        AtomicInteger failed = new AtomicInteger();
+
+        int written = render(batch, rows, row -> renderCertificate(batch, row), result -> {
+            if (result.failure() != null) {
+                if (failed.incrementAndGet() <= properties.getMaxReportedErrors()) {
+                    errors.add("Row " + result.number() + ": " + result.failure().getMessage());
+                }
+                return;
+            }
+            zip.putNextEntry(new ZipEntry(batch.entryName(result.number())));
+            zip.write(result.value());
+            zip.closeEntry();
+        });
+
+        if (failed.get() > 0) {
+            log.warn("{} rows of the batch of template ID: {} could not be rendered", failed.get(), batch.templateId());
+            if (failed.get() > errors.size()) {
+                errors.add("... and " + (failed.get() - errors.size()) + " more rows");
+            }
+            zip.putNextEntry(new ZipEntry("errors.txt"));
+            zip.write(String.join("\n", errors).concat("\n").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.finish();
+        outputStream.flush();
+        log.info("Batch of template ID: {} written with {} certificates", batch.templateId(), written - failed.get());
+    }
+
+    private void writePdf(CertificateBatch batch, Iterator<Map<String, Object>> rows, OutputStream outputStream)
+            throws IOException {
+        Deque<JasperPrint> document = new ArrayDeque<>(1);
+        // the swap file is deleted by the virtualizer when it is cleaned up
+        JRSwapFileVirtualizer virtualizer = new JRSwapFileVirtualizer(properties.getPdfPagesInMemory(),
+                new JRSwapFile(System.getProperty("java.io.tmpdir"), SWAP_BLOCK_SIZE, SWAP_MIN_GROW_COUNT), true);
+        try {
+            int written = render(batch, rows, row -> {
+                validate(batch, row);
+                return reportService.fillReport(batch.report(), row, batch.assets(), virtualizer);
+            }, result -> {
+                if (result.failure() != null) {
+                    throw new CertificateException("Error generating certificate of row " + result.number() + ": "
+                            + result.failure().getMessage(), HttpStatus.BAD_REQUEST);
+                }
+                if (document.isEmpty()) {
+                    document.add(result.value());
+                } else {
+                    result.value().getPages().forEach(document.getFirst()::addPage);
+                }
+            });
+
+            if (document.isEmpty()) {
+                throw new CertificateException("The batch has no rows", HttpStatus.BAD_REQUEST);
+            }
+            reportService.exportPdf(document.getFirst(), outputStream);
+            outputStream.flush();
+            log.info("Batch of template ID: {} written with {} certificates", batch.templateId(), written);
+        } finally {
+            virtualizer.cleanup();
+        }
+    }
+
+    private byte[] renderCertificate(CertificateBatch batch, Map<String, Object> row) {
+        validate(batch, row);
+        if ("pdf".equals(batch.type())) {
+            return reportService.generateCertificatePdf(batch.report(), row, batch.assets());
+        }
+        return reportService.generateCertificateImage(batch.report(), row, batch.assets(), batch.type());
+    }
+
+    private static void validate(CertificateBatch batch, Map<String, Object> row) {
+        if (!batch.dynamicFields().equals(row.keySet())) {
+            throw new IllegalArgumentException("Dynamic fields do not match with the template parameters");
+        }
+    }
+
+    /**
+     * Renders the rows on the pool, at most {@code max-in-flight} at a time, and hands the results to the
+     * consumer in the order of the rows, on the calling thread.
+     *
+     * @return the number of rows
+     */
+    private <T> int render(CertificateBatch batch, Iterator<Map<String, Object>> rows,
+                           Function<Map<String, Object>, T> renderer, ResultConsumer<T> consumer) throws IOException {
+        Deque<Future<RowResult<T>>> inFlight = new ArrayDeque<>();
+        int number = 0;
+        try {
+            while (rows.hasNext()) {
+                Map<String, Object> row = rows.next();
+                int rowNumber = ++number;
+                inFlight.add(executor.submit(() -> renderRow(batch.tenant(), rowNumber, row, renderer)));
+                if (inFlight.size() >= properties.getMaxInFlight()) {
+                    consumer.accept(await(inFlight.poll()));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                consumer.accept(await(inFlight.poll()));
+            }
+            return number;
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static <T> RowResult<T> renderRow(String tenant, int number, Map<String, Object> row,
+                                              Function<Map<String, Object>, T> renderer) {
+        // rows may be rendered on the calling thread when the pool is saturated
+        String callerTenant = TenantContext.getCurrentTenant();
+        TenantContext.setCurrentTenant(tenant);
+        try {
+            return new RowResult<>(number, renderer.apply(row), null);
+        } catch (RuntimeException e) {
+            log.debug("Row {} could not be rendered: {}", number, e.getMessage());
+            return new RowResult<>(number, null, e);
+        } finally {
+            if (callerTenant != null) {
+                TenantContext.setCurrentTenant(callerTenant);
+            } else {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    private static <T> RowResult<T> await(Future<RowResult<T>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CertificateException("Interrupted while generating certificates");
+        } catch (ExecutionException e) {
+            throw new CertificateException("Error generating certificates: " + e.getCause().getMessage());
+        }
+    }
+
+    private record RowResult<T>(int number, T value, RuntimeException failure) {
+    }
+
+    /**
+     * Receives the certificates of a batch, in the order of the rows.
+     */
+    @FunctionalInterface
+    public interface CertificateConsumer {
+
+        /**
+         * @param number      the number of the row, from 1
+         * @param certificate the certificate, or {@code null} if the row could not be rendered
+         * @param failure     why the row could not be rendered, or {@code null}
+         */
+        void accept(int number, byte[] certificate, RuntimeException failure) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ResultConsumer<T> {
+
+        void accept(RowResult<T> result) throws IOException;
+    }
+}
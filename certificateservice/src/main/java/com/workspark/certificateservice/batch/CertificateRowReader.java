@@ -0,0 +1,192 @@
+package com.workspark.certificateservice.batch;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the dynamic fields of a batch of certificates, one row at a time, from a request body in NDJSON
+ * (one JSON object per line) or in CSV (a header line with the field names, then one line per certificate).
+ * Rows are read as they are consumed, so that a batch never holds its whole body in memory.
+ */
+public abstract class CertificateRowReader implements Iterator<Map<String, Object>>, Closeable {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    /**
+     * Opens a reader for a request body.
+     *
+     * @param contentType  the content type of the body, {@code application/x-ndjson} or {@code text/csv}
+     * @param inputStream  the body
+     * @param objectMapper the mapper NDJSON rows are read with
+     * @return the reader
+     * @throws IllegalArgumentException if the content type is not supported
+     */
+    public static CertificateRowReader open(MediaType contentType, InputStream inputStream, ObjectMapper objectMapper)
+            throws IOException {
+        if (APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return new NdjsonRowReader(objectMapper.readerFor(new TypeReference<Map<String, Object>>() {
+            }).readValues(inputStream));
+        }
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return new CsvRowReader(new BufferedReader(new InputStreamReader(inputStream, contentType.getCharset() != null
+                    ? contentType.getCharset() : StandardCharsets.UTF_8)));
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+
+    private static final class NdjsonRowReader extends CertificateRowReader {
+
+        private final MappingIterator<Map<String, Object>> rows;
+
+        private NdjsonRowReader(MappingIterator<Map<String, Object>> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            return rows.next();
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+
+    /**
+     * Reads RFC 4180 CSV: fields separated by commas, optionally quoted with double quotes, in which case they
+     * may contain commas, line breaks and doubled double quotes. Blank lines are skipped.
+     */
+    private static final class CsvRowReader extends CertificateRowReader {
+
+        private final BufferedReader reader;
+        private final List<String> header;
+        private Map<String, Object> nextRow;
+        private int rowNumber;
+
+        private CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> fields = readRecord();
+            if (fields == null) {
+                throw new IllegalArgumentException("The CSV has no header line");
+            }
+            if (!fields.isEmpty() && fields.get(0).startsWith("\uFEFF")) {
+                fields.set(0, fields.get(0).substring(1));
+            }
+            this.header = fields.stream().map(String::trim).toList();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextRow == null) {
+                try {
+                    nextRow = readRow();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return nextRow != null;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map<String, Object> row = nextRow;
+            nextRow = null;
+            return row;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private Map<String, Object> readRow() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+            } while (fields != null && fields.size() == 1 && fields.get(0).isEmpty());
+            if (fields == null) {
+                return null;
+            }
+            rowNumber++;
+            if (fields.size() != header.size()) {
+                throw new IllegalArgumentException("Row " + rowNumber + " of the CSV has " + fields.size()
+                        + " fields, expected " + header.size());
+            }
+            Map<String, Object> row = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                row.put(header.get(i), fields.get(i));
+            }
+            return row;
+        }
+
+        /**
+         * @return the fields of the next record, or {@code null} at the end of the body
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field after row " + rowNumber + " of the CSV");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.workspark.certificateservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workspark.certificateservice.config.ReportCacheProperties;
+import com.workspark.commonconfig.models.pojo.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperReport;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Deserialized Jasper templates of the current tenant, by template id.
+ *
+ * <p>Each entry remembers the version of the template it was built from, the {@code updatedAt} of its row. A
+ * template saved again gets a new version, so the next lookup with the new version rebuilds the entry, on every
+ * instance, and the old one is replaced. The cache is bounded by
+ * {@code workspark.report-cache.maximum-weight}, counted as the size of the compiled templates. Concurrent
+ * lookups of a missing template share one load.</p>
+ */
+@Slf4j
+@Component
+public class CompiledReportCache {
+
+    private static final String CACHE_NAME = "certificate.compiled.report";
+
+    private final boolean enabled;
+    private final Cache<Key, CompiledTemplate> templates;
+
+    public CompiledReportCache(ReportCacheProperties reportCacheProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = reportCacheProperties.isEnabled();
+        this.templates = Caffeine.newBuilder()
+                .maximumWeight(reportCacheProperties.getMaximumWeight().toBytes())
+                .weigher((Key key, CompiledTemplate template) -> template.weight())
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, templates, CACHE_NAME));
+    }
+
+    /**
+     * Returns a template of the current tenant, loading it if it is not cached with this version.
+     *
+     * @param templateId the id of the template
+     * @param version    the current version of the template
+     * @param loader     loads the template from the database
+     * @return the template
+     */
+    public CompiledTemplate get(Long templateId, LocalDateTime version, Supplier<CompiledTemplate> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(TenantContext.getCurrentTenant(), templateId);
+        CompiledTemplate template = templates.getIfPresent(key);
+        if (template != null && Objects.equals(template.version(), version)) {
+            return template;
+        }
+        return templates.asMap().compute(key, (ignored, current) -> {
+            if (current != null && Objects.equals(current.version(), version)) {
+                return current;
+            }
+            log.debug("Loading template {} version {} of tenant {}", templateId, version, key.tenant());
+            return loader.get();
+        });
+    }
+
+    private record Key(String tenant, Long templateId) {
+    }
+
+    /**
+     * A deserialized template with what is needed to fill it without reading its row.
+     *
+     * @param version       the {@code updatedAt} of the template row it was built from
+     * @param report        the deserialized template, shared by concurrent fills
+     * @param dynamicFields the names of the dynamic fields of the template
+     * @param weight        the size of the compiled template, in bytes
+     */
+    public record CompiledTemplate(LocalDateTime version, JasperReport report, List<String> dynamicFields,
+                                   int weight) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.workspark.certificateservice.cache;
+
+import net.sf.jasperreports.renderers.Renderable;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The assets of a template, read once and ready to be passed as report parameters by any number of
+ * concurrent renders.
+ *
+ * <p>An image bound to a parameter that can take a decoded image is kept decoded and the same image is passed
+ * to every render; an asset bound to a renderer parameter is wrapped in a renderer shared by every render; one
+ * bound to a {@code byte[]} parameter is passed as is. Any other asset is passed as a new stream over its
+ * bytes, since a stream can only be read once.</p>
+ */
+public final class PreparedAssets {
+
+    public static final PreparedAssets EMPTY = new PreparedAssets(Map.of(), Map.of(), 0, Map.of(), Map.of());
+
+    private final Map<String, BufferedImage> images;
+    private final Map<String, Renderable> renderers;
+    private final Map<String, byte[]> byteArrays;
+    private final Map<String, byte[]> streams;
+    private final long weight;
+
+    private PreparedAssets(Map<String, BufferedImage> images, Map<String, Renderable> renderers, long rendererWeight,
+                           Map<String, byte[]> byteArrays, Map<String, byte[]> streams) {
+        this.images = images;
+        this.renderers = renderers;
+        this.byteArrays = byteArrays;
+        this.streams = streams;
+        long size = rendererWeight;
+        for (BufferedImage image : images.values()) {
+            size += (long) image.getWidth() * image.getHeight() * 4;
+        }
+        for (byte[] data : byteArrays.values()) {
+            size += data.length;
+        }
+        for (byte[] data : streams.values()) {
+            size += data.length;
+        }
+        this.weight = size;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Adds the assets to the parameters of a render.
+     *
+     * @param parameters the report parameters
+     */
+    public void addTo(Map<String, Object> parameters) {
+        parameters.putAll(images);
+        parameters.putAll(renderers);
+        parameters.putAll(byteArrays);
+        streams.forEach((name, data) -> parameters.put(name, new ByteArrayInputStream(data)));
+    }
+
+    public int size() {
+        return images.size() + renderers.size() + byteArrays.size() + streams.size();
+    }
+
+    /**
+     * @return the approximate heap taken by the assets, in bytes, four bytes per pixel for decoded images
+     */
+    public long weight() {
+        return weight;
+    }
+
+    public static final class Builder {
+
+        private final Map<String, BufferedImage> images = new HashMap<>();
+        private final Map<String, Renderable> renderers = new HashMap<>();
+        private long rendererWeight;
+        private final Map<String, byte[]> byteArrays = new HashMap<>();
+        private final Map<String, byte[]> streams = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder image(String name, BufferedImage image) {
+            images.put(name, image);
+            return this;
+        }
+
+        /**
+         * @param weight the size of the data held by the renderer, in bytes
+         */
+        public Builder renderer(String name, Renderable renderer, long weight) {
+            renderers.put(name, renderer);
+            rendererWeight += weight;
+            return this;
+        }
+
+        public Builder byteArray(String name, byte[] data) {
+            byteArrays.put(name, data);
+            return this;
+        }
+
+        public Builder stream(String name, byte[] data) {
+            streams.put(name, data);
+            return this;
+        }
+
+        public PreparedAssets build() {
+            return new PreparedAssets(Map.copyOf(images), Map.copyOf(renderers), rendererWeight,
+                    Map.copyOf(byteArrays), Map.copyOf(streams));
+        }
+    }
+}
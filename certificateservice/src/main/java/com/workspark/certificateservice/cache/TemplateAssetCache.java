@@ -0,0 +1,83 @@
+package com.workspark.certificateservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workspark.certificateservice.config.ReportCacheProperties;
+import com.workspark.commonconfig.models.pojo.TenantContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Prepared assets of the templates of the current tenant, by template id, so that logos and backgrounds are
+ * read and decoded once per template instead of once per certificate.
+ *
+ * <p>Like the {@link CompiledReportCache}, each entry remembers the version of the template it was built from
+ * and is rebuilt when a lookup brings a newer one. The cache is bounded by
+ * {@code workspark.report-cache.assets-maximum-weight}, see {@link PreparedAssets#weight()}. Besides the
+ * Caffeine metrics of {@code certificate.template.assets}, the hit ratio is published as
+ * {@code certificate.template.assets.hit.ratio}.</p>
+ */
+@Slf4j
+@Component
+public class TemplateAssetCache {
+
+    private static final String CACHE_NAME = "certificate.template.assets";
+
+    private final boolean enabled;
+    private final Cache<Key, Entry> assets;
+
+    public TemplateAssetCache(ReportCacheProperties reportCacheProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = reportCacheProperties.isEnabled();
+        this.assets = Caffeine.newBuilder()
+                .maximumWeight(reportCacheProperties.getAssetsMaximumWeight().toBytes())
+                .weigher((Key key, Entry entry) -> (int) Math.min(Integer.MAX_VALUE, entry.assets().weight()))
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, assets, CACHE_NAME);
+            Gauge.builder(CACHE_NAME + ".hit.ratio", assets, cache -> cache.stats().hitRate())
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Returns the assets of a template of the current tenant, preparing them if they are not cached for this
+     * version.
+     *
+     * @param templateId the id of the template
+     * @param version    the current version of the template
+     * @param loader     reads and prepares the assets
+     * @return the assets
+     */
+    public PreparedAssets get(Long templateId, LocalDateTime version, Supplier<PreparedAssets> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(TenantContext.getCurrentTenant(), templateId);
+        Entry entry = assets.getIfPresent(key);
+        if (entry != null && Objects.equals(entry.version(), version)) {
+            return entry.assets();
+        }
+        return assets.asMap().compute(key, (ignored, current) -> {
+            if (current != null && Objects.equals(current.version(), version)) {
+                return current;
+            }
+            log.debug("Preparing assets of template {} version {} of tenant {}", templateId, version, key.tenant());
+            return new Entry(version, loader.get());
+        }).assets();
+    }
+
+    private record Key(String tenant, Long templateId) {
+    }
+
+    private record Entry(LocalDateTime version, PreparedAssets assets) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.workspark.certificateservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Gives the streamed responses of the certificate batches the {@code workspark.certificate-batch.timeout}, while
+ * the other asynchronous requests keep the default timeout.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CertificateBatchAsyncConfig implements WebMvcConfigurer {
+
+    /**
+     * Request attribute set by the endpoints whose response is a certificate batch.
+     */
+    public static final String BATCH_REQUEST = CertificateBatchAsyncConfig.class.getName() + ".BATCH_REQUEST";
+
+    private final CertificateBatchProperties properties;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // called before the asynchronous processing starts, while its timeout can still be changed
+                if (request instanceof AsyncWebRequest asyncWebRequest
+                        && request.getAttribute(BATCH_REQUEST, RequestAttributes.SCOPE_REQUEST) != null) {
+                    asyncWebRequest.setTimeout(properties.getTimeout().toMillis());
+                }
+            }
+        });
+    }
+}
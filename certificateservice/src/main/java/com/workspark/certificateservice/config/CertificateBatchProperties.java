@@ -0,0 +1,51 @@
+package com.workspark.certificateservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the bulk certificate generation.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.certificate-batch")
+public class CertificateBatchProperties {
+
+    /**
+     * Number of threads filling and exporting certificates, shared by all running batches.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of certificates waiting for a thread. Beyond that, the request thread of a batch renders
+     * its next certificate itself, which slows down the reading of its rows.
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Maximum number of certificates of one batch being rendered or waiting to be written, which bounds the
+     * memory a batch holds on top of what it already wrote.
+     */
+    private int maxInFlight = 32;
+
+    /**
+     * Number of pages of a batch written as a single PDF kept in memory. The other pages are swapped to a file
+     * in {@code java.io.tmpdir} until the document is written, so that the size of the document is not bounded
+     * by the heap.
+     */
+    private int pdfPagesInMemory = 64;
+
+    /**
+     * Maximum number of rows listed in the {@code errors.txt} entry of a ZIP batch. The rows beyond it are only
+     * counted.
+     */
+    private int maxReportedErrors = 1_000;
+
+    /**
+     * How long the response of a batch may take to be streamed.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,57 @@
+package com.workspark.certificateservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the asynchronous certificate jobs.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.certificate-job")
+public class CertificateJobProperties {
+
+    /**
+     * Directory the rows and the certificates of the jobs are stored in. Must be shared by the instances of
+     * the service for a job to be downloaded from any of them, or resumed by another one.
+     */
+    private Path storageDirectory = Path.of(System.getProperty("java.io.tmpdir"), "certificate-jobs");
+
+    /**
+     * Number of jobs this instance runs at a time. The certificates of a job are rendered on the certificate
+     * batch pool.
+     */
+    private int workers = 2;
+
+    /**
+     * Number of jobs of one tenant running at a time, across all the instances, so that a tenant submitting
+     * many jobs does not hold back the others.
+     */
+    private int maxRunningPerTenant = 1;
+
+    /**
+     * How often an idle instance looks for queued jobs.
+     */
+    private Duration pollInterval = Duration.ofSeconds(2);
+
+    /**
+     * How long a running job stays claimed without news from its instance. A job whose instance stopped is
+     * resumed, by any instance, once this has elapsed.
+     */
+    private Duration leaseTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Number of certificates between two saves of the progress of a job. A resumed job renders again at
+     * most this many certificates.
+     */
+    private int progressInterval = 50;
+
+    /**
+     * How long a finished job, and its certificates, can be downloaded.
+     */
+    private Duration retention = Duration.ofDays(7);
+}
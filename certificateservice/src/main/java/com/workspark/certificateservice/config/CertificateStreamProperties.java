@@ -0,0 +1,29 @@
+package com.workspark.certificateservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the certificates streamed to the responses.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.certificate-stream")
+public class CertificateStreamProperties {
+
+    /**
+     * Size of the buffer between the exporters and the response, per request. The exporters write many small
+     * chunks; they reach the response in writes of this size, and the memory a request holds for its output
+     * is bounded by it rather than by the size of the certificates.
+     */
+    private DataSize bufferSize = DataSize.ofKilobytes(64);
+
+    /**
+     * @return the size of the buffer, in bytes
+     */
+    public int bufferBytes() {
+        return Math.toIntExact(bufferSize.toBytes());
+    }
+}
@@ -0,0 +1,33 @@
+package com.workspark.certificateservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the in-memory caches of deserialized Jasper templates and of their assets.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.report-cache")
+public class ReportCacheProperties {
+
+    /**
+     * Whether deserialized templates and their assets are kept in memory. When disabled, every certificate
+     * reads and deserializes its template and decodes its assets again.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum total size of the cached templates, counted as the size of their compiled form. The
+     * deserialized object graph takes a few times more heap.
+     */
+    private DataSize maximumWeight = DataSize.ofMegabytes(64);
+
+    /**
+     * Maximum total size of the cached assets, counted as four bytes per pixel for decoded images and as
+     * their size for the others.
+     */
+    private DataSize assetsMaximumWeight = DataSize.ofMegabytes(128);
+}
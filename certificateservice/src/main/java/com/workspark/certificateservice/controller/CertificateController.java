@@ -2,12 +2,17 @@ package com.workspark.certificateservice.controller;
 
 import com.workspark.certificateservice.model.dto.request.CertificateReq;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
 
 /**
  * Controller for handling certificate-related operations.
@@ -51,7 +56,56 @@ public interface CertificateController {
             }
     )
     @PostMapping
-    ResponseEntity<byte[]> generateCertificate(@RequestBody @Valid CertificateReq certificateReq);
+    ResponseEntity<StreamingResponseBody> generateCertificate(@RequestBody @Valid CertificateReq certificateReq);
 
+    /**
+     * Endpoint to generate the certificates of many rows of dynamic fields with the same template.
+     *
+     * @param templateId the id of the template
+     * @param type       the type of each certificate
+     * @param output     zip for one file per certificate, pdf for a single document
+     * @param request    the request, whose body holds the rows in NDJSON or CSV
+     * @return the certificates, streamed as they are generated
+     */
+    @Operation(
+            summary = "Generate certificates in bulk",
+            description = "Generates one certificate per row of the body, in NDJSON (one JSON object of dynamic fields per line) "
+                    + "or CSV (a header line with the dynamic field names, then one line per certificate). The certificates are "
+                    + "streamed in the order of the rows, as a ZIP with one file per certificate, or as a single PDF with one page "
+                    + "per certificate. Rows of a ZIP that cannot be rendered are listed in its errors.txt entry.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "The dynamic fields of each certificate",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Certificates generated",
+                            content = {
+                                    @Content(mediaType = "application/zip",
+                                            schema = @io.swagger.v3.oas.annotations.media.Schema(type = "string", format = "binary")),
+                                    @Content(mediaType = "application/pdf",
+                                            schema = @io.swagger.v3.oas.annotations.media.Schema(type = "string", format = "binary"))
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Template not found"
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Invalid certificate type or output"
+                    )
+            }
+    )
+    @PostMapping(value = "/batch", consumes = {"application/x-ndjson", "text/csv"})
+    ResponseEntity<StreamingResponseBody> generateCertificates(
+            @Parameter(description = "ID of the certificate template") @RequestParam Long templateId,
+            @Parameter(description = "Type of each certificate: pdf, jpg or png") @RequestParam(defaultValue = "pdf") String type,
+            @Parameter(description = "zip, or pdf for a single document of pdf certificates") @RequestParam(defaultValue = "zip") String output,
+            HttpServletRequest request
+    ) throws IOException;
 }
-
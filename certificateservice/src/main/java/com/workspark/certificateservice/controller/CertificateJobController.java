@@ -0,0 +1,96 @@
+package com.workspark.certificateservice.controller;
+
+import com.workspark.certificateservice.model.dto.response.CertificateJobRes;
+import com.workspark.models.response.BaseRes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * Controller for the certificate jobs, which generate the certificates of many rows in the background.
+ */
+@RequestMapping("/api/v1/cert/jobs")
+public interface CertificateJobController {
+
+    /**
+     * Endpoint to submit a job generating the certificates of many rows of dynamic fields with the same template.
+     *
+     * @param templateId the id of the template
+     * @param type       the type of each certificate
+     * @param request    the request, whose body holds the rows in NDJSON or CSV
+     * @return the queued job, whose id its progress and certificates are requested with
+     */
+    @Operation(
+            summary = "Submit a certificate job",
+            description = "Queues the generation of one certificate per row of the body, in NDJSON (one JSON object of dynamic "
+                    + "fields per line) or CSV (a header line with the dynamic field names, then one line per certificate), and "
+                    + "returns the job at once. Its progress is then polled, and its certificates downloaded as a ZIP once it is done.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "The dynamic fields of each certificate",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Job queued",
+                            content = @Content(schema = @Schema(implementation = BaseRes.class, subTypes = CertificateJobRes.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid rows"),
+                    @ApiResponse(responseCode = "404", description = "Template not found"),
+                    @ApiResponse(responseCode = "409", description = "Invalid certificate type")
+            }
+    )
+    @PostMapping(consumes = {"application/x-ndjson", "text/csv"})
+    ResponseEntity<BaseRes<CertificateJobRes>> submitJob(
+            @Parameter(description = "ID of the certificate template") @RequestParam Long templateId,
+            @Parameter(description = "Type of each certificate: pdf, jpg or png") @RequestParam(defaultValue = "pdf") String type,
+            HttpServletRequest request
+    ) throws IOException;
+
+    /**
+     * Endpoint to retrieve a job and its progress.
+     *
+     * @param id the id of the job
+     * @return the job
+     */
+    @Operation(
+            summary = "Get a certificate job",
+            description = "Fetches the status and the progress of a certificate job",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Job fetched successfully",
+                            content = @Content(schema = @Schema(implementation = BaseRes.class, subTypes = CertificateJobRes.class))),
+                    @ApiResponse(responseCode = "404", description = "Job not found or expired")
+            }
+    )
+    @GetMapping("/{id}")
+    ResponseEntity<BaseRes<CertificateJobRes>> getJob(@PathVariable String id);
+
+    /**
+     * Endpoint to download the certificates of a done job.
+     *
+     * @param id the id of the job
+     * @return the certificates as a ZIP, in the order of the rows
+     */
+    @Operation(
+            summary = "Download the certificates of a job",
+            description = "Streams the certificates of a done job as a ZIP with one file per certificate, in the order of the rows. "
+                    + "Rows that could not be rendered are listed in its errors.txt entry.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Certificates downloaded",
+                            content = @Content(mediaType = "application/zip",
+                                    schema = @Schema(type = "string", format = "binary"))),
+                    @ApiResponse(responseCode = "404", description = "Job not found or expired"),
+                    @ApiResponse(responseCode = "409", description = "Job not done")
+            }
+    )
+    @GetMapping("/{id}/download")
+    ResponseEntity<StreamingResponseBody> downloadJob(@PathVariable String id);
+}
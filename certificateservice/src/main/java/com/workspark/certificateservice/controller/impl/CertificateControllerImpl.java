@@ -1,16 +1,28 @@
 package com.workspark.certificateservice.controller.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.certificateservice.batch.CertificateBatch;
+import com.workspark.certificateservice.batch.CertificateBatchWriter;
+import com.workspark.certificateservice.batch.CertificateRowReader;
+import com.workspark.certificateservice.config.CertificateBatchAsyncConfig;
+import com.workspark.certificateservice.config.CertificateStreamProperties;
 import com.workspark.certificateservice.controller.CertificateController;
 import com.workspark.certificateservice.exceptions.customExceptions.JasperException;
 import com.workspark.certificateservice.model.dto.request.CertificateReq;
 import com.workspark.certificateservice.service.CertificateService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperPrint;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -19,20 +31,25 @@ import org.springframework.web.bind.annotation.RestController;
 public class CertificateControllerImpl implements CertificateController {
 
     private final CertificateService certificateService;
+    private final CertificateBatchWriter certificateBatchWriter;
+    private final ObjectMapper objectMapper;
+    private final CertificateStreamProperties certificateStreamProperties;
 
     /**
-     * Endpoint to generate a certificate based on a template.
+     * Endpoint to generate a certificate based on a template. The certificate is filled before the response
+     * starts, so that an invalid request is still answered with an error; it is then exported straight to the
+     * response.
      *
      * @param certificateReq DTO for generating the certificate.
      * @return The generated certificate as a PDF, JPG, or PNG file.
      */
     @PostMapping
-    public ResponseEntity<byte[]> generateCertificate(CertificateReq certificateReq) {
+    public ResponseEntity<StreamingResponseBody> generateCertificate(CertificateReq certificateReq) {
         log.info("Received request to generate certificate using template ID: {}", certificateReq.getTemplateId());
         log.debug("Request details: {}", certificateReq);
 
         log.info("Calling service to generate certificate...");
-        byte[] pdf = certificateService.generateCertificate(certificateReq);
+        JasperPrint certificate = certificateService.fillCertificate(certificateReq);
         log.info("Certificate generated successfully for template ID: {}", certificateReq.getTemplateId());
 
         MediaType contentType;
@@ -58,10 +75,52 @@ public class CertificateControllerImpl implements CertificateController {
             }
         };
 
+        StreamingResponseBody body = outputStream -> {
+            BufferedOutputStream bufferedOutputStream =
+                    new BufferedOutputStream(outputStream, certificateStreamProperties.bufferBytes());
+            certificateService.writeCertificate(certificate, certificateReq.getType(), bufferedOutputStream);
+            bufferedOutputStream.flush();
+        };
         log.info("Preparing response with filename: {}", filename);
         return ResponseEntity.ok()
                 .header("Content-Disposition", "attachment; filename=".concat(filename))
                 .contentType(contentType)
-                .body(pdf);
+                .body(body);
+    }
+
+    /**
+     * Endpoint to generate the certificates of many rows of dynamic fields with the same template. The template
+     * is resolved before the response starts, so that an unknown template is still answered with an error; the
+     * rows are then read and the certificates written as the response is streamed, for at most
+     * {@code workspark.certificate-batch.timeout}.
+     *
+     * @param templateId the id of the template
+     * @param type       the type of each certificate
+     * @param output     zip for one file per certificate, pdf for a single document
+     * @param request    the request, whose body holds the rows in NDJSON or CSV
+     * @return the certificates, streamed as they are generated
+     */
+    @PostMapping(value = "/batch", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<StreamingResponseBody> generateCertificates(Long templateId, String type, String output,
+                                                                      HttpServletRequest request) throws IOException {
+        log.info("Received request to generate certificates in bulk using template ID: {}", templateId);
+        CertificateBatch batch = certificateService.prepareBatch(templateId, type, output);
+        CertificateRowReader rows = CertificateRowReader.open(
+                MediaType.parseMediaType(request.getContentType()), request.getInputStream(), objectMapper);
+
+        StreamingResponseBody body = outputStream -> {
+            try (rows) {
+                BufferedOutputStream bufferedOutputStream =
+                        new BufferedOutputStream(outputStream, certificateStreamProperties.bufferBytes());
+                certificateBatchWriter.write(batch, rows, bufferedOutputStream);
+                bufferedOutputStream.flush();
+            }
+        };
+        request.setAttribute(CertificateBatchAsyncConfig.BATCH_REQUEST, Boolean.TRUE);
+        log.info("Streaming certificates of template ID: {} as {}", templateId, batch.filename());
+        return ResponseEntity.ok()
+                .header("Content-Disposition", "attachment; filename=".concat(batch.filename()))
+                .contentType(batch.contentType())
+                .body(body);
     }
 }
@@ -0,0 +1,86 @@
+package com.workspark.certificateservice.controller.impl;
+
+import com.workspark.certificateservice.config.CertificateStreamProperties;
+import com.workspark.certificateservice.controller.CertificateJobController;
+import com.workspark.certificateservice.model.dto.response.CertificateJobRes;
+import com.workspark.certificateservice.service.CertificateJobService;
+import com.workspark.models.response.BaseRes;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnProperty(name = "workspark.redis", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Certificate Jobs", description = "API to generate certificates in bulk in the background")
+public class CertificateJobControllerImpl implements CertificateJobController {
+
+    private final CertificateJobService certificateJobService;
+    private final CertificateStreamProperties certificateStreamProperties;
+
+    /**
+     * Endpoint to submit a job generating the certificates of many rows of dynamic fields with the same template.
+     *
+     * @param templateId the id of the template
+     * @param type       the type of each certificate
+     * @param request    the request, whose body holds the rows in NDJSON or CSV
+     * @return the queued job
+     */
+    @PostMapping(consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<BaseRes<CertificateJobRes>> submitJob(Long templateId, String type,
+                                                                HttpServletRequest request) throws IOException {
+        log.info("Received request to submit a certificate job using template ID: {}", templateId);
+        CertificateJobRes job = certificateJobService.submitJob(templateId, type,
+                MediaType.parseMediaType(request.getContentType()), request.getInputStream());
+        log.info("Certificate job {} queued with {} rows", job.getId(), job.getTotal());
+        return BaseRes.success(job, "", HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Endpoint to retrieve a job and its progress.
+     *
+     * @param id the id of the job
+     * @return the job
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BaseRes<CertificateJobRes>> getJob(String id) {
+        log.debug("Fetching certificate job {}", id);
+        return BaseRes.success(certificateJobService.getJob(id), "", HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to download the certificates of a done job. The job is checked before the response starts, so
+     * that a job that is not done is still answered with an error.
+     *
+     * @param id the id of the job
+     * @return the certificates as a ZIP
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<StreamingResponseBody> downloadJob(String id) {
+        log.info("Received request to download the certificates of job {}", id);
+        certificateJobService.getDoneJob(id);
+        StreamingResponseBody body = outputStream -> {
+            BufferedOutputStream bufferedOutputStream =
+                    new BufferedOutputStream(outputStream, certificateStreamProperties.bufferBytes());
+            certificateJobService.writeCertificates(id, bufferedOutputStream);
+            bufferedOutputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .header("Content-Disposition", "attachment; filename=certificates.zip")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+}
@@ -0,0 +1,40 @@
+package com.workspark.certificateservice.job;
+
+import com.workspark.certificateservice.model.dto.response.CertificateJobRes;
+
+import java.time.Instant;
+
+/**
+ * A certificate job as stored in Redis.
+ *
+ * @param id         the id of the job
+ * @param tenant     the tenant that submitted the job, {@code null} without multitenancy
+ * @param templateId the id of the template
+ * @param type       the type of each certificate ({@code pdf}, {@code jpg} or {@code png})
+ * @param status     the status of the job
+ * @param total      the number of rows
+ * @param processed  the number of rows handled, as of the last save of the progress
+ * @param failed     the number of rows that could not be rendered, as of the last save of the progress
+ * @param error      why the job failed
+ * @param createdAt  when the job was submitted
+ * @param updatedAt  when the job last changed
+ */
+public record CertificateJob(String id, String tenant, Long templateId, String type, CertificateJobStatus status,
+                             long total, long processed, long failed, String error, Instant createdAt,
+                             Instant updatedAt) {
+
+    public CertificateJobRes toRes() {
+        return CertificateJobRes.builder()
+                .id(id)
+                .templateId(templateId)
+                .type(type)
+                .status(status)
+                .total(total)
+                .processed(processed)
+                .failed(failed)
+                .error(error)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.workspark.certificateservice.job;
+
+/**
+ * The claim of a running job by one instance. Renewing the lease, saving the progress and finishing the job
+ * only succeed while the job is still claimed with this token: once the lease expired and the job was claimed
+ * again, the former owner can no longer change it.
+ *
+ * @param scope the scope of the tenant of the job
+ * @param id    the id of the job
+ * @param token the owner token, unique to this claim
+ */
+public record CertificateJobLease(String scope, String id, String token) {
+}
@@ -0,0 +1,267 @@
+package com.workspark.certificateservice.job;
+
+import com.workspark.certificateservice.config.CertificateJobProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Certificate jobs and their queues, in Redis, so that every instance of the service can report, run and
+ * resume any job.
+ *
+ * <p>A job is the {@code certificate:job:<id>} hash. Each tenant has its own queue, the
+ * {@code certificate:jobs:queue:<tenant>} list, and the set of its running jobs, the
+ * {@code certificate:jobs:running:<tenant>} sorted set scored by the time their lease expires. A job is claimed
+ * atomically, and only while its tenant has fewer than {@code workspark.certificate-job.max-running-per-tenant}
+ * running jobs. Each claim stores a new owner token in the {@code lease} field of the job: the instance running
+ * a job renews its lease, saves its progress and finishes it only while the token is still its own, each in one
+ * script. A job whose lease expired is queued again at the head of its queue, to be resumed. Finished jobs expire
+ * after {@code workspark.certificate-job.retention}.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "workspark.redis", havingValue = "true", matchIfMissing = true)
+public class CertificateJobRepository {
+
+    static final String JOB_KEY = "certificate:job:";
+    static final String QUEUE_KEY = "certificate:jobs:queue:";
+    static final String RUNNING_KEY = "certificate:jobs:running:";
+    static final String TENANTS_KEY = "certificate:jobs:tenants";
+
+    /**
+     * Queues the jobs whose lease expired again, then claims the next job of a tenant if it has room for one
+     * more running job. Forgets the tenant when it has no job left.
+     */
+    private static final RedisScript<String> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1])
+            for _, id in ipairs(expired) do
+                redis.call('ZREM', KEYS[2], id)
+                redis.call('RPUSH', KEYS[1], id)
+                redis.call('HSET', ARGV[5] .. id, 'status', 'QUEUED')
+                redis.call('HDEL', ARGV[5] .. id, 'lease')
+            end
+            if redis.call('ZCARD', KEYS[2]) >= tonumber(ARGV[3]) then
+                return false
+            end
+            local id = redis.call('RPOP', KEYS[1])
+            if not id then
+                if redis.call('ZCARD', KEYS[2]) == 0 then
+                    redis.call('SREM', KEYS[3], ARGV[4])
+                end
+                return false
+            end
+            redis.call('ZADD', KEYS[2], ARGV[2], id)
+            redis.call('HSET', ARGV[5] .. id, 'status', 'RUNNING', 'updatedAt', ARGV[1], 'lease', ARGV[6])
+            return id
+            """, String.class);
+
+    /**
+     * Queues a job and records its tenant in one step, so that a claim finding the queue empty cannot forget
+     * the tenant in between.
+     */
+    private static final RedisScript<Long> CREATE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('LPUSH', KEYS[1], ARGV[1])
+            return redis.call('SADD', KEYS[2], ARGV[2])
+            """, Long.class);
+
+    /**
+     * Extends the lease of a job, if it is still claimed with the token.
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'lease') ~= ARGV[1] or not redis.call('ZSCORE', KEYS[2], ARGV[2]) then
+                return 0
+            end
+            redis.call('ZADD', KEYS[2], ARGV[3], ARGV[2])
+            return 1
+            """, Long.class);
+
+    /**
+     * Saves the progress of a job, if it is still claimed with the token.
+     */
+    private static final RedisScript<Long> PROGRESS_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'lease') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'processed', ARGV[2], 'failed', ARGV[3], 'updatedAt', ARGV[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * Marks a job as finished and releases its claim, if it is still claimed with the token.
+     */
+    private static final RedisScript<Long> FINISH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'lease') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'status', ARGV[3], 'updatedAt', ARGV[4])
+            if ARGV[5] ~= '' then
+                redis.call('HSET', KEYS[1], 'error', ARGV[5])
+            end
+            redis.call('HDEL', KEYS[1], 'lease')
+            redis.call('PEXPIRE', KEYS[1], ARGV[6])
+            redis.call('ZREM', KEYS[2], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private static final String DEFAULT_SCOPE = "default";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CertificateJobProperties properties;
+
+    /**
+     * Stores a new job and queues it.
+     *
+     * @param job the job
+     */
+    public void create(CertificateJob job) {
+        Map<String, String> fields = new HashMap<>();
+        if (job.tenant() != null) {
+            fields.put("tenant", job.tenant());
+        }
+        fields.put("templateId", job.templateId().toString());
+        fields.put("type", job.type());
+        fields.put("status", CertificateJobStatus.QUEUED.name());
+        fields.put("total", String.valueOf(job.total()));
+        fields.put("processed", "0");
+        fields.put("failed", "0");
+        fields.put("createdAt", String.valueOf(job.createdAt().toEpochMilli()));
+        fields.put("updatedAt", String.valueOf(job.createdAt().toEpochMilli()));
+        stringRedisTemplate.opsForHash().putAll(JOB_KEY + job.id(), fields);
+
+        String scope = scope(job.tenant());
+        stringRedisTemplate.execute(CREATE_SCRIPT, List.of(QUEUE_KEY + scope, TENANTS_KEY), job.id(), scope);
+        log.info("Queued certificate job {} of template ID: {} with {} rows", job.id(), job.templateId(), job.total());
+    }
+
+    /**
+     * @param id the id of a job
+     * @return the job, empty if it does not exist or expired
+     */
+    public Optional<CertificateJob> find(String id) {
+        HashOperations<String, String, String> hashOperations = stringRedisTemplate.opsForHash();
+        Map<String, String> fields = hashOperations.entries(JOB_KEY + id);
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new CertificateJob(
+                id,
+                fields.get("tenant"),
+                Long.valueOf(fields.get("templateId")),
+                fields.get("type"),
+                CertificateJobStatus.valueOf(fields.get("status")),
+                Long.parseLong(fields.getOrDefault("total", "0")),
+                Long.parseLong(fields.getOrDefault("processed", "0")),
+                Long.parseLong(fields.getOrDefault("failed", "0")),
+                fields.get("error"),
+                Instant.ofEpochMilli(Long.parseLong(fields.get("createdAt"))),
+                Instant.ofEpochMilli(Long.parseLong(fields.get("updatedAt")))));
+    }
+
+    /**
+     * @return the scopes of the tenants that have queued or running jobs
+     */
+    public Set<String> findScopes() {
+        Set<String> scopes = stringRedisTemplate.opsForSet().members(TENANTS_KEY);
+        return scopes != null ? scopes : Set.of();
+    }
+
+    /**
+     * Claims the next queued job of a tenant, if the tenant has room for one more running job.
+     *
+     * @param scope the scope of the tenant
+     * @return the lease of the claimed job, empty if there is none
+     */
+    public Optional<CertificateJobLease> claim(String scope) {
+        long now = System.currentTimeMillis();
+        String token = UUID.randomUUID().toString();
+        String id = stringRedisTemplate.execute(CLAIM_SCRIPT,
+                List.of(QUEUE_KEY + scope, RUNNING_KEY + scope, TENANTS_KEY),
+                String.valueOf(now),
+                String.valueOf(now + properties.getLeaseTimeout().toMillis()),
+                String.valueOf(properties.getMaxRunningPerTenant()),
+                scope,
+                JOB_KEY,
+                token);
+        return Optional.ofNullable(id).map(claimedId -> new CertificateJobLease(scope, claimedId, token));
+    }
+
+    /**
+     * Renews the lease of a running job.
+     *
+     * @param lease the lease of the job
+     * @return false if the job is no longer claimed with the lease, because it expired before it was renewed
+     */
+    public boolean renewLease(CertificateJobLease lease) {
+        Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT,
+                List.of(JOB_KEY + lease.id(), RUNNING_KEY + lease.scope()),
+                lease.token(),
+                lease.id(),
+                String.valueOf(System.currentTimeMillis() + properties.getLeaseTimeout().toMillis()));
+        return Long.valueOf(1).equals(renewed);
+    }
+
+    /**
+     * Saves the progress of a running job.
+     *
+     * @param lease     the lease of the job
+     * @param processed the number of rows handled
+     * @param failed    the number of rows that could not be rendered
+     * @return false if the job is no longer claimed with the lease
+     */
+    public boolean saveProgress(CertificateJobLease lease, long processed, long failed) {
+        Long saved = stringRedisTemplate.execute(PROGRESS_SCRIPT,
+                List.of(JOB_KEY + lease.id()),
+                lease.token(),
+                String.valueOf(processed),
+                String.valueOf(failed),
+                String.valueOf(System.currentTimeMillis()));
+        return Long.valueOf(1).equals(saved);
+    }
+
+    /**
+     * Marks a job as finished, releases its claim and starts its retention.
+     *
+     * @param lease  the lease of the job
+     * @param status {@link CertificateJobStatus#DONE} or {@link CertificateJobStatus#FAILED}
+     * @param error  why the job failed, or {@code null}
+     * @return false if the job is no longer claimed with the lease, and was left unchanged
+     */
+    public boolean finish(CertificateJobLease lease, CertificateJobStatus status, String error) {
+        Long finished = stringRedisTemplate.execute(FINISH_SCRIPT,
+                List.of(JOB_KEY + lease.id(), RUNNING_KEY + lease.scope()),
+                lease.token(),
+                lease.id(),
+                status.name(),
+                String.valueOf(System.currentTimeMillis()),
+                error != null ? error : "",
+                String.valueOf(properties.getRetention().toMillis()));
+        if (!Long.valueOf(1).equals(finished)) {
+            log.warn("Certificate job {} was claimed again before it finished as {}", lease.id(), status);
+            return false;
+        }
+        log.info("Certificate job {} finished as {}", lease.id(), status);
+        return true;
+    }
+
+    /**
+     * @param tenant a tenant, {@code null} without multitenancy
+     * @return the scope of the queue and of the running jobs of the tenant
+     */
+    public static String scope(String tenant) {
+        return tenant != null ? tenant : DEFAULT_SCOPE;
+    }
+}
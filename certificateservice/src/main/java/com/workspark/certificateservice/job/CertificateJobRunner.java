@@ -0,0 +1,263 @@
+package com.workspark.certificateservice.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.certificateservice.batch.CertificateBatch;
+import com.workspark.certificateservice.batch.CertificateBatchWriter;
+import com.workspark.certificateservice.batch.CertificateRowReader;
+import com.workspark.certificateservice.config.CertificateJobProperties;
+import com.workspark.certificateservice.exceptions.customExceptions.CertificateException;
+import com.workspark.certificateservice.service.CertificateService;
+import com.workspark.commonconfig.models.pojo.TenantContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the queued certificate jobs, at most {@code workspark.certificate-job.workers} at a time on this
+ * instance.
+ *
+ * <p>Every {@code workspark.certificate-job.poll-interval} while it has a free worker, the instance claims
+ * jobs one tenant at a time, in a random order of the tenants, so that every tenant with queued jobs gets its
+ * turn. A job renders its rows on the certificate batch pool and stores the certificates as they are done,
+ * saving its progress every {@code workspark.certificate-job.progress-interval} rows. A job resumed after its
+ * instance stopped skips the rows of its saved progress. Jobs left by this instance when it stops are not
+ * marked as failed, they are resumed once their lease expires.</p>
+ *
+ * <p>The files of the jobs that expired are deleted every hour.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "workspark.redis", havingValue = "true", matchIfMissing = true)
+public class CertificateJobRunner {
+
+    private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1);
+
+    private final CertificateJobRepository certificateJobRepository;
+    private final CertificateJobStore certificateJobStore;
+    private final CertificateService certificateService;
+    private final CertificateBatchWriter certificateBatchWriter;
+    private final ObjectMapper objectMapper;
+    private final CertificateJobProperties properties;
+
+    private final Semaphore freeWorkers;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledExecutorService leaseRenewer;
+    private final Map<String, RunningJob> runningJobs = new ConcurrentHashMap<>();
+    private volatile boolean closing;
+
+    public CertificateJobRunner(CertificateJobRepository certificateJobRepository,
+                                CertificateJobStore certificateJobStore, CertificateService certificateService,
+                                CertificateBatchWriter certificateBatchWriter, ObjectMapper objectMapper,
+                                CertificateJobProperties properties) {
+        this.certificateJobRepository = certificateJobRepository;
+        this.certificateJobStore = certificateJobStore;
+        this.certificateService = certificateService;
+        this.certificateBatchWriter = certificateBatchWriter;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.freeWorkers = new Semaphore(properties.getWorkers());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(properties.getWorkers(), runnable -> {
+            Thread thread = new Thread(runnable, "certificate-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "certificate-job-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // the leases are renewed on their own thread, so that a slow dispatch or clean up cannot let them expire
+        this.leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "certificate-job-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long pollMillis = properties.getPollInterval().toMillis();
+        long renewMillis = properties.getLeaseTimeout().toMillis() / 3;
+        scheduler.scheduleWithFixedDelay(this::dispatch, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        leaseRenewer.scheduleWithFixedDelay(this::renewLeases, renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::cleanUp, CLEANUP_INTERVAL.toMillis(), CLEANUP_INTERVAL.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Claims queued jobs while this instance has free workers, one job per tenant and per round.
+     */
+    public void dispatch() {
+        try {
+            boolean claimed = true;
+            while (claimed && !closing) {
+                claimed = false;
+                List<String> scopes = new ArrayList<>(certificateJobRepository.findScopes());
+                Collections.shuffle(scopes);
+                for (String scope : scopes) {
+                    if (!freeWorkers.tryAcquire()) {
+                        return;
+                    }
+                    CertificateJobLease lease = certificateJobRepository.claim(scope).orElse(null);
+                    if (lease == null) {
+                        freeWorkers.release();
+                        continue;
+                    }
+                    claimed = true;
+                    String id = lease.id();
+                    RunningJob runningJob = new RunningJob(lease);
+                    runningJobs.put(id, runningJob);
+                    workers.execute(() -> {
+                        try {
+                            run(id, runningJob);
+                        } finally {
+                            runningJobs.remove(id);
+                            freeWorkers.release();
+                        }
+                    });
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unable to dispatch certificate jobs: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        closing = true;
+        scheduler.shutdownNow();
+        leaseRenewer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void run(String id, RunningJob runningJob) {
+        CertificateJob job = certificateJobRepository.find(id).orElse(null);
+        if (job == null) {
+            log.warn("Claimed certificate job {} no longer exists", id);
+            return;
+        }
+        TenantContext.setCurrentTenant(job.tenant());
+        try {
+            log.info("Running certificate job {} of template ID: {} from row {}", id, job.templateId(),
+                    job.processed() + 1);
+            CertificateBatch batch = certificateService.prepareBatch(job.templateId(), job.type(),
+                    CertificateBatch.OUTPUT_ZIP);
+            Progress progress = new Progress(job.processed(), job.failed());
+            try (CertificateRowReader rows = certificateJobStore.openRows(id, objectMapper)) {
+                for (long skipped = 0; skipped < job.processed() && rows.hasNext(); skipped++) {
+                    rows.next();
+                }
+                certificateBatchWriter.renderEach(batch, rows, (number, certificate, failure) -> {
+                    if (runningJob.leaseLost || closing) {
+                        throw new JobInterruptedException();
+                    }
+                    long row = job.processed() + number;
+                    if (failure != null) {
+                        certificateJobStore.writeError(id, row, failure.getMessage());
+                        progress.failed++;
+                    } else {
+                        certificateJobStore.writeCertificate(id, batch.entryName(row), certificate);
+                    }
+                    progress.processed++;
+                    if (progress.processed % properties.getProgressInterval() == 0) {
+                        saveProgress(runningJob, progress);
+                    }
+                });
+            }
+            saveProgress(runningJob, progress);
+            certificateJobRepository.finish(runningJob.lease, CertificateJobStatus.DONE, null);
+        } catch (JobInterruptedException e) {
+            log.warn("Certificate job {} stopped before its end, it is or will be resumed", id);
+        } catch (IOException | RuntimeException e) {
+            if (closing) {
+                log.warn("Certificate job {} stopped before its end, it will be resumed: {}", id, e.getMessage());
+                return;
+            }
+            log.error("Certificate job {} failed: {}", id, e.getMessage(), e);
+            certificateJobRepository.finish(runningJob.lease, CertificateJobStatus.FAILED, e.getMessage());
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * Saves the progress of a job, and stops it if another instance claimed it.
+     */
+    private void saveProgress(RunningJob runningJob, Progress progress) {
+        if (!certificateJobRepository.saveProgress(runningJob.lease, progress.processed, progress.failed)) {
+            runningJob.leaseLost = true;
+            throw new JobInterruptedException();
+        }
+    }
+
+    private void renewLeases() {
+        runningJobs.forEach((id, runningJob) -> {
+            try {
+                if (!certificateJobRepository.renewLease(runningJob.lease)) {
+                    log.warn("Lease of certificate job {} expired, another instance resumes it", id);
+                    runningJob.leaseLost = true;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Unable to renew the lease of certificate job {}: {}", id, e.getMessage());
+            }
+        });
+    }
+
+    private void cleanUp() {
+        try {
+            for (String id : certificateJobStore.findJobIdsBefore(Instant.now().minus(CLEANUP_INTERVAL))) {
+                if (certificateJobRepository.find(id).isEmpty()) {
+                    certificateJobStore.delete(id);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to delete the files of expired certificate jobs: {}", e.getMessage());
+        }
+    }
+
+    private static final class RunningJob {
+
+        private final CertificateJobLease lease;
+        private volatile boolean leaseLost;
+
+        private RunningJob(CertificateJobLease lease) {
+            this.lease = lease;
+        }
+    }
+
+    private static final class Progress {
+
+        private long processed;
+        private long failed;
+
+        private Progress(long processed, long failed) {
+            this.processed = processed;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * Stops a job whose lease was lost, or whose instance is stopping, without marking it as failed.
+     */
+    private static final class JobInterruptedException extends CertificateException {
+
+        private JobInterruptedException() {
+            super("Certificate job interrupted");
+        }
+    }
+}
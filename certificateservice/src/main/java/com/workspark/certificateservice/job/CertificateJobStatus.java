@@ -0,0 +1,27 @@
+package com.workspark.certificateservice.job;
+
+/**
+ * Lifecycle of a certificate job.
+ */
+public enum CertificateJobStatus {
+
+    /**
+     * Waiting for a worker, either new or resumed after its instance stopped.
+     */
+    QUEUED,
+
+    /**
+     * Being rendered.
+     */
+    RUNNING,
+
+    /**
+     * Every row was handled, the certificates can be downloaded.
+     */
+    DONE,
+
+    /**
+     * Stopped before handling every row, see the error of the job.
+     */
+    FAILED
+}
@@ -0,0 +1,193 @@
+package com.workspark.certificateservice.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.certificateservice.batch.CertificateRowReader;
+import com.workspark.certificateservice.config.CertificateJobProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Files of the certificate jobs, in one directory per job under {@code workspark.certificate-job.storage-directory}:
+ * the rows as submitted, one file per certificate in {@code certificates} and one file per row that could not
+ * be rendered in {@code errors}. A certificate is written to a temporary file and moved in place, so that a
+ * job stopped while writing never leaves a partial certificate behind.
+ */
+@Slf4j
+@Component
+public class CertificateJobStore {
+
+    private static final String CSV_ROWS = "rows.csv";
+    private static final String NDJSON_ROWS = "rows.ndjson";
+    private static final String CERTIFICATES = "certificates";
+    private static final String ERRORS = "errors";
+    private static final Comparator<Path> BY_NAME = Comparator
+            .comparing((Path path) -> path.getFileName().toString().length())
+            .thenComparing(path -> path.getFileName().toString());
+
+    private final Path root;
+
+    public CertificateJobStore(CertificateJobProperties properties) {
+        this.root = properties.getStorageDirectory();
+    }
+
+    /**
+     * Stores the rows of a new job.
+     *
+     * @param jobId       the id of the job
+     * @param contentType the content type of the rows, {@code application/x-ndjson} or {@code text/csv}
+     * @param rows        the rows
+     */
+    public void saveRows(String jobId, MediaType contentType, InputStream rows) throws IOException {
+        String fileName;
+        if (CertificateRowReader.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            fileName = NDJSON_ROWS;
+        } else if (CertificateRowReader.TEXT_CSV.isCompatibleWith(contentType)) {
+            fileName = CSV_ROWS;
+        } else {
+            throw new IllegalArgumentException("Unsupported content type: " + contentType);
+        }
+        Path directory = Files.createDirectories(directory(jobId));
+        Files.createDirectories(directory.resolve(CERTIFICATES));
+        Files.createDirectories(directory.resolve(ERRORS));
+        Files.copy(rows, directory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Opens the rows of a job.
+     *
+     * @param jobId        the id of the job
+     * @param objectMapper the mapper NDJSON rows are read with
+     * @return the reader of the rows
+     */
+    public CertificateRowReader openRows(String jobId, ObjectMapper objectMapper) throws IOException {
+        Path ndjsonRows = directory(jobId).resolve(NDJSON_ROWS);
+        if (Files.exists(ndjsonRows)) {
+            return CertificateRowReader.open(CertificateRowReader.APPLICATION_NDJSON,
+                    Files.newInputStream(ndjsonRows), objectMapper);
+        }
+        return CertificateRowReader.open(CertificateRowReader.TEXT_CSV,
+                Files.newInputStream(directory(jobId).resolve(CSV_ROWS)), objectMapper);
+    }
+
+    /**
+     * Stores a certificate of a job, replacing the one of a previous run of the job.
+     *
+     * @param jobId       the id of the job
+     * @param name        the name of the certificate
+     * @param certificate the certificate
+     */
+    public void writeCertificate(String jobId, String name, byte[] certificate) throws IOException {
+        Path certificates = directory(jobId).resolve(CERTIFICATES);
+        Path temporary = Files.write(certificates.resolve(name + ".tmp"), certificate);
+        Files.move(temporary, certificates.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stores why a row of a job could not be rendered.
+     *
+     * @param jobId  the id of the job
+     * @param number the number of the row, from 1
+     * @param error  why the row could not be rendered
+     */
+    public void writeError(String jobId, long number, String error) throws IOException {
+        Files.writeString(directory(jobId).resolve(ERRORS).resolve(String.valueOf(number)),
+                "Row " + number + ": " + error + "\n", StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the certificates of a job as a ZIP, in the order of the rows, followed by an {@code errors.txt}
+     * entry listing the rows that could not be rendered, if any. The certificates are read one at a time.
+     *
+     * @param jobId        the id of the job
+     * @param outputStream the stream the ZIP is written to, left open
+     */
+    public void writeZip(String jobId, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        // PDFs and images are already compressed
+        zip.setLevel(Deflater.BEST_SPEED);
+        for (Path certificate : list(directory(jobId).resolve(CERTIFICATES))) {
+            if (certificate.getFileName().toString().endsWith(".tmp")) {
+                continue;
+            }
+            zip.putNextEntry(new ZipEntry(certificate.getFileName().toString()));
+            Files.copy(certificate, zip);
+            zip.closeEntry();
+        }
+        List<Path> errors = list(directory(jobId).resolve(ERRORS));
+        if (!errors.isEmpty()) {
+            zip.putNextEntry(new ZipEntry("errors.txt"));
+            for (Path error : errors) {
+                Files.copy(error, zip);
+            }
+            zip.closeEntry();
+        }
+        zip.finish();
+        outputStream.flush();
+    }
+
+    /**
+     * @return the ids of the stored jobs whose directory was last changed before a given time
+     */
+    public List<String> findJobIdsBefore(Instant time) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> directories = Files.list(root)) {
+            return directories
+                    .filter(directory -> lastModified(directory).isBefore(time))
+                    .map(directory -> directory.getFileName().toString())
+                    .toList();
+        }
+    }
+
+    /**
+     * Deletes the files of a job.
+     *
+     * @param jobId the id of the job
+     */
+    public void delete(String jobId) throws IOException {
+        FileSystemUtils.deleteRecursively(directory(jobId));
+        log.debug("Deleted the files of job {}", jobId);
+    }
+
+    private Path directory(String jobId) {
+        Path directory = root.resolve(jobId).normalize();
+        if (!directory.getParent().equals(root.normalize())) {
+            throw new IllegalArgumentException("Invalid job id: " + jobId);
+        }
+        return directory;
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted(BY_NAME).toList();
+        }
+    }
+
+    private static Instant lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
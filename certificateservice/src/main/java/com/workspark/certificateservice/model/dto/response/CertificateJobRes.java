@@ -0,0 +1,54 @@
+package com.workspark.certificateservice.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.workspark.certificateservice.job.CertificateJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO representing an asynchronous certificate job and its progress.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "DTO representing an asynchronous certificate job, including its status and progress.")
+public class CertificateJobRes implements Serializable {
+
+    @Schema(description = "ID of the job")
+    private String id;
+
+    @Schema(description = "ID of the certificate template")
+    private Long templateId;
+
+    @Schema(description = "Type of each certificate, such as 'pdf', 'jpg' or 'png'")
+    private String type;
+
+    @Schema(description = "Status of the job: QUEUED, RUNNING, DONE or FAILED")
+    private CertificateJobStatus status;
+
+    @Schema(description = "Number of rows of the job")
+    private long total;
+
+    @Schema(description = "Number of rows handled so far, including the failed ones")
+    private long processed;
+
+    @Schema(description = "Number of rows that could not be rendered")
+    private long failed;
+
+    @Schema(description = "Why the job failed")
+    private String error;
+
+    @Schema(description = "When the job was submitted")
+    private Instant createdAt;
+
+    @Schema(description = "When the job last changed")
+    private Instant updatedAt;
+}
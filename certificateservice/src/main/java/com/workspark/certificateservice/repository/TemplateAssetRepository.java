@@ -4,10 +4,14 @@ import com.workspark.certificateservice.model.entity.TemplateAsset;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository interface for managing Template entities.
  * Extends JpaRepository to inherit basic CRUD operations and other functionality.
  */
 @Repository
 public interface TemplateAssetRepository extends JpaRepository<TemplateAsset, Long> {
+
+    List<TemplateAsset> findByTemplateId(Long templateId);
 }
@@ -2,12 +2,26 @@ package com.workspark.certificateservice.repository;
 
 import com.workspark.certificateservice.model.entity.Template;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 /**
  * Repository interface for managing Template entities.
  * Extends JpaRepository to inherit basic CRUD operations and other functionality.
  */
 @Repository
 public interface TemplateRepository extends JpaRepository<Template, Long> {
+
+    /**
+     * Returns the version of a template, its last update time, without reading its files.
+     *
+     * @param id the id of the template
+     * @return the version, or empty if there is no such template
+     */
+    @Query("select t.updatedAt from Template t where t.id = :id")
+    Optional<LocalDateTime> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,52 @@
+package com.workspark.certificateservice.service;
+
+import com.workspark.certificateservice.model.dto.response.CertificateJobRes;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service class for the certificate jobs, which generate the certificates of many rows in the background.
+ */
+@Service
+public interface CertificateJobService {
+
+    /**
+     * Stores the rows of a new job and queues it.
+     *
+     * @param templateId  the id of the template
+     * @param type        the type of each certificate (pdf, jpg or png)
+     * @param contentType the content type of the rows, NDJSON or CSV
+     * @param rows        the rows
+     * @return the queued job
+     */
+    CertificateJobRes submitJob(Long templateId, String type, MediaType contentType, InputStream rows)
+            throws IOException;
+
+    /**
+     * Retrieves a job of the current tenant.
+     *
+     * @param id the id of the job
+     * @return the job and its progress
+     */
+    CertificateJobRes getJob(String id);
+
+    /**
+     * Checks that a job of the current tenant is done, before its certificates are downloaded.
+     *
+     * @param id the id of the job
+     * @return the job
+     */
+    CertificateJobRes getDoneJob(String id);
+
+    /**
+     * Writes the certificates of a done job as a ZIP.
+     *
+     * @param id           the id of the job
+     * @param outputStream the stream the ZIP is written to
+     */
+    void writeCertificates(String id, OutputStream outputStream) throws IOException;
+}
@@ -1,8 +1,12 @@
 package com.workspark.certificateservice.service;
 
+import com.workspark.certificateservice.batch.CertificateBatch;
 import com.workspark.certificateservice.model.dto.request.CertificateReq;
+import net.sf.jasperreports.engine.JasperPrint;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
+
 /**
  * Service class for managing certificate templates and generating certificates.
  * Handles CRUD operations for templates and integrates with JasperReports for PDF generation.
@@ -11,10 +15,30 @@ import org.springframework.stereotype.Service;
 public interface CertificateService {
 
     /**
-     * Generates a certificate based on the provided template and dynamic field data.
+     * Fills a certificate based on the provided template and dynamic field data, so that a request that
+     * cannot be rendered fails before its response starts.
      *
      * @param certificateTemplateDto the certificate template data
-     * @return the generated certificate as a byte array
+     * @return the filled certificate, to be written with {@link #writeCertificate}
+     */
+    JasperPrint fillCertificate(CertificateReq certificateTemplateDto);
+
+    /**
+     * Exports a filled certificate straight to a stream, without holding the exported certificate in memory.
+     *
+     * @param certificate  the filled certificate
+     * @param type         the type of the certificate (pdf, jpg or png)
+     * @param outputStream the stream the certificate is written to, left open
+     */
+    void writeCertificate(JasperPrint certificate, String type, OutputStream outputStream);
+
+    /**
+     * Resolves the template of a batch of certificates, once for all its rows.
+     *
+     * @param templateId the id of the template
+     * @param type       the type of each certificate (pdf, jpg or png)
+     * @param output     zip for one file per certificate, pdf for a single document
+     * @return the resolved template
      */
-    byte[] generateCertificate(CertificateReq certificateTemplateDto);
+    CertificateBatch prepareBatch(Long templateId, String type, String output);
 }
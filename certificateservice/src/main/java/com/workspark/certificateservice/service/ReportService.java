@@ -1,9 +1,14 @@
 package com.workspark.certificateservice.service;
 
+import com.workspark.certificateservice.cache.PreparedAssets;
 import com.workspark.certificateservice.model.entity.TemplateAsset;
+import net.sf.jasperreports.engine.JRVirtualizer;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +26,24 @@ public interface ReportService {
      */
     byte[] compileTemplateFile(MultipartFile file);
 
+    /**
+     * Deserializes a compiled Jasper template, so that it can be filled any number of times.
+     *
+     * @param compiledTemplate the byte array representing the compiled template
+     * @return the template
+     */
+    JasperReport loadReport(byte[] compiledTemplate);
+
+    /**
+     * Reads the assets of a template and prepares them for the parameters they are bound to in the template,
+     * decoding the images, or wrapping them in a renderer, once.
+     *
+     * @param report the template
+     * @param assets the assets of the template
+     * @return the assets, ready to be passed to any number of renders
+     */
+    PreparedAssets prepareAssets(JasperReport report, List<TemplateAsset> assets);
+
     /**
      * Generates a certificate PDF from a Jasper template and dynamic fields.
      * @param pdfSourceData     the byte array representing the Jasper template
@@ -30,6 +53,15 @@ public interface ReportService {
      */
     byte[] generateCertificatePdf(byte[] pdfSourceData, Map<String, Object> dynamicFieldsData, List<TemplateAsset> assets);
 
+    /**
+     * Generates a certificate PDF from a deserialized Jasper template and dynamic fields.
+     * @param report            the template
+     * @param dynamicFieldsData a map containing dynamic fields and their values
+     * @param assets            the prepared assets to be included in the certificate
+     * @return  a byte array representing the generated certificate PDF
+     */
+    byte[] generateCertificatePdf(JasperReport report, Map<String, Object> dynamicFieldsData, PreparedAssets assets);
+
     /**
      * Generates a certificate image from a Jasper template and dynamic fields.
      * @param pdfSourceData     the byte array representing the Jasper template
@@ -39,4 +71,50 @@ public interface ReportService {
      * @return  a byte array representing the generated certificate image
      */
     byte[] generateCertificateImage(byte[] pdfSourceData, Map<String, Object> dynamicFieldsData, List<TemplateAsset> assets, String type);
+
+    /**
+     * Generates a certificate image from a deserialized Jasper template and dynamic fields.
+     * @param report            the template
+     * @param dynamicFieldsData     a map containing dynamic fields and their values
+     * @param assets            the prepared assets to be included in the certificate
+     * @param type              the image type (e.g., "jpg", "png")
+     * @return  a byte array representing the generated certificate image
+     */
+    byte[] generateCertificateImage(JasperReport report, Map<String, Object> dynamicFieldsData, PreparedAssets assets, String type);
+
+    /**
+     * Fills a deserialized Jasper template with dynamic fields, without exporting it.
+     * @param report            the template
+     * @param dynamicFieldsData a map containing dynamic fields and their values
+     * @param assets            the prepared assets to be included in the certificate
+     * @return  the filled certificate
+     */
+    JasperPrint fillReport(JasperReport report, Map<String, Object> dynamicFieldsData, PreparedAssets assets);
+
+    /**
+     * Fills a deserialized Jasper template with dynamic fields, without exporting it, letting a virtualizer swap
+     * its pages out of memory.
+     * @param report            the template
+     * @param dynamicFieldsData a map containing dynamic fields and their values
+     * @param assets            the prepared assets to be included in the certificate
+     * @param virtualizer       the virtualizer the pages are handed to
+     * @return  the filled certificate
+     */
+    JasperPrint fillReport(JasperReport report, Map<String, Object> dynamicFieldsData, PreparedAssets assets,
+                           JRVirtualizer virtualizer);
+
+    /**
+     * Exports a filled certificate, with all its pages, as a PDF.
+     * @param print        the filled certificate
+     * @param outputStream the stream the PDF is written to, left open
+     */
+    void exportPdf(JasperPrint print, OutputStream outputStream);
+
+    /**
+     * Exports the first page of a filled certificate as an image.
+     * @param print        the filled certificate
+     * @param type         the image type (e.g., "jpg", "png")
+     * @param outputStream the stream the image is written to, left open
+     */
+    void exportImage(JasperPrint print, String type, OutputStream outputStream);
 }
@@ -0,0 +1,126 @@
+package com.workspark.certificateservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.certificateservice.batch.CertificateBatch;
+import com.workspark.certificateservice.batch.CertificateRowReader;
+import com.workspark.certificateservice.exceptions.customExceptions.CertificateException;
+import com.workspark.certificateservice.job.CertificateJob;
+import com.workspark.certificateservice.job.CertificateJobRepository;
+import com.workspark.certificateservice.job.CertificateJobStatus;
+import com.workspark.certificateservice.job.CertificateJobStore;
+import com.workspark.certificateservice.model.dto.response.CertificateJobRes;
+import com.workspark.certificateservice.service.CertificateJobService;
+import com.workspark.certificateservice.service.CertificateService;
+import com.workspark.commonconfig.models.pojo.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "workspark.redis", havingValue = "true", matchIfMissing = true)
+public class CertificateJobServiceImpl implements CertificateJobService {
+
+    private final CertificateService certificateService;
+    private final CertificateJobRepository certificateJobRepository;
+    private final CertificateJobStore certificateJobStore;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stores the rows of a new job and queues it. The template and the rows are checked first, so that a job
+     * that cannot run is refused rather than queued.
+     *
+     * @param templateId  the id of the template
+     * @param type        the type of each certificate (pdf, jpg or png)
+     * @param contentType the content type of the rows, NDJSON or CSV
+     * @param rows        the rows
+     * @return the queued job
+     */
+    @Override
+    public CertificateJobRes submitJob(Long templateId, String type, MediaType contentType, InputStream rows)
+            throws IOException {
+        log.info("Submitting certificate job of template ID: {}", templateId);
+        certificateService.prepareBatch(templateId, type, CertificateBatch.OUTPUT_ZIP);
+
+        String id = UUID.randomUUID().toString();
+        long total = 0;
+        try {
+            certificateJobStore.saveRows(id, contentType, rows);
+            try (CertificateRowReader reader = certificateJobStore.openRows(id, objectMapper)) {
+                while (reader.hasNext()) {
+                    reader.next();
+                    total++;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            certificateJobStore.delete(id);
+            throw e;
+        }
+
+        Instant now = Instant.now();
+        CertificateJob job = new CertificateJob(id, TenantContext.getCurrentTenant(), templateId, type,
+                CertificateJobStatus.QUEUED, total, 0, 0, null, now, now);
+        certificateJobRepository.create(job);
+        return job.toRes();
+    }
+
+    /**
+     * Retrieves a job of the current tenant.
+     *
+     * @param id the id of the job
+     * @return the job and its progress
+     * @throws CertificateException if the job does not exist, expired or belongs to another tenant
+     */
+    @Override
+    public CertificateJobRes getJob(String id) {
+        return findJob(id).toRes();
+    }
+
+    /**
+     * Checks that a job of the current tenant is done, before its certificates are downloaded.
+     *
+     * @param id the id of the job
+     * @return the job
+     * @throws CertificateException if the job is not found, or is not done
+     */
+    @Override
+    public CertificateJobRes getDoneJob(String id) {
+        CertificateJob job = findJob(id);
+        if (job.status() != CertificateJobStatus.DONE) {
+            log.warn("Certificate job {} is {}, not done", id, job.status());
+            throw new CertificateException("Certificate job is " + job.status(), HttpStatus.CONFLICT);
+        }
+        return job.toRes();
+    }
+
+    /**
+     * Writes the certificates of a done job as a ZIP.
+     *
+     * @param id           the id of the job
+     * @param outputStream the stream the ZIP is written to
+     */
+    @Override
+    public void writeCertificates(String id, OutputStream outputStream) throws IOException {
+        certificateJobStore.writeZip(id, outputStream);
+    }
+
+    private CertificateJob findJob(String id) {
+        return certificateJobRepository.find(id)
+                .filter(job -> Objects.equals(job.tenant(), TenantContext.getCurrentTenant()))
+                .orElseThrow(() -> {
+                    log.warn("Certificate job not found: {}", id);
+                    return new CertificateException("Certificate job not found", HttpStatus.NOT_FOUND);
+                });
+    }
+}
@@ -1,28 +1,40 @@
 package com.workspark.certificateservice.service.impl;
 
+import com.workspark.certificateservice.batch.CertificateBatch;
+import com.workspark.certificateservice.cache.CompiledReportCache;
+import com.workspark.certificateservice.cache.CompiledReportCache.CompiledTemplate;
+import com.workspark.certificateservice.cache.PreparedAssets;
+import com.workspark.certificateservice.cache.TemplateAssetCache;
 import com.workspark.certificateservice.exceptions.customExceptions.CertificateException;
 import com.workspark.certificateservice.exceptions.customExceptions.JasperException;
 import com.workspark.certificateservice.exceptions.customExceptions.TemplateException;
 import com.workspark.certificateservice.model.dto.request.CertificateReq;
 import com.workspark.certificateservice.model.entity.Template;
 import com.workspark.certificateservice.model.entity.TemplateDynamicField;
+import com.workspark.certificateservice.repository.TemplateAssetRepository;
 import com.workspark.certificateservice.repository.TemplateRepository;
 import com.workspark.certificateservice.service.CertificateService;
 import com.workspark.certificateservice.service.ReportService;
+import com.workspark.commonconfig.models.pojo.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperPrint;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.Blob;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.*;
 
 /**
  * Service class for managing certificate templates and generating certificates.
  * Handles CRUD operations for templates and integrates with JasperReports for PDF generation.
+ * Deserialized templates are kept in the {@link CompiledReportCache} and their decoded assets in the
+ * {@link TemplateAssetCache}, so that a certificate only reads the version of its template.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -30,63 +42,150 @@ import java.util.*;
 public class CertificateServiceImpl implements CertificateService {
 
     private final TemplateRepository templateRepository;
+    private final TemplateAssetRepository templateAssetRepository;
     private final ReportService reportService;
+    private final CompiledReportCache compiledReportCache;
+    private final TemplateAssetCache templateAssetCache;
 
     @Override
-    public byte[] generateCertificate(CertificateReq certificateReq) {
+    public JasperPrint fillCertificate(CertificateReq certificateReq) {
         log.info("Generating certificate using template ID: {}", certificateReq.getTemplateId());
         log.debug("Request details: {}", certificateReq);
 
-        Optional<Template> templateOpt = templateRepository.findById(certificateReq.getTemplateId());
-        if (templateOpt.isEmpty()) {
-            log.error("Template with ID {} not found", certificateReq.getTemplateId());
-            throw new TemplateException("Template not found", HttpStatus.NOT_FOUND);
-        }
+        LocalDateTime version = findVersion(certificateReq.getTemplateId());
 
-        Template template = templateOpt.get();
+        CompiledTemplate template = getTemplate(certificateReq.getTemplateId(), version);
         log.info("Template with ID {} found. Validating dynamic fields...", certificateReq.getTemplateId());
-        validateDynamicFields(template, certificateReq);
+        validateDynamicFields(certificateReq.getTemplateId(), template.dynamicFields(), certificateReq);
         log.info("Dynamic fields validated successfully for template ID: {}", certificateReq.getTemplateId());
 
-        return generateCertificateData(certificateReq, template);
+        return fillCertificateData(certificateReq, template, version);
+    }
+
+    @Override
+    public void writeCertificate(JasperPrint certificate, String type, OutputStream outputStream) {
+        log.info("Exporting certificate of type '{}'", type);
+        if ("pdf".equals(type)) {
+            reportService.exportPdf(certificate, outputStream);
+        } else {
+            reportService.exportImage(certificate, type, outputStream);
+        }
+    }
+
+    @Override
+    public CertificateBatch prepareBatch(Long templateId, String type, String output) {
+        log.info("Preparing batch of type '{}' as '{}' for template ID: {}", type, output, templateId);
+        if (!Set.of("pdf", "jpg", "png").contains(type)) {
+            log.error("Invalid certificate type '{}' provided for template ID: {}", type, templateId);
+            throw new CertificateException("Invalid certificate type", HttpStatus.CONFLICT);
+        }
+        if (!CertificateBatch.OUTPUT_ZIP.equals(output)
+                && !(CertificateBatch.OUTPUT_PDF.equals(output) && "pdf".equals(type))) {
+            log.error("Invalid batch output '{}' provided for type '{}'", output, type);
+            throw new CertificateException("Invalid batch output", HttpStatus.CONFLICT);
+        }
+
+        LocalDateTime version = findVersion(templateId);
+        CompiledTemplate template = getTemplate(templateId, version);
+        PreparedAssets assets;
+        try {
+            assets = getAssets(templateId, version, template);
+        } catch (Exception e) {
+            log.error("Error loading assets of template ID: {}: {}", templateId, e.getMessage(), e);
+            throw new CertificateException("Error generating certificate: " + e.getMessage());
+        }
+        return new CertificateBatch(TenantContext.getCurrentTenant(), templateId, type, output, template.report(),
+                Set.copyOf(template.dynamicFields()), assets);
+    }
+
+    private LocalDateTime findVersion(Long templateId) {
+        return templateRepository.findVersionById(templateId)
+                .orElseThrow(() -> {
+                    log.error("Template with ID {} not found", templateId);
+                    return new TemplateException("Template not found", HttpStatus.NOT_FOUND);
+                });
     }
 
     /**
-     * Helper method to generate certificate data (PDF or image).
+     * Returns a deserialized template from the cache, reading it if it is not cached with this version.
+     *
+     * @param templateId the id of the template
+     * @param version    the current version of the template
+     * @return the deserialized template with its dynamic fields
+     */
+    private CompiledTemplate getTemplate(Long templateId, LocalDateTime version) {
+        try {
+            return compiledReportCache.get(templateId, version, () -> loadTemplate(templateId, version));
+        } catch (TemplateException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error loading template ID: {}: {}", templateId, e.getMessage(), e);
+            throw new CertificateException("Error generating certificate: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the prepared assets of a template from the cache, reading them if they are not cached with this
+     * version.
+     *
+     * @param templateId the id of the template
+     * @param version    the current version of the template
+     * @param template   the deserialized template the assets are prepared for
+     * @return the prepared assets of the template
+     */
+    private PreparedAssets getAssets(Long templateId, LocalDateTime version, CompiledTemplate template) {
+        return templateAssetCache.get(templateId, version, () -> reportService.prepareAssets(
+                template.report(), templateAssetRepository.findByTemplateId(templateId)));
+    }
+
+    /**
+     * Reads a template and deserializes it.
+     *
+     * @param templateId the id of the template
+     * @param version    the version of the template being read
+     * @return the deserialized template with its dynamic fields
+     */
+    private CompiledTemplate loadTemplate(Long templateId, LocalDateTime version) {
+        Template template = templateRepository.findById(templateId)
+                .orElseThrow(() -> {
+                    log.error("Template with ID {} not found", templateId);
+                    return new TemplateException("Template not found", HttpStatus.NOT_FOUND);
+                });
+        byte[] fileData = getFileData(template.getFileData());
+        List<String> dynamicFields = Optional.ofNullable(template.getDynamicFields())
+                .orElse(Collections.emptyList())
+                .stream()
+                .map(TemplateDynamicField::getDynamicField)
+                .toList();
+        return new CompiledTemplate(version, reportService.loadReport(fileData), dynamicFields, fileData.length);
+    }
+
+    /**
+     * Helper method to fill the certificate, before it is exported as a PDF or an image.
      *
      * @param certificateReq the request details for certificate generation
      * @param template       the template to use for generation
-     * @return the generated certificate as a byte array
+     * @param version        the current version of the template
+     * @return the filled certificate
      */
-    private byte[] generateCertificateData(CertificateReq certificateReq, Template template) {
+    private JasperPrint fillCertificateData(CertificateReq certificateReq, CompiledTemplate template, LocalDateTime version) {
         log.info("Generating certificate of type '{}' for template ID: {}", certificateReq.getType(), certificateReq.getTemplateId());
         try {
-            byte[] data;
             switch (certificateReq.getType()) {
-                case "pdf":
-                    log.info("Generating PDF certificate...");
-                    data = reportService.generateCertificatePdf(
-                            getFileData(template.getFileData()),
-                            certificateReq.getDynamicFieldData(),
-                            template.getAssets()
-                    );
-                    log.info("PDF certificate generated successfully for template ID: {}", certificateReq.getTemplateId());
-                    break;
-                case "jpg", "png":
-                    log.info("Generating image certificate...");
-                    data = reportService.generateCertificateImage(
-                            getFileData(template.getFileData()),
+                case "pdf", "jpg", "png" -> {
+                    JasperPrint certificate = reportService.fillReport(
+                            template.report(),
                             certificateReq.getDynamicFieldData(),
-                            template.getAssets(),
-                            certificateReq.getType()
+                            getAssets(certificateReq.getTemplateId(), version, template)
                     );
-                    log.info("Image certificate generated successfully for template ID: {}", certificateReq.getTemplateId());
-                    break;
-                default:
+                    log.info("Certificate filled successfully for template ID: {}", certificateReq.getTemplateId());
+                    return certificate;
+                }
+                default -> {
                     log.error("Invalid certificate type '{}' provided for template ID: {}", certificateReq.getType(), certificateReq.getTemplateId());
                     throw new CertificateException("Invalid certificate type", HttpStatus.CONFLICT);
+                }
             }
-            return data;
         } catch (Exception e) {
             log.error("Error generating certificate for template ID: {}: {}", certificateReq.getTemplateId(), e.getMessage(), e);
             throw new CertificateException("Error generating certificate: ".concat(e.getMessage()));
@@ -108,20 +207,15 @@ public class CertificateServiceImpl implements CertificateService {
         }
     }
 
-    private void validateDynamicFields(Template template, CertificateReq certificateReq) {
-        log.info("Validating dynamic fields for template ID: {}", template.getId());
-        List<String> templateDynamicFields = Optional.ofNullable(template.getDynamicFields())
-                .orElse(Collections.emptyList())
-                .stream()
-                .map(TemplateDynamicField::getDynamicField)
-                .toList();
+    private void validateDynamicFields(Long templateId, List<String> templateDynamicFields, CertificateReq certificateReq) {
+        log.info("Validating dynamic fields for template ID: {}", templateId);
         Set<String> dtoDynamicFieldKeys = certificateReq.getDynamicFieldData().keySet();
 
         log.debug("Template dynamic fields: {}", templateDynamicFields);
         log.debug("Request dynamic fields: {}", dtoDynamicFieldKeys);
 
         if (!new HashSet<>(templateDynamicFields).equals(dtoDynamicFieldKeys)) {
-            log.error("Dynamic fields validation failed for template ID: {}", template.getId());
+            log.error("Dynamic fields validation failed for template ID: {}", templateId);
             throw new IllegalArgumentException("Dynamic fields do not match with the template parameters");
         }
     }
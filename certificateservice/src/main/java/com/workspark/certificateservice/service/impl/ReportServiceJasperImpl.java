@@ -1,14 +1,24 @@
 package com.workspark.certificateservice.service.impl;
 
+import com.workspark.certificateservice.cache.PreparedAssets;
 import com.workspark.certificateservice.exceptions.customExceptions.JasperException;
 import com.workspark.certificateservice.model.entity.TemplateAsset;
 import com.workspark.certificateservice.service.ReportService;
+import com.workspark.commonconfig.utils.TenantMetrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jasperreports.engine.*;
+import net.sf.jasperreports.engine.util.JRLoader;
+import net.sf.jasperreports.renderers.Renderable;
+import net.sf.jasperreports.renderers.SimpleDataRenderer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.sql.SQLException;
@@ -19,11 +29,35 @@ import java.util.Map;
 /**
  * This class implements the ReportService interface and provides methods for generating
  * certificate PDFs and images from Jasper reports.
+ * Compiling, loading, preparing assets and rendering are timed as {@code workspark.jasper.render}, tagged with
+ * the operation ({@code compile}, {@code load}, {@code assets}, {@code pdf}, {@code image}, {@code fill} or
+ * {@code export}) and the tenant.
  */
 @Slf4j
 @Service
 public class ReportServiceJasperImpl implements ReportService {
 
+    private static final String RENDER_TIMER = "workspark.jasper.render";
+    private static final float IMAGE_ZOOM = 2.0f;
+
+    private final TenantMetrics.TenantTimer compileTimer;
+    private final TenantMetrics.TenantTimer loadTimer;
+    private final TenantMetrics.TenantTimer pdfTimer;
+    private final TenantMetrics.TenantTimer imageTimer;
+    private final TenantMetrics.TenantTimer fillTimer;
+    private final TenantMetrics.TenantTimer exportTimer;
+    private final TenantMetrics.TenantTimer assetsTimer;
+
+    public ReportServiceJasperImpl(TenantMetrics tenantMetrics) {
+        this.compileTimer = tenantMetrics.tenantTimer(RENDER_TIMER, "operation", "compile");
+        this.loadTimer = tenantMetrics.tenantTimer(RENDER_TIMER, "operation", "load");
+        this.pdfTimer = tenantMetrics.tenantTimer(RENDER_TIMER, "operation", "pdf");
+        this.imageTimer = tenantMetrics.tenantTimer(RENDER_TIMER, "operation", "image");
+        this.fillTimer = tenantMetrics.tenantTimer(RENDER_TIMER, "operation", "fill");
+        this.exportTimer = tenantMetrics.tenantTimer(RENDER_TIMER, "operation", "export");
+        this.assetsTimer = tenantMetrics.tenantTimer(RENDER_TIMER, "operation", "assets");
+    }
+
     /**
      * Compiles a Jasper template file.
      *
@@ -32,6 +66,7 @@ public class ReportServiceJasperImpl implements ReportService {
      */
     @Override
     public byte[] compileTemplateFile(MultipartFile file) {
+        Timer.Sample sample = Timer.start();
         try (ByteArrayInputStream jrXmlStream = new ByteArrayInputStream(file.getBytes())) {
 
             JasperReport jasperReport = JasperCompileManager.compileReport(jrXmlStream);
@@ -46,6 +81,27 @@ public class ReportServiceJasperImpl implements ReportService {
         } catch (JRException | IOException e) {
             log.error("Error compiling template file: {}", e.getMessage(), e);
             throw new JasperException("Error compiling template file: ".concat(e.getMessage()));
+        } finally {
+            sample.stop(compileTimer.get());
+        }
+    }
+
+    /**
+     * Deserializes a compiled Jasper template.
+     *
+     * @param compiledTemplate the byte array representing the compiled template
+     * @return the template
+     */
+    @Override
+    public JasperReport loadReport(byte[] compiledTemplate) {
+        Timer.Sample sample = Timer.start();
+        try (InputStream compiledStream = new ByteArrayInputStream(compiledTemplate)) {
+            return (JasperReport) JRLoader.loadObject(compiledStream);
+        } catch (IOException | JRException | ClassCastException e) {
+            log.error("Error loading compiled template: {}", e.getMessage(), e);
+            throw new JasperException("Error loading compiled template: " + e.getMessage());
+        } finally {
+            sample.stop(loadTimer.get());
         }
     }
 
@@ -58,17 +114,32 @@ public class ReportServiceJasperImpl implements ReportService {
      * @return a byte array representing the generated certificate PDF
      */
     public byte[] generateCertificatePdf(byte[] pdfSourceData, Map<String, Object> dynamicFieldsData, List<TemplateAsset> assets) {
+        JasperReport report = loadReport(pdfSourceData);
+        return generateCertificatePdf(report, dynamicFieldsData, prepareAssets(report, assets));
+    }
+
+    /**
+     * Generates a certificate PDF from a deserialized Jasper template and dynamic fields.
+     *
+     * @param report            the template
+     * @param dynamicFieldsData a map containing dynamic fields and their values
+     * @param assets            the prepared assets to be included in the certificate
+     * @return a byte array representing the generated certificate PDF
+     */
+    public byte[] generateCertificatePdf(JasperReport report, Map<String, Object> dynamicFieldsData, PreparedAssets assets) {
         Map<String, Object> parameters = prepareParameters(dynamicFieldsData, assets);
 
-        try (InputStream jrXmlStream = new ByteArrayInputStream(pdfSourceData);
-             ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-            JasperPrint jasperPrint = JasperFillManager.fillReport(jrXmlStream, parameters, new JREmptyDataSource());
+        Timer.Sample sample = Timer.start();
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
+            JasperPrint jasperPrint = JasperFillManager.fillReport(report, parameters, new JREmptyDataSource());
             JasperExportManager.exportReportToPdfStream(jasperPrint, byteArrayOutputStream);
             log.info("Certificate PDF generated successfully.");
             return byteArrayOutputStream.toByteArray();
         } catch (IOException | JRException e) {
             log.error("Error generating certificate PDF: {}", e.getMessage(), e);
             throw new JasperException("Error generating certificate PDF: " + e.getMessage());
+        } finally {
+            sample.stop(pdfTimer.get());
         }
     }
 
@@ -82,13 +153,27 @@ public class ReportServiceJasperImpl implements ReportService {
      * @return  a byte array representing the generated certificate image
      */
     public byte[] generateCertificateImage(byte[] pdfSourceData, Map<String, Object> dynamicFieldsData, List<TemplateAsset> assets, String type) {
+        JasperReport report = loadReport(pdfSourceData);
+        return generateCertificateImage(report, dynamicFieldsData, prepareAssets(report, assets), type);
+    }
+
+    /**
+     * Generates a certificate image from a deserialized Jasper template and dynamic fields.
+     *
+     * @param report            the template
+     * @param dynamicFieldsData     a map containing dynamic fields and their values
+     * @param assets            the prepared assets to be included in the certificate
+     * @param type              the image type (e.g., "jpg", "png")
+     * @return  a byte array representing the generated certificate image
+     */
+    public byte[] generateCertificateImage(JasperReport report, Map<String, Object> dynamicFieldsData, PreparedAssets assets, String type) {
         Map<String, Object> parameters = prepareParameters(dynamicFieldsData, assets);
 
-        try (InputStream jrXmlStream = new ByteArrayInputStream(pdfSourceData);
-             ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-            JasperPrint jasperPrint = JasperFillManager.fillReport(jrXmlStream, parameters, new JREmptyDataSource());
+        Timer.Sample sample = Timer.start();
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
+            JasperPrint jasperPrint = JasperFillManager.fillReport(report, parameters, new JREmptyDataSource());
 
-            BufferedImage image = (BufferedImage) JasperPrintManager.printPageToImage(jasperPrint, 0, 2.0f);
+            BufferedImage image = (BufferedImage) JasperPrintManager.printPageToImage(jasperPrint, 0, IMAGE_ZOOM);
             ImageIO.write(image, type, byteArrayOutputStream);
             log.info("Certificate image generated successfully.");
             return byteArrayOutputStream.toByteArray();
@@ -96,30 +181,200 @@ public class ReportServiceJasperImpl implements ReportService {
         } catch (IOException | JRException e) {
             log.error("Error generating certificate image: {}", e.getMessage(), e);
             throw new JasperException("Error generating certificate image: " + e.getMessage());
+        } finally {
+            sample.stop(imageTimer.get());
         }
     }
 
     /**
-     * Prepares parameters for Jasper reports by adding dynamic fields and processing assets.
+     * Fills a deserialized Jasper template with dynamic fields, without exporting it.
+     *
+     * @param report            the template
+     * @param dynamicFieldsData a map containing dynamic fields and their values
+     * @param assets            the prepared assets to be included in the certificate
+     * @return the filled certificate
+     */
+    @Override
+    public JasperPrint fillReport(JasperReport report, Map<String, Object> dynamicFieldsData, PreparedAssets assets) {
+        return fillReport(report, dynamicFieldsData, assets, null);
+    }
+
+    /**
+     * Fills a deserialized Jasper template with dynamic fields, without exporting it. The pages are handed to the
+     * virtualizer, which keeps only the most recently used ones in memory.
+     *
+     * @param report            the template
+     * @param dynamicFieldsData a map containing dynamic fields and their values
+     * @param assets            the prepared assets to be included in the certificate
+     * @param virtualizer       the virtualizer the pages are handed to, or {@code null} to keep them in memory
+     * @return the filled certificate
+     */
+    @Override
+    public JasperPrint fillReport(JasperReport report, Map<String, Object> dynamicFieldsData, PreparedAssets assets,
+                                  JRVirtualizer virtualizer) {
+        Map<String, Object> parameters = prepareParameters(dynamicFieldsData, assets);
+        if (virtualizer != null) {
+            parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            return JasperFillManager.fillReport(report, parameters, new JREmptyDataSource());
+        } catch (JRException e) {
+            log.error("Error filling certificate: {}", e.getMessage(), e);
+            throw new JasperException("Error filling certificate: " + e.getMessage());
+        } finally {
+            sample.stop(fillTimer.get());
+        }
+    }
+
+    /**
+     * Exports a filled certificate, with all its pages, as a PDF.
+     *
+     * @param print        the filled certificate
+     * @param outputStream the stream the PDF is written to, left open
+     */
+    @Override
+    public void exportPdf(JasperPrint print, OutputStream outputStream) {
+        Timer.Sample sample = Timer.start();
+        try {
+            JasperExportManager.exportReportToPdfStream(print, outputStream);
+            log.info("Certificate PDF of {} pages exported successfully.", print.getPages().size());
+        } catch (JRException e) {
+            log.error("Error exporting certificate PDF: {}", e.getMessage(), e);
+            throw new JasperException("Error exporting certificate PDF: " + e.getMessage());
+        } finally {
+            sample.stop(exportTimer.get());
+        }
+    }
+
+    /**
+     * Exports the first page of a filled certificate as an image. The image is encoded straight to the stream,
+     * through an in-memory cache that only holds what the encoder has not yet flushed, rather than into an
+     * array the size of the whole image.
+     *
+     * @param print        the filled certificate
+     * @param type         the image type (e.g., "jpg", "png")
+     * @param outputStream the stream the image is written to, left open
+     */
+    @Override
+    public void exportImage(JasperPrint print, String type, OutputStream outputStream) {
+        Timer.Sample sample = Timer.start();
+        try (ImageOutputStream imageOutputStream = new MemoryCacheImageOutputStream(outputStream)) {
+            BufferedImage image = (BufferedImage) JasperPrintManager.printPageToImage(print, 0, IMAGE_ZOOM);
+            if (!ImageIO.write(image, type, imageOutputStream)) {
+                throw new JasperException("Unsupported image type: " + type);
+            }
+            log.info("Certificate image exported successfully.");
+        } catch (IOException | JRException e) {
+            log.error("Error exporting certificate image: {}", e.getMessage(), e);
+            throw new JasperException("Error exporting certificate image: " + e.getMessage());
+        } finally {
+            sample.stop(exportTimer.get());
+        }
+    }
+
+    /**
+     * Reads the assets of a template and prepares them for the parameters they are bound to, so that an image is
+     * never decoded again for each render when the parameter can take a prepared one:
+     * <ul>
+     *     <li>an asset bound to an image parameter is decoded once;</li>
+     *     <li>an image bound to a parameter of a wider type, such as {@code Object}, is decoded once as well;</li>
+     *     <li>an asset bound to a renderer parameter is wrapped once in a renderer;</li>
+     *     <li>one bound to a {@code byte[]} parameter is kept as is;</li>
+     *     <li>any other is passed as a stream over its bytes, as before. An image passed so is decoded by Jasper
+     *     on each render, which is logged.</li>
+     * </ul>
+     *
+     * @param report the template
+     * @param assets the assets of the template
+     * @return the prepared assets
+     */
+    @Override
+    public PreparedAssets prepareAssets(JasperReport report, List<TemplateAsset> assets) {
+        Map<String, Class<?>> parameterTypes = new HashMap<>();
+        for (JRParameter parameter : report.getParameters()) {
+            parameterTypes.put(parameter.getName(), parameter.getValueClass());
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            PreparedAssets.Builder preparedAssets = PreparedAssets.builder();
+            for (TemplateAsset asset : assets) {
+                if (asset.getName().equals("template")) {
+                    continue;
+                }
+                byte[] data = asset.getAssetData().getBytes(1, (int) asset.getAssetData().length());
+                Class<?> parameterType = parameterTypes.get(asset.getName());
+                BufferedImage image;
+                if (parameterType != null && Image.class.isAssignableFrom(parameterType)) {
+                    preparedAssets.image(asset.getName(), decodeImage(asset.getName(), data));
+                } else if (parameterType != null && parameterType.isAssignableFrom(BufferedImage.class)
+                        && (image = readImage(asset.getName(), data)) != null) {
+                    preparedAssets.image(asset.getName(), image);
+                } else if (parameterType != null && Renderable.class.isAssignableFrom(parameterType)
+                        && parameterType.isAssignableFrom(SimpleDataRenderer.class)) {
+                    preparedAssets.renderer(asset.getName(), SimpleDataRenderer.getInstance(data), data.length);
+                } else if (byte[].class.equals(parameterType)) {
+                    preparedAssets.byteArray(asset.getName(), data);
+                } else {
+                    if (parameterType != null && isImage(data)) {
+                        log.warn("Image asset '{}' is bound to a {} parameter and is decoded on each render, "
+                                + "declare it as java.awt.Image to decode it once.", asset.getName(), parameterType.getName());
+                    }
+                    preparedAssets.stream(asset.getName(), data);
+                }
+                log.debug("Asset '{}' prepared.", asset.getName());
+            }
+            return preparedAssets.build();
+        } catch (SQLException e) {
+            log.error("Error processing assets: {}", e.getMessage(), e);
+            throw new JasperException("Error processing asset: " + e.getMessage());
+        } finally {
+            sample.stop(assetsTimer.get());
+        }
+    }
+
+    private static BufferedImage decodeImage(String name, byte[] data) {
+        BufferedImage image = readImage(name, data);
+        if (image == null) {
+            throw new JasperException("Asset '" + name + "' is not a supported image");
+        }
+        return image;
+    }
+
+    /**
+     * @return the decoded image, or {@code null} if the data is not in a supported image format
+     */
+    private static BufferedImage readImage(String name, byte[] data) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            throw new JasperException("Error decoding asset '" + name + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return whether the data is in a supported image format, without decoding it
+     */
+    private static boolean isImage(byte[] data) {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            return imageInputStream != null && ImageIO.getImageReaders(imageInputStream).hasNext();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Prepares parameters for Jasper reports by adding dynamic fields and the assets.
      *
      * @param dynamicFieldsData the dynamic fields to be included in the parameters
-     * @param assets            the list of assets to be added to the parameters
+     * @param assets            the prepared assets to be added to the parameters
      * @return a map of parameters
      */
-    private Map<String, Object> prepareParameters(Map<String, Object> dynamicFieldsData, List<TemplateAsset> assets) {
+    private Map<String, Object> prepareParameters(Map<String, Object> dynamicFieldsData, PreparedAssets assets) {
         Map<String, Object> parameters = new HashMap<>(dynamicFieldsData);
-        assets.parallelStream()
-                .filter(asset -> !asset.getName().equals("template"))
-                .forEach(asset -> {
-                    try (ByteArrayInputStream assetStream = new ByteArrayInputStream(
-                            asset.getAssetData().getBytes(1, (int) asset.getAssetData().length()))) {
-                        parameters.put(asset.getName(), assetStream);
-                        log.debug("Asset '{}' added to parameters.", asset.getName());
-                    } catch (SQLException | IOException e) {
-                        log.error("Error processing asset '{}': {}", asset.getName(), e.getMessage(), e);
-                        throw new JasperException("Error processing asset: " + e.getMessage());
-                    }
-                });
+        assets.addTo(parameters);
         log.info("Parameters prepared successfully with {} dynamic fields and {} assets.",
                 dynamicFieldsData.size(), assets.size());
         return parameters;
@@ -0,0 +1,151 @@
+package com.workspark.certificateservice.batch;
+
+import com.workspark.certificateservice.cache.PreparedAssets;
+import com.workspark.certificateservice.config.CertificateBatchProperties;
+import com.workspark.certificateservice.service.ReportService;
+import com.workspark.commonconfig.models.pojo.TenantContext;
+import net.sf.jasperreports.engine.JRVirtualizer;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.base.JRBasePrintPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CertificateBatchWriterTest {
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private JasperReport report;
+
+    private CertificateBatchProperties properties;
+    private CertificateBatchWriter certificateBatchWriter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties = new CertificateBatchProperties();
+        properties.setThreads(4);
+        properties.setQueueCapacity(2);
+        properties.setMaxInFlight(8);
+        certificateBatchWriter = new CertificateBatchWriter(reportService, properties, mock(ObjectProvider.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        certificateBatchWriter.close();
+    }
+
+    @Test
+    void testZipHasOneEntryPerRowInOrderAndListsFailedRows() throws IOException {
+        // Arrange: 50 rows, the 7th with a field the template does not have
+        List<Map<String, Object>> rows = IntStream.rangeClosed(1, 50)
+                .mapToObj(number -> Map.<String, Object>of(number == 7 ? "unknown" : "name", "Name " + number))
+                .toList();
+        when(reportService.generateCertificatePdf(eq(report), anyMap(), eq(PreparedAssets.EMPTY)))
+                .thenAnswer(invocation -> {
+                    assertEquals("tenant-1", TenantContext.getCurrentTenant());
+                    Map<String, Object> row = invocation.getArgument(1);
+                    return ((String) row.get("name")).getBytes(StandardCharsets.UTF_8);
+                });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        certificateBatchWriter.write(batch("pdf", CertificateBatch.OUTPUT_ZIP), rows.iterator(), outputStream);
+
+        // Assert
+        Map<String, String> entries = unzip(outputStream.toByteArray());
+        assertEquals(50, entries.size());
+        assertEquals("Name 1", entries.get("certificate-000001.pdf"));
+        assertEquals("Name 50", entries.get("certificate-000050.pdf"));
+        assertFalse(entries.containsKey("certificate-000007.pdf"));
+        assertEquals("Row 7: Dynamic fields do not match with the template parameters\n", entries.get("errors.txt"));
+        List<String> names = List.copyOf(entries.keySet());
+        assertEquals("certificate-000012.pdf", names.get(10));
+        assertEquals("errors.txt", names.get(49));
+        verify(reportService, times(49)).generateCertificatePdf(eq(report), anyMap(), eq(PreparedAssets.EMPTY));
+    }
+
+    @Test
+    void testPdfHasOnePagePerRow() throws IOException {
+        // Arrange
+        List<Map<String, Object>> rows = IntStream.rangeClosed(1, 20)
+                .mapToObj(number -> Map.<String, Object>of("name", "Name " + number))
+                .toList();
+        when(reportService.fillReport(eq(report), anyMap(), eq(PreparedAssets.EMPTY), any(JRVirtualizer.class)))
+                .thenAnswer(invocation -> {
+                    JasperPrint print = new JasperPrint();
+                    print.addPage(new JRBasePrintPage());
+                    return print;
+                });
+
+        // Act
+        certificateBatchWriter.write(batch("pdf", CertificateBatch.OUTPUT_PDF), rows.iterator(), new ByteArrayOutputStream());
+
+        // Assert
+        ArgumentCaptor<JasperPrint> document = ArgumentCaptor.forClass(JasperPrint.class);
+        verify(reportService).exportPdf(document.capture(), any());
+        assertEquals(20, document.getValue().getPages().size());
+    }
+
+    @Test
+    void testZipListsAtMostTheMaximumNumberOfFailedRows() throws IOException {
+        // Arrange: 10 rows with a field the template does not have
+        properties.setMaxReportedErrors(3);
+        List<Map<String, Object>> rows = IntStream.rangeClosed(1, 10)
+                .mapToObj(number -> Map.<String, Object>of("unknown", "Name " + number))
+                .toList();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        certificateBatchWriter.write(batch("pdf", CertificateBatch.OUTPUT_ZIP), rows.iterator(), outputStream);
+
+        // Assert
+        Map<String, String> entries = unzip(outputStream.toByteArray());
+        assertEquals(Set.of("errors.txt"), entries.keySet());
+        String[] errors = entries.get("errors.txt").split("\n");
+        assertEquals(4, errors.length);
+        assertTrue(errors[2].startsWith("Row 3: "));
+        assertEquals("... and 7 more rows", errors[3]);
+        verifyNoInteractions(reportService);
+    }
+
+    private CertificateBatch batch(String type, String output) {
+        return new CertificateBatch("tenant-1", 1L, type, output, report, Set.of("name"), PreparedAssets.EMPTY);
+    }
+
+    private static Map<String, String> unzip(byte[] zip) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,73 @@
+package com.workspark.certificateservice.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CertificateRowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testNdjsonRowsAreReadOneObjectPerLine() throws IOException {
+        String body = """
+                {"name": "John Doe", "course": "Java"}
+                {"name": "Jane Doe", "course": "Spring"}
+                """;
+
+        List<Map<String, Object>> rows = readAll(CertificateRowReader.APPLICATION_NDJSON, body);
+
+        assertEquals(List.of(
+                Map.of("name", "John Doe", "course", "Java"),
+                Map.of("name", "Jane Doe", "course", "Spring")), rows);
+    }
+
+    @Test
+    void testCsvRowsAreMappedByHeader() throws IOException {
+        String body = "\uFEFFname,course\r\n"
+                + "John Doe,Java\r\n"
+                + "\r\n"
+                + "\"Doe, Jane\",\"Spring \"\"Boot\"\"\nAdvanced\"\n";
+
+        List<Map<String, Object>> rows = readAll(MediaType.parseMediaType("text/csv;charset=UTF-8"), body);
+
+        assertEquals(List.of(
+                Map.of("name", "John Doe", "course", "Java"),
+                Map.of("name", "Doe, Jane", "course", "Spring \"Boot\"\nAdvanced")), rows);
+    }
+
+    @Test
+    void testCsvRowWithMissingFieldsIsRejected() throws IOException {
+        CertificateRowReader rows = open(CertificateRowReader.TEXT_CSV, "name,course\nJohn Doe\n");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, rows::next);
+        assertEquals("Row 1 of the CSV has 1 fields, expected 2", exception.getMessage());
+    }
+
+    @Test
+    void testUnsupportedContentTypeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> open(MediaType.APPLICATION_XML, "<rows/>"));
+    }
+
+    private List<Map<String, Object>> readAll(MediaType contentType, String body) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (CertificateRowReader reader = open(contentType, body)) {
+            reader.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+
+    private CertificateRowReader open(MediaType contentType, String body) throws IOException {
+        return CertificateRowReader.open(contentType,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), objectMapper);
+    }
+}
@@ -0,0 +1,130 @@
+package com.workspark.certificateservice.benchmark;
+
+import com.workspark.certificateservice.batch.CertificateBatch;
+import com.workspark.certificateservice.batch.CertificateBatchWriter;
+import com.workspark.certificateservice.cache.PreparedAssets;
+import com.workspark.certificateservice.config.CertificateBatchProperties;
+import com.workspark.certificateservice.service.impl.ReportServiceJasperImpl;
+import com.workspark.commonconfig.utils.TenantMetrics;
+import com.workspark.commonconfig.utils.TenantTagPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.sf.jasperreports.engine.JasperReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Certificates per second of one batch written by the {@link CertificateBatchWriter} with 1 to 8 rendering
+ * threads, as a ZIP of PDFs or PNGs and as a single PDF. The scores are per certificate, so that the speed-up
+ * of a thread count is its score divided by the score of one thread; it levels off at the number of cores of
+ * the machine. The single PDF only fills in parallel, its export runs on one thread.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.workspark.certificateservice.benchmark.CertificateBatchBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(1)
+@Fork(1)
+public class CertificateBatchBenchmark {
+
+    private static final String JRXML = """
+            <jasperReport name="benchmark" language="java" columnCount="1" pageWidth="871" pageHeight="624" orientation="Landscape" whenNoDataType="AllSectionsNoDetail" columnWidth="871" leftMargin="0" rightMargin="0" topMargin="0" bottomMargin="0" uuid="4606ee64-ef33-409d-9898-fe031641bbff">
+                <property name="net.sf.jasperreports.awt.ignore.missing.font" value="true"/>
+                <property name="net.sf.jasperreports.default.font.name" value="Sans Serif"/>
+                <parameter name="name" class="java.lang.String"/>
+                <query language="sql"><![CDATA[]]></query>
+                <background height="624" splitType="Stretch">
+                    <element kind="textField" uuid="15a3e143-ace8-49b8-8000-f7eae3eb16d1" x="-2" y="198" width="873" height="117" forecolor="#323D55" markup="none" fontName="GreatVibes" fontSize="70.0" pdfFontName="GreatVibes" pdfEncoding="Identity-H" pdfEmbedded="true" hTextAlign="Center" vTextAlign="Middle">
+                        <expression><![CDATA[$P{name}]]></expression>
+                    </element>
+                </background>
+            </jasperReport>
+            """;
+
+    private static final int ROWS = 200;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"zip-pdf", "zip-png", "pdf"})
+    public String output;
+
+    private CertificateBatchWriter certificateBatchWriter;
+    private CertificateBatch batch;
+    private List<Map<String, Object>> rows;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ReportServiceJasperImpl reportService = new ReportServiceJasperImpl(
+                new TenantMetrics(new SimpleMeterRegistry(), new TenantTagPolicy(10, tenant -> true)));
+        JasperReport report = reportService.loadReport(reportService.compileTemplateFile(
+                new MockMultipartFile("template", "template.jrxml", "text/xml", JRXML.getBytes())));
+
+        CertificateBatchProperties properties = new CertificateBatchProperties();
+        properties.setThreads(threads);
+        certificateBatchWriter = new CertificateBatchWriter(reportService, properties, mock(ObjectProvider.class));
+
+        batch = switch (output) {
+            case "zip-pdf" -> batch(report, "pdf", CertificateBatch.OUTPUT_ZIP);
+            case "zip-png" -> batch(report, "png", CertificateBatch.OUTPUT_ZIP);
+            default -> batch(report, "pdf", CertificateBatch.OUTPUT_PDF);
+        };
+        rows = IntStream.range(0, ROWS)
+                .mapToObj(number -> Map.<String, Object>of("name", "Participant " + number))
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        certificateBatchWriter.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void write() throws IOException {
+        certificateBatchWriter.write(batch, rows.iterator(), OutputStream.nullOutputStream());
+    }
+
+    private static CertificateBatch batch(JasperReport report, String type, String output) {
+        return new CertificateBatch("benchmark", 1L, type, output, report, Set.of("name"), PreparedAssets.EMPTY);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CertificateBatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.workspark.certificateservice.benchmark;
+
+import com.workspark.certificateservice.cache.CompiledReportCache;
+import com.workspark.certificateservice.cache.CompiledReportCache.CompiledTemplate;
+import com.workspark.certificateservice.config.ReportCacheProperties;
+import com.workspark.certificateservice.service.impl.ReportServiceJasperImpl;
+import com.workspark.commonconfig.utils.TenantMetrics;
+import com.workspark.commonconfig.utils.TenantTagPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.sql.rowset.serial.SerialBlob;
+import java.io.InputStream;
+import java.sql.Blob;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Certificates per second with a cold and a warm {@link CompiledReportCache}. {@code cold} reads the compiled
+ * template from its blob and deserializes it for every certificate, as before the cache; {@code warm} fills the
+ * cached template. Both render the same single page PDF with one dynamic field.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.workspark.certificateservice.benchmark.CompiledReportCacheBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class CompiledReportCacheBenchmark {
+
+    private static final String JRXML = """
+            <jasperReport name="benchmark" language="java" columnCount="1" pageWidth="871" pageHeight="624" orientation="Landscape" whenNoDataType="AllSectionsNoDetail" columnWidth="871" leftMargin="0" rightMargin="0" topMargin="0" bottomMargin="0" uuid="4606ee64-ef33-409d-9898-fe031641bbff">
+                <property name="net.sf.jasperreports.awt.ignore.missing.font" value="true"/>
+                <property name="net.sf.jasperreports.default.font.name" value="Sans Serif"/>
+                <parameter name="name" class="java.lang.String"/>
+                <query language="sql"><![CDATA[]]></query>
+                <background height="624" splitType="Stretch">
+                    <element kind="textField" uuid="15a3e143-ace8-49b8-8000-f7eae3eb16d1" x="-2" y="198" width="873" height="117" forecolor="#323D55" markup="none" fontName="GreatVibes" fontSize="70.0" pdfFontName="GreatVibes" pdfEncoding="Identity-H" pdfEmbedded="true" hTextAlign="Center" vTextAlign="Middle">
+                        <expression><![CDATA[$P{name}]]></expression>
+                    </element>
+                </background>
+            </jasperReport>
+            """;
+
+    private static final Long TEMPLATE_ID = 1L;
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final Map<String, Object> DYNAMIC_FIELDS = Map.of("name", "John Doe");
+
+    private ReportServiceJasperImpl reportService;
+    private CompiledReportCache compiledReportCache;
+    private Blob fileData;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        reportService = new ReportServiceJasperImpl(new TenantMetrics(new SimpleMeterRegistry(), new TenantTagPolicy(10, tenant -> true)));
+        compiledReportCache = new CompiledReportCache(new ReportCacheProperties(), mock(ObjectProvider.class));
+        fileData = new SerialBlob(reportService.compileTemplateFile(
+                new MockMultipartFile("template", "template.jrxml", "text/xml", JRXML.getBytes())));
+    }
+
+    @Benchmark
+    public byte[] cold() {
+        return reportService.generateCertificatePdf(readFileData(), DYNAMIC_FIELDS, List.of());
+    }
+
+    @Benchmark
+    public byte[] warm() {
+        CompiledTemplate template = compiledReportCache.get(TEMPLATE_ID, VERSION, () -> {
+            byte[] compiledTemplate = readFileData();
+            return new CompiledTemplate(VERSION, reportService.loadReport(compiledTemplate), List.of("name"),
+                    compiledTemplate.length);
+        });
+        return reportService.generateCertificatePdf(template.report(), DYNAMIC_FIELDS, List.of());
+    }
+
+    private byte[] readFileData() {
+        try (InputStream inputStream = fileData.getBinaryStream()) {
+            return inputStream.readAllBytes();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CompiledReportCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,19 +1,28 @@
 package com.workspark.certificateservice.controller.impl;
 
+import com.workspark.certificateservice.config.CertificateStreamProperties;
 import com.workspark.certificateservice.exceptions.customExceptions.JasperException;
 import com.workspark.certificateservice.model.dto.request.CertificateReq;
 import com.workspark.certificateservice.service.CertificateService;
+import net.sf.jasperreports.engine.JasperPrint;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,11 +31,15 @@ class CertificateControllerImplTest {
     @Mock
     private CertificateService certificateService;
 
+    @Spy
+    private CertificateStreamProperties certificateStreamProperties = new CertificateStreamProperties();
+
     @InjectMocks
     private CertificateControllerImpl certificateController;
 
     private CertificateReq certificateReq;
     private byte[] samplePdfData;
+    private JasperPrint certificate;
 
     @BeforeEach
     void setUp() {
@@ -34,16 +47,21 @@ class CertificateControllerImplTest {
                 .templateId(1L)
                 .build();
         samplePdfData = "sample pdf content".getBytes();
+        certificate = new JasperPrint();
     }
 
     @Test
-    void generateCertificate_PDF_Success() {
+    void generateCertificate_PDF_Success() throws IOException {
         // Arrange
         certificateReq.setType("pdf");
-        when(certificateService.generateCertificate(certificateReq)).thenReturn(samplePdfData);
+        when(certificateService.fillCertificate(certificateReq)).thenReturn(certificate);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write(samplePdfData);
+            return null;
+        }).when(certificateService).writeCertificate(eq(certificate), eq(certificateReq.getType()), any());
 
         // Act
-        ResponseEntity<byte[]> response = certificateController.generateCertificate(certificateReq);
+        ResponseEntity<StreamingResponseBody> response = certificateController.generateCertificate(certificateReq);
 
         // Assert
         assertNotNull(response);
@@ -51,19 +69,23 @@ class CertificateControllerImplTest {
         assertEquals(MediaType.APPLICATION_PDF, response.getHeaders().getContentType());
         assertEquals("attachment; filename=certificate.pdf",
                 response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
-        assertArrayEquals(samplePdfData, response.getBody());
+        assertArrayEquals(samplePdfData, write(response.getBody()));
 
-        verify(certificateService, times(1)).generateCertificate(certificateReq);
+        verify(certificateService, times(1)).fillCertificate(certificateReq);
     }
 
     @Test
-    void generateCertificate_JPG_Success() {
+    void generateCertificate_JPG_Success() throws IOException {
         // Arrange
         certificateReq.setType("jpg");
-        when(certificateService.generateCertificate(certificateReq)).thenReturn(samplePdfData);
+        when(certificateService.fillCertificate(certificateReq)).thenReturn(certificate);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write(samplePdfData);
+            return null;
+        }).when(certificateService).writeCertificate(eq(certificate), eq(certificateReq.getType()), any());
 
         // Act
-        ResponseEntity<byte[]> response = certificateController.generateCertificate(certificateReq);
+        ResponseEntity<StreamingResponseBody> response = certificateController.generateCertificate(certificateReq);
 
         // Assert
         assertNotNull(response);
@@ -71,17 +93,21 @@ class CertificateControllerImplTest {
         assertEquals(MediaType.IMAGE_JPEG, response.getHeaders().getContentType());
         assertEquals("attachment; filename=certificate.jpg",
                 response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
-        assertArrayEquals(samplePdfData, response.getBody());
+        assertArrayEquals(samplePdfData, write(response.getBody()));
     }
 
     @Test
-    void generateCertificate_PNG_Success() {
+    void generateCertificate_PNG_Success() throws IOException {
         // Arrange
         certificateReq.setType("png");
-        when(certificateService.generateCertificate(certificateReq)).thenReturn(samplePdfData);
+        when(certificateService.fillCertificate(certificateReq)).thenReturn(certificate);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write(samplePdfData);
+            return null;
+        }).when(certificateService).writeCertificate(eq(certificate), eq(certificateReq.getType()), any());
 
         // Act
-        ResponseEntity<byte[]> response = certificateController.generateCertificate(certificateReq);
+        ResponseEntity<StreamingResponseBody> response = certificateController.generateCertificate(certificateReq);
 
         // Assert
         assertNotNull(response);
@@ -89,14 +115,14 @@ class CertificateControllerImplTest {
         assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
         assertEquals("attachment; filename=certificate.png",
                 response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
-        assertArrayEquals(samplePdfData, response.getBody());
+        assertArrayEquals(samplePdfData, write(response.getBody()));
     }
 
     @Test
     void generateCertificate_InvalidType_ThrowsJasperException() {
         // Arrange
         certificateReq.setType("invalid");
-        when(certificateService.generateCertificate(certificateReq)).thenReturn(samplePdfData);
+        when(certificateService.fillCertificate(certificateReq)).thenReturn(certificate);
 
         // Act & Assert
         JasperException exception = assertThrows(JasperException.class, () ->
@@ -110,13 +136,20 @@ class CertificateControllerImplTest {
         // Arrange
         certificateReq.setType("pdf");
         RuntimeException serviceException = new RuntimeException("Service error");
-        when(certificateService.generateCertificate(certificateReq)).thenThrow(serviceException);
+        when(certificateService.fillCertificate(certificateReq)).thenThrow(serviceException);
 
         // Act & Assert
         Exception exception = assertThrows(RuntimeException.class, () ->
                 certificateController.generateCertificate(certificateReq));
 
         assertEquals("Service error", exception.getMessage());
-        verify(certificateService, times(1)).generateCertificate(certificateReq);
+        verify(certificateService, times(1)).fillCertificate(certificateReq);
+        verify(certificateService, never()).writeCertificate(any(), any(), any());
+    }
+
+    private static byte[] write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        body.writeTo(outputStream);
+        return outputStream.toByteArray();
     }
 }
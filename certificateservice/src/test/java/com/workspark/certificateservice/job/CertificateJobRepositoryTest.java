@@ -0,0 +1,119 @@
+package com.workspark.certificateservice.job;
+
+import com.workspark.certificateservice.config.CertificateJobProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the scripts of the repository against a Redis container.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CertificateJobRepositoryTest {
+
+    private static final String TENANT = "acme";
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate stringRedisTemplate;
+    private CertificateJobRepository certificateJobRepository;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        CertificateJobProperties properties = new CertificateJobProperties();
+        properties.setMaxRunningPerTenant(1);
+        certificateJobRepository = new CertificateJobRepository(stringRedisTemplate, properties);
+    }
+
+    @Test
+    void testClaimTakesTheOldestJobWhileTheTenantHasRoom() {
+        // Arrange
+        certificateJobRepository.create(job("job-1"));
+        certificateJobRepository.create(job("job-2"));
+
+        // Act
+        Optional<CertificateJobLease> first = certificateJobRepository.claim(TENANT);
+        Optional<CertificateJobLease> second = certificateJobRepository.claim(TENANT);
+
+        // Assert: one running job per tenant, the other stays queued
+        assertTrue(first.isPresent());
+        assertEquals("job-1", first.get().id());
+        assertEquals(CertificateJobStatus.RUNNING, certificateJobRepository.find("job-1").orElseThrow().status());
+        assertTrue(second.isEmpty());
+        assertEquals(CertificateJobStatus.QUEUED, certificateJobRepository.find("job-2").orElseThrow().status());
+    }
+
+    @Test
+    void testStaleTokenCannotRenewSaveOrFinish() {
+        // Arrange
+        certificateJobRepository.create(job("job-1"));
+        CertificateJobLease lease = certificateJobRepository.claim(TENANT).orElseThrow();
+        CertificateJobLease stale = new CertificateJobLease(lease.scope(), lease.id(), "stale-token");
+
+        // Act & Assert
+        assertFalse(certificateJobRepository.renewLease(stale));
+        assertFalse(certificateJobRepository.saveProgress(stale, 10, 1));
+        assertFalse(certificateJobRepository.finish(stale, CertificateJobStatus.DONE, null));
+        assertTrue(certificateJobRepository.renewLease(lease));
+        CertificateJob job = certificateJobRepository.find("job-1").orElseThrow();
+        assertEquals(CertificateJobStatus.RUNNING, job.status());
+        assertEquals(0, job.processed());
+    }
+
+    @Test
+    void testExpiredLeaseIsReclaimedWithANewToken() {
+        // Arrange: a claimed job whose lease expired
+        certificateJobRepository.create(job("job-1"));
+        CertificateJobLease expired = certificateJobRepository.claim(TENANT).orElseThrow();
+        stringRedisTemplate.opsForZSet().add(CertificateJobRepository.RUNNING_KEY + TENANT, expired.id(), 0);
+
+        // Act
+        CertificateJobLease reclaimed = certificateJobRepository.claim(TENANT).orElseThrow();
+
+        // Assert: the job is resumed under a new token, the former owner can no longer change it
+        assertEquals("job-1", reclaimed.id());
+        assertNotEquals(expired.token(), reclaimed.token());
+        assertFalse(certificateJobRepository.renewLease(expired));
+        assertFalse(certificateJobRepository.saveProgress(expired, 10, 0));
+        assertTrue(certificateJobRepository.saveProgress(reclaimed, 10, 0));
+        assertTrue(certificateJobRepository.finish(reclaimed, CertificateJobStatus.DONE, null));
+        assertEquals(CertificateJobStatus.DONE, certificateJobRepository.find("job-1").orElseThrow().status());
+    }
+
+    private static CertificateJob job(String id) {
+        Instant now = Instant.now();
+        return new CertificateJob(id, TENANT, 1L, "pdf", CertificateJobStatus.QUEUED, 10, 0, 0, null, now, now);
+    }
+}
@@ -0,0 +1,110 @@
+package com.workspark.certificateservice.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.certificateservice.batch.CertificateRowReader;
+import com.workspark.certificateservice.config.CertificateJobProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CertificateJobStoreTest {
+
+    @TempDir
+    private Path root;
+
+    private CertificateJobStore certificateJobStore;
+
+    @BeforeEach
+    void setUp() {
+        CertificateJobProperties properties = new CertificateJobProperties();
+        properties.setStorageDirectory(root);
+        certificateJobStore = new CertificateJobStore(properties);
+    }
+
+    @Test
+    void testRowsAreReadBackAsSubmitted() throws IOException {
+        // Arrange
+        certificateJobStore.saveRows("job-1", CertificateRowReader.TEXT_CSV,
+                new ByteArrayInputStream("name\nAda\nGrace\n".getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (CertificateRowReader reader = certificateJobStore.openRows("job-1", new ObjectMapper())) {
+            reader.forEachRemaining(rows::add);
+        }
+
+        // Assert
+        assertEquals(List.of(Map.of("name", "Ada"), Map.of("name", "Grace")), rows);
+    }
+
+    @Test
+    void testZipListsCertificatesInRowOrderFollowedByErrors() throws IOException {
+        // Arrange: certificates written out of order, one left as a temporary file by a stopped job
+        certificateJobStore.saveRows("job-1", CertificateRowReader.APPLICATION_NDJSON,
+                new ByteArrayInputStream(new byte[0]));
+        certificateJobStore.writeCertificate("job-1", "certificate-2.pdf", bytes("second"));
+        certificateJobStore.writeCertificate("job-1", "certificate-10.pdf", bytes("tenth"));
+        certificateJobStore.writeCertificate("job-1", "certificate-1.pdf", bytes("first"));
+        certificateJobStore.writeCertificate("job-1", "certificate-1.pdf", bytes("first again"));
+        Files.write(root.resolve("job-1/certificates/certificate-11.pdf.tmp"), bytes("partial"));
+        certificateJobStore.writeError("job-1", 12, "Invalid row");
+        certificateJobStore.writeError("job-1", 3, "Invalid row");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        certificateJobStore.writeZip("job-1", outputStream);
+
+        // Assert
+        List<String> names = new ArrayList<>();
+        List<String> contents = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                contents.add(new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(List.of("certificate-1.pdf", "certificate-2.pdf", "certificate-10.pdf", "errors.txt"), names);
+        assertEquals("first again", contents.get(0));
+        assertEquals("Row 3: Invalid row\nRow 12: Invalid row\n", contents.get(3));
+    }
+
+    @Test
+    void testOnlyJobsBeforeTheGivenTimeAreFoundAndDeleted() throws IOException {
+        // Arrange
+        certificateJobStore.saveRows("job-1", CertificateRowReader.APPLICATION_NDJSON,
+                new ByteArrayInputStream(new byte[0]));
+
+        // Act & Assert
+        assertEquals(List.of(), certificateJobStore.findJobIdsBefore(Instant.now().minusSeconds(3600)));
+        List<String> jobIds = certificateJobStore.findJobIdsBefore(Instant.now().plusSeconds(1));
+        assertEquals(List.of("job-1"), jobIds);
+        certificateJobStore.delete("job-1");
+        assertFalse(Files.exists(root.resolve("job-1")));
+    }
+
+    @Test
+    void testJobIdOutsideTheStorageDirectoryIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> certificateJobStore.delete("../job-1"));
+        assertThrows(IllegalArgumentException.class, () -> certificateJobStore.writeZip("job-1/..", new ByteArrayOutputStream()));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
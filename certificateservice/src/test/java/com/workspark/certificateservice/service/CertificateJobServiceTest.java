@@ -0,0 +1,119 @@
+package com.workspark.certificateservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.certificateservice.batch.CertificateBatch;
+import com.workspark.certificateservice.batch.CertificateRowReader;
+import com.workspark.certificateservice.config.CertificateJobProperties;
+import com.workspark.certificateservice.exceptions.customExceptions.CertificateException;
+import com.workspark.certificateservice.job.CertificateJob;
+import com.workspark.certificateservice.job.CertificateJobRepository;
+import com.workspark.certificateservice.job.CertificateJobStatus;
+import com.workspark.certificateservice.job.CertificateJobStore;
+import com.workspark.certificateservice.model.dto.response.CertificateJobRes;
+import com.workspark.certificateservice.service.impl.CertificateJobServiceImpl;
+import com.workspark.commonconfig.models.pojo.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CertificateJobServiceTest {
+
+    @Mock
+    private CertificateService certificateService;
+
+    @Mock
+    private CertificateJobRepository certificateJobRepository;
+
+    @TempDir
+    private Path root;
+
+    private CertificateJobService certificateJobService;
+
+    @BeforeEach
+    void setUp() {
+        CertificateJobProperties properties = new CertificateJobProperties();
+        properties.setStorageDirectory(root);
+        certificateJobService = new CertificateJobServiceImpl(certificateService, certificateJobRepository,
+                new CertificateJobStore(properties), new ObjectMapper());
+        TenantContext.setCurrentTenant("tenant-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testSubmitJobStoresRowsAndQueuesJob() throws IOException {
+        // Act
+        CertificateJobRes job = certificateJobService.submitJob(1L, "png", CertificateRowReader.APPLICATION_NDJSON,
+                rows("{\"name\":\"Ada\"}\n{\"name\":\"Grace\"}\n"));
+
+        // Assert
+        verify(certificateService).prepareBatch(1L, "png", CertificateBatch.OUTPUT_ZIP);
+        ArgumentCaptor<CertificateJob> queued = ArgumentCaptor.forClass(CertificateJob.class);
+        verify(certificateJobRepository).create(queued.capture());
+        assertEquals("tenant-1", queued.getValue().tenant());
+        assertEquals(CertificateJobStatus.QUEUED, job.getStatus());
+        assertEquals(2, job.getTotal());
+        assertTrue(Files.exists(root.resolve(job.getId()).resolve("rows.ndjson")));
+    }
+
+    @Test
+    void testSubmitJobWithInvalidRowsIsRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> certificateJobService.submitJob(1L, "pdf",
+                CertificateRowReader.TEXT_CSV, rows("name,title\nAda\n")));
+        verify(certificateJobRepository, never()).create(any());
+        assertEquals(0, root.toFile().list().length);
+    }
+
+    @Test
+    void testJobOfAnotherTenantIsNotFound() {
+        // Arrange
+        when(certificateJobRepository.find("job-1")).thenReturn(Optional.of(job(CertificateJobStatus.DONE, "tenant-2")));
+
+        // Act & Assert
+        CertificateException exception = assertThrows(CertificateException.class,
+                () -> certificateJobService.getJob("job-1"));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getHttpStatus());
+    }
+
+    @Test
+    void testDownloadOfRunningJobIsRejected() {
+        // Arrange
+        when(certificateJobRepository.find("job-1")).thenReturn(Optional.of(job(CertificateJobStatus.RUNNING, "tenant-1")));
+
+        // Act & Assert
+        CertificateException exception = assertThrows(CertificateException.class,
+                () -> certificateJobService.getDoneJob("job-1"));
+        assertEquals(HttpStatus.CONFLICT, exception.getHttpStatus());
+    }
+
+    private static CertificateJob job(CertificateJobStatus status, String tenant) {
+        Instant now = Instant.now();
+        return new CertificateJob("job-1", tenant, 1L, "pdf", status, 10, 4, 0, null, now, now);
+    }
+
+    private static ByteArrayInputStream rows(String rows) {
+        return new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,24 +1,38 @@
 package com.workspark.certificateservice.service;
 
+import com.workspark.certificateservice.batch.CertificateBatch;
+import com.workspark.certificateservice.cache.CompiledReportCache;
+import com.workspark.certificateservice.cache.PreparedAssets;
+import com.workspark.certificateservice.cache.TemplateAssetCache;
+import com.workspark.certificateservice.config.ReportCacheProperties;
 import com.workspark.certificateservice.exceptions.customExceptions.CertificateException;
 import com.workspark.certificateservice.exceptions.customExceptions.TemplateException;
 import com.workspark.certificateservice.model.dto.request.CertificateReq;
 import com.workspark.certificateservice.model.entity.Template;
 import com.workspark.certificateservice.model.entity.TemplateAsset;
 import com.workspark.certificateservice.model.entity.TemplateDynamicField;
+import com.workspark.certificateservice.repository.TemplateAssetRepository;
 import com.workspark.certificateservice.repository.TemplateRepository;
 import com.workspark.certificateservice.service.impl.CertificateServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
 import javax.sql.rowset.serial.SerialBlob;
+import java.io.ByteArrayOutputStream;
 import java.sql.Blob;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,9 +43,22 @@ class CertificateServiceTest {
     @Mock
     private TemplateRepository templateRepository;
 
+    @Mock
+    private TemplateAssetRepository templateAssetRepository;
+
     @Mock
     private ReportService reportService;
 
+    @Spy
+    private CompiledReportCache compiledReportCache =
+            new CompiledReportCache(new ReportCacheProperties(), mock(ObjectProvider.class));
+
+    @Spy
+    private TemplateAssetCache templateAssetCache =
+            new TemplateAssetCache(new ReportCacheProperties(), mock(ObjectProvider.class));
+
+    private final LocalDateTime version = LocalDateTime.of(2024, 1, 1, 10, 0);
+
     @InjectMocks
     private CertificateServiceImpl certificateService;
 
@@ -72,21 +99,29 @@ class CertificateServiceTest {
         template.setDynamicFields(List.of(templateDynamicField));
 
         // Mock repository to return the template when queried by ID
+        when(templateRepository.findVersionById(template.getId())).thenReturn(Optional.of(version));
         when(templateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+        when(templateAssetRepository.findByTemplateId(template.getId())).thenReturn(List.of(templateAsset));
 
         // Mock reportService's PDF generation logic
-        when(reportService.generateCertificatePdf(any(byte[].class), anyMap(), anyList())).thenReturn(new byte[20]);
+        JasperReport jasperReport = mock(JasperReport.class);
+        when(reportService.loadReport(compiledReport)).thenReturn(jasperReport);
+        when(reportService.prepareAssets(jasperReport, List.of(templateAsset))).thenReturn(PreparedAssets.EMPTY);
+        JasperPrint jasperPrint = new JasperPrint();
+        when(reportService.fillReport(eq(jasperReport), anyMap(), eq(PreparedAssets.EMPTY))).thenReturn(jasperPrint);
 
-        // Act: Call the method to generate certificate
-        byte[] result = certificateService.generateCertificate(request);
+        // Act: Call the method to fill the certificate, then write it
+        JasperPrint result = certificateService.fillCertificate(request);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        certificateService.writeCertificate(result, request.getType(), outputStream);
 
         // Assert: Verify the result and interactions
-        assertNotNull(result);
-        assertEquals(20, result.length);  // Assert that the generated PDF byte array has the expected length
+        assertSame(jasperPrint, result);
 
         // Verify interactions with repository and reportService
         verify(templateRepository, times(1)).findById(1L);  // Ensure templateRepository.findById was called once
-        verify(reportService, times(1)).generateCertificatePdf(any(byte[].class), anyMap(), anyList());  // Verify PDF generation
+        verify(reportService, times(1)).fillReport(eq(jasperReport), anyMap(), eq(PreparedAssets.EMPTY));
+        verify(reportService, times(1)).exportPdf(jasperPrint, outputStream);  // Verify PDF export
     }
 
     @Test
@@ -126,34 +161,45 @@ class CertificateServiceTest {
         template.setDynamicFields(List.of(templateDynamicField));
 
         // Mock repository to return the template when queried by ID
+        when(templateRepository.findVersionById(template.getId())).thenReturn(Optional.of(version));
         when(templateRepository.findById(template.getId())).thenReturn(Optional.of(template));
+        when(templateAssetRepository.findByTemplateId(template.getId())).thenReturn(List.of(templateAsset));
 
         // Mock reportService's PDF generation logic
-        when(reportService.generateCertificateImage(any(byte[].class), anyMap(), anyList(), anyString())).thenReturn(new byte[20]);
+        JasperReport jasperReport = mock(JasperReport.class);
+        when(reportService.loadReport(compiledReport)).thenReturn(jasperReport);
+        when(reportService.prepareAssets(jasperReport, List.of(templateAsset))).thenReturn(PreparedAssets.EMPTY);
+        JasperPrint jasperPrint = new JasperPrint();
+        when(reportService.fillReport(eq(jasperReport), anyMap(), eq(PreparedAssets.EMPTY))).thenReturn(jasperPrint);
 
-        // Act: Call the method to generate certificate
-        byte[] result = certificateService.generateCertificate(request);
+        // Act: Call the method to fill the certificate, then write it
+        JasperPrint result = certificateService.fillCertificate(request);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        certificateService.writeCertificate(result, request.getType(), outputStream);
 
         // Assert: Verify the result and interactions
-        assertNotNull(result);
-        assertEquals(20, result.length);  // Assert that the generated PDF byte array has the expected length
+        assertSame(jasperPrint, result);
 
         // Verify interactions with repository and reportService
         verify(templateRepository, times(1)).findById(1L);  // Ensure templateRepository.findById was called once
-        verify(reportService, times(1)).generateCertificateImage(any(byte[].class), anyMap(), anyList(), anyString());  // Verify PDF generation
+        verify(reportService, times(1)).fillReport(eq(jasperReport), anyMap(), eq(PreparedAssets.EMPTY));
+        verify(reportService, times(1)).exportImage(jasperPrint, "jpg", outputStream);  // Verify image export
     }
 
     @Test
-    void generateCertificate_InvalidType_ThrowsException() {
+    void generateCertificate_InvalidType_ThrowsException() throws Exception {
         // Arrange
         CertificateReq request = new CertificateReq();
         request.setTemplateId(1L);
         request.setType("invalid");
 
-        when(templateRepository.findById(1L)).thenReturn(Optional.of(new Template()));
+        Template template = new Template();
+        template.setFileData(new SerialBlob(new byte[]{1, 2, 3, 4}));
+        when(templateRepository.findVersionById(1L)).thenReturn(Optional.of(version));
+        when(templateRepository.findById(1L)).thenReturn(Optional.of(template));
 
         // Act & Assert
-        CertificateException exception = assertThrows(CertificateException.class, () -> certificateService.generateCertificate(request));
+        CertificateException exception = assertThrows(CertificateException.class, () -> certificateService.fillCertificate(request));
         assertEquals("Error generating certificate: Invalid certificate type", exception.getMessage());
     }
 
@@ -164,26 +210,30 @@ class CertificateServiceTest {
         request.setTemplateId(99L);
         request.setType("pdf");
 
-        when(templateRepository.findById(99L)).thenReturn(Optional.empty());
+        when(templateRepository.findVersionById(99L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(TemplateException.class, () -> certificateService.generateCertificate(request));
-        verify(templateRepository, times(1)).findById(99L);
+        assertThrows(TemplateException.class, () -> certificateService.fillCertificate(request));
+        verify(templateRepository, times(1)).findVersionById(99L);
+        verify(templateRepository, never()).findById(99L);
     }
 
 
     @Test
-    void generateCertificate_DynamicFieldsValidatoinFailed_ThrowsException() {
+    void generateCertificate_DynamicFieldsValidatoinFailed_ThrowsException() throws Exception {
         // Arrange
         CertificateReq request = new CertificateReq();
         request.setTemplateId(1L);
         request.setType("invalid");
         request.setDynamicFieldData(Map.of("randomKey", "randomValue"));
 
-        when(templateRepository.findById(1L)).thenReturn(Optional.of(new Template()));
+        Template template = new Template();
+        template.setFileData(new SerialBlob(new byte[]{1, 2, 3, 4}));
+        when(templateRepository.findVersionById(1L)).thenReturn(Optional.of(version));
+        when(templateRepository.findById(1L)).thenReturn(Optional.of(template));
 
         // Act & Assert
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> certificateService.generateCertificate(request));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> certificateService.fillCertificate(request));
         assertEquals("Dynamic fields do not match with the template parameters", exception.getMessage());
     }
 
@@ -205,15 +255,91 @@ class CertificateServiceTest {
         template.setId(1L);
         template.setFileData(mockBlob);
         template.setDynamicFields(List.of(TemplateDynamicField.builder().dynamicField("name").build()));
+        when(templateRepository.findVersionById(1L)).thenReturn(Optional.of(version));
         when(templateRepository.findById(1L)).thenReturn(Optional.of(template));
 
         // Act & Assert
         CertificateException exception = assertThrows(CertificateException.class, () -> {
-            certificateService.generateCertificate(request);
+            certificateService.fillCertificate(request);
         });
 
         // Assert exception message
         assertTrue(exception.getMessage().contains("Error reading file data from blob"));
     }
 
+    @Test
+    void generateCertificate_CachedTemplateAndAssets_AreReadAgainOnlyWhenTheVersionChanges() throws Exception {
+        // Arrange
+        CertificateReq request = new CertificateReq();
+        request.setTemplateId(1L);
+        request.setType("pdf");
+        request.setDynamicFieldData(Map.of("name", "John Doe"));
+
+        byte[] compiledReport = new byte[]{1, 2, 3, 4};
+        Template template = new Template();
+        template.setId(1L);
+        template.setFileData(new SerialBlob(compiledReport));
+        template.setDynamicFields(List.of(TemplateDynamicField.builder().dynamicField("name").build()));
+
+        JasperReport jasperReport = mock(JasperReport.class);
+        when(templateRepository.findVersionById(1L)).thenReturn(Optional.of(version), Optional.of(version),
+                Optional.of(version.plusMinutes(1)));
+        when(templateRepository.findById(1L)).thenReturn(Optional.of(template));
+        when(templateAssetRepository.findByTemplateId(1L)).thenReturn(List.of());
+        when(reportService.loadReport(compiledReport)).thenReturn(jasperReport);
+        when(reportService.prepareAssets(jasperReport, List.of())).thenReturn(PreparedAssets.EMPTY);
+        when(reportService.fillReport(eq(jasperReport), anyMap(), eq(PreparedAssets.EMPTY))).thenReturn(new JasperPrint());
+
+        // Act: two certificates with the same version, then one after the template was saved again
+        certificateService.fillCertificate(request);
+        certificateService.fillCertificate(request);
+        verify(templateRepository, times(1)).findById(1L);
+        verify(reportService, times(1)).loadReport(compiledReport);
+        verify(templateAssetRepository, times(1)).findByTemplateId(1L);
+        verify(reportService, times(1)).prepareAssets(jasperReport, List.of());
+
+        certificateService.fillCertificate(request);
+
+        // Assert
+        verify(templateRepository, times(2)).findById(1L);
+        verify(reportService, times(2)).loadReport(compiledReport);
+        verify(templateAssetRepository, times(2)).findByTemplateId(1L);
+        verify(reportService, times(2)).prepareAssets(jasperReport, List.of());
+        verify(reportService, times(3)).fillReport(eq(jasperReport), anyMap(), eq(PreparedAssets.EMPTY));
+    }
+
+    @Test
+    void prepareBatch_ResolvesTemplateOnceForAllRows() throws Exception {
+        // Arrange
+        byte[] compiledReport = new byte[]{1, 2, 3, 4};
+        Template template = new Template();
+        template.setId(1L);
+        template.setFileData(new SerialBlob(compiledReport));
+        template.setDynamicFields(List.of(TemplateDynamicField.builder().dynamicField("name").build()));
+
+        JasperReport jasperReport = mock(JasperReport.class);
+        when(templateRepository.findVersionById(1L)).thenReturn(Optional.of(version));
+        when(templateRepository.findById(1L)).thenReturn(Optional.of(template));
+        when(templateAssetRepository.findByTemplateId(1L)).thenReturn(List.of());
+        when(reportService.loadReport(compiledReport)).thenReturn(jasperReport);
+        when(reportService.prepareAssets(jasperReport, List.of())).thenReturn(PreparedAssets.EMPTY);
+
+        // Act
+        CertificateBatch batch = certificateService.prepareBatch(1L, "png", CertificateBatch.OUTPUT_ZIP);
+
+        // Assert
+        assertSame(jasperReport, batch.report());
+        assertEquals(Set.of("name"), batch.dynamicFields());
+        assertSame(PreparedAssets.EMPTY, batch.assets());
+        assertEquals("certificates.zip", batch.filename());
+    }
+
+    @Test
+    void prepareBatch_SinglePdfOfImages_ThrowsException() {
+        // Act & Assert
+        CertificateException exception = assertThrows(CertificateException.class,
+                () -> certificateService.prepareBatch(1L, "png", CertificateBatch.OUTPUT_PDF));
+        assertEquals("Invalid batch output", exception.getMessage());
+        verifyNoInteractions(templateRepository);
+    }
 }
@@ -1,22 +1,35 @@
 package com.workspark.certificateservice.service;
 
+import com.workspark.certificateservice.cache.PreparedAssets;
 import com.workspark.certificateservice.exceptions.customExceptions.JasperException;
 import com.workspark.certificateservice.model.entity.TemplateAsset;
 import com.workspark.certificateservice.service.impl.ReportServiceJasperImpl;
+import com.workspark.commonconfig.utils.TenantMetrics;
+import com.workspark.commonconfig.utils.TenantTagPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import net.sf.jasperreports.engine.JREmptyDataSource;
 import net.sf.jasperreports.engine.JRException;
 import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.renderers.Renderable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 
+import javax.imageio.ImageIO;
+import javax.sql.rowset.serial.SerialBlob;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
 import java.sql.Blob;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,8 +37,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class ReportServiceTest {
 
-    @InjectMocks
-    private ReportServiceJasperImpl reportService;
+    private final ReportServiceJasperImpl reportService = new ReportServiceJasperImpl(
+            new TenantMetrics(new SimpleMeterRegistry(), new TenantTagPolicy(10, tenant -> true)));
 
     private final String jrXmlContent =
             """
@@ -163,5 +176,151 @@ class ReportServiceTest {
         assertTrue(exception.getMessage().contains("Error generating certificate image"), "Exception message should indicate the error");
     }
 
+    @Test
+    void testPrepareAssetsDecodesImagesOnce() throws Exception {
+        // Arrange: a template with an image and a byte array parameter
+        JasperReport report = loadReport(
+                "<parameter name=\"logo\" class=\"java.awt.Image\"/>",
+                "<parameter name=\"signature\" class=\"[B\"/>");
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4, 2, BufferedImage.TYPE_INT_RGB), "png", png);
+        List<TemplateAsset> assets = List.of(
+                asset("logo", png.toByteArray()),
+                asset("signature", "signature".getBytes()),
+                asset("background", "background".getBytes()));
+
+        // Act
+        PreparedAssets preparedAssets = reportService.prepareAssets(report, assets);
+        Map<String, Object> firstRender = new HashMap<>();
+        Map<String, Object> secondRender = new HashMap<>();
+        preparedAssets.addTo(firstRender);
+        preparedAssets.addTo(secondRender);
+
+        // Assert: images and byte arrays are shared, streams are opened for each render
+        assertEquals(3, preparedAssets.size());
+        assertInstanceOf(BufferedImage.class, firstRender.get("logo"));
+        assertSame(firstRender.get("logo"), secondRender.get("logo"));
+        assertArrayEquals("signature".getBytes(), (byte[]) firstRender.get("signature"));
+        assertNotSame(firstRender.get("background"), secondRender.get("background"));
+        assertArrayEquals("background".getBytes(), ((InputStream) secondRender.get("background")).readAllBytes());
+        assertEquals(4 * 2 * 4 + "signature".length() + "background".length(), preparedAssets.weight());
+    }
+
+    @Test
+    void testPrepareAssetsSharesImagesWhateverTheParameterType() throws Exception {
+        // Arrange: images bound to an Object, a renderer and a stream parameter, and text to an Object one
+        JasperReport report = loadReport(
+                "<parameter name=\"logo\" class=\"java.lang.Object\"/>",
+                "<parameter name=\"seal\" class=\"net.sf.jasperreports.renderers.Renderable\"/>",
+                "<parameter name=\"background\" class=\"java.io.InputStream\"/>",
+                "<parameter name=\"note\" class=\"java.lang.Object\"/>");
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4, 2, BufferedImage.TYPE_INT_RGB), "png", png);
+        List<TemplateAsset> assets = List.of(
+                asset("logo", png.toByteArray()),
+                asset("seal", png.toByteArray()),
+                asset("background", png.toByteArray()),
+                asset("note", "note".getBytes()));
+
+        // Act
+        PreparedAssets preparedAssets = reportService.prepareAssets(report, assets);
+        Map<String, Object> firstRender = new HashMap<>();
+        Map<String, Object> secondRender = new HashMap<>();
+        preparedAssets.addTo(firstRender);
+        preparedAssets.addTo(secondRender);
+
+        // Assert: the image and the renderer are shared, the stream parameters still get a new stream
+        assertInstanceOf(BufferedImage.class, firstRender.get("logo"));
+        assertSame(firstRender.get("logo"), secondRender.get("logo"));
+        assertInstanceOf(Renderable.class, firstRender.get("seal"));
+        assertSame(firstRender.get("seal"), secondRender.get("seal"));
+        assertInstanceOf(InputStream.class, firstRender.get("background"));
+        assertNotSame(firstRender.get("background"), secondRender.get("background"));
+        assertArrayEquals("note".getBytes(), ((InputStream) firstRender.get("note")).readAllBytes());
+    }
 
+    @Test
+    void testPrepareAssetsRejectsUndecodableImage() throws Exception {
+        // Arrange
+        JasperReport report = loadReport("<parameter name=\"logo\" class=\"java.awt.Image\"/>");
+        List<TemplateAsset> assets = List.of(asset("logo", "not-an-image".getBytes()));
+
+        // Act & Assert
+        JasperException exception = assertThrows(JasperException.class, () -> reportService.prepareAssets(report, assets));
+        assertTrue(exception.getMessage().contains("logo"), "Exception message should name the asset");
+    }
+
+    @Test
+    void testExportImageStreamsWithoutHoldingTheEncodedImage() throws Exception {
+        // Arrange: a background of noise, so that the encoded image is large
+        String jrXml = jrXmlContent
+                .replace("<query", "<parameter name=\"background\" class=\"java.awt.Image\"/>\n<query")
+                .replace("<background height=\"624\" splitType=\"Stretch\">", """
+                        <background height="624" splitType="Stretch">
+                        <element kind="image" uuid="9b1c1d5e-3f4a-4c1e-9a55-2f0d8e7c6b10" x="0" y="0" width="871" height="624" scaleImage="FillFrame">
+                            <expression><![CDATA[$P{background}]]></expression>
+                        </element>""");
+        JasperReport report = reportService.loadReport(reportService.compileTemplateFile(
+                new MockMultipartFile("file", "template.jrxml", "text/xml", jrXml.getBytes())));
+        BufferedImage noise = new BufferedImage(871, 624, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < noise.getHeight(); y++) {
+            for (int x = 0; x < noise.getWidth(); x++) {
+                noise.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        PreparedAssets assets = PreparedAssets.builder().image("background", noise).build();
+        Map<String, Object> dynamicFieldsData = Map.of("name", "John Doe");
+        JasperPrint print = reportService.fillReport(report, dynamicFieldsData, assets);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        reportService.exportImage(print, "png", encoded);
+        int imageSize = encoded.size();
+        OutputStream response = OutputStream.nullOutputStream();
+
+        // Act: the heap allocated by the request thread, the least of a few runs
+        long buffered = Long.MAX_VALUE;
+        long streamed = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            buffered = Math.min(buffered, allocatedBytes(() -> {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                reportService.exportImage(print, "png", outputStream);
+                response.write(outputStream.toByteArray());
+            }));
+            streamed = Math.min(streamed, allocatedBytes(() -> reportService.exportImage(print, "png", response)));
+        }
+
+        // Assert: streaming spares the growing array of the encoded image and its copy
+        assertTrue(imageSize > 1024 * 1024, "The encoded image should be large");
+        assertTrue(buffered - streamed >= 2L * imageSize,
+                "Streaming should not allocate the encoded image: " + streamed + " vs " + buffered);
+    }
+
+    private static long allocatedBytes(ThrowingRunnable runnable) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        runnable.run();
+        return threadMXBean.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+
+        void run() throws Exception;
+    }
+
+    private JasperReport loadReport(String... parameters) {
+        String jrXml = jrXmlContent.replace("<query", String.join("\n", parameters) + "\n<query");
+        return reportService.loadReport(reportService.compileTemplateFile(
+                new MockMultipartFile("file", "template.jrxml", "text/xml", jrXml.getBytes())));
+    }
+
+    private static TemplateAsset asset(String name, byte[] data) throws Exception {
+        return TemplateAsset.builder()
+                .name(name)
+                .assetData(new SerialBlob(data))
+                .build();
+    }
 }
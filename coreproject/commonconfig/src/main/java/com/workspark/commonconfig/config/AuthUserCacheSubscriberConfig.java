@@ -0,0 +1,40 @@
+package com.workspark.commonconfig.config;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.AuthUserCacheProperties;
+import com.workspark.commonconfig.service.RedisAuthUserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes to auth user changes so every instance drops its cached copy of a saved or deleted user.
+ * The message body is the user id.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "workspark.redis", havingValue = "true", matchIfMissing = true)
+public class AuthUserCacheSubscriberConfig {
+
+    private final RedisAuthUserService redisAuthUserService;
+    private final AuthUserCacheProperties authUserCacheProperties;
+
+    @Bean
+    public RedisMessageListenerContainer authUserCacheListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String redisAuthUserId = new String(message.getBody(), StandardCharsets.UTF_8);
+            log.debug("Received auth user change for userId '{}'.", redisAuthUserId);
+            redisAuthUserService.evictCachedUser(redisAuthUserId);
+        }, new ChannelTopic(authUserCacheProperties.getChannel()));
+        return container;
+    }
+}
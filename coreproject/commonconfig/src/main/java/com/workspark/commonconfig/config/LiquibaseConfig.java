@@ -1,17 +1,16 @@
 package com.workspark.commonconfig.config;
 
-import com.workspark.commonconfig.config.applicationConfigProperties.DefaultDataSourceProperties;
+import com.workspark.commonconfig.service.TenantSchemaRegistry;
+import com.workspark.commonconfig.utils.TenantInitializationGate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
 import java.sql.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import liquibase.exception.LiquibaseException;
 import liquibase.integration.spring.SpringLiquibase;
@@ -22,47 +21,55 @@ import liquibase.integration.spring.SpringLiquibase;
 @ConditionalOnProperty(name = "workspark.liquibase", havingValue = "true", matchIfMissing = true)
 public class LiquibaseConfig {
 
+    private static final String TENANT_CHANGELOG = "classpath:db/changelog/tenant-changelog.yaml";
+
     private final DataSource dataSource; // Default DataSource
-    private final SpringLiquibase tenantLiquibase;
+    private final ResourceLoader resourceLoader;
     private final MultiTenantConfig multiTenantConfig;
-    private final DefaultDataSourceProperties springDefaultDataSource;
-
-    // Cache for initialized tenants
-    private final ConcurrentMap<String, Boolean> initializedTenants = new ConcurrentHashMap<>();
+    private final TenantDataSourceManager tenantDataSourceManager;
+    private final TenantSchemaRegistry tenantSchemaRegistry;
 
-    // Cache for tenant-specific DataSources
-    private final ConcurrentMap<String, DataSource> tenantDataSourceCache = new ConcurrentHashMap<>();
+    // Tenants whose schema is migrated, or being migrated
+    private final TenantInitializationGate tenantInitializationGate = new TenantInitializationGate();
 
     /**
      * Initializes the schema for a specific tenant, if not already initialized.
+     * Only the first request of a tenant runs the migration; concurrent requests for the same tenant wait for it,
+     * later requests return immediately.
      *
      * @param tenantName the name of the tenant
-     * @return true if the initialization is successful
      */
     public void initializeSchema(String tenantName) {
-        log.info("Starting tenant schema initialization for tenant: {}", tenantName);
-
         if (tenantName == null || tenantName.isBlank()) {
             log.error("Tenant name is null or blank. Cannot proceed with schema initialization.");
             throw new IllegalArgumentException("Tenant name is not available.");
         }
-        log.info("initializedTenants : {}", initializedTenants);
+        tenantInitializationGate.awaitInitialized(tenantName, this::migrateTenantSchema);
+    }
+
+    /**
+     * Forgets that the schema of a tenant was initialized, so that the next {@link #initializeSchema(String)} runs
+     * the migration again. A migration in progress is not affected.
+     *
+     * @param tenantName the name of the tenant
+     */
+    public void resetSchema(String tenantName) {
+        tenantInitializationGate.reset(tenantName);
+    }
+
+    private void migrateTenantSchema(String tenantName) {
+        log.info("Starting tenant schema initialization for tenant: {}", tenantName);
+
+        // Step 1: Check if tenant is onboarded
+        String tenantDbSchema = tenantSchemaRegistry.getTenantSchema(tenantName);
 
-        // Check if the tenant is already initialized
-        if (initializedTenants.containsKey(tenantName)) {
-            log.info("Tenant {} is already initialized. Skipping initialization.", tenantName);
+        if (StringUtils.isBlank(tenantDbSchema)) {
+            throw new RuntimeException("Tenant not onboarded: " + tenantName);
         }
 
         try (Connection connection = dataSource.getConnection();
              Statement stmt = connection.createStatement()) {
 
-            // Step 1: Check if tenant is onboarded
-            String tenantDbSchema = isTenantOnboarded(stmt, tenantName);
-
-            if (StringUtils.isBlank(tenantDbSchema)) {
-                throw new RuntimeException("Tenant not onboarded: " + tenantName);
-            }
-
             // Step 2: Check if tenant's schema/database exists
             if (!doesDatabaseExist(stmt, tenantDbSchema)) {
                 createTenantSchema(connection, tenantDbSchema);
@@ -74,9 +81,6 @@ public class LiquibaseConfig {
             // Step 4: Add tenant to the multi-tenant configuration
             multiTenantConfig.addTenantToDataSourceIfNotAlreadyExists(tenantDbSchema);
 
-            // Mark tenant as initialized
-            initializedTenants.put(tenantName, true);
-
         } catch (SQLException | LiquibaseException e) {
             log.error("Error during tenant schema initialization for tenant: {}", tenantName, e);
             throw new RuntimeException(e);
@@ -85,21 +89,6 @@ public class LiquibaseConfig {
         log.info("Tenant schema initialization process completed for tenant: {}", tenantName);
     }
 
-    private String isTenantOnboarded(Statement stmt, String tenantName) throws SQLException {
-        try {
-            String query = "SELECT tenant_db_schema FROM workspark.tenant_config WHERE tenant_name = ?";
-            try (PreparedStatement pstmt = stmt.getConnection().prepareStatement(query)) {
-                pstmt.setString(1, tenantName);
-                try (ResultSet resultSet = pstmt.executeQuery()) {
-                    resultSet.next();
-                    return resultSet.getString(1);
-                }
-            }
-        } catch (Exception e) {
-            return "";
-        }
-    }
-
     private boolean doesDatabaseExist(Statement stmt, String tenantDbSchema) throws SQLException {
         String query = "SHOW DATABASES LIKE ?";
         try (PreparedStatement pstmt = stmt.getConnection().prepareStatement(query)) {
@@ -119,27 +108,17 @@ public class LiquibaseConfig {
     }
 
     private void runLiquibaseForTenant(String tenantDbSchema) throws LiquibaseException {
-        DataSource tenantSpecificDataSource = tenantDataSourceCache.computeIfAbsent(tenantDbSchema, this::createTenantDataSource);
+        DataSource tenantSpecificDataSource = tenantDataSourceManager.getDataSource(tenantDbSchema);
 
+        // one instance per run: tenants are migrated in parallel
+        SpringLiquibase tenantLiquibase = new SpringLiquibase();
+        tenantLiquibase.setResourceLoader(resourceLoader);
         tenantLiquibase.setDataSource(tenantSpecificDataSource);
-        tenantLiquibase.setChangeLog("classpath:db/changelog/tenant-changelog.yaml");
+        tenantLiquibase.setChangeLog(TENANT_CHANGELOG);
         tenantLiquibase.setDefaultSchema(tenantDbSchema);
         tenantLiquibase.setShouldRun(true);
 
         tenantLiquibase.afterPropertiesSet();
         log.info("Liquibase initialization completed successfully for tenant: {}", tenantDbSchema);
     }
-
-    private DataSource createTenantDataSource(String tenantDbSchema) {
-        log.info("Creating data source for tenant schema: {}", tenantDbSchema);
-        String url = springDefaultDataSource.getUrl();
-        String datasourceUrl = url.substring(0, url.lastIndexOf("/") + 1);
-        log.info("URL: {}", datasourceUrl + tenantDbSchema);
-        return DataSourceBuilder.create()
-                .url(datasourceUrl + tenantDbSchema)
-                .username(springDefaultDataSource.getUsername())
-                .password(springDefaultDataSource.getPassword())
-                .driverClassName("com.mysql.cj.jdbc.Driver")
-                .build();
-    }
 }
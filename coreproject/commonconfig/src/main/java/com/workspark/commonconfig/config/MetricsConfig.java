@@ -0,0 +1,92 @@
+package com.workspark.commonconfig.config;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.MetricsProperties;
+import com.workspark.commonconfig.service.TenantSchemaRegistry;
+import com.workspark.commonconfig.utils.TenantMetrics;
+import com.workspark.commonconfig.utils.TenantTagPolicy;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+/**
+ * Metrics shared by all the services, on top of the Spring Boot actuator ones.
+ *
+ * <ul>
+ *   <li>{@code http.server.requests}: tagged with the tenant of the {@code X-Tenant} header next to the route
+ *   ({@code uri}).</li>
+ *   <li>{@code lettuce.command.completion}: Redis command timers, published by the actuator.</li>
+ *   <li>{@code workspark.feign.client}: Feign call timers per client method, status and tenant.</li>
+ *   <li>{@code workspark.jdbc.connection.acquire}: time to get a connection, per tenant; the tenant pools also
+ *   publish the {@code hikaricp.*} pool gauges tagged with their pool name ({@code tenant-<schema>}).</li>
+ *   <li>{@code workspark.jasper.render}: report compile and render timers per operation and tenant.</li>
+ * </ul>
+ *
+ * <p>Tenant tags go through one {@link TenantTagPolicy}, bounded by {@code workspark.metrics.max-tenant-tags}.
+ * Only the tenants known to the {@link TenantSchemaRegistry} get their own tag; without a registry, every tenant
+ * is tagged {@code other}.
+ * Timers listed in {@code workspark.metrics.histogram-meters} publish percentile histograms.</p>
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig {
+
+    private final MetricsProperties metricsProperties;
+    private final ObjectProvider<TenantSchemaRegistry> tenantSchemaRegistry;
+
+    @Bean
+    public TenantTagPolicy tenantTagPolicy() {
+        return new TenantTagPolicy(metricsProperties.getMaxTenantTags(), tenant -> {
+            TenantSchemaRegistry registry = tenantSchemaRegistry.getIfAvailable();
+            return registry != null && registry.getTenantSchema(tenant) != null;
+        });
+    }
+
+    @Bean
+    public TenantMetrics tenantMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        // without a registry the global composite records nothing
+        return new TenantMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), tenantTagPolicy());
+    }
+
+    @Bean
+    public ServerRequestObservationConvention tenantServerRequestObservationConvention() {
+        TenantTagPolicy tenantTagPolicy = tenantTagPolicy();
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(TenantMetrics.TENANT_TAG,
+                        tenantTagPolicy.tag(context.getCarrier().getHeader("X-Tenant")));
+            }
+        };
+    }
+
+    @Bean
+    public MeterFilter latencyHistogramMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!metricsProperties.isHistograms() || id.getType() != Meter.Type.TIMER) {
+                    return config;
+                }
+                for (String prefix : metricsProperties.getHistogramMeters()) {
+                    if (id.getName().startsWith(prefix)) {
+                        return DistributionStatisticConfig.builder()
+                                .percentilesHistogram(true)
+                                .build()
+                                .merge(config);
+                    }
+                }
+                return config;
+            }
+        };
+    }
+}
@@ -1,14 +1,21 @@
 package com.workspark.commonconfig.config;
 
 import com.workspark.commonconfig.config.applicationConfigProperties.DefaultDataSourceProperties;
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantPoolProperties;
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantRegistryProperties;
 import com.workspark.commonconfig.models.pojo.TenantContext;
+import com.workspark.commonconfig.service.TenantSchemaRegistry;
+import com.workspark.commonconfig.service.impl.TenantSchemaRegistryImpl;
+import com.workspark.commonconfig.utils.TenantMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.core.env.Environment;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 
 import javax.sql.DataSource;
@@ -27,6 +34,12 @@ public class MultiTenantConfig {
 
     private final Map<Object, Object> tenantDataSources = new ConcurrentHashMap<>();
     private final DefaultDataSourceProperties springDefaultDataSource;
+    private final TenantRegistryProperties tenantRegistryProperties;
+    private final TenantPoolProperties tenantPoolProperties;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<TenantMetrics> tenantMetrics;
+    private final Environment environment;
     private AbstractRoutingDataSource multiTenantDataSource;
 
     /**
@@ -35,37 +48,48 @@ public class MultiTenantConfig {
      */
     @Bean
     public DataSource dataSource() {
+        TenantSchemaRegistry tenantSchemaRegistry = tenantSchemaRegistry();
         multiTenantDataSource = new AbstractRoutingDataSource() {
             @Override
             protected Object determineCurrentLookupKey() {
                 String tenant = TenantContext.getCurrentTenant();
                 log.debug("Current tenant resolved: {}", tenant);
-                return getTenantDatabase(tenant);
+                return tenantSchemaRegistry.getTenantSchema(tenant);
             }
         };
         multiTenantDataSource.setTargetDataSources(tenantDataSources);
-        multiTenantDataSource.setDefaultTargetDataSource(defaultDataSource());
+        multiTenantDataSource.setDefaultTargetDataSource(tenantDataSourceManager().getDefaultDataSource());
         multiTenantDataSource.afterPropertiesSet();
         log.info("Multi-tenant DataSource initialized with default DataSource.");
         return multiTenantDataSource;
     }
 
-    private String getTenantDatabase(String tenantName) {
-        String tenantDbSchema = "";
-        String query = "SELECT tenant_db_schema FROM workspark.tenant_config WHERE tenant_name = ?";
-        try (Connection connection = defaultDataSource().getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(query)) {
+    /**
+     * Creates the tenant to schema registry used to route connections, preloaded with all onboarded tenants.
+     * It reads {@code workspark.tenant_config} through the default DataSource.
+     *
+     * @return the tenant schema registry
+     */
+    @Bean
+    public TenantSchemaRegistry tenantSchemaRegistry() {
+        TenantSchemaRegistry tenantSchemaRegistry = new TenantSchemaRegistryImpl(
+                tenantDataSourceManager().getDefaultDataSource(), tenantRegistryProperties);
+        tenantSchemaRegistry.reload();
+        return tenantSchemaRegistry;
+    }
 
-            pstmt.setString(1, tenantName);
-            try (ResultSet resultSet = pstmt.executeQuery()) {
-                if (resultSet.next()) {
-                    tenantDbSchema = resultSet.getString(1);
-                }
-            }
-        } catch (SQLException e) {
-            log.error("Error retrieving tenant database schema for tenant '{}'.", tenantName, e);
-        }
-        return tenantDbSchema;
+    /**
+     * Creates the manager owning the default and tenant connection pools.
+     * With a cluster connection budget, the instances of this service are counted through service discovery.
+     *
+     * @return the tenant DataSource manager
+     */
+    @Bean(destroyMethod = "close")
+    public TenantDataSourceManager tenantDataSourceManager() {
+        String applicationName = environment.getProperty("spring.application.name");
+        return new TenantDataSourceManager(springDefaultDataSource, tenantPoolProperties,
+                () -> discoveryClient.getObject().getInstances(applicationName).size(), meterRegistry.getIfAvailable(),
+                tenantMetrics.getIfAvailable());
     }
 
     /**
@@ -81,16 +105,7 @@ public class MultiTenantConfig {
         }
 
         log.info("Initializing DataSource for tenant '{}'.", tenantDbSchema);
-        String dataSourceBaseUrl = springDefaultDataSource.getUrl().substring(0, springDefaultDataSource.getUrl().lastIndexOf("/") + 1);
-        String tenantDbUrl = dataSourceBaseUrl.concat(tenantDbSchema);
-        log.debug("Constructed tenant database URL: {}", tenantDbUrl);
-
-        DataSource dataSource = DataSourceBuilder.create()
-                .driverClassName(springDefaultDataSource.getDriverClassName())
-                .url(tenantDbUrl)
-                .username(springDefaultDataSource.getUsername())
-                .password(springDefaultDataSource.getPassword())
-                .build();
+        DataSource dataSource = tenantDataSourceManager().getDataSource(tenantDbSchema);
 
         // Validate the connection to the new tenant's database
         try (Connection connection = dataSource.getConnection()) {
@@ -103,20 +118,4 @@ public class MultiTenantConfig {
             throw e;
         }
     }
-
-    /**
-     * Creates and configures the default DataSource.
-     * This is used when no specific tenant ID is resolved.
-     *
-     * @return the default DataSource
-     */
-    private DriverManagerDataSource defaultDataSource() {
-        log.info("Initializing default DataSource for the application.");
-        DriverManagerDataSource defaultDataSource = new DriverManagerDataSource();
-        defaultDataSource.setDriverClassName(springDefaultDataSource.getDriverClassName());
-        defaultDataSource.setUrl(springDefaultDataSource.getUrl());
-        defaultDataSource.setUsername(springDefaultDataSource.getUsername());
-        defaultDataSource.setPassword(springDefaultDataSource.getPassword());
-        return defaultDataSource;
-    }
 }
@@ -0,0 +1,51 @@
+package com.workspark.commonconfig.config;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantRegistryProperties;
+import com.workspark.commonconfig.models.pojo.TenantConfigChangedEvent;
+import com.workspark.commonconfig.service.TenantSchemaRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes to tenant configuration change events so every instance drops its cached tenant schemas.
+ * The message body is the tenant name, or {@link TenantSchemaRegistry#ALL_TENANTS} to reload all tenants.
+ * Each change is then published as a {@link TenantConfigChangedEvent}, which triggers the schema migration of
+ * the changed tenants.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "workspark", name = {"multitenant", "redis"}, havingValue = "true", matchIfMissing = true)
+public class TenantConfigSubscriberConfig {
+
+    private final TenantSchemaRegistry tenantSchemaRegistry;
+    private final TenantRegistryProperties tenantRegistryProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Bean
+    public RedisMessageListenerContainer tenantConfigListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(tenantConfigListener(), new ChannelTopic(tenantRegistryProperties.getChannel()));
+        return container;
+    }
+
+    MessageListener tenantConfigListener() {
+        return (message, pattern) -> {
+            String tenantName = new String(message.getBody(), StandardCharsets.UTF_8);
+            log.debug("Received tenant configuration change for tenant '{}'.", tenantName);
+            tenantSchemaRegistry.evict(tenantName);
+            applicationEventPublisher.publishEvent(new TenantConfigChangedEvent(tenantName));
+        };
+    }
+}
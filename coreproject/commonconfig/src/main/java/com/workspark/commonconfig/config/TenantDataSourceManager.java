@@ -0,0 +1,402 @@
+package com.workspark.commonconfig.config;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.DefaultDataSourceProperties;
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantPoolProperties;
+import com.workspark.commonconfig.utils.TenantMetrics;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Owns every JDBC connection pool of the service: the default pool and the tenant pools.
+ *
+ * <p>In {@link TenantPoolProperties.RoutingMode#POOL_PER_TENANT} mode each tenant gets a small Hikari pool,
+ * opened on first use. The sum of the pool sizes never exceeds the connection budget: when a new pool does
+ * not fit, the least recently used pool without active connections is closed first, and if none can be
+ * closed the connection request fails. In {@link TenantPoolProperties.RoutingMode#SHARED_POOL} mode all
+ * tenants share the default pool and the tenant schema is selected with {@code setCatalog}. The default pool is
+ * configured with the schema of {@code spring.datasource.url} as its catalog, so Hikari resets a connection to it
+ * when the connection returns to the pool and a borrower that does not select a tenant never sees the schema of
+ * the previous one.</p>
+ *
+ * <p>The budget is {@code workspark.tenant-pool.max-total-connections}, lowered to this instance's share of
+ * {@code cluster-max-connections} when set. A background sweep closes tenant pools idle for longer than
+ * {@code idle-timeout} and refreshes the instance count. Pools publish {@code hikaricp.*} metrics tagged with
+ * their pool name ({@code tenant-<schema>}), and the budget is published as {@code workspark.tenant.pools.*}.
+ * A tenant pool is only closed while no connection is being borrowed from it and none is in use; a borrower
+ * finding it closed opens it again.
+ * The time taken to get a tenant connection, including opening the pool, is the
+ * {@code workspark.jdbc.connection.acquire} timer tagged with the tenant of the request and the outcome.</p>
+ */
+@Slf4j
+public class TenantDataSourceManager implements AutoCloseable {
+
+    private static final String TENANT_POOL_PREFIX = "tenant-";
+    private static final String ACQUIRE_TIMER = "workspark.jdbc.connection.acquire";
+
+    private final DefaultDataSourceProperties dataSourceProperties;
+    private final TenantPoolProperties poolProperties;
+    private final IntSupplier instanceCount;
+    private final MeterRegistry meterRegistry;
+    private final TenantMetrics.TenantTimer acquireSuccessTimer;
+    private final TenantMetrics.TenantTimer acquireFailureTimer;
+
+    private final HikariDataSource defaultPool;
+    private final Map<String, TenantPool> tenantPools = new ConcurrentHashMap<>();
+    private final AtomicInteger allocatedConnections = new AtomicInteger();
+    private final Object budgetLock = new Object();
+    private final ScheduledExecutorService sweeper;
+
+    private volatile int instances = 1;
+
+    /**
+     * @param dataSourceProperties {@code spring.datasource} settings, the url pointing to the default schema
+     * @param poolProperties       pool settings
+     * @param instanceCount        number of running instances of the service, used with a cluster budget
+     * @param meterRegistry        registry for pool metrics, may be null
+     * @param tenantMetrics        per tenant timers, may be null
+     */
+    public TenantDataSourceManager(DefaultDataSourceProperties dataSourceProperties, TenantPoolProperties poolProperties,
+                                   IntSupplier instanceCount, MeterRegistry meterRegistry, TenantMetrics tenantMetrics) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.poolProperties = poolProperties;
+        this.instanceCount = instanceCount;
+        this.meterRegistry = meterRegistry;
+        this.acquireSuccessTimer = tenantMetrics != null
+                ? tenantMetrics.tenantTimer(ACQUIRE_TIMER, "outcome", "success") : null;
+        this.acquireFailureTimer = tenantMetrics != null
+                ? tenantMetrics.tenantTimer(ACQUIRE_TIMER, "outcome", "failure") : null;
+
+        int defaultPoolSize = isSharedPool() ? budget() : poolProperties.getDefaultPoolSize();
+        HikariConfig defaultPoolConfig = poolConfig("default", dataSourceProperties.getUrl(), defaultPoolSize);
+        String defaultSchema = defaultSchema();
+        if (!defaultSchema.isEmpty()) {
+            // restored on the connections returned to the pool, after a tenant was selected with setCatalog
+            defaultPoolConfig.setCatalog(defaultSchema);
+        } else if (isSharedPool()) {
+            throw new IllegalStateException("Routing mode " + TenantPoolProperties.RoutingMode.SHARED_POOL
+                    + " requires the default schema in spring.datasource.url");
+        }
+        // do not fail the startup when the database is not reachable yet
+        defaultPoolConfig.setInitializationFailTimeout(-1);
+        defaultPoolConfig.setMinimumIdle(1);
+        this.defaultPool = new HikariDataSource(defaultPoolConfig);
+
+        if (meterRegistry != null) {
+            Gauge.builder("workspark.tenant.pools.open", tenantPools, pools -> pools.values().stream().filter(TenantPool::isOpen).count())
+                    .description("Number of open tenant connection pools")
+                    .register(meterRegistry);
+            Gauge.builder("workspark.tenant.pools.connections.allocated", allocatedConnections, AtomicInteger::get)
+                    .description("Connections reserved by the open tenant pools")
+                    .register(meterRegistry);
+            Gauge.builder("workspark.tenant.pools.connections.budget", this, TenantDataSourceManager::budget)
+                    .description("Maximum number of connections of this instance")
+                    .register(meterRegistry);
+        }
+
+        long sweepIntervalMillis = Math.max(1_000, poolProperties.getIdleTimeout().toMillis() / 2);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tenant-pool-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the pooled DataSource connected to the default schema
+     */
+    public DataSource getDefaultDataSource() {
+        return defaultPool;
+    }
+
+    /**
+     * Returns the DataSource of a tenant schema. The returned instance stays valid when the underlying pool is
+     * closed for being idle; the pool is opened again on the next {@code getConnection}.
+     *
+     * @param tenantDbSchema the tenant schema
+     * @return the tenant DataSource
+     */
+    public DataSource getDataSource(String tenantDbSchema) {
+        return tenantPools.computeIfAbsent(tenantDbSchema, TenantPool::new).dataSource;
+    }
+
+    /**
+     * Closes all pools.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        tenantPools.values().forEach(TenantPool::close);
+        defaultPool.close();
+    }
+
+    private boolean isSharedPool() {
+        return poolProperties.getRoutingMode() == TenantPoolProperties.RoutingMode.SHARED_POOL;
+    }
+
+    private int budget() {
+        int budget = poolProperties.getMaxTotalConnections();
+        if (poolProperties.getClusterMaxConnections() > 0) {
+            budget = Math.min(budget, poolProperties.getClusterMaxConnections() / Math.max(1, instances));
+        }
+        // always leave room for the default pool and one tenant pool
+        int minimum = isSharedPool() ? 1 : poolProperties.getDefaultPoolSize() + poolProperties.getPerTenantMaxConnections();
+        return Math.max(budget, minimum);
+    }
+
+    /**
+     * Reserves connections for a new tenant pool, closing least recently used idle pools if needed.
+     */
+    private void reserve(TenantPool requester, int connections) throws SQLException {
+        synchronized (budgetLock) {
+            int tenantBudget = budget() - poolProperties.getDefaultPoolSize();
+            while (allocatedConnections.get() + connections > tenantBudget) {
+                if (!closeLeastRecentlyUsed(requester)) {
+                    throw new SQLTransientConnectionException("Connection budget of " + tenantBudget
+                            + " tenant connections exhausted, cannot open pool for tenant schema " + requester.schema);
+                }
+            }
+            allocatedConnections.addAndGet(connections);
+        }
+    }
+
+    private boolean closeLeastRecentlyUsed(TenantPool requester) {
+        TenantPool leastRecentlyUsed = null;
+        for (TenantPool tenantPool : tenantPools.values()) {
+            if (tenantPool != requester && tenantPool.isOpen() && tenantPool.activeConnections() == 0
+                    && (leastRecentlyUsed == null || tenantPool.lastUsedNanos < leastRecentlyUsed.lastUsedNanos)) {
+                leastRecentlyUsed = tenantPool;
+            }
+        }
+        return leastRecentlyUsed != null && leastRecentlyUsed.tryCloseIfIdle(0);
+    }
+
+    void sweep() {
+        try {
+            instances = Math.max(1, instanceCount.getAsInt());
+        } catch (RuntimeException e) {
+            log.debug("Unable to count service instances, keeping {}: {}", instances, e.getMessage());
+        }
+        try {
+            if (isSharedPool()) {
+                defaultPool.getHikariConfigMXBean().setMaximumPoolSize(budget());
+                return;
+            }
+            long idleTimeoutNanos = poolProperties.getIdleTimeout().toNanos();
+            tenantPools.values().forEach(tenantPool -> tenantPool.tryCloseIfIdle(idleTimeoutNanos));
+            // the budget shrinks when instances are added: give back connections held by idle pools
+            synchronized (budgetLock) {
+                while (allocatedConnections.get() > budget() - poolProperties.getDefaultPoolSize()
+                        && closeLeastRecentlyUsed(null)) {
+                    log.debug("Closed a tenant pool to fit the connection budget of {}", budget());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Tenant pool sweep failed", e);
+        }
+    }
+
+    private HikariConfig poolConfig(String poolName, String jdbcUrl, int maximumPoolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(dataSourceProperties.getUsername());
+        config.setPassword(dataSourceProperties.getPassword());
+        if (dataSourceProperties.getDriverClassName() != null) {
+            config.setDriverClassName(dataSourceProperties.getDriverClassName());
+        }
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(0);
+        config.setConnectionTimeout(poolProperties.getConnectionTimeout().toMillis());
+        if (meterRegistry != null) {
+            config.setMetricRegistry(meterRegistry);
+        }
+        return config;
+    }
+
+    /**
+     * @return the schema of the default url, empty if the url has none
+     */
+    private String defaultSchema() {
+        String url = dataSourceProperties.getUrl();
+        int queryStart = url.indexOf('?');
+        String baseUrl = queryStart < 0 ? url : url.substring(0, queryStart);
+        int schemaStart = baseUrl.lastIndexOf('/') + 1;
+        // jdbc:mysql://host:3306 has no schema, the last slash belongs to the authority
+        return schemaStart > 1 && baseUrl.charAt(schemaStart - 2) != '/' ? baseUrl.substring(schemaStart) : "";
+    }
+
+    /**
+     * Builds the url of a tenant schema from the default url, keeping its parameters.
+     */
+    private String tenantUrl(String tenantDbSchema) {
+        String url = dataSourceProperties.getUrl();
+        int queryStart = url.indexOf('?');
+        String baseUrl = queryStart < 0 ? url : url.substring(0, queryStart);
+        String parameters = queryStart < 0 ? "" : url.substring(queryStart);
+        return baseUrl.substring(0, baseUrl.lastIndexOf('/') + 1) + tenantDbSchema + parameters;
+    }
+
+    private final class TenantPool {
+
+        private final String schema;
+        private final DataSource dataSource = new TenantDataSource(this);
+        // read: borrowing a connection, write: opening or closing the pool
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile HikariDataSource pool;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private TenantPool(String schema) {
+            this.schema = schema;
+        }
+
+        private Connection getConnection() throws SQLException {
+            if (acquireSuccessTimer == null) {
+                return acquireConnection();
+            }
+            long startNanos = System.nanoTime();
+            TenantMetrics.TenantTimer timer = acquireFailureTimer;
+            try {
+                Connection connection = acquireConnection();
+                timer = acquireSuccessTimer;
+                return connection;
+            } finally {
+                timer.get().record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Connection acquireConnection() throws SQLException {
+            lastUsedNanos = System.nanoTime();
+            if (isSharedPool()) {
+                Connection connection = defaultPool.getConnection();
+                try {
+                    connection.setCatalog(schema);
+                } catch (SQLException e) {
+                    connection.close();
+                    throw e;
+                }
+                return connection;
+            }
+
+            while (true) {
+                HikariDataSource current = pool;
+                if (current == null || current.isClosed()) {
+                    current = open();
+                }
+                lock.readLock().lock();
+                try {
+                    // closed by the sweeper in the meantime: open it again
+                    if (current == pool && !current.isClosed()) {
+                        return current.getConnection();
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        }
+
+        private HikariDataSource open() throws SQLException {
+            lock.writeLock().lock();
+            try {
+                if (pool != null && !pool.isClosed()) {
+                    return pool;
+                }
+                int size = poolProperties.getPerTenantMaxConnections();
+                reserve(this, size);
+                try {
+                    pool = new HikariDataSource(poolConfig(TENANT_POOL_PREFIX + schema, tenantUrl(schema), size));
+                } catch (RuntimeException e) {
+                    allocatedConnections.addAndGet(-size);
+                    throw new SQLTransientConnectionException("Unable to open pool for tenant schema " + schema, e);
+                }
+                log.info("Opened connection pool for tenant schema '{}', {} of {} connections allocated.",
+                        schema, allocatedConnections.get(), budget());
+                return pool;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private boolean isOpen() {
+            HikariDataSource current = pool;
+            return current != null && !current.isClosed();
+        }
+
+        private int activeConnections() {
+            HikariDataSource current = pool;
+            HikariPoolMXBean poolMXBean = current != null ? current.getHikariPoolMXBean() : null;
+            return poolMXBean != null ? poolMXBean.getActiveConnections() : 0;
+        }
+
+        /**
+         * Closes the pool if no connection is being borrowed or in use and it was not used for the given time.
+         * Never waits for the pool lock, so it can be called while holding the budget lock.
+         */
+        private boolean tryCloseIfIdle(long idleNanos) {
+            // a connection borrowed under the read lock is counted as active once the lock is released
+            if (!lock.writeLock().tryLock()) {
+                return false;
+            }
+            try {
+                if (!isOpen() || activeConnections() > 0 || System.nanoTime() - lastUsedNanos < idleNanos) {
+                    return false;
+                }
+                close();
+                log.info("Closed idle connection pool for tenant schema '{}'.", schema);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void close() {
+            HikariDataSource current = pool;
+            if (current != null && !current.isClosed()) {
+                current.close();
+                allocatedConnections.addAndGet(-current.getMaximumPoolSize());
+            }
+            pool = null;
+        }
+    }
+
+    /**
+     * Stable DataSource of a tenant, handed out to the routing DataSource and Liquibase.
+     */
+    private static final class TenantDataSource extends AbstractDataSource {
+
+        private final TenantPool tenantPool;
+
+        private TenantDataSource(TenantPool tenantPool) {
+            this.tenantPool = tenantPool;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return tenantPool.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Tenant connections use the configured credentials");
+        }
+    }
+}
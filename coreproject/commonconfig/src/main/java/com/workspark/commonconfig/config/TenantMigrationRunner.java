@@ -0,0 +1,194 @@
+package com.workspark.commonconfig.config;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantMigrationProperties;
+import com.workspark.commonconfig.models.pojo.TenantConfigChangedEvent;
+import com.workspark.commonconfig.models.pojo.TenantMigrationProgress;
+import com.workspark.commonconfig.service.TenantSchemaRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Migrates the schemas of all onboarded tenants in parallel, so that no request waits for a migration.
+ *
+ * <p>The migration runs at startup, before the service registers in discovery and before the web server
+ * accepts requests, and again when a tenant configuration change is received ({@code "*"} migrates all tenants,
+ * a tenant name only that tenant). Tenants go through {@link LiquibaseConfig#initializeSchema(String)}, so a
+ * request arriving for a tenant being migrated waits for that migration instead of starting another one, and a
+ * failed tenant is retried on its first request. On a change, the targeted tenants are reset first, otherwise the
+ * tenants already migrated by this instance would be skipped.</p>
+ *
+ * <p>At most {@code workspark.tenant-migration.parallelism} tenants are migrated at the same time. Progress and
+ * per-tenant durations are logged and kept in {@link #getProgress()}; durations are also recorded by the
+ * {@code workspark.tenant.migration} timer, tagged by outcome.</p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "workspark.liquibase", havingValue = "true", matchIfMissing = true)
+public class TenantMigrationRunner implements SmartLifecycle {
+
+    private final LiquibaseConfig liquibaseConfig;
+    private final TenantSchemaRegistry tenantSchemaRegistry;
+    private final TenantMigrationProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ExecutorService executor;
+
+    private volatile boolean running;
+    private volatile TenantMigrationProgress progress = new TenantMigrationProgress(0);
+
+    public TenantMigrationRunner(LiquibaseConfig liquibaseConfig, TenantSchemaRegistry tenantSchemaRegistry,
+                                 TenantMigrationProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.liquibaseConfig = liquibaseConfig;
+        this.tenantSchemaRegistry = tenantSchemaRegistry;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "tenant-migration-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reloads the onboarded tenants and migrates all of them.
+     *
+     * @return a future completed with the progress once every tenant is migrated or failed
+     */
+    public CompletableFuture<TenantMigrationProgress> migrateAllTenants() {
+        tenantSchemaRegistry.reload();
+        return migrateTenants(tenantSchemaRegistry.getTenantNames(), false);
+    }
+
+    /**
+     * @return the progress of the last migration run
+     */
+    public TenantMigrationProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Migrates again the tenants named in tenant configuration change events.
+     *
+     * @param event the change event
+     */
+    @EventListener
+    public void onTenantConfigChanged(TenantConfigChangedEvent event) {
+        migrateChangedTenants(event.tenantName());
+    }
+
+    /**
+     * Migrates again a changed tenant, even if it was already migrated by this instance.
+     *
+     * @param tenantName the changed tenant, or {@link TenantSchemaRegistry#ALL_TENANTS}
+     * @return a future completed with the progress once every targeted tenant is migrated or failed
+     */
+    public CompletableFuture<TenantMigrationProgress> migrateChangedTenants(String tenantName) {
+        // the registry was already refreshed by the subscriber
+        Collection<String> tenantNames = TenantSchemaRegistry.ALL_TENANTS.equals(tenantName)
+                ? tenantSchemaRegistry.getTenantNames()
+                : List.of(tenantName);
+        return migrateTenants(tenantNames, true);
+    }
+
+    private CompletableFuture<TenantMigrationProgress> migrateTenants(Collection<String> tenantNames, boolean reset) {
+        TenantMigrationProgress run = new TenantMigrationProgress(tenantNames.size());
+        progress = run;
+        log.info("Migrating {} tenant schemas, {} at a time.", tenantNames.size(), properties.getParallelism());
+
+        CompletableFuture<?>[] migrations = tenantNames.stream()
+                .map(tenantName -> CompletableFuture.runAsync(() -> {
+                    if (reset) {
+                        liquibaseConfig.resetSchema(tenantName);
+                    }
+                    migrateTenant(tenantName, run);
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(migrations).thenApply(ignored -> {
+            log.info("Tenant schema migration finished in {} ms: {} migrated, {} failed {}.",
+                    Duration.between(run.getStartedAt(), Instant.now()).toMillis(),
+                    run.getCompleted(), run.getFailed(), run.getFailures().keySet());
+            return run;
+        });
+    }
+
+    private void migrateTenant(String tenantName, TenantMigrationProgress run) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            liquibaseConfig.initializeSchema(tenantName);
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            run.tenantMigrated(tenantName, duration);
+            log.info("Tenant {} migrated in {} ms ({}/{}).", tenantName, duration.toMillis(), run.getFinished(), run.getTotal());
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            run.tenantFailed(tenantName, duration, e);
+            log.error("Tenant {} migration failed after {} ms ({}/{}), it will be retried on its first request.",
+                    tenantName, duration.toMillis(), run.getFinished(), run.getTotal(), e);
+        } finally {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                Timer.builder("workspark.tenant.migration")
+                        .description("Duration of tenant schema migrations")
+                        .tag("outcome", outcome)
+                        .register(registry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!properties.isOnStartup()) {
+            return;
+        }
+        try {
+            migrateAllTenants().get(properties.getStartupTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Tenant schema migration not finished after {}, continuing in the background.", properties.getStartupTimeout());
+        } catch (ExecutionException e) {
+            log.error("Tenant schema migration failed.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before the discovery registration (phase 0) and the web server.
+     */
+    @Override
+    public int getPhase() {
+        return -1;
+    }
+}
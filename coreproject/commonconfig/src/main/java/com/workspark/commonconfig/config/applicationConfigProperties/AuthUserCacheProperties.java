@@ -0,0 +1,41 @@
+package com.workspark.commonconfig.config.applicationConfigProperties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the process-local cache in front of the Redis auth users.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.auth-user-cache")
+public class AuthUserCacheProperties {
+
+    /**
+     * Serve auth users from the local cache. When disabled, every lookup reads Redis.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a user read from Redis is served from the local cache.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * How long a user missing from Redis is remembered as missing.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of users cached at a time.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Redis channel carrying the ids of saved and deleted users.
+     */
+    private String channel = "auth-user";
+}
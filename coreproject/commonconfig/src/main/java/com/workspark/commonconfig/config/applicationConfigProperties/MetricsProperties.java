@@ -0,0 +1,38 @@
+package com.workspark.commonconfig.config.applicationConfigProperties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings of the service metrics and of their tenant dimension.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.metrics")
+public class MetricsProperties {
+
+    /**
+     * Maximum number of distinct tenant tag values per instance. Tenants seen after the limit is reached, and
+     * tenants that are not onboarded, are tagged {@code other}, so that the number of time series stays bounded
+     * whatever the number of tenants.
+     */
+    private int maxTenantTags = 50;
+
+    /**
+     * Publish percentile histograms for the timers of {@link #histogramMeters}, so that latency percentiles can
+     * be aggregated over instances and tenants.
+     */
+    private boolean histograms = true;
+
+    /**
+     * Timers publishing a percentile histogram, matched by name prefix.
+     */
+    private Set<String> histogramMeters = new LinkedHashSet<>(List.of(
+            "http.server.requests", "workspark.feign.client", "lettuce.command.completion",
+            "workspark.jdbc.connection.acquire", "workspark.jasper.render"));
+}
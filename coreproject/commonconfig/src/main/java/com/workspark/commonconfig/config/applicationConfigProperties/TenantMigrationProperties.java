@@ -0,0 +1,31 @@
+package com.workspark.commonconfig.config.applicationConfigProperties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the bulk tenant schema migration.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.tenant-migration")
+public class TenantMigrationProperties {
+
+    /**
+     * Migrate all onboarded tenants before the service registers and starts accepting requests.
+     */
+    private boolean onStartup = true;
+
+    /**
+     * Number of tenants migrated at the same time.
+     */
+    private int parallelism = 4;
+
+    /**
+     * How long the startup waits for the migration. Tenants not migrated by then continue in the background.
+     */
+    private Duration startupTimeout = Duration.ofMinutes(10);
+}
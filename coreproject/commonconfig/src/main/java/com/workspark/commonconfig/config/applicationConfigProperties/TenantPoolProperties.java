@@ -0,0 +1,60 @@
+package com.workspark.commonconfig.config.applicationConfigProperties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Connection pool settings of the default and tenant DataSources.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.tenant-pool")
+public class TenantPoolProperties {
+
+    private RoutingMode routingMode = RoutingMode.POOL_PER_TENANT;
+
+    /**
+     * Maximum number of connections this instance opens, over all pools.
+     */
+    private int maxTotalConnections = 50;
+
+    /**
+     * Maximum number of connections of all instances of the service together, 0 to disable.
+     * Each instance takes an equal share, based on the instances registered in service discovery.
+     */
+    private int clusterMaxConnections = 0;
+
+    /**
+     * Size of the pool connected to the default schema, in {@link RoutingMode#POOL_PER_TENANT} mode.
+     */
+    private int defaultPoolSize = 5;
+
+    /**
+     * Maximum size of each tenant pool, in {@link RoutingMode#POOL_PER_TENANT} mode.
+     */
+    private int perTenantMaxConnections = 5;
+
+    /**
+     * Tenant pools unused for this long are closed. They are opened again on the next request of the tenant.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Maximum time to wait for a connection from a pool.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    public enum RoutingMode {
+        /**
+         * One small pool per active tenant, connected to the tenant schema.
+         */
+        POOL_PER_TENANT,
+        /**
+         * A single pool; the tenant schema is selected on checkout with {@code Connection.setCatalog}.
+         */
+        SHARED_POOL
+    }
+}
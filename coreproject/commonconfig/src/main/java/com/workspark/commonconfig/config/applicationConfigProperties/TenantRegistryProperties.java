@@ -0,0 +1,31 @@
+package com.workspark.commonconfig.config.applicationConfigProperties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-memory tenant to schema registry.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.tenant-registry")
+public class TenantRegistryProperties {
+
+    /**
+     * How long a tenant missing from {@code workspark.tenant_config} is remembered as unknown.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of unknown tenants remembered at a time.
+     */
+    private long negativeMaximumSize = 10_000;
+
+    /**
+     * Redis channel carrying tenant configuration change events.
+     */
+    private String channel = "tenant-config";
+}
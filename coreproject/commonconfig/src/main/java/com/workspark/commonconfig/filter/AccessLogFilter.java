@@ -0,0 +1,66 @@
+package com.workspark.commonconfig.filter;
+
+import com.workspark.observability.accesslog.AccessLogEvent;
+import com.workspark.observability.accesslog.AccessLogWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Writes one access log line per request through the asynchronous {@link AccessLogWriter}.
+ * The route is the handler pattern matched by Spring MVC, so that per-route sample rates apply to all the paths
+ * of an endpoint. Requests failing with an exception are logged with status 500. Nothing is logged when the
+ * access log is disabled ({@code workspark.access-log.enabled=false}).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    // HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, without depending on spring-webmvc
+    private static final String BEST_MATCHING_PATTERN_ATTRIBUTE =
+            "org.springframework.web.servlet.HandlerMapping.bestMatchingPattern";
+
+    private final AccessLogWriter accessLogWriter;
+
+    public AccessLogFilter(ObjectProvider<AccessLogWriter> accessLogWriter) {
+        this.accessLogWriter = accessLogWriter.getIfAvailable();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (accessLogWriter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            Object route = request.getAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE);
+            accessLogWriter.submit(AccessLogEvent.builder()
+                    .startedAt(startedAt)
+                    .requestId(request.getHeader("X-RequestId"))
+                    .tenant(request.getHeader("X-Tenant"))
+                    .userId(request.getHeader("X-UserId"))
+                    .method(request.getMethod())
+                    .route(route != null ? route.toString() : null)
+                    .path(request.getRequestURI())
+                    .query(request.getQueryString())
+                    .status(status)
+                    .durationNanos(System.nanoTime() - startNanos)
+                    .build());
+        }
+    }
+}
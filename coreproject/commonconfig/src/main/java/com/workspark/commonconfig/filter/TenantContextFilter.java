@@ -25,7 +25,7 @@ public class TenantContextFilter extends OncePerRequestFilter {
         String tenantId = request.getHeader("X-Tenant");
         if (tenantId != null) {
             TenantContext.setCurrentTenant(tenantId);
-            log.info("Tenant ID '{}' set in TenantContext for the request.", tenantId);
+            log.debug("Tenant ID '{}' set in TenantContext for the request.", tenantId);
             log.debug("Request URI: {}, Method: {}, Tenant ID: {}", request.getRequestURI(), request.getMethod(), tenantId);
         } else {
             log.warn("No tenant ID found in the request headers. Using default tenant context.");
@@ -0,0 +1,55 @@
+package com.workspark.commonconfig.filter;
+
+import com.workspark.observability.tracing.Span;
+import com.workspark.observability.tracing.TraceContext;
+import com.workspark.observability.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records each request as a span continuing the trace received in the {@code traceparent} and
+ * {@code X-RequestId} headers, or starting a new one. The context is current for the whole request, so that the
+ * Feign clients and Redis publishers called by the request propagate it. The span is named after the method and
+ * the handler pattern matched by Spring MVC.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    // HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, without depending on spring-webmvc
+    private static final String BEST_MATCHING_PATTERN_ATTRIBUTE =
+            "org.springframework.web.servlet.HandlerMapping.bestMatchingPattern";
+
+    private final Tracer tracer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(TraceContext.REQUEST_ID_HEADER);
+        TraceContext parent = TraceContext.parse(request.getHeader(TraceContext.TRACEPARENT_HEADER), requestId);
+        Span span = parent != null ? tracer.startSpan("http", parent) : tracer.startTrace("http", requestId);
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try (Tracer.Scope ignored = tracer.activate(span.context())) {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            Object route = request.getAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE);
+            span.name(request.getMethod() + " " + (route != null ? route : "unmatched"))
+                    .tag("status", String.valueOf(status))
+                    .end();
+        }
+    }
+}
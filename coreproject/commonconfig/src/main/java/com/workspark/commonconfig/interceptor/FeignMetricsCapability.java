@@ -0,0 +1,47 @@
+package com.workspark.commonconfig.interceptor;
+
+import com.workspark.commonconfig.utils.TenantMetrics;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign capability timing each call as the {@code workspark.feign.client} timer, tagged with the client method,
+ * the response status (or {@code IO_ERROR}) and the tenant of the calling request.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeignMetricsCapability implements Capability {
+
+    private static final String TIMER_NAME = "workspark.feign.client";
+
+    private final TenantMetrics tenantMetrics;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            long startNanos = System.nanoTime();
+            String status = "IO_ERROR";
+            try {
+                Response response = client.execute(request, options);
+                status = String.valueOf(response.status());
+                return response;
+            } finally {
+                tenantMetrics.timer(TIMER_NAME, "method", methodKey(request), "status", status)
+                        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private static String methodKey(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null) {
+            return request.requestTemplate().methodMetadata().configKey();
+        }
+        return request.httpMethod().name();
+    }
+}
@@ -0,0 +1,67 @@
+package com.workspark.commonconfig.interceptor;
+
+import com.workspark.observability.tracing.Span;
+import com.workspark.observability.tracing.TraceContext;
+import com.workspark.observability.tracing.Tracer;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feign capability recording each call as a {@code feign <method>} span, nested in the current trace context, and
+ * propagating the trace to the called service in the {@code traceparent} and {@code X-RequestId} headers.
+ * The headers are added by the client rather than by a {@link feign.RequestInterceptor} such as
+ * {@link FeignAuthAddTenantInterceptor}, because they must carry the id of the span timing the call.
+ */
+@Component
+@RequiredArgsConstructor
+public class TracingFeignCapability implements Capability {
+
+    private final Tracer tracer;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> execute(client, request, options);
+    }
+
+    private Response execute(Client client, Request request, Request.Options options) throws IOException {
+        Span span = tracer.startSpan("feign " + methodKey(request));
+        TraceContext traceContext = span.context();
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.put(TraceContext.TRACEPARENT_HEADER, List.of(traceContext.traceparent()));
+        if (traceContext.requestId() != null) {
+            headers.put(TraceContext.REQUEST_ID_HEADER, List.of(traceContext.requestId()));
+        }
+        Request tracedRequest = Request.create(request.httpMethod(), request.url(), headers, request.body(),
+                request.charset(), request.requestTemplate());
+        try {
+            Response response = client.execute(tracedRequest, options);
+            span.tag("status", String.valueOf(response.status()));
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * @return the Feign method, such as {@code UserServiceClient#getUser(String)}, keeping the span names bounded
+     */
+    private static String methodKey(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null) {
+            return request.requestTemplate().methodMetadata().configKey();
+        }
+        return request.httpMethod().name();
+    }
+}
@@ -0,0 +1,9 @@
+package com.workspark.commonconfig.models.pojo;
+
+/**
+ * Application event published when a tenant configuration change is received from Redis.
+ *
+ * @param tenantName the changed tenant, or {@code TenantSchemaRegistry.ALL_TENANTS}
+ */
+public record TenantConfigChangedEvent(String tenantName) {
+}
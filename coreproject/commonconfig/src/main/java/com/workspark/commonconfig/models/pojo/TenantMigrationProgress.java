@@ -0,0 +1,68 @@
+package com.workspark.commonconfig.models.pojo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of a bulk tenant schema migration, updated by the migration threads.
+ */
+public class TenantMigrationProgress {
+
+    private final int total;
+    private final Instant startedAt = Instant.now();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final Map<String, Duration> durations = new ConcurrentHashMap<>();
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+    public TenantMigrationProgress(int total) {
+        this.total = total;
+    }
+
+    public void tenantMigrated(String tenantName, Duration duration) {
+        durations.put(tenantName, duration);
+        completed.incrementAndGet();
+    }
+
+    public void tenantFailed(String tenantName, Duration duration, Exception e) {
+        durations.put(tenantName, duration);
+        failures.put(tenantName, String.valueOf(e.getMessage()));
+        failed.incrementAndGet();
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public int getCompleted() {
+        return completed.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public int getFinished() {
+        return completed.get() + failed.get();
+    }
+
+    public boolean isDone() {
+        return getFinished() >= total;
+    }
+
+    public Map<String, Duration> getDurations() {
+        return Collections.unmodifiableMap(durations);
+    }
+
+    public Map<String, String> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+}
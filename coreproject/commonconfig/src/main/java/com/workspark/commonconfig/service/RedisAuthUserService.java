@@ -9,4 +9,11 @@ public interface RedisAuthUserService {
     Optional<RedisAuthUser> getUser(String redisAuthUserId);
     boolean existsUser(String redisAuthUserId);
     void deleteUser(String redisAuthUserId);
+
+    /**
+     * Drops the locally cached copy of a user, so the next lookup reads Redis.
+     *
+     * @param redisAuthUserId The unique identifier for the user.
+     */
+    void evictCachedUser(String redisAuthUserId);
 }
@@ -3,22 +3,41 @@ package com.workspark.commonconfig.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.workspark.models.pojo.Notification;
+import com.workspark.observability.tracing.Span;
+import com.workspark.observability.tracing.TraceContext;
+import com.workspark.observability.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.stereotype.Service;
 
+/**
+ * Publishes notifications on the Redis topic. Publishing is recorded as the {@code redis.publish} span, whose
+ * context is carried in the notification so that the subscriber continues the trace of the request.
+ */
 @Service
 @RequiredArgsConstructor
 public class RedisPubService {
 
     private final RedisTemplate<String,Object> redisTemplate;
     private final ChannelTopic topic;
+    private final Tracer tracer;
 
     public void publish(Notification notificationDto) throws JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        String jsonMessage = objectMapper.writeValueAsString(notificationDto);
-        redisTemplate.convertAndSend(topic.getTopic(), jsonMessage);
+        Span span = tracer.startSpan("redis.publish").tag("channel", topic.getTopic());
+        try {
+            TraceContext traceContext = span.context();
+            notificationDto.setTraceparent(traceContext.traceparent());
+            notificationDto.setRequestId(traceContext.requestId());
+            ObjectMapper objectMapper = new ObjectMapper();
+            String jsonMessage = objectMapper.writeValueAsString(notificationDto);
+            redisTemplate.convertAndSend(topic.getTopic(), jsonMessage);
+        } catch (JsonProcessingException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
     }
 
 }
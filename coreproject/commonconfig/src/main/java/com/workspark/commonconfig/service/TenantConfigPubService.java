@@ -0,0 +1,27 @@
+package com.workspark.commonconfig.service;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantRegistryProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Publishes tenant configuration change events. Call it after a row of {@code workspark.tenant_config}
+ * is inserted, updated or deleted so that every service drops its cached schema for the tenant.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "workspark.redis", havingValue = "true", matchIfMissing = true)
+public class TenantConfigPubService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TenantRegistryProperties tenantRegistryProperties;
+
+    /**
+     * @param tenantName the changed tenant, or {@link TenantSchemaRegistry#ALL_TENANTS}
+     */
+    public void publishTenantChanged(String tenantName) {
+        stringRedisTemplate.convertAndSend(tenantRegistryProperties.getChannel(), tenantName);
+    }
+}
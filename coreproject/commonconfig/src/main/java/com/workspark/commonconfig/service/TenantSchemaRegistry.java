@@ -0,0 +1,39 @@
+package com.workspark.commonconfig.service;
+
+import java.util.Set;
+
+/**
+ * In-memory view of the tenant to schema mapping held in {@code workspark.tenant_config}.
+ */
+public interface TenantSchemaRegistry {
+
+    /**
+     * Value of a change event asking every instance to reload all tenants.
+     */
+    String ALL_TENANTS = "*";
+
+    /**
+     * Returns the database schema of a tenant without going to the database for known or recently unknown tenants.
+     *
+     * @param tenantName the tenant name
+     * @return the tenant schema, or null if the tenant is not onboarded
+     */
+    String getTenantSchema(String tenantName);
+
+    /**
+     * @return the names of the onboarded tenants known to the registry
+     */
+    Set<String> getTenantNames();
+
+    /**
+     * Drops what is known about a tenant, so the next lookup reads it from the database again.
+     *
+     * @param tenantName the tenant name
+     */
+    void evict(String tenantName);
+
+    /**
+     * Reloads all tenants from the database.
+     */
+    void reload();
+}
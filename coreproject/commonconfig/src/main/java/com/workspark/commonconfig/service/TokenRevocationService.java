@@ -0,0 +1,35 @@
+package com.workspark.commonconfig.service;
+
+import java.time.Instant;
+
+/**
+ * Revokes sessions and tokens before they expire. Revocations are stored in Redis until {@code expiresAt}, the
+ * expiration of the last token they apply to, and published to the gateways.
+ */
+public interface TokenRevocationService {
+
+    /**
+     * Revokes every token of a session.
+     *
+     * @param uuid      the {@code uuid} claim of the session
+     * @param expiresAt expiration of the longest lived token of the session
+     */
+    void revokeSession(String uuid, Instant expiresAt);
+
+    /**
+     * Revokes a single token.
+     *
+     * @param jti       the {@code jti} claim of the token
+     * @param expiresAt expiration of the token
+     */
+    void revokeToken(String jti, Instant expiresAt);
+
+    /**
+     * Checks a token against the stored revocations.
+     *
+     * @param uuid the {@code uuid} claim of the token
+     * @param jti  the {@code jti} claim of the token, may be null
+     * @return True if the session or the token has been revoked.
+     */
+    boolean isRevoked(String uuid, String jti);
+}
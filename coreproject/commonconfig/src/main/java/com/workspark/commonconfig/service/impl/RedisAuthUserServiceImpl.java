@@ -1,23 +1,86 @@
 package com.workspark.commonconfig.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.workspark.commonconfig.config.applicationConfigProperties.AuthUserCacheProperties;
 import com.workspark.commonconfig.models.entity.RedisAuthUser;
 import com.workspark.commonconfig.repository.RedisAuthUserRepository;
 import com.workspark.commonconfig.service.RedisAuthUserService;
-import lombok.RequiredArgsConstructor;
+import com.workspark.observability.tracing.Span;
+import com.workspark.observability.tracing.Tracer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.util.Optional;
 
+/**
+ * Reads and writes the auth users stored in Redis.
+ *
+ * <p>Lookups are served from a process-local cache for {@code workspark.auth-user-cache.ttl}, users missing
+ * from Redis for {@code workspark.auth-user-cache.negative-ttl}. Lookups that fail are not cached. Saving or
+ * deleting a user drops it from the local cache and publishes its id on {@code workspark.auth-user-cache.channel},
+ * so the other instances drop their copy too. Cached users are shared between requests and must not be
+ * modified.</p>
+ *
+ * <p>Cache statistics are published under the {@code auth_user} cache name, with the hit ratio and the number
+ * of Redis reads saved as {@code workspark.auth.user.cache.hit.ratio} and
+ * {@code workspark.auth.user.cache.redis.saved}. Redis reads are recorded as the {@code redis.auth-user} span.</p>
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(name = "workspark.redis", havingValue = "true", matchIfMissing = true)
 public class RedisAuthUserServiceImpl implements RedisAuthUserService {
 
+    private static final String CACHE_NAME = "auth_user";
+
     private final RedisAuthUserRepository redisUserRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AuthUserCacheProperties cacheProperties;
+    private final Cache<String, Optional<RedisAuthUser>> cachedUsers;
+    private final Tracer tracer;
+
+    public RedisAuthUserServiceImpl(RedisAuthUserRepository redisUserRepository,
+                                    StringRedisTemplate stringRedisTemplate,
+                                    AuthUserCacheProperties cacheProperties,
+                                    ObjectProvider<MeterRegistry> meterRegistry,
+                                    Tracer tracer) {
+        this.redisUserRepository = redisUserRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cacheProperties = cacheProperties;
+        this.tracer = tracer;
+        this.cachedUsers = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfter(new Expiry<String, Optional<RedisAuthUser>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<RedisAuthUser> value, long currentTime) {
+                        return (value.isPresent() ? cacheProperties.getTtl() : cacheProperties.getNegativeTtl()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<RedisAuthUser> value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<RedisAuthUser> value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(this::bindMetrics);
+    }
 
     /**
      * Save the user data to Redis.
@@ -33,29 +96,24 @@ public class RedisAuthUserServiceImpl implements RedisAuthUserService {
         } catch (Exception e) {
             log.error("Failed to save user data for userId: {}", redisAuthUser.getRedisUserId(), e);
         }
+        publishUserChanged(redisAuthUser.getRedisUserId());
     }
 
     /**
-     * Retrieve the user data from Redis.
+     * Retrieve the user data, from the local cache or from Redis.
      *
      * @param redisAuthUserId The unique identifier for the user.
-     * @return The user data retrieved from Redis, or null if the user doesn't exist.
+     * @return The user data retrieved from Redis, or empty if the user doesn't exist.
      */
     public Optional<RedisAuthUser> getUser(String redisAuthUserId) {
-        log.info("Fetching user data for userId: {}", redisAuthUserId);
-        try {
-            Optional<RedisAuthUser> redisAuthUser = redisUserRepository.findById(redisAuthUserId);
-            if (redisAuthUser.isPresent()) {
-                log.info("User data found for userId: {}", redisAuthUserId);
-                log.debug("Detailed user data: {}", redisAuthUser.get());
-            } else {
-                log.warn("No user data found in Redis for userId: {}", redisAuthUserId);
-            }
-            return redisAuthUser;
-        } catch (Exception e) {
-            log.error("Error retrieving user data for userId: {}", redisAuthUserId, e);
+        if (redisAuthUserId == null) {
             return Optional.empty();
         }
+        // concurrent lookups of the same user share one Redis read; a failed read returns null and is not cached
+        Optional<RedisAuthUser> redisAuthUser = cacheProperties.isEnabled()
+                ? cachedUsers.get(redisAuthUserId, this::findUser)
+                : findUser(redisAuthUserId);
+        return redisAuthUser != null ? redisAuthUser : Optional.empty();
     }
 
     /**
@@ -65,7 +123,7 @@ public class RedisAuthUserServiceImpl implements RedisAuthUserService {
      * @return True if the user exists in Redis, false otherwise.
      */
     public boolean existsUser(String redisAuthUserId) {
-        log.info("Checking if user exists for userId: {}", redisAuthUserId);
+        log.debug("Checking if user exists for userId: {}", redisAuthUserId);
         try {
             boolean exists = redisUserRepository.existsById(redisAuthUserId);
             log.debug("Existence check result for userId {}: {}", redisAuthUserId, exists);
@@ -89,5 +147,56 @@ public class RedisAuthUserServiceImpl implements RedisAuthUserService {
         } catch (Exception e) {
             log.error("Error deleting user data for userId: {}", redisAuthUserId, e);
         }
+        publishUserChanged(redisAuthUserId);
+    }
+
+    @Override
+    public void evictCachedUser(String redisAuthUserId) {
+        cachedUsers.invalidate(redisAuthUserId);
+    }
+
+    /**
+     * Reads a user from Redis.
+     *
+     * @return the user, empty if it doesn't exist, or null if Redis could not be read
+     */
+    private Optional<RedisAuthUser> findUser(String redisAuthUserId) {
+        log.debug("Fetching user data from Redis for userId: {}", redisAuthUserId);
+        Span span = tracer.startSpan("redis.auth-user");
+        try {
+            Optional<RedisAuthUser> redisAuthUser = redisUserRepository.findById(redisAuthUserId);
+            if (redisAuthUser.isPresent()) {
+                log.debug("Detailed user data: {}", redisAuthUser.get());
+            } else {
+                log.warn("No user data found in Redis for userId: {}", redisAuthUserId);
+            }
+            return redisAuthUser;
+        } catch (Exception e) {
+            span.error(e);
+            log.error("Error retrieving user data for userId: {}", redisAuthUserId, e);
+            return null;
+        } finally {
+            span.end();
+        }
+    }
+
+    private void publishUserChanged(String redisAuthUserId) {
+        evictCachedUser(redisAuthUserId);
+        try {
+            stringRedisTemplate.convertAndSend(cacheProperties.getChannel(), redisAuthUserId);
+        } catch (Exception e) {
+            // other instances keep their copy until it expires
+            log.error("Failed to publish user change for userId: {}", redisAuthUserId, e);
+        }
+    }
+
+    private void bindMetrics(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cachedUsers, CACHE_NAME);
+        Gauge.builder("workspark.auth.user.cache.hit.ratio", cachedUsers, cache -> cache.stats().hitRate())
+                .description("Ratio of auth user lookups served from the local cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("workspark.auth.user.cache.redis.saved", cachedUsers, cache -> cache.stats().hitCount())
+                .description("Redis reads saved by the local auth user cache")
+                .register(meterRegistry);
     }
 }
@@ -24,7 +24,7 @@ public class RedisHelperServiceImpl implements RedisHelperService {
      * @param value The value to be saved
      */
     public void saveToRedis(String key, Object value) {
-        log.info("Saving data to Redis for key: {}", key);
+        log.debug("Saving data to Redis for key: {}", key);
         try {
             redisTemplate.opsForValue().set(key, value);
             log.debug("Data successfully saved to Redis. Key: {}, Value: {}", key, value);
@@ -40,7 +40,7 @@ public class RedisHelperServiceImpl implements RedisHelperService {
      * @return The value associated with the key, or null if not found
      */
     public Object getFromRedis(String key) {
-        log.info("Retrieving data from Redis for key: {}", key);
+        log.debug("Retrieving data from Redis for key: {}", key);
         try {
             Object value = redisTemplate.opsForValue().get(key);
             if (Objects.isNull(value)) {
@@ -61,7 +61,7 @@ public class RedisHelperServiceImpl implements RedisHelperService {
      * @param key The Redis key
      */
     public void deleteFromRedis(String key) {
-        log.info("Deleting data from Redis for key: {}", key);
+        log.debug("Deleting data from Redis for key: {}", key);
         try {
             boolean deleted = Boolean.TRUE.equals(redisTemplate.delete(key));
             if (deleted) {
@@ -81,7 +81,7 @@ public class RedisHelperServiceImpl implements RedisHelperService {
      * @return True if the key exists, false otherwise
      */
     public boolean existsInRedis(String key) {
-        log.info("Checking existence of key in Redis: {}", key);
+        log.debug("Checking existence of key in Redis: {}", key);
         try {
             boolean exists = Boolean.TRUE.equals(redisTemplate.hasKey(key));
             log.debug("Existence check result for key {}: {}", key, exists);
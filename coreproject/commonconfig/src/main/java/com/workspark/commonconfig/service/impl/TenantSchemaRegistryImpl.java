@@ -0,0 +1,116 @@
+package com.workspark.commonconfig.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantRegistryProperties;
+import com.workspark.commonconfig.service.TenantSchemaRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tenant schema registry preloaded from the active tenants ({@code status = 1}) of {@code workspark.tenant_config}
+ * at startup, the same tenants the gateway routes.
+ *
+ * <p>Known tenants are served from memory. A tenant missing from the map is looked up once and, if it is not
+ * onboarded, remembered as unknown for {@code workspark.tenant-registry.negative-ttl} so that requests for
+ * unknown tenants do not reach the database. Entries are dropped by tenant configuration change events.</p>
+ */
+@Slf4j
+public class TenantSchemaRegistryImpl implements TenantSchemaRegistry {
+
+    static final String ALL_TENANTS_QUERY =
+            "SELECT tenant_name, tenant_db_schema FROM workspark.tenant_config WHERE status = 1";
+    static final String TENANT_QUERY =
+            "SELECT tenant_db_schema FROM workspark.tenant_config WHERE tenant_name = ? AND status = 1";
+
+    private final DataSource dataSource;
+    private final Map<String, String> schemasByTenant = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> unknownTenants;
+
+    public TenantSchemaRegistryImpl(DataSource dataSource, TenantRegistryProperties properties) {
+        this.dataSource = dataSource;
+        this.unknownTenants = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getNegativeTtl())
+                .maximumSize(properties.getNegativeMaximumSize())
+                .build();
+    }
+
+    @Override
+    public String getTenantSchema(String tenantName) {
+        if (tenantName == null) {
+            return null;
+        }
+        String tenantSchema = schemasByTenant.get(tenantName);
+        if (tenantSchema != null || unknownTenants.getIfPresent(tenantName) != null) {
+            return tenantSchema;
+        }
+
+        try {
+            tenantSchema = loadTenantSchema(tenantName);
+        } catch (SQLException e) {
+            // not remembered as unknown: the tenant may exist once the database is reachable again
+            log.error("Error retrieving tenant database schema for tenant '{}'.", tenantName, e);
+            return null;
+        }
+        if (tenantSchema != null) {
+            schemasByTenant.put(tenantName, tenantSchema);
+        } else {
+            log.warn("Tenant '{}' is not onboarded.", tenantName);
+            unknownTenants.put(tenantName, Boolean.TRUE);
+        }
+        return tenantSchema;
+    }
+
+    @Override
+    public Set<String> getTenantNames() {
+        return Set.copyOf(schemasByTenant.keySet());
+    }
+
+    @Override
+    public void evict(String tenantName) {
+        if (ALL_TENANTS.equals(tenantName)) {
+            reload();
+            return;
+        }
+        schemasByTenant.remove(tenantName);
+        unknownTenants.invalidate(tenantName);
+        log.info("Tenant '{}' evicted from the schema registry.", tenantName);
+    }
+
+    @Override
+    public void reload() {
+        Map<String, String> loaded = new ConcurrentHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(ALL_TENANTS_QUERY);
+             ResultSet resultSet = pstmt.executeQuery()) {
+            while (resultSet.next()) {
+                loaded.put(resultSet.getString(1), resultSet.getString(2));
+            }
+        } catch (SQLException e) {
+            log.error("Error loading tenant schemas, keeping {} known tenants.", schemasByTenant.size(), e);
+            return;
+        }
+        schemasByTenant.keySet().retainAll(loaded.keySet());
+        schemasByTenant.putAll(loaded);
+        unknownTenants.invalidateAll();
+        log.info("Loaded {} tenant schemas.", loaded.size());
+    }
+
+    private String loadTenantSchema(String tenantName) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(TENANT_QUERY)) {
+            pstmt.setString(1, tenantName);
+            try (ResultSet resultSet = pstmt.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.workspark.commonconfig.service.impl;
+
+import com.workspark.commonconfig.service.TokenRevocationService;
+import com.workspark.securitycore.revocation.RevocationType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Stores revocations in the {@code revoked_tokens} sorted set, scored by the epoch second they expire at, and
+ * publishes each stored member on the {@code token-revocation} channel so that the gateways add it to their
+ * bloom filter. Expired revocations are removed from the set whenever a new one is stored. Revocations are
+ * checked with {@code ZMSCORE}, which needs Redis 6.2 or later.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "workspark.redis", havingValue = "true", matchIfMissing = true)
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void revokeSession(String uuid, Instant expiresAt) {
+        revoke(RevocationType.SESSION, uuid, expiresAt);
+    }
+
+    @Override
+    public void revokeToken(String jti, Instant expiresAt) {
+        revoke(RevocationType.TOKEN, jti, expiresAt);
+    }
+
+    @Override
+    public boolean isRevoked(String uuid, String jti) {
+        Object[] members = jti != null
+                ? new Object[]{RevocationType.SESSION.member(uuid), RevocationType.TOKEN.member(jti)}
+                : new Object[]{RevocationType.SESSION.member(uuid)};
+        List<Double> scores = stringRedisTemplate.opsForZSet().score(RevocationType.REVOKED_TOKENS_KEY, members);
+        long now = Instant.now().getEpochSecond();
+        return scores != null && scores.stream().anyMatch(score -> score != null && score > now);
+    }
+
+    private void revoke(RevocationType type, String id, Instant expiresAt) {
+        Assert.hasText(id, "Revoked id cannot be empty");
+        String member = type.member(id);
+        long now = Instant.now().getEpochSecond();
+        stringRedisTemplate.opsForZSet().add(RevocationType.REVOKED_TOKENS_KEY, member, expiresAt.getEpochSecond());
+        stringRedisTemplate.opsForZSet().removeRangeByScore(RevocationType.REVOKED_TOKENS_KEY, 0, now);
+        log.info("Revoked {} until {}", member, expiresAt);
+        try {
+            stringRedisTemplate.convertAndSend(RevocationType.CHANNEL, member);
+        } catch (Exception e) {
+            // stored: the gateways pick it up on their next rebuild
+            log.error("Failed to publish revocation of {}", member, e);
+        }
+    }
+}
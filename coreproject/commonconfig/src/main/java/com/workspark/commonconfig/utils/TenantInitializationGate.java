@@ -0,0 +1,93 @@
+package com.workspark.commonconfig.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Runs a per-tenant initialization once.
+ *
+ * <p>A tenant is either not started, initializing or initialized. The first caller for a tenant runs the
+ * initializer in its own thread; concurrent callers for the same tenant wait on the same future and see the
+ * same outcome. Once initialized, a call is a map lookup. A failed initialization goes back to not started,
+ * so the next caller tries again.</p>
+ */
+@Slf4j
+public class TenantInitializationGate {
+
+    private final Map<String, CompletableFuture<Void>> initializations = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes the tenant unless it is already initialized, waiting for an initialization in progress.
+     *
+     * @param tenantName  the tenant name
+     * @param initializer initialization to run the first time
+     * @throws RuntimeException the failure of the initializer, to every caller waiting for it
+     * @throws Error             an error thrown by the initializer, to every caller waiting for it
+     */
+    public void awaitInitialized(String tenantName, Consumer<String> initializer) {
+        CompletableFuture<Void> initialization = initializations.get(tenantName);
+        if (initialization != null && initialization.isDone() && !initialization.isCompletedExceptionally()) {
+            return;
+        }
+
+        if (initialization == null) {
+            CompletableFuture<Void> started = new CompletableFuture<>();
+            initialization = initializations.putIfAbsent(tenantName, started);
+            if (initialization == null) {
+                initialization = started;
+                initialize(tenantName, started, initializer);
+            }
+        }
+
+        if (!initialization.isDone()) {
+            log.debug("Waiting for the initialization of tenant {} started by another request.", tenantName);
+        }
+        try {
+            initialization.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param tenantName the tenant name
+     * @return true if the tenant was initialized successfully
+     */
+    public boolean isInitialized(String tenantName) {
+        CompletableFuture<Void> initialization = initializations.get(tenantName);
+        return initialization != null && initialization.isDone() && !initialization.isCompletedExceptionally();
+    }
+
+    /**
+     * Forgets a finished initialization so that the next call runs the initializer again.
+     * An initialization in progress is left alone.
+     *
+     * @param tenantName the tenant name
+     */
+    public void reset(String tenantName) {
+        initializations.computeIfPresent(tenantName, (tenant, initialization) -> initialization.isDone() ? null : initialization);
+    }
+
+    private void initialize(String tenantName, CompletableFuture<Void> started, Consumer<String> initializer) {
+        try {
+            initializer.accept(tenantName);
+            started.complete(null);
+        } catch (Throwable e) {
+            // back to not started before waking up the waiters, so that the next request retries; errors too,
+            // or the waiters would block forever
+            initializations.remove(tenantName, started);
+            started.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.workspark.commonconfig.utils;
+
+import com.workspark.commonconfig.models.pojo.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates timers tagged with the tenant of the current request, through the {@link TenantTagPolicy}.
+ * Timers are cached, so that the meter registry is not searched on every call.
+ *
+ * <p>Call sites on a hot path create a {@link TenantTimer} once and keep it in a field: getting the timer of the
+ * current tenant from it allocates nothing. {@link #timer(String, String...)} is meant for tags only known at
+ * the time of the call.</p>
+ */
+public class TenantMetrics {
+
+    /**
+     * Name of the tenant tag.
+     */
+    public static final String TENANT_TAG = "tenant";
+
+    private final MeterRegistry meterRegistry;
+    private final TenantTagPolicy tenantTagPolicy;
+    // name -> tags -> timers of the tenants
+    private final Map<String, Map<List<String>, TenantTimer>> tenantTimers = new ConcurrentHashMap<>();
+
+    public TenantMetrics(MeterRegistry meterRegistry, TenantTagPolicy tenantTagPolicy) {
+        this.meterRegistry = meterRegistry;
+        this.tenantTagPolicy = tenantTagPolicy;
+    }
+
+    /**
+     * @return the tag value of the current tenant
+     */
+    public String currentTenantTag() {
+        return tenantTagPolicy.tag(TenantContext.getCurrentTenant());
+    }
+
+    /**
+     * Returns the timers of a name and tags, for all tenants. Keep it in a field of the call site.
+     *
+     * @param name timer name
+     * @param tags additional tags as key and value pairs, with bounded values
+     *
+     * @return the tenant timers
+     */
+    public TenantTimer tenantTimer(String name, String... tags) {
+        return tenantTimers.computeIfAbsent(name, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(List.of(tags), ignored -> new TenantTimer(name, tags.clone()));
+    }
+
+    /**
+     * Returns the timer of the current tenant.
+     *
+     * @param name timer name
+     * @param tags additional tags as key and value pairs, with bounded values
+     *
+     * @return the timer
+     */
+    public Timer timer(String name, String... tags) {
+        Map<List<String>, TenantTimer> timersByTags = tenantTimers.get(name);
+        // the varargs array is already allocated by the caller, the list only wraps it
+        TenantTimer tenantTimer = timersByTags != null ? timersByTags.get(Arrays.asList(tags)) : null;
+        if (tenantTimer == null) {
+            tenantTimer = tenantTimer(name, tags);
+        }
+        return tenantTimer.get();
+    }
+
+    /**
+     * Timers of one name and set of tags, one per tenant tag value.
+     */
+    public final class TenantTimer {
+
+        private final String name;
+        private final String[] tags;
+        private final Map<String, Timer> timersByTenant = new ConcurrentHashMap<>();
+
+        private TenantTimer(String name, String[] tags) {
+            this.name = name;
+            this.tags = tags;
+        }
+
+        /**
+         * @return the timer of the current tenant
+         */
+        public Timer get() {
+            String tenant = currentTenantTag();
+            Timer timer = timersByTenant.get(tenant);
+            if (timer == null) {
+                timer = timersByTenant.computeIfAbsent(tenant, ignored -> Timer.builder(name)
+                        .tags(tags)
+                        .tag(TENANT_TAG, tenant)
+                        .register(meterRegistry));
+            }
+            return timer;
+        }
+    }
+}
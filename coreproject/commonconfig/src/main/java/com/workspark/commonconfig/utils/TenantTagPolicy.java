@@ -0,0 +1,63 @@
+package com.workspark.commonconfig.utils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Maps tenants to the value of the {@code tenant} meter tag, with a bounded number of values.
+ *
+ * <p>Only known tenants get their own value, the first {@code maxTenants} of them seen; unknown tenants and
+ * later ones share {@value #OTHER}, and requests without a tenant are tagged {@value #NONE}. Tenant names come
+ * from request headers: checking them keeps a client from taking the values with made up names, and the bound
+ * keeps the number of time series limited whatever the number of tenants.</p>
+ */
+public class TenantTagPolicy {
+
+    /**
+     * Tag value of the tenants over the limit.
+     */
+    public static final String OTHER = "other";
+
+    /**
+     * Tag value of the requests without a tenant.
+     */
+    public static final String NONE = "none";
+
+    private final int maxTenants;
+    private final Predicate<String> knownTenant;
+    private final Set<String> tenants = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param maxTenants  the maximum number of tenants with their own value
+     * @param knownTenant whether a tenant is onboarded, only called for tenants without a value yet
+     */
+    public TenantTagPolicy(int maxTenants, Predicate<String> knownTenant) {
+        this.maxTenants = maxTenants;
+        this.knownTenant = knownTenant;
+    }
+
+    /**
+     * @param tenant the tenant, may be null
+     *
+     * @return the tag value of the tenant
+     */
+    public String tag(String tenant) {
+        if (tenant == null || tenant.isBlank()) {
+            return NONE;
+        }
+        if (tenants.contains(tenant)) {
+            return tenant;
+        }
+        if (!knownTenant.test(tenant)) {
+            return OTHER;
+        }
+        synchronized (tenants) {
+            if (tenants.size() < maxTenants) {
+                tenants.add(tenant);
+                return tenant;
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,81 @@
+package com.workspark.commonconfig.benchmark;
+
+import com.workspark.commonconfig.utils.TenantInitializationGate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Per-request overhead of the tenant schema check in {@code LiquibaseTenantConfigFilter}.
+ *
+ * <p>{@code everyRequest} is the previous behaviour: the migration check runs for each request.
+ * {@code gated} goes through {@link TenantInitializationGate}, where only the first request runs it.
+ * The check is simulated by parking the thread for {@code migrationCheckMicros}, standing in for the
+ * connection checkout, {@code SHOW DATABASES LIKE} and the Liquibase changelog comparison round trips.</p>
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.workspark.commonconfig.benchmark.TenantInitializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class TenantInitializationBenchmark {
+
+    private static final String[] TENANTS = {"mindfire", "acme", "globex", "initech"};
+
+    @Param({"200", "2000"})
+    public long migrationCheckMicros;
+
+    private TenantInitializationGate tenantInitializationGate;
+
+    @Setup
+    public void setUp() {
+        tenantInitializationGate = new TenantInitializationGate();
+    }
+
+    @Benchmark
+    public void everyRequest() {
+        migrationCheck(tenant());
+    }
+
+    @Benchmark
+    public void gated() {
+        tenantInitializationGate.awaitInitialized(tenant(), this::migrationCheck);
+    }
+
+    private void migrationCheck(String tenantName) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(migrationCheckMicros));
+    }
+
+    private static String tenant() {
+        return TENANTS[(int) (Thread.currentThread().threadId() % TENANTS.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TenantInitializationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
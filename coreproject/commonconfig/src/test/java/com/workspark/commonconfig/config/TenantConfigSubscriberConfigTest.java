@@ -0,0 +1,33 @@
+package com.workspark.commonconfig.config;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantRegistryProperties;
+import com.workspark.commonconfig.models.pojo.TenantConfigChangedEvent;
+import com.workspark.commonconfig.service.TenantSchemaRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+class TenantConfigSubscriberConfigTest {
+
+    @Test
+    void testChangeEvictsTheTenantBeforePublishingTheEvent() {
+        TenantSchemaRegistry tenantSchemaRegistry = mock(TenantSchemaRegistry.class);
+        ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+        TenantConfigSubscriberConfig subscriberConfig = new TenantConfigSubscriberConfig(tenantSchemaRegistry,
+                new TenantRegistryProperties(), applicationEventPublisher);
+
+        subscriberConfig.tenantConfigListener().onMessage(new DefaultMessage(
+                "tenant-config".getBytes(StandardCharsets.UTF_8), "acme".getBytes(StandardCharsets.UTF_8)), null);
+
+        // the migration triggered by the event must see the refreshed schema
+        InOrder inOrder = inOrder(tenantSchemaRegistry, applicationEventPublisher);
+        inOrder.verify(tenantSchemaRegistry).evict("acme");
+        inOrder.verify(applicationEventPublisher).publishEvent(new TenantConfigChangedEvent("acme"));
+    }
+}
@@ -0,0 +1,238 @@
+package com.workspark.commonconfig.config;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.DefaultDataSourceProperties;
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantPoolProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantDataSourceManagerTest {
+
+    private TenantPoolProperties poolProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private TenantDataSourceManager tenantDataSourceManager;
+
+    @BeforeEach
+    void setUp() {
+        FakeDriver.CONNECTIONS.clear();
+        poolProperties = new TenantPoolProperties();
+        poolProperties.setDefaultPoolSize(1);
+        poolProperties.setPerTenantMaxConnections(2);
+        // the default pool and two tenant pools
+        poolProperties.setMaxTotalConnections(5);
+        poolProperties.setConnectionTimeout(Duration.ofMillis(250));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (tenantDataSourceManager != null) {
+            tenantDataSourceManager.close();
+        }
+    }
+
+    @Test
+    void testNewPoolFailsWhenTheBudgetIsHeldByBusyPools() throws SQLException {
+        tenantDataSourceManager = newManager("jdbc:fake://db/workspark");
+
+        try (Connection acme = tenantDataSourceManager.getDataSource("acme").getConnection();
+             Connection globex = tenantDataSourceManager.getDataSource("globex").getConnection()) {
+            DataSource initech = tenantDataSourceManager.getDataSource("initech");
+
+            SQLTransientConnectionException e = assertThrows(SQLTransientConnectionException.class,
+                    initech::getConnection);
+            assertTrue(e.getMessage().contains("exhausted"));
+        }
+        assertEquals(4.0, meterRegistry.get("workspark.tenant.pools.connections.allocated").gauge().value());
+    }
+
+    @Test
+    void testNewPoolClosesTheLeastRecentlyUsedIdlePool() throws Exception {
+        tenantDataSourceManager = newManager("jdbc:fake://db/workspark");
+        tenantDataSourceManager.getDataSource("acme").getConnection().close();
+        Thread.sleep(1);
+        tenantDataSourceManager.getDataSource("globex").getConnection().close();
+
+        try (Connection initech = tenantDataSourceManager.getDataSource("initech").getConnection()) {
+            assertEquals(0, FakeDriver.openConnections("jdbc:fake://db/acme"));
+            assertTrue(FakeDriver.openConnections("jdbc:fake://db/globex") > 0);
+            assertTrue(FakeDriver.openConnections("jdbc:fake://db/initech") > 0);
+        }
+        assertEquals(2.0, meterRegistry.get("workspark.tenant.pools.open").gauge().value());
+        assertEquals(4.0, meterRegistry.get("workspark.tenant.pools.connections.allocated").gauge().value());
+    }
+
+    @Test
+    void testSweepClosesOnlyIdlePools() throws Exception {
+        poolProperties.setIdleTimeout(Duration.ofMillis(1));
+        tenantDataSourceManager = newManager("jdbc:fake://db/workspark");
+        tenantDataSourceManager.getDataSource("acme").getConnection().close();
+
+        try (Connection globex = tenantDataSourceManager.getDataSource("globex").getConnection()) {
+            Thread.sleep(5);
+
+            tenantDataSourceManager.sweep();
+
+            assertEquals(0, FakeDriver.openConnections("jdbc:fake://db/acme"));
+            assertTrue(FakeDriver.openConnections("jdbc:fake://db/globex") > 0);
+            assertFalse(globex.isClosed());
+        }
+        assertEquals(2.0, meterRegistry.get("workspark.tenant.pools.connections.allocated").gauge().value());
+    }
+
+    @Test
+    void testClosedPoolIsOpenedAgainOnTheNextConnection() throws Exception {
+        poolProperties.setIdleTimeout(Duration.ofMillis(1));
+        tenantDataSourceManager = newManager("jdbc:fake://db/workspark");
+        DataSource acme = tenantDataSourceManager.getDataSource("acme");
+        acme.getConnection().close();
+        Thread.sleep(5);
+        tenantDataSourceManager.sweep();
+
+        try (Connection connection = acme.getConnection()) {
+            assertFalse(connection.isClosed());
+            assertSame(acme, tenantDataSourceManager.getDataSource("acme"));
+            assertTrue(FakeDriver.openConnections("jdbc:fake://db/acme") > 0);
+        }
+        assertEquals(2.0, meterRegistry.get("workspark.tenant.pools.connections.allocated").gauge().value());
+    }
+
+    @Test
+    void testSharedPoolRestoresTheDefaultSchemaOnReturn() throws SQLException {
+        poolProperties.setRoutingMode(TenantPoolProperties.RoutingMode.SHARED_POOL);
+        tenantDataSourceManager = newManager("jdbc:fake://db/workspark?useSSL=false");
+
+        try (Connection acme = tenantDataSourceManager.getDataSource("acme").getConnection()) {
+            assertEquals("acme", acme.getCatalog());
+        }
+
+        for (FakeConnection connection : FakeDriver.CONNECTIONS) {
+            assertEquals("workspark", connection.catalog);
+        }
+        try (Connection connection = tenantDataSourceManager.getDefaultDataSource().getConnection()) {
+            assertEquals("workspark", connection.getCatalog());
+        }
+    }
+
+    @Test
+    void testSharedPoolRequiresTheDefaultSchema() {
+        poolProperties.setRoutingMode(TenantPoolProperties.RoutingMode.SHARED_POOL);
+
+        assertThrows(IllegalStateException.class, () -> newManager("jdbc:fake://db:3306"));
+    }
+
+    private TenantDataSourceManager newManager(String url) {
+        DefaultDataSourceProperties dataSourceProperties = new DefaultDataSourceProperties();
+        dataSourceProperties.setUrl(url);
+        dataSourceProperties.setDriverClassName(FakeDriver.class.getName());
+        return new TenantDataSourceManager(dataSourceProperties, poolProperties, () -> 1, meterRegistry, null);
+    }
+
+    /**
+     * Physical connection handed out by {@link FakeDriver}, keeping the state the pools change.
+     */
+    static final class FakeConnection {
+
+        private final String url;
+        private volatile String catalog;
+        private volatile boolean closed;
+
+        private FakeConnection(String url) {
+            this.url = url;
+        }
+
+        private Connection proxy() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "setCatalog" -> {
+                            catalog = (String) args[0];
+                            yield null;
+                        }
+                        case "getCatalog" -> catalog;
+                        case "close", "abort" -> {
+                            closed = true;
+                            yield null;
+                        }
+                        case "isClosed" -> closed;
+                        case "isValid" -> !closed;
+                        case "getAutoCommit" -> true;
+                        case "getTransactionIsolation" -> Connection.TRANSACTION_READ_COMMITTED;
+                        case "isWrapperFor", "isReadOnly" -> false;
+                        case "getNetworkTimeout" -> 0;
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "FakeConnection[" + url + "]";
+                        default -> null;
+                    });
+        }
+    }
+
+    /**
+     * Driver accepting {@code jdbc:fake:} urls, instantiated by Hikari from its class name.
+     */
+    public static final class FakeDriver implements Driver {
+
+        static final List<FakeConnection> CONNECTIONS = new CopyOnWriteArrayList<>();
+
+        static long openConnections(String url) {
+            return CONNECTIONS.stream().filter(connection -> connection.url.equals(url) && !connection.closed).count();
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            FakeConnection connection = new FakeConnection(url);
+            CONNECTIONS.add(connection);
+            return connection.proxy();
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:fake:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
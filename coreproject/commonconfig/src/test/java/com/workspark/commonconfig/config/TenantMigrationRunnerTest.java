@@ -0,0 +1,122 @@
+package com.workspark.commonconfig.config;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantMigrationProperties;
+import com.workspark.commonconfig.models.pojo.TenantMigrationProgress;
+import com.workspark.commonconfig.service.TenantSchemaRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TenantMigrationRunnerTest {
+
+    private LiquibaseConfig liquibaseConfig;
+    private TenantSchemaRegistry tenantSchemaRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private TenantMigrationRunner tenantMigrationRunner;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        liquibaseConfig = mock(LiquibaseConfig.class);
+        tenantSchemaRegistry = mock(TenantSchemaRegistry.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+        TenantMigrationProperties properties = new TenantMigrationProperties();
+        properties.setParallelism(2);
+        tenantMigrationRunner = new TenantMigrationRunner(liquibaseConfig, tenantSchemaRegistry, properties,
+                meterRegistryProvider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantMigrationRunner.stop();
+    }
+
+    @Test
+    void testAtMostParallelismTenantsAreMigratedAtOnce() throws Exception {
+        when(tenantSchemaRegistry.getTenantNames()).thenReturn(Set.of("t1", "t2", "t3", "t4", "t5", "t6"));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return null;
+        }).when(liquibaseConfig).initializeSchema(anyString());
+
+        TenantMigrationProgress progress = tenantMigrationRunner.migrateAllTenants().get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, maxRunning.get());
+        assertEquals(6, progress.getCompleted());
+        assertTrue(progress.isDone());
+        assertSame(progress, tenantMigrationRunner.getProgress());
+        verify(tenantSchemaRegistry).reload();
+        verify(liquibaseConfig, never()).resetSchema(anyString());
+    }
+
+    @Test
+    void testFailedTenantsAreRecordedWithoutStoppingTheOthers() throws Exception {
+        when(tenantSchemaRegistry.getTenantNames()).thenReturn(Set.of("acme", "globex", "initech"));
+        doThrow(new IllegalStateException("Tenant not onboarded: globex"))
+                .when(liquibaseConfig).initializeSchema("globex");
+
+        TenantMigrationProgress progress = tenantMigrationRunner.migrateAllTenants().get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, progress.getCompleted());
+        assertEquals(1, progress.getFailed());
+        assertEquals("Tenant not onboarded: globex", progress.getFailures().get("globex"));
+        assertEquals(Set.of("acme", "globex", "initech"), progress.getDurations().keySet());
+        assertEquals(1, meterRegistry.get("workspark.tenant.migration").tag("outcome", "failure").timer().count());
+        assertEquals(2, meterRegistry.get("workspark.tenant.migration").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void testChangeOfAllTenantsMigratesThemAgain() throws Exception {
+        when(tenantSchemaRegistry.getTenantNames()).thenReturn(Set.of("acme", "globex"));
+        tenantMigrationRunner.migrateAllTenants().get(5, TimeUnit.SECONDS);
+
+        TenantMigrationProgress progress = tenantMigrationRunner
+                .migrateChangedTenants(TenantSchemaRegistry.ALL_TENANTS).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, progress.getTotal());
+        assertEquals(2, progress.getCompleted());
+        for (String tenantName : Set.of("acme", "globex")) {
+            // reset first, or the already migrated tenant would be skipped
+            InOrder inOrder = inOrder(liquibaseConfig);
+            inOrder.verify(liquibaseConfig).initializeSchema(tenantName);
+            inOrder.verify(liquibaseConfig).resetSchema(tenantName);
+            inOrder.verify(liquibaseConfig).initializeSchema(tenantName);
+        }
+    }
+
+    @Test
+    void testChangeOfOneTenantMigratesOnlyThatTenant() throws Exception {
+        TenantMigrationProgress progress = tenantMigrationRunner.migrateChangedTenants("acme")
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, progress.getTotal());
+        InOrder inOrder = inOrder(liquibaseConfig);
+        inOrder.verify(liquibaseConfig).resetSchema("acme");
+        inOrder.verify(liquibaseConfig).initializeSchema("acme");
+        verify(liquibaseConfig, never()).initializeSchema("globex");
+    }
+}
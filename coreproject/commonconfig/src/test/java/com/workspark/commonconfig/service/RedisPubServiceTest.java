@@ -0,0 +1,48 @@
+package com.workspark.commonconfig.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workspark.models.pojo.Email;
+import com.workspark.models.pojo.Notification;
+import com.workspark.observability.tracing.FinishedSpan;
+import com.workspark.observability.tracing.InMemorySpanExporter;
+import com.workspark.observability.tracing.Span;
+import com.workspark.observability.tracing.TraceContext;
+import com.workspark.observability.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RedisPubServiceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPublishedNotificationContinuesTheTrace() throws Exception {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        InMemorySpanExporter spanExporter = new InMemorySpanExporter();
+        Tracer tracer = new Tracer("authenticationservice", spanExporter);
+        RedisPubService redisPubService = new RedisPubService(redisTemplate, new ChannelTopic("message"), tracer);
+
+        Span request = tracer.startTrace("POST /auth/public/signup", "rid-1");
+        try (Tracer.Scope ignored = tracer.activate(request.context())) {
+            redisPubService.publish(Notification.builder().email(Email.builder().toEmail("a@b.c").build()).build());
+        }
+
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq("message"), message.capture());
+        Notification published = new ObjectMapper().readValue((String) message.getValue(), Notification.class);
+        TraceContext received = TraceContext.parse(published.getTraceparent(), published.getRequestId());
+
+        FinishedSpan publishSpan = spanExporter.getFinishedSpans().get(0);
+        assertEquals("redis.publish", publishSpan.name());
+        assertEquals(request.context().spanId(), publishSpan.parentSpanId());
+        assertEquals(request.context().traceId(), received.traceId());
+        assertEquals(publishSpan.spanId(), received.spanId());
+        assertEquals("rid-1", received.requestId());
+    }
+}
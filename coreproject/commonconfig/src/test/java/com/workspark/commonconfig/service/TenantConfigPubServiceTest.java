@@ -0,0 +1,23 @@
+package com.workspark.commonconfig.service;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantRegistryProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class TenantConfigPubServiceTest {
+
+    @Test
+    void testChangeIsPublishedOnTheConfiguredChannel() {
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        TenantRegistryProperties properties = new TenantRegistryProperties();
+        properties.setChannel("tenant-config-test");
+        TenantConfigPubService tenantConfigPubService = new TenantConfigPubService(stringRedisTemplate, properties);
+
+        tenantConfigPubService.publishTenantChanged("acme");
+
+        verify(stringRedisTemplate).convertAndSend("tenant-config-test", "acme");
+    }
+}
@@ -0,0 +1,94 @@
+package com.workspark.commonconfig.service.impl;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.AuthUserCacheProperties;
+import com.workspark.commonconfig.models.entity.RedisAuthUser;
+import com.workspark.commonconfig.repository.RedisAuthUserRepository;
+import com.workspark.observability.tracing.Tracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisAuthUserServiceImplTest {
+
+    private RedisAuthUserRepository redisUserRepository;
+    private StringRedisTemplate stringRedisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private RedisAuthUserServiceImpl redisAuthUserService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisUserRepository = mock(RedisAuthUserRepository.class);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<MeterRegistry>>getArgument(0).accept(meterRegistry);
+            return null;
+        }).when(meterRegistryProvider).ifAvailable(any());
+        redisAuthUserService = new RedisAuthUserServiceImpl(redisUserRepository, stringRedisTemplate,
+                new AuthUserCacheProperties(), meterRegistryProvider, Tracer.noop());
+    }
+
+    @Test
+    void testRepeatedLookupsReadRedisOnce() {
+        RedisAuthUser user = RedisAuthUser.builder().redisUserId("user-1").build();
+        when(redisUserRepository.findById("user-1")).thenReturn(Optional.of(user));
+
+        assertSame(user, redisAuthUserService.getUser("user-1").orElseThrow());
+        assertSame(user, redisAuthUserService.getUser("user-1").orElseThrow());
+
+        verify(redisUserRepository, times(1)).findById("user-1");
+        assertEquals(1.0, meterRegistry.get("workspark.auth.user.cache.redis.saved").functionCounter().count());
+        assertEquals(0.5, meterRegistry.get("workspark.auth.user.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void testSaveEvictsAndPublishes() {
+        RedisAuthUser user = RedisAuthUser.builder().redisUserId("user-1").build();
+        when(redisUserRepository.findById("user-1")).thenReturn(Optional.empty(), Optional.of(user));
+
+        assertTrue(redisAuthUserService.getUser("user-1").isEmpty());
+        redisAuthUserService.saveUser(user);
+
+        assertSame(user, redisAuthUserService.getUser("user-1").orElseThrow());
+        verify(stringRedisTemplate).convertAndSend("auth-user", "user-1");
+    }
+
+    @Test
+    void testEvictCachedUserReadsRedisAgain() {
+        when(redisUserRepository.findById("user-1")).thenReturn(Optional.of(new RedisAuthUser()));
+
+        redisAuthUserService.getUser("user-1");
+        redisAuthUserService.evictCachedUser("user-1");
+        redisAuthUserService.getUser("user-1");
+
+        verify(redisUserRepository, times(2)).findById("user-1");
+    }
+
+    @Test
+    void testFailedLookupIsNotCached() {
+        RedisAuthUser user = RedisAuthUser.builder().redisUserId("user-1").build();
+        when(redisUserRepository.findById("user-1"))
+                .thenThrow(new QueryTimeoutException("redis down"))
+                .thenReturn(Optional.of(user));
+
+        assertTrue(redisAuthUserService.getUser("user-1").isEmpty());
+        assertSame(user, redisAuthUserService.getUser("user-1").orElseThrow());
+    }
+}
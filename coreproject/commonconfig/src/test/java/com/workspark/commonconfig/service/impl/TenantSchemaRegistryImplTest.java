@@ -0,0 +1,170 @@
+package com.workspark.commonconfig.service.impl;
+
+import com.workspark.commonconfig.config.applicationConfigProperties.TenantRegistryProperties;
+import com.workspark.commonconfig.service.TenantSchemaRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TenantSchemaRegistryImplTest {
+
+    private Connection connection;
+    private PreparedStatement tenantStatement;
+    private TenantSchemaRegistryImpl tenantSchemaRegistry;
+    // tenant schemas returned by the per-tenant query
+    private Map<String, String> storedSchemas = Map.of();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        tenantStatement = mock(PreparedStatement.class);
+        String[] tenantParameter = new String[1];
+        when(connection.prepareStatement(TenantSchemaRegistryImpl.TENANT_QUERY)).thenReturn(tenantStatement);
+        doAnswer(invocation -> tenantParameter[0] = invocation.getArgument(1))
+                .when(tenantStatement).setString(eq(1), anyString());
+        when(tenantStatement.executeQuery()).thenAnswer(invocation -> {
+            String schema = storedSchemas.get(tenantParameter[0]);
+            return schema != null ? resultSet(new String[]{schema}) : resultSet();
+        });
+        tenantSchemaRegistry = new TenantSchemaRegistryImpl(dataSource, new TenantRegistryProperties());
+    }
+
+    @Test
+    void testReloadReplacesTheKnownTenants() throws SQLException {
+        givenActiveTenants(new String[]{"acme", "acme_db"}, new String[]{"globex", "globex_db"});
+        tenantSchemaRegistry.reload();
+        assertEquals(Set.of("acme", "globex"), tenantSchemaRegistry.getTenantNames());
+
+        givenActiveTenants(new String[]{"acme", "acme_db"});
+        tenantSchemaRegistry.reload();
+
+        assertEquals(Set.of("acme"), tenantSchemaRegistry.getTenantNames());
+        assertEquals("acme_db", tenantSchemaRegistry.getTenantSchema("acme"));
+    }
+
+    @Test
+    void testFailedReloadKeepsTheKnownTenants() throws SQLException {
+        givenActiveTenants(new String[]{"acme", "acme_db"});
+        tenantSchemaRegistry.reload();
+        when(connection.prepareStatement(TenantSchemaRegistryImpl.ALL_TENANTS_QUERY))
+                .thenThrow(new SQLTransientConnectionException("database down"));
+
+        tenantSchemaRegistry.reload();
+
+        assertEquals("acme_db", tenantSchemaRegistry.getTenantSchema("acme"));
+    }
+
+    @Test
+    void testKnownTenantIsServedFromMemory() throws SQLException {
+        givenActiveTenants(new String[]{"acme", "acme_db"});
+        tenantSchemaRegistry.reload();
+
+        assertEquals("acme_db", tenantSchemaRegistry.getTenantSchema("acme"));
+        assertEquals("acme_db", tenantSchemaRegistry.getTenantSchema("acme"));
+
+        verify(connection, never()).prepareStatement(TenantSchemaRegistryImpl.TENANT_QUERY);
+    }
+
+    @Test
+    void testEvictRefreshesOnlyThatTenant() throws SQLException {
+        givenActiveTenants(new String[]{"acme", "acme_db"}, new String[]{"globex", "globex_db"});
+        tenantSchemaRegistry.reload();
+        storedSchemas = Map.of("acme", "acme_v2", "globex", "globex_v2");
+
+        tenantSchemaRegistry.evict("acme");
+
+        assertEquals("acme_v2", tenantSchemaRegistry.getTenantSchema("acme"));
+        assertEquals("globex_db", tenantSchemaRegistry.getTenantSchema("globex"));
+        verify(connection, times(1)).prepareStatement(TenantSchemaRegistryImpl.TENANT_QUERY);
+    }
+
+    @Test
+    void testEvictAllTenantsReloads() throws SQLException {
+        givenActiveTenants(new String[]{"acme", "acme_db"});
+        tenantSchemaRegistry.reload();
+        givenActiveTenants(new String[]{"globex", "globex_db"});
+
+        tenantSchemaRegistry.evict(TenantSchemaRegistry.ALL_TENANTS);
+
+        assertEquals(Set.of("globex"), tenantSchemaRegistry.getTenantNames());
+    }
+
+    @Test
+    void testMissFallsBackToTheDatabaseOnce() throws SQLException {
+        givenActiveTenants();
+        tenantSchemaRegistry.reload();
+        storedSchemas = Map.of("acme", "acme_db");
+
+        assertEquals("acme_db", tenantSchemaRegistry.getTenantSchema("acme"));
+        assertEquals("acme_db", tenantSchemaRegistry.getTenantSchema("acme"));
+
+        assertEquals(Set.of("acme"), tenantSchemaRegistry.getTenantNames());
+        verify(connection, times(1)).prepareStatement(TenantSchemaRegistryImpl.TENANT_QUERY);
+    }
+
+    @Test
+    void testUnknownTenantIsRememberedUntilEvicted() throws SQLException {
+        givenActiveTenants();
+        tenantSchemaRegistry.reload();
+
+        assertNull(tenantSchemaRegistry.getTenantSchema("acme"));
+        assertNull(tenantSchemaRegistry.getTenantSchema("acme"));
+        verify(connection, times(1)).prepareStatement(TenantSchemaRegistryImpl.TENANT_QUERY);
+
+        // onboarded, and its change published
+        storedSchemas = Map.of("acme", "acme_db");
+        tenantSchemaRegistry.evict("acme");
+
+        assertEquals("acme_db", tenantSchemaRegistry.getTenantSchema("acme"));
+    }
+
+    @Test
+    void testDatabaseErrorIsNotRememberedAsUnknown() throws SQLException {
+        givenActiveTenants();
+        tenantSchemaRegistry.reload();
+        when(connection.prepareStatement(TenantSchemaRegistryImpl.TENANT_QUERY))
+                .thenThrow(new SQLTransientConnectionException("database down"))
+                .thenReturn(tenantStatement);
+        storedSchemas = Map.of("acme", "acme_db");
+
+        assertNull(tenantSchemaRegistry.getTenantSchema("acme"));
+        assertEquals("acme_db", tenantSchemaRegistry.getTenantSchema("acme"));
+    }
+
+    private void givenActiveTenants(String[]... rows) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(TenantSchemaRegistryImpl.ALL_TENANTS_QUERY)).thenReturn(statement);
+        when(statement.executeQuery()).thenAnswer(invocation -> resultSet(rows));
+    }
+
+    private static ResultSet resultSet(String[]... rows) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        AtomicInteger row = new AtomicInteger(-1);
+        when(resultSet.next()).thenAnswer(invocation -> row.incrementAndGet() < rows.length);
+        when(resultSet.getString(anyInt()))
+                .thenAnswer(invocation -> rows[row.get()][(int) invocation.getArgument(0) - 1]);
+        return resultSet;
+    }
+}
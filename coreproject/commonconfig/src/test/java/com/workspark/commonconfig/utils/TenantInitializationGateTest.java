@@ -0,0 +1,141 @@
+package com.workspark.commonconfig.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantInitializationGateTest {
+
+    private final TenantInitializationGate tenantInitializationGate = new TenantInitializationGate();
+
+    @Test
+    void testInitializesOncePerTenant() {
+        AtomicInteger initializations = new AtomicInteger();
+
+        tenantInitializationGate.awaitInitialized("acme", tenant -> initializations.incrementAndGet());
+        tenantInitializationGate.awaitInitialized("acme", tenant -> initializations.incrementAndGet());
+        tenantInitializationGate.awaitInitialized("globex", tenant -> initializations.incrementAndGet());
+
+        assertEquals(2, initializations.get());
+        assertTrue(tenantInitializationGate.isInitialized("acme"));
+    }
+
+    @Test
+    void testConcurrentFirstRequestsShareOneInitialization() throws Exception {
+        AtomicInteger initializations = new AtomicInteger();
+        CountDownLatch initializationStarted = new CountDownLatch(1);
+        CountDownLatch releaseInitialization = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                requests.add(executor.submit(() -> tenantInitializationGate.awaitInitialized("acme", tenant -> {
+                    initializations.incrementAndGet();
+                    initializationStarted.countDown();
+                    await(releaseInitialization);
+                })));
+            }
+            assertTrue(initializationStarted.await(5, TimeUnit.SECONDS));
+            assertFalse(tenantInitializationGate.isInitialized("acme"));
+
+            releaseInitialization.countDown();
+            for (Future<?> request : requests) {
+                request.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, initializations.get());
+        assertTrue(tenantInitializationGate.isInitialized("acme"));
+    }
+
+    @Test
+    void testFailedInitializationIsRetried() {
+        AtomicInteger initializations = new AtomicInteger();
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> tenantInitializationGate.awaitInitialized("acme", tenant -> {
+                    initializations.incrementAndGet();
+                    throw new IllegalStateException("database down");
+                }));
+        assertEquals("database down", failure.getMessage());
+        assertFalse(tenantInitializationGate.isInitialized("acme"));
+
+        tenantInitializationGate.awaitInitialized("acme", tenant -> initializations.incrementAndGet());
+
+        assertEquals(2, initializations.get());
+        assertTrue(tenantInitializationGate.isInitialized("acme"));
+    }
+
+    @Test
+    void testErrorWakesUpWaitersAndIsRetried() throws Exception {
+        CountDownLatch initializationStarted = new CountDownLatch(1);
+        CountDownLatch releaseInitialization = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<Throwable> waiterFailure = new AtomicReference<>();
+        try {
+            Future<?> first = executor.submit(() -> tenantInitializationGate.awaitInitialized("acme", tenant -> {
+                initializationStarted.countDown();
+                await(releaseInitialization);
+                throw new NoClassDefFoundError("liquibase/Liquibase");
+            }));
+            assertTrue(initializationStarted.await(5, TimeUnit.SECONDS));
+            Thread waiter = new Thread(() -> {
+                try {
+                    tenantInitializationGate.awaitInitialized("acme", tenant -> {
+                    });
+                } catch (Throwable e) {
+                    waiterFailure.set(e);
+                }
+            });
+            waiter.start();
+            while (waiter.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+
+            releaseInitialization.countDown();
+
+            ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NoClassDefFoundError.class, firstFailure.getCause());
+            waiter.join(5_000);
+            assertInstanceOf(NoClassDefFoundError.class, waiterFailure.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        tenantInitializationGate.awaitInitialized("acme", tenant -> {
+        });
+        assertTrue(tenantInitializationGate.isInitialized("acme"));
+    }
+
+    @Test
+    void testResetRunsInitializationAgain() {
+        AtomicInteger initializations = new AtomicInteger();
+        tenantInitializationGate.awaitInitialized("acme", tenant -> initializations.incrementAndGet());
+
+        tenantInitializationGate.reset("acme");
+        tenantInitializationGate.awaitInitialized("acme", tenant -> initializations.incrementAndGet());
+
+        assertEquals(2, initializations.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
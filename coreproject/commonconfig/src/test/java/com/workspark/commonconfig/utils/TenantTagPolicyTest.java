@@ -0,0 +1,77 @@
+package com.workspark.commonconfig.utils;
+
+import com.workspark.commonconfig.models.pojo.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantTagPolicyTest {
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testTenantsOverTheLimitShareOneTag() {
+        TenantTagPolicy tenantTagPolicy = new TenantTagPolicy(2, tenant -> true);
+
+        assertEquals("acme", tenantTagPolicy.tag("acme"));
+        assertEquals("globex", tenantTagPolicy.tag("globex"));
+        assertEquals(TenantTagPolicy.OTHER, tenantTagPolicy.tag("initech"));
+        assertEquals("acme", tenantTagPolicy.tag("acme"));
+        assertEquals(TenantTagPolicy.NONE, tenantTagPolicy.tag(null));
+        assertEquals(TenantTagPolicy.NONE, tenantTagPolicy.tag(" "));
+    }
+
+    @Test
+    void testUnknownTenantsDoNotTakeATag() {
+        Set<String> onboarded = Set.of("acme", "globex");
+        TenantTagPolicy tenantTagPolicy = new TenantTagPolicy(2, onboarded::contains);
+
+        assertEquals(TenantTagPolicy.OTHER, tenantTagPolicy.tag("made-up-1"));
+        assertEquals(TenantTagPolicy.OTHER, tenantTagPolicy.tag("made-up-2"));
+        assertEquals("acme", tenantTagPolicy.tag("acme"));
+        assertEquals("globex", tenantTagPolicy.tag("globex"));
+    }
+
+    @Test
+    void testTimersAreTaggedWithTheCurrentTenant() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TenantMetrics tenantMetrics = new TenantMetrics(meterRegistry, new TenantTagPolicy(1, tenant -> true));
+
+        TenantContext.setCurrentTenant("acme");
+        tenantMetrics.timer("workspark.jasper.render", "operation", "pdf").record(Duration.ofMillis(5));
+        TenantContext.setCurrentTenant("globex");
+        tenantMetrics.timer("workspark.jasper.render", "operation", "pdf").record(Duration.ofMillis(5));
+        tenantMetrics.timer("workspark.jasper.render", "operation", "pdf").record(Duration.ofMillis(5));
+
+        assertEquals(1, meterRegistry.get("workspark.jasper.render").tag("tenant", "acme").timer().count());
+        assertEquals(2, meterRegistry.get("workspark.jasper.render").tag("tenant", "other").timer().count());
+        assertEquals(2, meterRegistry.getMeters().size());
+    }
+
+    @Test
+    void testTenantTimerIsSharedWithTheTimerLookup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TenantMetrics tenantMetrics = new TenantMetrics(meterRegistry, new TenantTagPolicy(10, tenant -> true));
+        TenantMetrics.TenantTimer pdfTimer = tenantMetrics.tenantTimer("workspark.jasper.render", "operation", "pdf");
+
+        TenantContext.setCurrentTenant("acme");
+        pdfTimer.get().record(Duration.ofMillis(5));
+        tenantMetrics.timer("workspark.jasper.render", "operation", "pdf").record(Duration.ofMillis(5));
+        TenantContext.setCurrentTenant("globex");
+        pdfTimer.get().record(Duration.ofMillis(5));
+
+        assertSame(pdfTimer, tenantMetrics.tenantTimer("workspark.jasper.render", "operation", "pdf"));
+        assertSame(pdfTimer.get(), pdfTimer.get());
+        assertEquals(2, meterRegistry.get("workspark.jasper.render").tag("tenant", "acme").timer().count());
+        assertEquals(1, meterRegistry.get("workspark.jasper.render").tag("tenant", "globex").timer().count());
+        assertEquals(2, meterRegistry.getMeters().size());
+    }
+}
@@ -13,4 +13,14 @@ public class Notification {
     private Email email;
 
     //Add more if required
+
+    /**
+     * W3C {@code traceparent} of the publishing span, set by the publisher so that the subscriber continues the trace.
+     */
+    private String traceparent;
+
+    /**
+     * Request id of the request that published the notification.
+     */
+    private String requestId;
 }
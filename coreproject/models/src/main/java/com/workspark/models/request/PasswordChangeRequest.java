@@ -0,0 +1,33 @@
+package com.workspark.models.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Change of the password of a user, who proves it with the current password. The email is only read from
+ * internal service calls; for a signed in user, the user of the request is changed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PasswordChangeRequest implements Serializable {
+
+	private String email;
+
+	@NotBlank(message = "Current password is required")
+	private String currentPassword;
+
+	@NotBlank(message = "New password is required")
+	private String newPassword;
+
+	@Override
+	public String toString() {
+		return "PasswordChangeRequest(email=" + email + ")";
+	}
+}
@@ -0,0 +1,33 @@
+package com.workspark.models.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Password a user just signed in with, to be hashed again with the current cost. Sent in the request body so
+ * that it never appears in a url or an access log.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PasswordUpdateRequest implements Serializable {
+
+	@NotBlank(message = "Email is required")
+	@Email(message = "Invalid email format")
+	private String email;
+
+	@NotBlank(message = "Password is required")
+	private String password;
+
+	@Override
+	public String toString() {
+		return "PasswordUpdateRequest(email=" + email + ")";
+	}
+}
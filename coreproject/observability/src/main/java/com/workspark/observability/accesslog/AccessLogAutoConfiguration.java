@@ -0,0 +1,47 @@
+package com.workspark.observability.accesslog;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Creates the access log writer shared by the request filters of the gateway and the services.
+ * Lines go to the {@value AccessLogWriter#LOGGER_NAME} logger; the number of written and dropped lines and the
+ * buffer occupancy are published as {@code workspark.access.log.*} meters.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "workspark.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogAutoConfiguration {
+
+    @Bean
+    @ConfigurationProperties(prefix = "workspark.access-log")
+    public AccessLogProperties accessLogProperties() {
+        return new AccessLogProperties();
+    }
+
+    @Bean(destroyMethod = "close")
+    public AccessLogWriter accessLogWriter(AccessLogProperties accessLogProperties,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        Logger accessLogger = LoggerFactory.getLogger(AccessLogWriter.LOGGER_NAME);
+        AccessLogWriter accessLogWriter = new AccessLogWriter(accessLogProperties, accessLogger::info);
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("workspark.access.log.written", accessLogWriter, AccessLogWriter::getWrittenCount)
+                    .description("Access log lines written")
+                    .register(registry);
+            FunctionCounter.builder("workspark.access.log.dropped", accessLogWriter, AccessLogWriter::getDroppedCount)
+                    .description("Sampled requests not logged because the access log buffer was full")
+                    .register(registry);
+            Gauge.builder("workspark.access.log.pending", accessLogWriter, AccessLogWriter::getPendingCount)
+                    .description("Requests waiting to be written to the access log")
+                    .register(registry);
+        });
+        return accessLogWriter;
+    }
+}
@@ -0,0 +1,22 @@
+package com.workspark.observability.accesslog;
+
+import lombok.Builder;
+
+/**
+ * One served request, as captured by the access log filters.
+ *
+ * @param startedAt     epoch millis at which the request was received
+ * @param requestId     request id shared by all hops, if known
+ * @param tenant        tenant of the request, if known
+ * @param userId        authenticated user, if known
+ * @param method        HTTP method
+ * @param route         gateway route id or handler pattern, if known
+ * @param path          request path
+ * @param query         raw query string, redacted when the line is written
+ * @param status        response status, 0 if the request was cancelled before a response
+ * @param durationNanos time spent serving the request
+ */
+@Builder
+public record AccessLogEvent(long startedAt, String requestId, String tenant, String userId, String method,
+                             String route, String path, String query, int status, long durationNanos) {
+}
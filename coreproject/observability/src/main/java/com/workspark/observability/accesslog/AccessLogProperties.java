@@ -0,0 +1,49 @@
+package com.workspark.observability.accesslog;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of the access log, bound to {@code workspark.access-log}.
+ */
+@Data
+public class AccessLogProperties {
+
+    /**
+     * Write one access log line per request.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of requests buffered for the writer thread, rounded up to a power of two. Requests arriving while
+     * the buffer is full are not logged and counted as dropped.
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * Share of requests logged, from 0 to 1, for routes without their own rate.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Share of requests logged per route id (gateway) or handler pattern (services).
+     */
+    private Map<String, Double> routeSampleRates = new HashMap<>();
+
+    /**
+     * Requests slower than this, and failed requests (status 5xx), are logged whatever the sample rate.
+     */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    /**
+     * Query parameters whose values are replaced by {@code ***}. Matched ignoring case.
+     */
+    private Set<String> redactedParameters = new LinkedHashSet<>(List.of(
+            "token", "access_token", "refresh_token", "id_token", "password", "secret", "code", "api_key", "apikey"));
+}
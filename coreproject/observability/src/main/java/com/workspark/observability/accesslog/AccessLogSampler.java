@@ -0,0 +1,36 @@
+package com.workspark.observability.accesslog;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which requests are written to the access log. Failed (5xx) and slow requests are always kept,
+ * the others with the sample rate of their route.
+ */
+public final class AccessLogSampler {
+
+    private final double sampleRate;
+    private final Map<String, Double> routeSampleRates;
+    private final long slowThresholdNanos;
+
+    public AccessLogSampler(AccessLogProperties properties) {
+        this.sampleRate = properties.getSampleRate();
+        this.routeSampleRates = Map.copyOf(properties.getRouteSampleRates());
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    /**
+     * @param route         gateway route id or handler pattern, may be null
+     * @param status        response status
+     * @param durationNanos time spent serving the request
+     *
+     * @return true if the request should be logged
+     */
+    public boolean shouldLog(String route, int status, long durationNanos) {
+        if (status >= 500 || durationNanos >= slowThresholdNanos) {
+            return true;
+        }
+        double rate = route != null ? routeSampleRates.getOrDefault(route, sampleRate) : sampleRate;
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
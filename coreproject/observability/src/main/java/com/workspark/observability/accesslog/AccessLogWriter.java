@@ -0,0 +1,209 @@
+package com.workspark.observability.accesslog;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Writes one structured line per request from a dedicated thread, so request threads never format or log.
+ *
+ * <p>Request threads only sample the request and put the event in a bounded ring buffer; they never block and
+ * never allocate beyond the event. When the buffer is full the event is dropped and counted. The writer thread
+ * redacts, formats and hands the line to the sink. Lines are in {@code key=value} form:</p>
+ *
+ * <pre>
+ * ts=2025-01-01T10:00:00.123Z rid=3f2a... tenant=acme user=9c1e... method=GET route=user-api
+ *     path=/user/profile query="lang=en&amp;token=***" status=200 duration_ms=12.408
+ * </pre>
+ */
+@Slf4j
+public class AccessLogWriter implements AutoCloseable {
+
+    /**
+     * Name of the logger receiving the access log lines.
+     */
+    public static final String LOGGER_NAME = "workspark.access";
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long CLOSE_TIMEOUT_MILLIS = 2_000;
+
+    private final AccessLogSampler sampler;
+    private final SecretRedactor redactor;
+    private final Consumer<String> sink;
+
+    private final AtomicReferenceArray<AccessLogEvent> ring;
+    private final int mask;
+    // next sequence claimed by a producer
+    private final AtomicLong head = new AtomicLong();
+    // next sequence read by the writer thread
+    private volatile long tail;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public AccessLogWriter(AccessLogProperties properties, Consumer<String> sink) {
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getBufferSize()) * 2 - 1);
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.sampler = new AccessLogSampler(properties);
+        this.redactor = new SecretRedactor(properties.getRedactedParameters());
+        this.sink = sink;
+        this.writerThread = new Thread(this::drainLoop, "access-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a request for logging, if it is sampled. Never blocks.
+     *
+     * @param event the served request
+     *
+     * @return true if the event was queued, false if it was not sampled or the buffer is full
+     */
+    public boolean submit(AccessLogEvent event) {
+        if (!running || !sampler.shouldLog(event.route(), event.status(), event.durationNanos())) {
+            return false;
+        }
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+        ring.lazySet((int) sequence & mask, event);
+        return true;
+    }
+
+    /**
+     * @return number of lines written since startup
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * @return number of sampled requests dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return number of requests waiting to be written
+     */
+    public int getPendingCount() {
+        return (int) (head.get() - tail);
+    }
+
+    /**
+     * Stops accepting requests, writes the pending ones and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder line = new StringBuilder(256);
+        while (running || tail != head.get()) {
+            long sequence = tail;
+            if (sequence == head.get()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            int index = (int) sequence & mask;
+            AccessLogEvent event = ring.get(index);
+            if (event == null) {
+                // claimed by a producer that has not stored its event yet
+                Thread.onSpinWait();
+                continue;
+            }
+            ring.set(index, null);
+            tail = sequence + 1;
+            try {
+                line.setLength(0);
+                format(event, line);
+                sink.accept(line.toString());
+                written.incrementAndGet();
+            } catch (RuntimeException e) {
+                log.warn("Unable to write access log line: {}", e.getMessage());
+            }
+        }
+    }
+
+    void format(AccessLogEvent event, StringBuilder line) {
+        line.append("ts=").append(Instant.ofEpochMilli(event.startedAt()));
+        appendField(line, "rid", event.requestId());
+        appendField(line, "tenant", event.tenant());
+        appendField(line, "user", event.userId());
+        appendField(line, "method", event.method());
+        appendField(line, "route", event.route());
+        appendField(line, "path", event.path());
+        if (event.query() != null && !event.query().isEmpty()) {
+            line.append(" query=\"");
+            int start = line.length();
+            redactor.appendRedactedQuery(event.query(), line);
+            escapeQuotes(line, start);
+            line.append('"');
+        }
+        line.append(" status=").append(event.status());
+        long micros = TimeUnit.NANOSECONDS.toMicros(event.durationNanos());
+        line.append(" duration_ms=").append(micros / 1000).append('.');
+        long fraction = micros % 1000;
+        if (fraction < 100) {
+            line.append(fraction < 10 ? "00" : "0");
+        }
+        line.append(fraction);
+    }
+
+    private static void appendField(StringBuilder line, String key, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        line.append(' ').append(key).append('=');
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c <= ' ' || c == '"' || c == '=';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        int start = line.length();
+        line.append(value);
+        escapeQuotes(line, start);
+        line.append('"');
+    }
+
+    /**
+     * Escapes quotes and control characters from {@code start} to the end of the line, so that a value cannot
+     * forge fields or lines.
+     */
+    private static void escapeQuotes(StringBuilder line, int start) {
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.insert(i++, '\\');
+            } else if (c < ' ') {
+                line.setCharAt(i, ' ');
+            }
+        }
+    }
+}
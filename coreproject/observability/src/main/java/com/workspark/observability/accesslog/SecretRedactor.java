@@ -0,0 +1,64 @@
+package com.workspark.observability.accesslog;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces the values of secret query parameters ({@code token}, {@code password}...) with {@code ***}.
+ */
+public final class SecretRedactor {
+
+    static final String MASK = "***";
+
+    private final Set<String> parameterNames;
+
+    public SecretRedactor(Collection<String> parameterNames) {
+        this.parameterNames = parameterNames.stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Appends the query string to the builder, with secret values masked.
+     *
+     * @param query raw query string, without the leading {@code ?}
+     * @param out   builder receiving the redacted query
+     */
+    public void appendRedactedQuery(String query, StringBuilder out) {
+        int start = 0;
+        int length = query.length();
+        while (start <= length) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = length;
+            }
+            int equals = query.indexOf('=', start);
+            if (equals >= 0 && equals < end && isSecret(query, start, equals)) {
+                out.append(query, start, equals + 1).append(MASK);
+            } else {
+                out.append(query, start, end);
+            }
+            if (end < length) {
+                out.append('&');
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * @param query raw query string
+     *
+     * @return the query string with secret values masked
+     */
+    public String redactQuery(String query) {
+        StringBuilder out = new StringBuilder(query.length());
+        appendRedactedQuery(query, out);
+        return out.toString();
+    }
+
+    private boolean isSecret(String query, int start, int end) {
+        return parameterNames.contains(query.substring(start, end).toLowerCase(Locale.ROOT));
+    }
+}
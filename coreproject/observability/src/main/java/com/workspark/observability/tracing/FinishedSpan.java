@@ -0,0 +1,22 @@
+package com.workspark.observability.tracing;
+
+import java.util.Map;
+
+/**
+ * A timed stage of a request, handed to the {@link SpanExporter}s once it has ended.
+ *
+ * @param service       application that recorded the span
+ * @param name          stage name; a template such as a route or a Feign method, never a raw path
+ * @param traceId       trace the span belongs to
+ * @param spanId        id of the span
+ * @param parentSpanId  id of the parent span, null for the first span of a trace
+ * @param requestId     request id created by the gateway, if known
+ * @param startedAt     epoch millis at which the span started
+ * @param durationNanos time spent in the stage
+ * @param tags          additional low cardinality attributes
+ * @param error         message of the exception that ended the stage, if any
+ */
+public record FinishedSpan(String service, String name, String traceId, String spanId, String parentSpanId,
+                           String requestId, long startedAt, long durationNanos, Map<String, String> tags,
+                           String error) {
+}
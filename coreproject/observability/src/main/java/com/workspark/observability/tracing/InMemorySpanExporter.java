@@ -0,0 +1,86 @@
+package com.workspark.observability.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the ended spans in memory, for tests and load runs without a collector. Register it as a bean and the
+ * tracer exports to it along with the other exporters.
+ *
+ * <p>At most {@code capacity} spans are kept; later spans are counted as dropped, so a long load run cannot
+ * exhaust the heap.</p>
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int capacity;
+    private final ConcurrentLinkedQueue<FinishedSpan> spans = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public InMemorySpanExporter() {
+        this(100_000);
+    }
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void export(FinishedSpan span) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        spans.add(span);
+    }
+
+    /**
+     * @return the ended spans, in the order they ended
+     */
+    public List<FinishedSpan> getFinishedSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * @return the spans of one trace, in the order they ended
+     */
+    public List<FinishedSpan> getTrace(String traceId) {
+        return spans.stream().filter(span -> span.traceId().equals(traceId)).toList();
+    }
+
+    /**
+     * @return the longest span
+     */
+    public Optional<FinishedSpan> getSlowestSpan() {
+        return spans.stream().max(Comparator.comparingLong(FinishedSpan::durationNanos));
+    }
+
+    /**
+     * @return the total time spent per span name, to find the stage that costs the most under load
+     */
+    public Map<String, Long> getTotalNanosByName() {
+        return spans.stream().collect(Collectors.groupingBy(FinishedSpan::name,
+                Collectors.summingLong(FinishedSpan::durationNanos)));
+    }
+
+    /**
+     * @return number of spans not kept because the exporter was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public void reset() {
+        spans.clear();
+        size.set(0);
+        dropped.set(0);
+    }
+}
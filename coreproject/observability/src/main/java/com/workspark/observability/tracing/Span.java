@@ -0,0 +1,79 @@
+package com.workspark.observability.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A stage being timed. Ending a span exports it; only the first call to {@link #end()} counts, so a span can be
+ * ended both from a success and a cancellation path. A span is used by one thread at a time.
+ */
+public class Span implements AutoCloseable {
+
+    private final Tracer tracer;
+    private final TraceContext context;
+    private final String parentSpanId;
+    private final long startedAt;
+    private final long startNanos;
+
+    private String name;
+    private Map<String, String> tags;
+    private String error;
+    private boolean ended;
+
+    Span(Tracer tracer, String name, TraceContext context, String parentSpanId) {
+        this.tracer = tracer;
+        this.name = name;
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.startedAt = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the context to propagate to the next hop, or to use as parent of nested stages
+     */
+    public TraceContext context() {
+        return context;
+    }
+
+    /**
+     * Renames the span, for stages whose name is only known at the end, such as the matched route.
+     */
+    public Span name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public Span tag(String key, String value) {
+        if (value != null) {
+            if (tags == null) {
+                tags = new LinkedHashMap<>();
+            }
+            tags.put(key, value);
+        }
+        return this;
+    }
+
+    public Span error(Throwable throwable) {
+        this.error = throwable.getMessage() != null ? throwable.getMessage() : throwable.getClass().getName();
+        return this;
+    }
+
+    /**
+     * Ends the span and exports it.
+     */
+    public void end() {
+        if (ended) {
+            return;
+        }
+        ended = true;
+        tracer.export(new FinishedSpan(tracer.getServiceName(), name, context.traceId(), context.spanId(),
+                parentSpanId, context.requestId(), startedAt, System.nanoTime() - startNanos,
+                tags != null ? tags : Map.of(), error));
+    }
+
+    @Override
+    public void close() {
+        end();
+    }
+}
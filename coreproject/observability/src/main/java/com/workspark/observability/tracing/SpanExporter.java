@@ -0,0 +1,11 @@
+package com.workspark.observability.tracing;
+
+/**
+ * Receives the spans ended by a {@link Tracer}. Called on the thread ending the span, so implementations must be
+ * fast, thread safe and must not throw.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+    void export(FinishedSpan span);
+}
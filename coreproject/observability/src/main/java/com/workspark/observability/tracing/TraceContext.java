@@ -0,0 +1,73 @@
+package com.workspark.observability.tracing;
+
+/**
+ * Identifies a span within a trace, and the request the trace belongs to. It is what travels between hops: in the
+ * W3C {@code traceparent} header and {@code X-RequestId} over HTTP, and inside the message for Redis pub/sub.
+ *
+ * @param traceId   32 lowercase hex characters, shared by all the spans of a request
+ * @param spanId    16 lowercase hex characters
+ * @param requestId request id created by the gateway, if known
+ */
+public record TraceContext(String traceId, String spanId, String requestId) {
+
+    /**
+     * W3C trace context header.
+     */
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    /**
+     * Header carrying the request id created by the gateway.
+     */
+    public static final String REQUEST_ID_HEADER = "X-RequestId";
+
+    private static final String VERSION = "00";
+    private static final String SAMPLED = "01";
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    /**
+     * @return the {@code traceparent} header value of this context
+     */
+    public String traceparent() {
+        return VERSION + '-' + traceId + '-' + spanId + '-' + SAMPLED;
+    }
+
+    /**
+     * Reads a context received from another hop.
+     *
+     * @param traceparent the {@code traceparent} value, may be null
+     * @param requestId   the request id, may be null
+     *
+     * @return the context, or null if the {@code traceparent} value is missing or malformed
+     */
+    public static TraceContext parse(String traceparent, String requestId) {
+        if (traceparent == null || traceparent.length() != TRACEPARENT_LENGTH
+                || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        String traceId = traceparent.substring(3, 35);
+        String spanId = traceparent.substring(36, 52);
+        if (!isHex(traceId) || !isHex(spanId) || isZero(traceId) || isZero(spanId)) {
+            return null;
+        }
+        return new TraceContext(traceId, spanId, requestId);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,142 @@
+package com.workspark.observability.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts spans and keeps the current trace context of servlet and listener threads.
+ *
+ * <p>Blocking code activates a context with {@link #activate(TraceContext)} and starts nested spans with
+ * {@link #startSpan(String)}; the HTTP clients read {@link #current()} to propagate it. Reactive code passes the
+ * context explicitly with {@link #startSpan(String, TraceContext)}. Spans are exported synchronously when they
+ * end; a failing exporter is logged and ignored.</p>
+ *
+ * <p>A disabled tracer still propagates the incoming context, so that a service with tracing disabled does not
+ * break the traces of the others, but exports nothing.</p>
+ */
+@Slf4j
+public class Tracer {
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String serviceName;
+    private final List<SpanExporter> exporters;
+    private final boolean enabled;
+
+    public Tracer(String serviceName, List<SpanExporter> exporters, boolean enabled) {
+        this.serviceName = serviceName;
+        this.exporters = List.copyOf(exporters);
+        this.enabled = enabled && !this.exporters.isEmpty();
+    }
+
+    public Tracer(String serviceName, SpanExporter exporter) {
+        this(serviceName, List.of(exporter), true);
+    }
+
+    /**
+     * @return a tracer propagating contexts without recording anything
+     */
+    public static Tracer noop() {
+        return new Tracer("noop", List.of(), false);
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    /**
+     * @return the context activated on this thread, or null
+     */
+    public TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the context current on this thread until the returned scope is closed, which restores the previous
+     * one.
+     */
+    public Scope activate(TraceContext context) {
+        TraceContext previous = CURRENT.get();
+        CURRENT.set(context);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Starts a span nested in the current context of this thread, or a new trace if there is none.
+     */
+    public Span startSpan(String name) {
+        return startSpan(name, current());
+    }
+
+    /**
+     * Starts a span nested in the given context.
+     *
+     * @param name   stage name
+     * @param parent context of the enclosing stage or of the calling hop; a new trace is started if null
+     */
+    public Span startSpan(String name, TraceContext parent) {
+        if (parent == null) {
+            return startTrace(name, null);
+        }
+        return new Span(this, name, new TraceContext(parent.traceId(), newId(8), parent.requestId()), parent.spanId());
+    }
+
+    /**
+     * Starts the first span of a new trace.
+     *
+     * @param name      stage name
+     * @param requestId request id of the trace, may be null
+     */
+    public Span startTrace(String name, String requestId) {
+        return new Span(this, name, new TraceContext(newId(16), newId(8), requestId), null);
+    }
+
+    void export(FinishedSpan span) {
+        if (!enabled) {
+            return;
+        }
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(span);
+            } catch (RuntimeException e) {
+                log.warn("Unable to export span {}: {}", span.name(), e.getMessage());
+            }
+        }
+    }
+
+    private static String newId(int bytes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] id = new char[bytes * 2];
+        long value = 0;
+        while (value == 0) {
+            // all-zero ids are invalid
+            value = random.nextLong();
+        }
+        for (int i = 0; i < id.length; i++) {
+            if (i == 16) {
+                value = random.nextLong();
+            }
+            id[i] = HEX[(int) (value >>> ((15 - i % 16) * 4)) & 0xF];
+        }
+        return new String(id);
+    }
+
+    /**
+     * Restores the previous context when closed.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
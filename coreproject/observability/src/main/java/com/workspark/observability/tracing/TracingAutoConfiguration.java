@@ -0,0 +1,37 @@
+package com.workspark.observability.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the {@link Tracer} shared by the filters and clients of the gateway and the services. Spans are
+ * exported to every {@link SpanExporter} bean, such as an {@link InMemorySpanExporter} declared by a test, and
+ * recorded as {@code workspark.trace.span} timers when a meter registry is available.
+ */
+@AutoConfiguration
+public class TracingAutoConfiguration {
+
+    @Bean
+    @ConfigurationProperties(prefix = "workspark.tracing")
+    public TracingProperties tracingProperties() {
+        return new TracingProperties();
+    }
+
+    @Bean
+    public Tracer tracer(TracingProperties tracingProperties, Environment environment,
+                         ObjectProvider<SpanExporter> spanExporters, ObjectProvider<MeterRegistry> meterRegistry) {
+        List<SpanExporter> exporters = new ArrayList<>(spanExporters.orderedStream().toList());
+        if (tracingProperties.isMetrics()) {
+            meterRegistry.ifAvailable(registry -> exporters.add(new MeterSpanExporter(registry)));
+        }
+        String serviceName = environment.getProperty("spring.application.name", "application");
+        return new Tracer(serviceName, exporters, tracingProperties.isEnabled());
+    }
+}
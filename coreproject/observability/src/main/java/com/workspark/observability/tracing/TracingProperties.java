@@ -0,0 +1,20 @@
+package com.workspark.observability.tracing;
+
+import lombok.Data;
+
+/**
+ * Settings of request tracing, bound to {@code workspark.tracing}.
+ */
+@Data
+public class TracingProperties {
+
+    /**
+     * Record spans. When disabled, the incoming trace context is still propagated to the next hops.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Record span durations as the {@code workspark.trace.span} timer.
+     */
+    private boolean metrics = true;
+}
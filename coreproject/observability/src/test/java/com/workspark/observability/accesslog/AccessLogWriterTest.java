@@ -0,0 +1,115 @@
+package com.workspark.observability.accesslog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogWriterTest {
+
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+    private AccessLogWriter accessLogWriter;
+
+    @AfterEach
+    void tearDown() {
+        if (accessLogWriter != null) {
+            accessLogWriter.close();
+        }
+    }
+
+    @Test
+    void testWritesOneRedactedLinePerRequest() {
+        accessLogWriter = new AccessLogWriter(new AccessLogProperties(), lines::add);
+
+        assertTrue(accessLogWriter.submit(event("user-api", "lang=en&token=eyJhbGciOi&Password=secret", 200)));
+        accessLogWriter.close();
+
+        assertEquals(1, lines.size());
+        String line = lines.get(0);
+        assertTrue(line.startsWith("ts=2025-01-01T10:00:00Z rid=req-1 tenant=acme user=user-1 method=GET"), line);
+        assertTrue(line.contains(" route=user-api path=/user/profile"), line);
+        assertTrue(line.contains(" query=\"lang=en&token=***&Password=***\""), line);
+        assertTrue(line.endsWith(" status=200 duration_ms=12.045"), line);
+        assertFalse(line.contains("eyJhbGciOi"));
+    }
+
+    @Test
+    void testValuesCannotForgeFieldsOrLines() {
+        accessLogWriter = new AccessLogWriter(new AccessLogProperties(), lines::add);
+        AccessLogEvent event = AccessLogEvent.builder()
+                .startedAt(0).method("GET").path("/a b\" status=500\nforged").status(200).build();
+
+        accessLogWriter.submit(event);
+        accessLogWriter.close();
+
+        assertEquals(" path=\"/a b\\\" status=500 forged\"", lines.get(0).substring(lines.get(0).indexOf(" path=")
+                , lines.get(0).indexOf(" status=200")));
+    }
+
+    @Test
+    void testRouteSampleRateSkipsSuccessfulRequestsOnly() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setRouteSampleRates(Map.of("health", 0.0));
+        properties.setSlowThreshold(Duration.ofMillis(100));
+        accessLogWriter = new AccessLogWriter(properties, lines::add);
+
+        assertFalse(accessLogWriter.submit(event("health", null, 200)));
+        assertTrue(accessLogWriter.submit(event("health", null, 503)));
+        assertTrue(accessLogWriter.submit(AccessLogEvent.builder().route("health").status(200)
+                .durationNanos(TimeUnit.MILLISECONDS.toNanos(150)).build()));
+        assertTrue(accessLogWriter.submit(event("user-api", null, 200)));
+        accessLogWriter.close();
+
+        assertEquals(3, lines.size());
+    }
+
+    @Test
+    void testFullBufferDropsInsteadOfBlocking() throws InterruptedException {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setBufferSize(4);
+        CountDownLatch release = new CountDownLatch(1);
+        accessLogWriter = new AccessLogWriter(properties, line -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lines.add(line);
+        });
+
+        int queued = 0;
+        for (int i = 0; i < 20; i++) {
+            if (accessLogWriter.submit(event("user-api", null, 200))) {
+                queued++;
+            }
+        }
+        release.countDown();
+        accessLogWriter.close();
+
+        assertTrue(queued <= 5, "queued " + queued);
+        assertEquals(20 - queued, accessLogWriter.getDroppedCount());
+        assertEquals(queued, lines.size());
+    }
+
+    private static AccessLogEvent event(String route, String query, int status) {
+        return AccessLogEvent.builder()
+                .startedAt(1735725600000L)
+                .requestId("req-1")
+                .tenant("acme")
+                .userId("user-1")
+                .method("GET")
+                .route(route)
+                .path("/user/profile")
+                .query(query)
+                .status(status)
+                .durationNanos(12_045_678)
+                .build();
+    }
+}
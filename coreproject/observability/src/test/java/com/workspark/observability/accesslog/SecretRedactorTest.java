@@ -0,0 +1,24 @@
+package com.workspark.observability.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretRedactorTest {
+
+    private final SecretRedactor secretRedactor = new SecretRedactor(List.of("token", "Password"));
+
+    @Test
+    void testMasksSecretValuesIgnoringCase() {
+        assertEquals("token=***", secretRedactor.redactQuery("token=abc"));
+        assertEquals("a=1&TOKEN=***&b=2&password=***", secretRedactor.redactQuery("a=1&TOKEN=abc&b=2&password=x"));
+    }
+
+    @Test
+    void testKeepsOtherParameters() {
+        assertEquals("tokens=abc&flag&=x&", secretRedactor.redactQuery("tokens=abc&flag&=x&"));
+        assertEquals("", secretRedactor.redactQuery(""));
+    }
+}
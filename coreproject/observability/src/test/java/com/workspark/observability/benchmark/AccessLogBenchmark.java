@@ -0,0 +1,138 @@
+package com.workspark.observability.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import com.workspark.observability.accesslog.AccessLogEvent;
+import com.workspark.observability.accesslog.AccessLogProperties;
+import com.workspark.observability.accesslog.AccessLogWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request thread cost of logging a request: the previous four synchronous INFO lines per request
+ * ({@code LogFilter}) against one event queued to the {@link AccessLogWriter}. Both write to a file through
+ * logback with the same pattern; with the writer, formatting and file I/O happen on the writer thread.
+ * {@code sampleRate} shows the additional gain of sampling.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.workspark.observability.benchmark.AccessLogBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class AccessLogBenchmark {
+
+    private static final String PATTERN = "%d{ISO8601} %-5level [%thread] %logger{36} - %msg%n";
+
+    @Param({"1.0", "0.1"})
+    public double sampleRate;
+
+    private LoggerContext loggerContext;
+    private Logger requestLogger;
+    private AccessLogWriter accessLogWriter;
+    private Path logDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        logDirectory = Files.createTempDirectory("access-log-benchmark");
+        loggerContext = new LoggerContext();
+        requestLogger = fileLogger("request", logDirectory.resolve("sync.log"));
+        Logger accessLogger = fileLogger(AccessLogWriter.LOGGER_NAME, logDirectory.resolve("access.log"));
+
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSampleRate(sampleRate);
+        accessLogWriter = new AccessLogWriter(properties, accessLogger::info);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        accessLogWriter.close();
+        loggerContext.stop();
+        try (var files = Files.list(logDirectory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(logDirectory);
+    }
+
+    @Benchmark
+    public void synchronousInfoLogging() {
+        String requestId = UUID.randomUUID().toString();
+        requestLogger.info("Start Request - Request ID: {}", requestId);
+        requestLogger.info("Request Method: {}, Request Path: {}, Query Params: {}", "GET", "/user/profile", "{lang=[en]}");
+        requestLogger.info("Response Status: {}, Request ID: {}", "200 OK", requestId);
+        requestLogger.info("End Request - Request ID: {}", requestId);
+    }
+
+    @Benchmark
+    public boolean asyncAccessLog() {
+        return accessLogWriter.submit(AccessLogEvent.builder()
+                .startedAt(System.currentTimeMillis())
+                .requestId(UUID.randomUUID().toString())
+                .tenant("acme")
+                .userId("user-1")
+                .method("GET")
+                .route("user-api")
+                .path("/user/profile")
+                .query("lang=en&token=eyJhbGciOiJIUzI1NiJ9")
+                .status(200)
+                .durationNanos(12_045_678)
+                .build());
+    }
+
+    private Logger fileLogger(String name, Path file) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(loggerContext);
+        appender.setFile(file.toString());
+        appender.setEncoder(encoder);
+        appender.start();
+
+        Logger logger = loggerContext.getLogger(name);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AccessLogBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
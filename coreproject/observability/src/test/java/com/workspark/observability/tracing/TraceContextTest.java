@@ -0,0 +1,25 @@
+package com.workspark.observability.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceContextTest {
+
+    @Test
+    void testTraceparentRoundTrip() {
+        TraceContext context = new TraceContext("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7", "rid-1");
+
+        assertEquals("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", context.traceparent());
+        assertEquals(context, TraceContext.parse(context.traceparent(), "rid-1"));
+    }
+
+    @Test
+    void testMalformedTraceparentIsIgnored() {
+        assertNull(TraceContext.parse(null, "rid-1"));
+        assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7", null));
+        assertNull(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01", null));
+        assertNull(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01", null));
+        assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01", null));
+    }
+}
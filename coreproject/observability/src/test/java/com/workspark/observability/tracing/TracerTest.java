@@ -0,0 +1,97 @@
+package com.workspark.observability.tracing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracerTest {
+
+    private InMemorySpanExporter spanExporter;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter = new InMemorySpanExporter();
+        tracer = new Tracer("userservice", spanExporter);
+    }
+
+    @Test
+    void testNestedSpansShareTheTrace() {
+        Span request = tracer.startTrace("GET /user/{id}", "rid-1");
+        try (Tracer.Scope ignored = tracer.activate(request.context())) {
+            tracer.startSpan("redis.auth-user").end();
+        }
+        request.end();
+
+        List<FinishedSpan> spans = spanExporter.getTrace(request.context().traceId());
+        assertEquals(2, spans.size());
+        FinishedSpan redis = spans.get(0);
+        FinishedSpan root = spans.get(1);
+        assertEquals("redis.auth-user", redis.name());
+        assertEquals(root.spanId(), redis.parentSpanId());
+        assertNull(root.parentSpanId());
+        assertEquals("rid-1", redis.requestId());
+        assertEquals("userservice", redis.service());
+        assertNotEquals(root.spanId(), redis.spanId());
+    }
+
+    @Test
+    void testSpanContinuesIncomingTrace() {
+        TraceContext incoming = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", "rid-1");
+
+        Span span = tracer.startSpan("GET /user/{id}", incoming);
+        span.end();
+
+        assertEquals(incoming.traceId(), span.context().traceId());
+        assertEquals("00f067aa0ba902b7", spanExporter.getFinishedSpans().get(0).parentSpanId());
+        assertNotNull(TraceContext.parse(span.context().traceparent(), null));
+    }
+
+    @Test
+    void testScopeRestoresPreviousContext() {
+        TraceContext outer = tracer.startTrace("outer", null).context();
+        TraceContext inner = tracer.startTrace("inner", null).context();
+
+        try (Tracer.Scope ignored = tracer.activate(outer)) {
+            try (Tracer.Scope ignoredToo = tracer.activate(inner)) {
+                assertSame(inner, tracer.current());
+            }
+            assertSame(outer, tracer.current());
+        }
+        assertNull(tracer.current());
+    }
+
+    @Test
+    void testSpanIsExportedOnce() {
+        Span span = tracer.startTrace("stage", null).tag("mode", "EMAIL").error(new IllegalStateException("down"));
+        span.end();
+        span.end();
+
+        assertEquals(1, spanExporter.getFinishedSpans().size());
+        assertEquals("down", spanExporter.getSlowestSpan().orElseThrow().error());
+        assertEquals("EMAIL", spanExporter.getFinishedSpans().get(0).tags().get("mode"));
+    }
+
+    @Test
+    void testDisabledTracerExportsNothing() {
+        Tracer disabled = new Tracer("userservice", List.of(spanExporter), false);
+
+        disabled.startTrace("stage", null).end();
+
+        assertTrue(spanExporter.getFinishedSpans().isEmpty());
+    }
+
+    @Test
+    void testFailingExporterDoesNotFailTheRequest() {
+        Tracer failing = new Tracer("userservice", List.of(span -> {
+            throw new IllegalStateException("collector down");
+        }, spanExporter), true);
+
+        failing.startTrace("stage", null).end();
+
+        assertEquals(1, spanExporter.getFinishedSpans().size());
+    }
+}
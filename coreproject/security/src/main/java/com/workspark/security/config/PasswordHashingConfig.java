@@ -0,0 +1,33 @@
+package com.workspark.security.config;
+
+import com.workspark.security.password.PasswordHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password hashing beans, for the services that store or check passwords
+ * ({@code workspark.password-hashing.enabled=true}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "workspark.password-hashing.enabled", havingValue = "true")
+public class PasswordHashingConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return new BCryptPasswordEncoder(passwordHashingProperties.getStrength());
+    }
+
+    @Bean(destroyMethod = "close")
+    public PasswordHasher passwordHasher(PasswordEncoder passwordEncoder,
+                                         PasswordHashingProperties passwordHashingProperties,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PasswordHasher(passwordEncoder, passwordHashingProperties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
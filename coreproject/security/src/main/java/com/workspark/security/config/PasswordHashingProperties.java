@@ -0,0 +1,44 @@
+package com.workspark.security.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of password hashing, shared by the services storing and checking passwords through the config
+ * service, so that every service hashes with the same cost.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Whether the service hashes passwords, and gets a {@code PasswordEncoder} and a {@code PasswordHasher}.
+     */
+    private boolean enabled;
+
+    /**
+     * BCrypt cost factor, from 4 to 31. Each step doubles the time to hash and to check a password. Passwords
+     * hashed with a lower cost are hashed again with this one at the next sign in.
+     */
+    private int strength = 10;
+
+    /**
+     * Number of threads hashing passwords. Hashing is CPU bound, so more threads than cores only adds latency.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of hashes waiting for a thread. Requests beyond it are rejected at once instead of holding a
+     * request thread.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Maximum time a request waits for its hash, queueing included.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+}
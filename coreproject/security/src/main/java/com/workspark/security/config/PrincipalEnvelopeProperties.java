@@ -0,0 +1,41 @@
+package com.workspark.security.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the signed principal envelope sent by the gateway in the {@code X-Principal} header.
+ * The secret is shared with the gateway (same {@code workspark.principal-envelope.secret} key) through the
+ * config service.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workspark.principal-envelope")
+public class PrincipalEnvelopeProperties {
+
+    /**
+     * Secret used to verify envelopes, at least 32 bytes.
+     */
+    private String secret;
+
+    /**
+     * How {@code UserIdFilter} authenticates users.
+     */
+    private Mode mode = Mode.ENVELOPE_WITH_REDIS_FALLBACK;
+
+    public enum Mode {
+        /**
+         * Authenticate from the envelope only. Requests without an envelope are rejected.
+         */
+        ENVELOPE,
+        /**
+         * Authenticate from the envelope, and look the user up in Redis when the request has none.
+         */
+        ENVELOPE_WITH_REDIS_FALLBACK,
+        /**
+         * Ignore envelopes and look every user up in Redis.
+         */
+        REDIS
+    }
+}
@@ -0,0 +1,75 @@
+package com.workspark.security.filter;
+
+import com.workspark.security.config.PrincipalEnvelopeProperties;
+import com.workspark.securitycore.principal.InvalidPrincipalEnvelopeException;
+import com.workspark.securitycore.principal.PrincipalEnvelope;
+import com.workspark.securitycore.principal.PrincipalEnvelopeCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+
+/**
+ * Verifies the principal envelopes signed by the gateway, without any network call.
+ * The codec is rebuilt whenever the configuration is refreshed.
+ */
+@Slf4j
+@Component
+public class PrincipalEnvelopeVerifier {
+
+    private final PrincipalEnvelopeProperties principalEnvelopeProperties;
+    private volatile PrincipalEnvelopeCodec codec;
+
+    public PrincipalEnvelopeVerifier(PrincipalEnvelopeProperties principalEnvelopeProperties) {
+        this.principalEnvelopeProperties = principalEnvelopeProperties;
+        this.codec = buildCodec(principalEnvelopeProperties);
+    }
+
+    /**
+     * @return true if a secret is configured and envelopes are not ignored
+     */
+    public boolean isEnabled() {
+        return codec != null;
+    }
+
+    /**
+     * Verifies the signature and expiration of an envelope.
+     *
+     * @param value value of the {@code X-Principal} header
+     *
+     * @return the verified envelope
+     * @throws InvalidPrincipalEnvelopeException if the envelope is invalid or no secret is configured
+     */
+    public PrincipalEnvelope verify(String value) {
+        PrincipalEnvelopeCodec currentCodec = codec;
+        if (currentCodec == null) {
+            throw new InvalidPrincipalEnvelopeException("Principal envelope verification is not configured");
+        }
+        return currentCodec.decode(value, Instant.now());
+    }
+
+    /**
+     * Rebuilds the codec once refreshed {@code workspark.principal-envelope.*} properties have been bound.
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        codec = buildCodec(principalEnvelopeProperties);
+        log.info("Principal envelope verification {}.", codec != null ? "enabled" : "disabled");
+    }
+
+    private static PrincipalEnvelopeCodec buildCodec(PrincipalEnvelopeProperties principalEnvelopeProperties) {
+        if (principalEnvelopeProperties.getMode() == PrincipalEnvelopeProperties.Mode.REDIS
+                || !StringUtils.hasText(principalEnvelopeProperties.getSecret())) {
+            return null;
+        }
+        try {
+            return PrincipalEnvelopeCodec.of(principalEnvelopeProperties.getSecret());
+        } catch (IllegalArgumentException e) {
+            log.error("Principal envelope verification disabled: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.workspark.security.filter;
 
 import java.io.IOException;
 import java.io.Serializable;
-import java.util.Enumeration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -11,7 +11,12 @@ import com.workspark.commonconfig.models.entity.RedisAuthUser;
 import com.workspark.commonconfig.service.RedisAuthUserService;
 import com.workspark.models.enums.UserRole;
 import com.workspark.models.response.BaseRes;
+import com.workspark.security.config.PrincipalEnvelopeProperties;
 import com.workspark.security.model.AuthUser;
+import com.workspark.securitycore.WhitelistPathMatcher;
+import com.workspark.securitycore.principal.InvalidPrincipalEnvelopeException;
+import com.workspark.securitycore.principal.PrincipalEnvelope;
+import com.workspark.securitycore.principal.PrincipalEnvelopeCodec;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,14 +30,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Filter for handling authentication based on the "X-UserId" header.
  * This filter checks if the request is whitelisted or contains an internal skip-auth header.
- * If neither condition is met, it validates the user ID against Redis and sets the authentication context.
+ * If neither condition is met, it authenticates the user from the principal envelope signed by the gateway
+ * ("X-Principal" header), verified locally, or by looking the user ID up in Redis, depending on
+ * {@code workspark.principal-envelope.mode}, and sets the authentication context.
  */
 @Component
 @RequiredArgsConstructor
@@ -43,10 +49,14 @@ public class UserIdFilter extends OncePerRequestFilter {
     // Service to fetch RedisAuthUser
     private final RedisAuthUserService redisAuthUserService;
 
+    // Verifies the principal envelope signed by the gateway
+    private final PrincipalEnvelopeVerifier principalEnvelopeVerifier;
+    private final PrincipalEnvelopeProperties principalEnvelopeProperties;
+
     // APIs that do not require authentication
-    private final List<String> whitelistedApis = List.of(
+    private static final WhitelistPathMatcher WHITELISTED_APIS = WhitelistPathMatcher.compile(List.of(
             "/*/public/**"
-    );
+    ));
 
     // ObjectMapper for writing JSON error responses
     private final ObjectMapper objectMapper;
@@ -65,7 +75,7 @@ public class UserIdFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String requestUri = request.getRequestURI();
-        log.info("Processing request: {}", requestUri);
+        log.debug("Processing request: {}", requestUri);
 
         // Bypass authentication for whitelisted APIs
         if (isWhitelistedApi(request)) {
@@ -85,25 +95,18 @@ public class UserIdFilter extends OncePerRequestFilter {
                     Objects.isNull(SecurityContextHolder.getContext().getAuthentication())) {
                 Authentication authentication = new UsernamePasswordAuthenticationToken(systemUser, null, systemUser.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.info("Authentication set for user: {}", systemUser.getUsername());
+                log.debug("Authentication set for user: {}", systemUser.getUsername());
             } else {
                 log.debug("Security context already contains an authentication object.");
             }
-            log.info("Request contains 'X-InternalServiceSkipAuth' header with value 'true', bypassing authentication.");
+            log.debug("Request contains 'X-InternalServiceSkipAuth' header with value 'true', bypassing authentication.");
             filterChain.doFilter(request, response);
             return;
         }
 
         // Retrieve the "X-UserId" header
         String authUserId = request.getHeader("X-UserId");
-        Enumeration<String> headerNames =request.getHeaderNames();
-        // Print headers to the response
-        while (headerNames.hasMoreElements()) {
-            String headerName = headerNames.nextElement();
-            String headerValue = request.getHeader(headerName);
-            log.info("Header: {} = {}", headerName, headerValue);
-        }
-        log.info("Extracted 'X-UserId' header: {}", authUserId);
+        log.debug("Extracted 'X-UserId' header: {}", authUserId);
 
         if (Objects.isNull(authUserId) || authUserId.isEmpty()) {
             log.warn("Missing or empty 'X-UserId' header in request: {}", requestUri);
@@ -111,32 +114,99 @@ public class UserIdFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Fetch user details from Redis
-        Optional<RedisAuthUser> redisAuthUser = redisAuthUserService.getUser(authUserId);
-
-        if (redisAuthUser.isPresent()) {
-            AuthUser user = new AuthUser();
+        AuthUser user;
+        String principalEnvelope = request.getHeader(PrincipalEnvelopeCodec.HEADER);
+        PrincipalEnvelopeProperties.Mode mode = principalEnvelopeProperties.getMode();
+        if (mode != PrincipalEnvelopeProperties.Mode.REDIS && principalEnvelope != null) {
+            // Authenticate from the envelope verified locally, without reading Redis
+            try {
+                user = toAuthUser(principalEnvelopeVerifier.verify(principalEnvelope), authUserId, request.getHeader("X-Tenant"));
+            } catch (InvalidPrincipalEnvelopeException e) {
+                log.warn("Rejected principal envelope for 'X-UserId' {}: {}", authUserId, e.getMessage());
+                sendJsonErrorResponse(response, "Invalid 'X-Principal' header");
+                return;
+            }
+        } else if (mode == PrincipalEnvelopeProperties.Mode.ENVELOPE) {
+            log.warn("Missing 'X-Principal' header in request: {}", requestUri);
+            sendJsonErrorResponse(response, "Missing 'X-Principal' header");
+            return;
+        } else {
+            // Fetch user details from Redis
+            Optional<RedisAuthUser> redisAuthUser = redisAuthUserService.getUser(authUserId);
+            if (redisAuthUser.isEmpty()) {
+                log.warn("No RedisAuthUser found for 'X-UserId': {}", authUserId);
+                sendJsonErrorResponse(response, "No user found for 'X-UserId'");
+                return;
+            }
             log.debug("Found RedisAuthUser for 'X-UserId': {}", authUserId);
+            user = toAuthUser(redisAuthUser.get());
+        }
 
-            // Set authentication if not already set in the SecurityContext
-            if (Objects.nonNull(SecurityContextHolder.getContext()) &&
-                    Objects.isNull(SecurityContextHolder.getContext().getAuthentication())) {
-                Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.info("Authentication set for user: {}", user.getUsername());
-            } else {
-                log.debug("Security context already contains an authentication object.");
-            }
+        // Set authentication if not already set in the SecurityContext
+        if (Objects.nonNull(SecurityContextHolder.getContext()) &&
+                Objects.isNull(SecurityContextHolder.getContext().getAuthentication())) {
+            Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            log.debug("Authentication set for user: {}", user.getUsername());
         } else {
-            log.warn("No RedisAuthUser found for 'X-UserId': {}", authUserId);
-            sendJsonErrorResponse(response, "No user found for 'X-UserId'");
-            return;
+            log.debug("Security context already contains an authentication object.");
         }
 
         // Continue with the filter chain
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the authenticated user from a verified principal envelope.
+     *
+     * @param envelope   The verified envelope.
+     * @param authUserId The "X-UserId" header value, which must match the envelope.
+     * @param tenantName The "X-Tenant" header value, which must match the envelope when both are set.
+     * @return The authenticated user.
+     * @throws InvalidPrincipalEnvelopeException If the envelope was issued for another user or tenant.
+     */
+    private AuthUser toAuthUser(PrincipalEnvelope envelope, String authUserId, String tenantName) {
+        if (!envelope.userId().equals(authUserId)) {
+            throw new InvalidPrincipalEnvelopeException("Principal envelope was not issued for this user");
+        }
+        if (envelope.tenant() != null && tenantName != null && !envelope.tenant().equals(tenantName)) {
+            throw new InvalidPrincipalEnvelopeException("Principal envelope was not issued for this tenant");
+        }
+        List<UserRole> roles = new ArrayList<>(envelope.roles().size());
+        for (String role : envelope.roles()) {
+            try {
+                roles.add(UserRole.valueOf(role));
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring unknown role {} for 'X-UserId': {}", role, authUserId);
+            }
+        }
+        return AuthUser.builder()
+                .id(envelope.id())
+                .email(envelope.email())
+                .roles(roles)
+                .build();
+    }
+
+    /**
+     * Builds the authenticated user from the user details stored in Redis.
+     *
+     * @param redisAuthUser The user details stored in Redis.
+     * @return The authenticated user.
+     */
+    private AuthUser toAuthUser(RedisAuthUser redisAuthUser) {
+        if (redisAuthUser.getAuthUser() == null) {
+            return AuthUser.builder().roles(List.of()).build();
+        }
+        return AuthUser.builder()
+                .id(redisAuthUser.getAuthUser().getId())
+                .firstName(redisAuthUser.getAuthUser().getFirstName())
+                .lastName(redisAuthUser.getAuthUser().getLastName())
+                .phoneNumber(redisAuthUser.getAuthUser().getPhoneNumber())
+                .email(redisAuthUser.getAuthUser().getEmail())
+                .roles(redisAuthUser.getAuthUser().getRoles())
+                .build();
+    }
+
     /**
      * Checks if the request matches any whitelisted API pattern.
      *
@@ -144,10 +214,7 @@ public class UserIdFilter extends OncePerRequestFilter {
      * @return True if the request is whitelisted, false otherwise.
      */
     private boolean isWhitelistedApi(HttpServletRequest request) {
-        log.debug("Checking if the request is whitelisted: {}", request.getRequestURI());
-        String requestUri = request.getRequestURI();
-        AntPathMatcher matcher = new AntPathMatcher();
-        return whitelistedApis.stream().anyMatch(pattern -> matcher.match(pattern, requestUri));
+        return WHITELISTED_APIS.matches(request.getRequestURI());
     }
 
     /**
@@ -0,0 +1,129 @@
+package com.workspark.security.password;
+
+import com.workspark.security.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes and checks passwords on a bounded pool of threads instead of the request threads.
+ *
+ * <p>At most {@code workspark.password-hashing.threads} hashes run at a time and at most
+ * {@code workspark.password-hashing.queue-capacity} wait for a thread; beyond that, and when a hash is not
+ * done within {@code workspark.password-hashing.timeout}, a {@link PasswordHashingUnavailableException} is
+ * thrown, so that a burst of sign ins is shed quickly instead of holding every request thread.</p>
+ *
+ * <p>Published metrics: {@code workspark.password.hashing} timer by operation, the
+ * {@code workspark.password.hashing.queued} and {@code workspark.password.hashing.active} gauges and the
+ * {@code workspark.password.hashing.rejected} counter.</p>
+ */
+@Slf4j
+public class PasswordHasher {
+
+    private static final String METRIC_NAME = "workspark.password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final long timeoutNanos;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, PasswordHashingProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutNanos = properties.getTimeout().toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder(METRIC_NAME).tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder(METRIC_NAME).tag("operation", "matches").register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_NAME + ".rejected").register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".queued", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * Hashes a password.
+     *
+     * @param rawPassword the password
+     * @return the hash to store
+     * @throws PasswordHashingUnavailableException if the hashing threads are saturated
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password against a stored hash.
+     *
+     * @param rawPassword     the password
+     * @param encodedPassword the stored hash
+     * @return whether the password matches
+     * @throws PasswordHashingUnavailableException if the hashing threads are saturated
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Tells whether a stored hash was made with a lower cost than the configured one and should be replaced
+     * once the password is known, typically right after a successful sign in. Does not hash anything.
+     *
+     * @param encodedPassword the stored hash
+     * @return whether the password should be hashed again
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(timer.wrap(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing queue full, rejecting request");
+            throw new PasswordHashingUnavailableException("Too many concurrent password checks, try again later", e);
+        }
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("Password hashing did not complete in time");
+            throw new PasswordHashingUnavailableException("Password check timed out, try again later", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for a password check", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
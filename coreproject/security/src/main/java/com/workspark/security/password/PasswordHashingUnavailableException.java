@@ -0,0 +1,16 @@
+package com.workspark.security.password;
+
+/**
+ * Thrown when a password cannot be hashed or checked in time because the hashing threads are saturated.
+ * The request can be retried later.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
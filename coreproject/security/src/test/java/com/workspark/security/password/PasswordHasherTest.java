@@ -0,0 +1,124 @@
+package com.workspark.security.password;
+
+import com.workspark.security.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (passwordHasher != null) {
+            passwordHasher.close();
+        }
+    }
+
+    @Test
+    void testHashIsCheckedOnTheHashingThreads() {
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), properties(1, 1, Duration.ofSeconds(5)),
+                meterRegistry);
+
+        String hash = passwordHasher.encode("secret");
+
+        assertTrue(passwordHasher.matches("secret", hash));
+        assertFalse(passwordHasher.matches("other", hash));
+        assertEquals(2, meterRegistry.get("workspark.password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void testFullQueueIsRejectedAtOnce() throws Exception {
+        passwordHasher = new PasswordHasher(blockingEncoder(), properties(1, 1, Duration.ofSeconds(30)),
+                meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("first"));
+        awaitGauge("workspark.password.hashing.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("second"));
+        awaitGauge("workspark.password.hashing.queued", 1);
+
+        long startNanos = System.nanoTime();
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordHasher.encode("third"));
+
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(1, meterRegistry.get("workspark.password.hashing.rejected").counter().count());
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSlowHashTimesOut() {
+        passwordHasher = new PasswordHasher(blockingEncoder(), properties(1, 1, Duration.ofMillis(50)),
+                meterRegistry);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordHasher.matches("secret", "hash"));
+
+        assertEquals(1, meterRegistry.get("workspark.password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void testHashOfLowerCostNeedsRehash() {
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(5), properties(1, 1, Duration.ofSeconds(5)),
+                meterRegistry);
+
+        assertTrue(passwordHasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(passwordHasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+        assertFalse(passwordHasher.needsRehash(null));
+    }
+
+    private void awaitGauge(String name, double value) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() != value) {
+            assertTrue(System.nanoTime() < deadline, name + " did not reach " + value);
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Encoder holding its thread until the test releases it.
+     */
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return false;
+            }
+
+            private void await() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private static PasswordHashingProperties properties(int threads, int queueCapacity, Duration timeout) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setTimeout(timeout);
+        return properties;
+    }
+}
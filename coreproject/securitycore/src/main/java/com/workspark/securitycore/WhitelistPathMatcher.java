@@ -0,0 +1,289 @@
+package com.workspark.securitycore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches request paths against a set of Ant-style whitelist patterns compiled once into a segment trie.
+ *
+ * <p>Supported pattern syntax: literal segments, {@code ?} and {@code *} inside a segment, {@code {name}}
+ * (same as {@code *}) and {@code **} for zero or more segments. Regular expressions in template variables
+ * ({@code {name:[a-z]+}}) are rejected. Unlike {@code AntPathMatcher}, empty segments are ignored, so
+ * {@code /a//b/} is matched as {@code /a/b}.</p>
+ *
+ * <p>A compiled matcher is immutable and safe to share between threads. {@link #matches(String)} walks the
+ * path in place and does not allocate: literal segments are looked up by their hash code and compared with
+ * {@link String#regionMatches}, wildcard segments are matched on the path characters directly. To pick up
+ * new patterns, compile a new matcher and swap the reference.</p>
+ */
+public final class WhitelistPathMatcher {
+
+    private static final char SEPARATOR = '/';
+    private static final String ANY_DEPTH = "**";
+
+    private final Node root;
+    private final List<String> patterns;
+
+    private WhitelistPathMatcher(Node root, List<String> patterns) {
+        this.root = root;
+        this.patterns = patterns;
+    }
+
+    /**
+     * Compiles the given patterns. Null and blank patterns are skipped.
+     *
+     * @param patterns Ant-style path patterns
+     *
+     * @return the compiled matcher
+     * @throws IllegalArgumentException if a pattern uses a template variable with a regular expression
+     */
+    public static WhitelistPathMatcher compile(Collection<String> patterns) {
+        Node root = new Node();
+        List<String> compiledPatterns = new ArrayList<>();
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                if (pattern == null || pattern.isBlank()) {
+                    continue;
+                }
+                Node node = root;
+                for (String segment : pattern.trim().split(String.valueOf(SEPARATOR))) {
+                    if (!segment.isEmpty()) {
+                        node = node.child(pattern, segment);
+                    }
+                }
+                node.terminal = true;
+                compiledPatterns.add(pattern);
+            }
+        }
+        root.compact();
+        return new WhitelistPathMatcher(root, List.copyOf(compiledPatterns));
+    }
+
+    /**
+     * Checks if the path matches any of the compiled patterns.
+     *
+     * @param path request path, without query string
+     *
+     * @return true if the path is whitelisted
+     */
+    public boolean matches(String path) {
+        return path != null && matches(root, path, 0);
+    }
+
+    /**
+     * @return the patterns this matcher was compiled from
+     */
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    @Override
+    public String toString() {
+        return "WhitelistPathMatcher" + patterns;
+    }
+
+    private static boolean matches(Node node, String path, int from) {
+        int length = path.length();
+        int start = skipSeparators(path, from);
+        if (start == length) {
+            return node.terminal || (node.anyDepth != null && matches(node.anyDepth, path, start));
+        }
+        int end = segmentEnd(path, start);
+
+        Node literal = node.literal(path, start, end);
+        if (literal != null && matches(literal, path, end)) {
+            return true;
+        }
+
+        for (int i = 0; i < node.globs.length; i++) {
+            if (globMatches(node.globs[i], path, start, end) && matches(node.globNodes[i], path, end)) {
+                return true;
+            }
+        }
+
+        if (node.anyDepth != null) {
+            // "**" consumes zero segments first, then one more on every iteration
+            int next = start;
+            while (true) {
+                if (matches(node.anyDepth, path, next)) {
+                    return true;
+                }
+                next = skipSeparators(path, next);
+                if (next == length) {
+                    return false;
+                }
+                next = segmentEnd(path, next);
+            }
+        }
+        return false;
+    }
+
+    private static int skipSeparators(String path, int index) {
+        while (index < path.length() && path.charAt(index) == SEPARATOR) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int segmentEnd(String path, int start) {
+        int end = path.indexOf(SEPARATOR, start);
+        return end < 0 ? path.length() : end;
+    }
+
+    /**
+     * Matches a single segment ({@code path[start, end)}) against a glob made of literals, {@code ?} and {@code *}.
+     */
+    private static boolean globMatches(String glob, String path, int start, int end) {
+        int globLength = glob.length();
+        int g = 0;
+        int p = start;
+        int star = -1;
+        int starMatch = start;
+        while (p < end) {
+            if (g < globLength && glob.charAt(g) == '*') {
+                star = g++;
+                starMatch = p;
+            } else if (g < globLength && (glob.charAt(g) == '?' || glob.charAt(g) == path.charAt(p))) {
+                g++;
+                p++;
+            } else if (star >= 0) {
+                g = star + 1;
+                p = ++starMatch;
+            } else {
+                return false;
+            }
+        }
+        while (g < globLength && glob.charAt(g) == '*') {
+            g++;
+        }
+        return g == globLength;
+    }
+
+    private static int hash(String path, int start, int end) {
+        // same function as String.hashCode, so it can be compared with the hash of the literal segments
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + path.charAt(i);
+        }
+        return hash;
+    }
+
+    private static final class Node {
+
+        private static final int[] NO_HASHES = new int[0];
+        private static final String[] NO_NAMES = new String[0];
+        private static final Node[] NO_NODES = new Node[0];
+
+        // only used while compiling
+        private Map<String, Node> literalsByName = new HashMap<>();
+        private Map<String, Node> globsByPattern = new LinkedHashMap<>();
+
+        // literal children sorted by hash code
+        private int[] literalHashes = NO_HASHES;
+        private String[] literalNames = NO_NAMES;
+        private Node[] literalNodes = NO_NODES;
+
+        private String[] globs = NO_NAMES;
+        private Node[] globNodes = NO_NODES;
+
+        private Node anyDepth;
+        private boolean terminal;
+
+        private Node child(String pattern, String segment) {
+            if (ANY_DEPTH.equals(segment)) {
+                if (anyDepth == null) {
+                    anyDepth = new Node();
+                }
+                return anyDepth;
+            }
+            String glob = toGlob(pattern, segment);
+            if (glob != null) {
+                return globsByPattern.computeIfAbsent(glob, key -> new Node());
+            }
+            return literalsByName.computeIfAbsent(segment, key -> new Node());
+        }
+
+        /**
+         * Replaces {@code {name}} with {@code *}. Returns null for literal segments.
+         */
+        private static String toGlob(String pattern, String segment) {
+            if (segment.indexOf('*') < 0 && segment.indexOf('?') < 0 && segment.indexOf('{') < 0) {
+                return null;
+            }
+            StringBuilder glob = new StringBuilder(segment.length());
+            int i = 0;
+            while (i < segment.length()) {
+                char c = segment.charAt(i);
+                if (c == '{') {
+                    int close = segment.indexOf('}', i);
+                    if (close < 0) {
+                        throw new IllegalArgumentException("Unclosed template variable in pattern: " + pattern);
+                    }
+                    if (segment.substring(i, close).indexOf(':') >= 0) {
+                        throw new IllegalArgumentException("Template variables with a regular expression are not supported: " + pattern);
+                    }
+                    glob.append('*');
+                    i = close + 1;
+                } else {
+                    glob.append(c);
+                    i++;
+                }
+            }
+            return glob.toString();
+        }
+
+        private void compact() {
+            List<Map.Entry<String, Node>> literals = new ArrayList<>(literalsByName.entrySet());
+            literals.sort(Comparator.comparingInt(entry -> entry.getKey().hashCode()));
+            literalHashes = new int[literals.size()];
+            literalNames = new String[literals.size()];
+            literalNodes = new Node[literals.size()];
+            for (int i = 0; i < literals.size(); i++) {
+                literalHashes[i] = literals.get(i).getKey().hashCode();
+                literalNames[i] = literals.get(i).getKey();
+                literalNodes[i] = literals.get(i).getValue();
+                literalNodes[i].compact();
+            }
+
+            globs = globsByPattern.keySet().toArray(NO_NAMES);
+            globNodes = globsByPattern.values().toArray(NO_NODES);
+            for (Node globNode : globNodes) {
+                globNode.compact();
+            }
+
+            if (anyDepth != null) {
+                anyDepth.compact();
+            }
+            literalsByName = null;
+            globsByPattern = null;
+        }
+
+        private Node literal(String path, int start, int end) {
+            if (literalHashes.length == 0) {
+                return null;
+            }
+            int hash = hash(path, start, end);
+            int index = Arrays.binarySearch(literalHashes, hash);
+            if (index < 0) {
+                return null;
+            }
+            while (index > 0 && literalHashes[index - 1] == hash) {
+                index--;
+            }
+            int length = end - start;
+            for (; index < literalHashes.length && literalHashes[index] == hash; index++) {
+                String name = literalNames[index];
+                if (name.length() == length && path.regionMatches(start, name, 0, length)) {
+                    return literalNodes[index];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.workspark.securitycore.principal;
+
+/**
+ * Thrown when a principal envelope is malformed, expired or not signed with the shared secret.
+ */
+public class InvalidPrincipalEnvelopeException extends RuntimeException {
+
+    public InvalidPrincipalEnvelopeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.workspark.securitycore.principal;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Identity of an authenticated user, taken by the gateway from a verified access token and forwarded to the
+ * services in the {@value PrincipalEnvelopeCodec#HEADER} header.
+ *
+ * @param userId    key of the user in Redis ({@code uuid} claim)
+ * @param id        id of the user in the user service ({@code id} claim), null for tokens issued without one
+ * @param email     email of the user
+ * @param roles     role names of the user
+ * @param tenant    tenant the token was issued for
+ * @param expiresAt instant after which the envelope is rejected
+ */
+public record PrincipalEnvelope(String userId, Long id, String email, List<String> roles, String tenant, Instant expiresAt) {
+
+    public PrincipalEnvelope {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+}
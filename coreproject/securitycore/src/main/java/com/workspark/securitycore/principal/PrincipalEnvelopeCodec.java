@@ -0,0 +1,212 @@
+package com.workspark.securitycore.principal;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Signs and verifies {@link PrincipalEnvelope}s with HMAC-SHA256 and a secret shared by the gateway and the
+ * services.
+ *
+ * <p>The encoded form is {@code v2.<payload>.<signature>}, both parts base64url without padding. The payload
+ * holds the Redis user id, user id, email, tenant, comma separated roles and expiration (epoch seconds)
+ * separated by new lines. The signature covers {@code v2.<payload>}, so that the version cannot be swapped
+ * without invalidating it. Other versions are rejected.</p>
+ *
+ * <p>Verification is local and needs no network call. Besides the returned envelope and its fields, it allocates
+ * copies of the signed part, the payload and the signature, their decoded bytes and the expected signature; the
+ * fields are read in place, without splitting the payload.</p>
+ *
+ * <p>A codec is immutable and safe to share between threads; each thread keeps its own initialized
+ * {@link Mac}.</p>
+ */
+public final class PrincipalEnvelopeCodec {
+
+    /**
+     * Header carrying the encoded envelope from the gateway to the services.
+     */
+    public static final String HEADER = "X-Principal";
+
+    /**
+     * Minimum length of the shared secret, in bytes.
+     */
+    public static final int MIN_SECRET_LENGTH = 32;
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v2";
+    private static final char FIELD_SEPARATOR = '\n';
+    private static final char ROLE_SEPARATOR = ',';
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> macs;
+
+    private PrincipalEnvelopeCodec(SecretKeySpec key) {
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        });
+    }
+
+    /**
+     * Creates a codec for the shared secret.
+     *
+     * @param secret shared secret, at least {@value #MIN_SECRET_LENGTH} bytes once UTF-8 encoded
+     *
+     * @return the codec
+     * @throws IllegalArgumentException if the secret is missing or too short
+     */
+    public static PrincipalEnvelopeCodec of(String secret) {
+        byte[] keyBytes = secret != null ? secret.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (keyBytes.length < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException("Principal envelope secret must be at least " + MIN_SECRET_LENGTH + " bytes");
+        }
+        return new PrincipalEnvelopeCodec(new SecretKeySpec(keyBytes, ALGORITHM));
+    }
+
+    /**
+     * Encodes and signs an envelope.
+     *
+     * @param envelope the envelope to sign
+     *
+     * @return the header value
+     * @throws IllegalArgumentException if a field contains a separator or the user id is missing
+     */
+    public String encode(PrincipalEnvelope envelope) {
+        if (envelope.userId() == null || envelope.userId().isEmpty() || envelope.expiresAt() == null) {
+            throw new IllegalArgumentException("Principal envelope needs a user id and an expiration");
+        }
+        StringBuilder payload = new StringBuilder(128);
+        appendField(payload, envelope.userId());
+        appendField(payload, envelope.id() != null ? envelope.id().toString() : null);
+        appendField(payload, envelope.email());
+        appendField(payload, envelope.tenant());
+        for (int i = 0; i < envelope.roles().size(); i++) {
+            String role = envelope.roles().get(i);
+            if (role.indexOf(ROLE_SEPARATOR) >= 0 || role.indexOf(FIELD_SEPARATOR) >= 0) {
+                throw new IllegalArgumentException("Invalid role name: " + role);
+            }
+            if (i > 0) {
+                payload.append(ROLE_SEPARATOR);
+            }
+            payload.append(role);
+        }
+        payload.append(FIELD_SEPARATOR).append(envelope.expiresAt().getEpochSecond());
+
+        String signedPart = VERSION + '.' + ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+        return signedPart + '.' + ENCODER.encodeToString(sign(signedPart));
+    }
+
+    /**
+     * Verifies the signature and expiration of an encoded envelope.
+     *
+     * @param value the header value
+     * @param now   current time
+     *
+     * @return the verified envelope
+     * @throws InvalidPrincipalEnvelopeException if the value is malformed, not signed with the shared secret or expired
+     */
+    public PrincipalEnvelope decode(String value, Instant now) {
+        if (value == null || !value.startsWith(VERSION + '.')) {
+            throw new InvalidPrincipalEnvelopeException("Unsupported principal envelope");
+        }
+        int payloadStart = VERSION.length() + 1;
+        int signatureStart = value.indexOf('.', payloadStart) + 1;
+        if (signatureStart <= payloadStart) {
+            throw new InvalidPrincipalEnvelopeException("Malformed principal envelope");
+        }
+        String signedPart = value.substring(0, signatureStart - 1);
+        String encodedPayload = signedPart.substring(payloadStart);
+
+        byte[] signature;
+        byte[] payloadBytes;
+        try {
+            signature = DECODER.decode(value.substring(signatureStart));
+            payloadBytes = DECODER.decode(encodedPayload);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPrincipalEnvelopeException("Malformed principal envelope");
+        }
+        if (!MessageDigest.isEqual(sign(signedPart), signature)) {
+            throw new InvalidPrincipalEnvelopeException("Invalid principal envelope signature");
+        }
+
+        String payload = new String(payloadBytes, StandardCharsets.UTF_8);
+        int userIdEnd = fieldEnd(payload, 0);
+        int idEnd = fieldEnd(payload, userIdEnd + 1);
+        int emailEnd = fieldEnd(payload, idEnd + 1);
+        int tenantEnd = fieldEnd(payload, emailEnd + 1);
+        int rolesEnd = fieldEnd(payload, tenantEnd + 1);
+        if (payload.indexOf(FIELD_SEPARATOR, rolesEnd + 1) >= 0) {
+            throw new InvalidPrincipalEnvelopeException("Malformed principal envelope");
+        }
+        Instant expiresAt;
+        Long id;
+        try {
+            expiresAt = Instant.ofEpochSecond(Long.parseLong(payload, rolesEnd + 1, payload.length(), 10));
+            id = idEnd > userIdEnd + 1 ? Long.parseLong(payload, userIdEnd + 1, idEnd, 10) : null;
+        } catch (NumberFormatException e) {
+            throw new InvalidPrincipalEnvelopeException("Malformed principal envelope");
+        }
+        if (!now.isBefore(expiresAt)) {
+            throw new InvalidPrincipalEnvelopeException("Principal envelope expired");
+        }
+        return new PrincipalEnvelope(payload.substring(0, userIdEnd), id, field(payload, idEnd + 1, emailEnd),
+                splitRoles(payload, tenantEnd + 1, rolesEnd), field(payload, emailEnd + 1, tenantEnd), expiresAt);
+    }
+
+    /**
+     * @return the index of the separator ending the field starting at {@code start}
+     */
+    private static int fieldEnd(String payload, int start) {
+        int end = payload.indexOf(FIELD_SEPARATOR, start);
+        if (end < 0) {
+            throw new InvalidPrincipalEnvelopeException("Malformed principal envelope");
+        }
+        return end;
+    }
+
+    private byte[] sign(String signedPart) {
+        return macs.get().doFinal(signedPart.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void appendField(StringBuilder payload, String field) {
+        if (field != null) {
+            if (field.indexOf(FIELD_SEPARATOR) >= 0) {
+                throw new IllegalArgumentException("Principal envelope fields cannot contain new lines");
+            }
+            payload.append(field);
+        }
+        payload.append(FIELD_SEPARATOR);
+    }
+
+    private static String field(String payload, int start, int end) {
+        return end > start ? payload.substring(start, end) : null;
+    }
+
+    private static List<String> splitRoles(String payload, int start, int end) {
+        List<String> roleList = new ArrayList<>();
+        while (start < end) {
+            int roleEnd = payload.indexOf(ROLE_SEPARATOR, start);
+            if (roleEnd < 0 || roleEnd > end) {
+                roleEnd = end;
+            }
+            if (roleEnd > start) {
+                roleList.add(payload.substring(start, roleEnd));
+            }
+            start = roleEnd + 1;
+        }
+        return roleList;
+    }
+}
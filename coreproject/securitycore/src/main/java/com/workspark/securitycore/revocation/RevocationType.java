@@ -0,0 +1,70 @@
+package com.workspark.securitycore.revocation;
+
+/**
+ * What a revocation applies to. Revocations are stored as members of the {@link #REVOKED_TOKENS_KEY} sorted set,
+ * scored by the epoch second after which they can be forgotten, and published on {@link #CHANNEL} once stored.
+ * A member is the prefix of its type followed by the id: {@code uuid:3f2a...} or {@code jti:9c1e...}.
+ */
+public enum RevocationType {
+
+    /**
+     * Every token of a session, identified by the {@code uuid} claim shared by its access and refresh tokens.
+     */
+    SESSION("uuid:"),
+
+    /**
+     * A single token, identified by its {@code jti} claim.
+     */
+    TOKEN("jti:");
+
+    /**
+     * Redis sorted set holding the revocations.
+     */
+    public static final String REVOKED_TOKENS_KEY = "revoked_tokens";
+
+    /**
+     * Redis channel on which revoked members are published.
+     */
+    public static final String CHANNEL = "token-revocation";
+
+    private final String prefix;
+
+    RevocationType(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * @param id the {@code uuid} or {@code jti} claim
+     *
+     * @return the member of the revocation in the sorted set
+     */
+    public String member(String id) {
+        return prefix + id;
+    }
+
+    /**
+     * @param member a member of the sorted set
+     *
+     * @return the type of the member, or null if it has no known prefix
+     */
+    public static RevocationType of(String member) {
+        if (member == null) {
+            return null;
+        }
+        for (RevocationType type : values()) {
+            if (member.startsWith(type.prefix)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param member a member of this type
+     *
+     * @return the id of the member
+     */
+    public String id(String member) {
+        return member.substring(prefix.length());
+    }
+}
@@ -0,0 +1,82 @@
+package com.workspark.securitycore;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WhitelistPathMatcherTest {
+
+    private static final List<String> PATTERNS = List.of(
+            "/*/public/**",
+            "/auth/login",
+            "/files/*.pdf",
+            "/api/{id}/details",
+            "/docs/**/index.html",
+            "/v?/status"
+    );
+
+    private static final List<String> PATHS = List.of(
+            "/auth/public",
+            "/auth/public/validate-token",
+            "/user/public/a/b/c",
+            "/auth/private/validate-token",
+            "/auth/login",
+            "/auth/login/again",
+            "/files/report.pdf",
+            "/files/report.txt",
+            "/files/nested/report.pdf",
+            "/api/42/details",
+            "/api/42/other",
+            "/docs/index.html",
+            "/docs/a/b/index.html",
+            "/docs/a/b/other.html",
+            "/v1/status",
+            "/v10/status",
+            "/",
+            ""
+    );
+
+    @Test
+    void testMatchesLikeAntPathMatcher() {
+        WhitelistPathMatcher matcher = WhitelistPathMatcher.compile(PATTERNS);
+        AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+        for (String path : PATHS) {
+            boolean expected = PATTERNS.stream().anyMatch(pattern -> antPathMatcher.match(pattern, path));
+            assertEquals(expected, matcher.matches(path), path);
+        }
+    }
+
+    @Test
+    void testIgnoresEmptySegments() {
+        WhitelistPathMatcher matcher = WhitelistPathMatcher.compile(List.of("/auth/login"));
+
+        assertTrue(matcher.matches("/auth//login/"));
+    }
+
+    @Test
+    void testLiteralSegmentsWithSameHashCode() {
+        // "Aa" and "BB" share the same String.hashCode
+        WhitelistPathMatcher matcher = WhitelistPathMatcher.compile(List.of("/Aa/public"));
+
+        assertTrue(matcher.matches("/Aa/public"));
+        assertFalse(matcher.matches("/BB/public"));
+    }
+
+    @Test
+    void testEmptyWhitelistMatchesNothing() {
+        WhitelistPathMatcher matcher = WhitelistPathMatcher.compile(null);
+
+        assertFalse(matcher.matches("/auth/public/validate-token"));
+        assertFalse(matcher.matches(null));
+        assertTrue(matcher.getPatterns().isEmpty());
+    }
+
+    @Test
+    void testRejectsTemplateVariableWithRegex() {
+        assertThrows(IllegalArgumentException.class, () -> WhitelistPathMatcher.compile(List.of("/api/{id:[0-9]+}")));
+    }
+}
@@ -0,0 +1,91 @@
+package com.workspark.securitycore.benchmark;
+
+import com.workspark.securitycore.WhitelistPathMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled whitelist matcher with the previous per-request {@link AntPathMatcher} loop.
+ * Run with {@code -prof gc} to check that {@link WhitelistPathMatcher#matches(String)} does not allocate.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.workspark.securitycore.benchmark.WhitelistPathMatcherBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WhitelistPathMatcherBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int patternCount;
+
+    private List<String> patterns;
+    private WhitelistPathMatcher whitelistPathMatcher;
+    private String[] paths;
+
+    @Setup
+    public void setUp() {
+        patterns = new ArrayList<>(patternCount);
+        patterns.add("/*/public/**");
+        for (int i = 1; i < patternCount; i++) {
+            switch (i % 4) {
+                case 0 -> patterns.add("/service" + i + "/public/**");
+                case 1 -> patterns.add("/service" + i + "/api/v1/*/items");
+                case 2 -> patterns.add("/service" + i + "/docs/**/*.html");
+                default -> patterns.add("/service" + i + "/health");
+            }
+        }
+        whitelistPathMatcher = WhitelistPathMatcher.compile(patterns);
+        paths = new String[]{
+                "/auth/public/validate-token",
+                "/service" + (patternCount - 1) + "/health",
+                "/user/api/v1/users/42",
+                "/certificate/api/v1/certificates/generate"
+        };
+    }
+
+    @Benchmark
+    public void compiledMatcher(Blackhole blackhole) {
+        for (String path : paths) {
+            blackhole.consume(whitelistPathMatcher.matches(path));
+        }
+    }
+
+    @Benchmark
+    public void antPathMatcherPerRequest(Blackhole blackhole) {
+        for (String path : paths) {
+            AntPathMatcher matcher = new AntPathMatcher();
+            blackhole.consume(patterns.stream().anyMatch(pattern -> matcher.match(pattern, path)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WhitelistPathMatcherBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.workspark.securitycore.principal;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalEnvelopeCodecTest {
+
+    private static final String SECRET = "a-secret-shared-by-gateway-and-services";
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private final PrincipalEnvelopeCodec codec = PrincipalEnvelopeCodec.of(SECRET);
+
+    @Test
+    void testRoundTrip() {
+        PrincipalEnvelope envelope = new PrincipalEnvelope("redis-user-id", 42L, "jane@acme.com",
+                List.of("ADMIN", "USER"), "acme", NOW.plusSeconds(60));
+
+        assertEquals(envelope, codec.decode(codec.encode(envelope), NOW));
+    }
+
+    @Test
+    void testMissingOptionalFields() {
+        PrincipalEnvelope envelope = new PrincipalEnvelope("redis-user-id", null, null, null, null, NOW.plusSeconds(60));
+
+        PrincipalEnvelope decoded = codec.decode(codec.encode(envelope), NOW);
+
+        assertNull(decoded.id());
+        assertNull(decoded.email());
+        assertNull(decoded.tenant());
+        assertEquals(List.of(), decoded.roles());
+    }
+
+    @Test
+    void testVersionIsSigned() throws Exception {
+        String value = codec.encode(new PrincipalEnvelope("redis-user-id", 42L, null, List.of("USER"), "acme", NOW.plusSeconds(60)));
+        String encodedPayload = value.substring(value.indexOf('.') + 1, value.lastIndexOf('.'));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String payloadOnlySignature = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII)));
+
+        assertThrows(InvalidPrincipalEnvelopeException.class,
+                () -> codec.decode("v2." + encodedPayload + "." + payloadOnlySignature, NOW));
+        assertThrows(InvalidPrincipalEnvelopeException.class,
+                () -> codec.decode("v1." + encodedPayload + value.substring(value.lastIndexOf('.')), NOW));
+    }
+
+    @Test
+    void testExpiredEnvelopeIsRejected() {
+        String value = codec.encode(new PrincipalEnvelope("redis-user-id", null, null, List.of("USER"), "acme", NOW));
+
+        assertThrows(InvalidPrincipalEnvelopeException.class, () -> codec.decode(value, NOW));
+    }
+
+    @Test
+    void testTamperedEnvelopeIsRejected() {
+        String value = codec.encode(new PrincipalEnvelope("redis-user-id", null, null, List.of("USER"), "acme", NOW.plusSeconds(60)));
+        String forged = PrincipalEnvelopeCodec.of(SECRET + "-other")
+                .encode(new PrincipalEnvelope("redis-user-id", null, null, List.of("SUPER_ADMIN"), "acme", NOW.plusSeconds(60)));
+        String swappedPayload = forged.substring(0, forged.lastIndexOf('.')) + value.substring(value.lastIndexOf('.'));
+
+        assertThrows(InvalidPrincipalEnvelopeException.class, () -> codec.decode(forged, NOW));
+        assertThrows(InvalidPrincipalEnvelopeException.class, () -> codec.decode(swappedPayload, NOW));
+        assertThrows(InvalidPrincipalEnvelopeException.class, () -> codec.decode("v1.not-base64!.x", NOW));
+        assertThrows(InvalidPrincipalEnvelopeException.class, () -> codec.decode("v2.not-base64!.x", NOW));
+        assertThrows(InvalidPrincipalEnvelopeException.class, () -> codec.decode("redis-user-id", NOW));
+    }
+
+    @Test
+    void testShortSecretIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PrincipalEnvelopeCodec.of("short"));
+        assertThrows(IllegalArgumentException.class, () -> PrincipalEnvelopeCodec.of(null));
+    }
+}
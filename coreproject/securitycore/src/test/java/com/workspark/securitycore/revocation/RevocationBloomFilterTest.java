@@ -0,0 +1,80 @@
+package com.workspark.securitycore.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationBloomFilterTest {
+
+    @Test
+    void testPutRevocationsAreAlwaysFound() {
+        RevocationBloomFilter filter = RevocationBloomFilter.create(10_000, 0.01);
+        String[] ids = new String[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            filter.put(RevocationType.SESSION, ids[i]);
+        }
+
+        for (String id : ids) {
+            assertTrue(filter.mightContain(RevocationType.SESSION, id));
+        }
+        assertEquals(10_000, filter.getInsertionCount());
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        RevocationBloomFilter filter = RevocationBloomFilter.create(20_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put(RevocationType.TOKEN, UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(RevocationType.TOKEN, UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void testTypesDoNotCollide() {
+        RevocationBloomFilter filter = RevocationBloomFilter.create(100, 0.001);
+        String id = UUID.randomUUID().toString();
+        filter.put(RevocationType.SESSION, id);
+
+        assertTrue(filter.mightContain(RevocationType.SESSION, id));
+        assertFalse(filter.mightContain(RevocationType.TOKEN, id));
+        assertFalse(filter.mightContain(RevocationType.SESSION, null));
+    }
+
+    @Test
+    void testSizing() {
+        RevocationBloomFilter onePercent = RevocationBloomFilter.create(1_000_000, 0.01);
+        RevocationBloomFilter oneInThousand = RevocationBloomFilter.create(1_000_000, 0.001);
+
+        assertEquals(7, onePercent.getHashFunctions());
+        assertEquals(1_198_136, onePercent.memoryBytes());
+        assertEquals(10, oneInThousand.getHashFunctions());
+        assertTrue(oneInThousand.memoryBytes() < 1_800_000);
+    }
+
+    @Test
+    void testInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> RevocationBloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> RevocationBloomFilter.create(100, 1));
+    }
+
+    @Test
+    void testMemberRoundTrip() {
+        String member = RevocationType.TOKEN.member("abc");
+
+        assertEquals("jti:abc", member);
+        assertEquals(RevocationType.TOKEN, RevocationType.of(member));
+        assertEquals("abc", RevocationType.TOKEN.id(member));
+        assertEquals(RevocationType.SESSION, RevocationType.of("uuid:def"));
+        assertNull(RevocationType.of("other:abc"));
+    }
+}
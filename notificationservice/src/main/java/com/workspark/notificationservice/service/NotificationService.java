@@ -7,6 +7,9 @@ import com.workspark.models.enums.NotificationMode;
 import com.workspark.models.pojo.Notification;
 import com.workspark.notificationservice.exceptions.customExceptions.NotificationException;
 import com.workspark.notificationservice.factory.NotificationChannelFactory;
+import com.workspark.observability.tracing.Span;
+import com.workspark.observability.tracing.TraceContext;
+import com.workspark.observability.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.Message;
@@ -18,6 +21,8 @@ import java.util.Set;
 /**
  * This class is responsible for handling notifications received from Redis.
  * It implements the RedisSubService interface and is annotated with @Service.
+ * Handling a notification continues the trace of the publishing request, as the {@code notification.handle} span
+ * with one {@code notification.send} span per channel.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,6 +30,7 @@ import java.util.Set;
 public class NotificationService extends RedisSubServiceImpl {
 
     private final NotificationChannelFactory notificationServiceFactory;
+    private final Tracer tracer;
 
     /**
      * This method is called when a message is received from the Redis channel.
@@ -47,19 +53,45 @@ public class NotificationService extends RedisSubServiceImpl {
         Set<NotificationMode> modes = this.getNotificationModes(notificationDto);
 
         Notification finalNotificationDto = notificationDto;
-        modes.forEach(mode -> {
-            NotificationChannel service = notificationServiceFactory.getChannel(mode);
-            if (service != null) {
-                boolean success = service.send(finalNotificationDto);
-                if (success) {
-                    log.info("{} notification sent successfully", mode);
-                } else {
-                    log.error("Failed to send {} notification", mode);
-                }
+        Span span = tracer.startSpan("notification.handle",
+                TraceContext.parse(notificationDto.getTraceparent(), notificationDto.getRequestId()));
+        try (Tracer.Scope ignored = tracer.activate(span.context())) {
+            modes.forEach(mode -> send(mode, finalNotificationDto));
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Sends the notification through the channel of a mode, recorded as the {@code notification.send} span.
+     *
+     * @param mode            The notification mode
+     * @param notificationDto The notification DTO
+     */
+    private void send(NotificationMode mode, Notification notificationDto) {
+        NotificationChannel service = notificationServiceFactory.getChannel(mode);
+        if (service == null) {
+            log.error("No channel found for mode: {}", mode);
+            return;
+        }
+        Span span = tracer.startSpan("notification.send").tag("mode", mode.name());
+        try {
+            boolean success = service.send(notificationDto);
+            if (success) {
+                log.info("{} notification sent successfully", mode);
             } else {
-                log.error("No channel found for mode: {}", mode);
+                span.tag("outcome", "failed");
+                log.error("Failed to send {} notification", mode);
             }
-        });
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
     }
 
     /**
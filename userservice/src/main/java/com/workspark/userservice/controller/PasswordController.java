@@ -0,0 +1,70 @@
+package com.workspark.userservice.controller;
+
+import com.workspark.models.enums.UserRole;
+import com.workspark.models.request.PasswordChangeRequest;
+import com.workspark.models.request.PasswordUpdateRequest;
+import com.workspark.models.response.BaseRes;
+import com.workspark.security.model.AuthUser;
+import com.workspark.userservice.service.TenantUserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/password")
+public class PasswordController {
+
+    private final TenantUserService tenantUserService;
+
+    /**
+     * Changes the password of the signed in user, or of the given user for an internal service call, once the
+     * current password is checked.
+     */
+    @PutMapping
+    public ResponseEntity<BaseRes<String>> changePassword(@AuthenticationPrincipal AuthUser authUser,
+                                                          @Valid @RequestBody PasswordChangeRequest request) {
+        String email = passwordOwner(authUser, request.getEmail());
+        log.info("Received request to change the password of user: {}", email);
+
+        tenantUserService.changePassword(email, request.getCurrentPassword(), request.getNewPassword());
+
+        return BaseRes.success("Password changed", "Password changed successfully.", HttpStatus.OK);
+    }
+
+    /**
+     * Hashes the password a user just signed in with again, if it was stored with a lower cost. The password is
+     * checked first, so the stored password cannot be changed.
+     */
+    @PutMapping("/rehash")
+    public ResponseEntity<BaseRes<String>> rehashPassword(@Valid @RequestBody PasswordUpdateRequest request) {
+        tenantUserService.rehashPassword(request.getEmail(), request.getPassword());
+
+        return BaseRes.success("Password checked", "Password hashed with the current cost.", HttpStatus.OK);
+    }
+
+    /**
+     * @return the email of the signed in user, or the requested one for an internal service call
+     */
+    private static String passwordOwner(AuthUser authUser, String requestedEmail) {
+        if (authUser == null) {
+            throw new AccessDeniedException("Authentication is required");
+        }
+        if (authUser.getEmail() != null) {
+            return authUser.getEmail();
+        }
+        if (authUser.getRoles() != null && authUser.getRoles().contains(UserRole.SYSTEM) && requestedEmail != null) {
+            return requestedEmail;
+        }
+        throw new AccessDeniedException("The password of this user cannot be changed by the caller");
+    }
+}
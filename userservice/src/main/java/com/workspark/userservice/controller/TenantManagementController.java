@@ -0,0 +1,57 @@
+package com.workspark.userservice.controller;
+
+import com.workspark.models.response.BaseRes;
+import com.workspark.userservice.model.dto.request.TenantOnboardRequest;
+import com.workspark.userservice.model.dto.response.TenantResponse;
+import com.workspark.userservice.service.TenantManagementService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Onboarding and status of the tenants, restricted to super administrators.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/tenant-config")
+@PreAuthorize("hasRole('SUPER_ADMIN')")
+public class TenantManagementController {
+
+    private final TenantManagementService tenantManagementService;
+
+    /**
+     * Onboards a new tenant.
+     */
+    @PostMapping
+    public ResponseEntity<BaseRes<TenantResponse>> onboardTenant(@Valid @RequestBody TenantOnboardRequest request) {
+        log.info("Received request to onboard tenant: {}", request.getTenantName());
+
+        TenantResponse response = tenantManagementService.onboardTenant(request);
+
+        return BaseRes.success(response, "Tenant onboarded successfully.", HttpStatus.CREATED);
+    }
+
+    /**
+     * Enables or disables a tenant.
+     */
+    @PutMapping("/{tenantName}/status")
+    public ResponseEntity<BaseRes<TenantResponse>> updateTenantStatus(@PathVariable String tenantName,
+                                                                      @RequestParam boolean active) {
+        log.info("Received request to set the status of tenant {} to {}", tenantName, active);
+
+        TenantResponse response = tenantManagementService.updateTenantStatus(tenantName, active);
+
+        return BaseRes.success(response, "Tenant status updated successfully.", HttpStatus.OK);
+    }
+}
@@ -1,6 +1,7 @@
 package com.workspark.userservice.exceptions;
 
 import com.workspark.models.response.BaseRes;
+import com.workspark.security.password.PasswordHashingUnavailableException;
 import com.workspark.userservice.exceptions.customExceptions.RouteException;
 import com.workspark.userservice.exceptions.customExceptions.TenantNotFoundException;
 import com.workspark.userservice.exceptions.customExceptions.UserAlreadyExistsException;
@@ -10,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -54,6 +56,24 @@ public class GlobalExceptionHandler {
 		return BaseRes.error(ex.getMessage(),ex.getClass().getSimpleName(),HttpStatus.BAD_REQUEST);
 	}
 
+	/**
+	 * Handles PasswordHashingUnavailableException, raised when too many passwords are being hashed at once.
+	 */
+	@ExceptionHandler(PasswordHashingUnavailableException.class)
+	public ResponseEntity<BaseRes<String>> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex) {
+		log.warn("Password hashing unavailable: {}", ex.getMessage());
+		return BaseRes.error(ex.getMessage(),ex.getClass().getSimpleName(),HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	/**
+	 * Handles AccessDeniedException, raised when the caller may not perform the operation.
+	 */
+	@ExceptionHandler(AccessDeniedException.class)
+	public ResponseEntity<BaseRes<String>> handleAccessDeniedException(AccessDeniedException ex) {
+		log.warn("Access denied: {}", ex.getMessage());
+		return BaseRes.error(ex.getMessage(),ex.getClass().getSimpleName(),HttpStatus.FORBIDDEN);
+	}
+
 	/**
 	 * Handles general uncaught exceptions.
 	 */
@@ -0,0 +1,20 @@
+package com.workspark.userservice.model.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class TenantOnboardRequest {
+
+    @NotBlank
+    private String tenantName;
+
+    /**
+     * First label of the host ({@code acme} for {@code acme.workspark.com}), or a whole host.
+     */
+    @NotBlank
+    private String tenantDomain;
+
+    @NotBlank
+    private String tenantDbSchemaName;
+}
@@ -0,0 +1,15 @@
+package com.workspark.userservice.repo;
+
+import com.workspark.userservice.model.entitity.TenantManagementConfig;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TenantManagementConfigRepository extends JpaRepository<TenantManagementConfig, Long> {
+
+    Optional<TenantManagementConfig> findByTenantName(String tenantName);
+
+    boolean existsByTenantNameOrTenantDomain(String tenantName, String tenantDomain);
+}
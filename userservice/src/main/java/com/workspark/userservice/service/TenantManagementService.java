@@ -0,0 +1,11 @@
+package com.workspark.userservice.service;
+
+import com.workspark.userservice.model.dto.request.TenantOnboardRequest;
+import com.workspark.userservice.model.dto.response.TenantResponse;
+
+public interface TenantManagementService {
+
+	TenantResponse onboardTenant(TenantOnboardRequest request);
+
+	TenantResponse updateTenantStatus(String tenantName, boolean active);
+}
@@ -20,4 +20,8 @@ public interface TenantUserService {
 	SignInResponse updateTenantUser(SignupRequest request);
 
 	SignInResponse deactivateTenantUser(SignupRequest request);
+
+	void changePassword(String email, String currentPassword, String newPassword);
+
+	void rehashPassword(String email, String rawPassword);
 }
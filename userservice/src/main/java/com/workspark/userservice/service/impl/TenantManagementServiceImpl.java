@@ -0,0 +1,78 @@
+package com.workspark.userservice.service.serviceImpl;
+
+import com.workspark.commonconfig.service.TenantConfigPubService;
+import com.workspark.userservice.exceptions.customExceptions.TenantNotFoundException;
+import com.workspark.userservice.model.dto.request.TenantOnboardRequest;
+import com.workspark.userservice.model.dto.response.TenantResponse;
+import com.workspark.userservice.model.entitity.TenantManagementConfig;
+import com.workspark.userservice.repo.TenantManagementConfigRepository;
+import com.workspark.userservice.service.TenantManagementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+
+/**
+ * Onboards tenants in {@code workspark.tenant_config} and enables or disables them.
+ *
+ * <p>Every change is published once saved, so that the services drop their cached schema of the tenant and
+ * migrate it, and the gateway routes its domain, without waiting for a periodic reload.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TenantManagementServiceImpl implements TenantManagementService {
+
+    private final TenantManagementConfigRepository tenantManagementConfigRepository;
+    private final TenantConfigPubService tenantConfigPubService;
+
+    /**
+     * Adds an active tenant.
+     *
+     * @param request the tenant name, domain and database schema
+     * @return the onboarded tenant
+     * @throws IllegalArgumentException if a tenant with the same name or domain exists
+     */
+    @Override
+    public TenantResponse onboardTenant(TenantOnboardRequest request) {
+        if (tenantManagementConfigRepository.existsByTenantNameOrTenantDomain(request.getTenantName(),
+                request.getTenantDomain())) {
+            throw new IllegalArgumentException("A tenant with this name or domain already exists.");
+        }
+        TenantManagementConfig tenant = new TenantManagementConfig();
+        tenant.setTenantName(request.getTenantName());
+        tenant.setTenantDomain(request.getTenantDomain());
+        tenant.setTenantDbSchemaName(request.getTenantDbSchemaName());
+        tenant.setStatus(true);
+        Date now = new Date();
+        tenant.setCreatedAt(now);
+        tenant.setUpdatedAt(now);
+        tenantManagementConfigRepository.save(tenant);
+
+        tenantConfigPubService.publishTenantChanged(tenant.getTenantName());
+        log.info("Onboarded tenant: {}", tenant.getTenantName());
+        return new TenantResponse(tenant.getTenantName());
+    }
+
+    /**
+     * Enables or disables a tenant. A disabled tenant is no longer routed by the gateway nor served by the services.
+     *
+     * @param tenantName the tenant name
+     * @param active     true to enable the tenant
+     * @return the updated tenant
+     * @throws TenantNotFoundException if the tenant does not exist
+     */
+    @Override
+    public TenantResponse updateTenantStatus(String tenantName, boolean active) {
+        TenantManagementConfig tenant = tenantManagementConfigRepository.findByTenantName(tenantName)
+                .orElseThrow(() -> new TenantNotFoundException("Tenant not found."));
+        tenant.setStatus(active);
+        tenant.setUpdatedAt(new Date());
+        tenantManagementConfigRepository.save(tenant);
+
+        tenantConfigPubService.publishTenantChanged(tenantName);
+        log.info("Tenant {} {}", tenantName, active ? "enabled" : "disabled");
+        return new TenantResponse(tenantName);
+    }
+}
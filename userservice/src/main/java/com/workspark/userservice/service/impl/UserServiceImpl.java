@@ -5,6 +5,7 @@ import com.workspark.models.enums.UserRole;
 import com.workspark.models.request.SignupRequest;
 import com.workspark.models.response.BasePageRes;
 import com.workspark.models.response.SignInResponse;
+import com.workspark.security.password.PasswordHasher;
 import com.workspark.userservice.exceptions.customExceptions.UserAlreadyExistsException;
 import com.workspark.userservice.exceptions.customExceptions.UserNotFoundException;
 import com.workspark.userservice.model.dto.TenantUserDto;
@@ -15,7 +16,6 @@ import com.workspark.userservice.repo.TenantUserRolesRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.workspark.userservice.repo.TenantUserRepository;
 import com.workspark.userservice.service.TenantUserService;
@@ -34,7 +34,7 @@ public class TenantUserServiceImpl implements TenantUserService {
     private final TenantUserRepository tenantUserRepository;
     private final TenantUserRolesRepository tenantUserRolesRepository;
     private final TenantUserRolesMapRepository tenantUserRolesMapRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
     /**
      * Adds a new tenant user and assigns roles to the user.
@@ -52,7 +52,7 @@ public class TenantUserServiceImpl implements TenantUserService {
         newUser.setEmail(request.getEmail());
         newUser.setFirstName(request.getFirstName());
         newUser.setLastName(request.getLastName());
-        newUser.setPassword(passwordEncoder.encode(request.getPassword()));  // Make sure to encrypt password
+        newUser.setPassword(passwordHasher.encode(request.getPassword()));  // Make sure to encrypt password
         newUser.setPhoneNumber(request.getPhoneNumber());
         newUser.setStatus(Status.PENDING);
         Date now = new Date();
@@ -177,6 +177,55 @@ public class TenantUserServiceImpl implements TenantUserService {
         return toSigninResponse(user);
     }
 
+    /**
+     * Changes the password of a user after checking the current one.
+     *
+     * @param email           The email of the user.
+     * @param currentPassword The current password.
+     * @param newPassword     The new password.
+     * @throws UserNotFoundException    If the user is not found.
+     * @throws IllegalArgumentException If the current password is incorrect.
+     */
+    @Override
+    public void changePassword(String email, String currentPassword, String newPassword) {
+        TenantUser user = tenantUserRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        if (!passwordHasher.matches(currentPassword, user.getPassword())) {
+            throw new IllegalArgumentException("Current password is incorrect");
+        }
+        user.setPassword(passwordHasher.encode(newPassword));
+        user.setUpdatedAt(new Date());
+        tenantUserRepository.save(user);
+
+        log.info("Changed password of user: {}", email);
+    }
+
+    /**
+     * Hashes the password of a user again with the current cost, if it is correct and was stored with a lower
+     * one.
+     *
+     * @param email       The email of the user.
+     * @param rawPassword The password the user signed in with.
+     * @throws UserNotFoundException    If the user is not found.
+     * @throws IllegalArgumentException If the password is incorrect.
+     */
+    @Override
+    public void rehashPassword(String email, String rawPassword) {
+        TenantUser user = tenantUserRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        if (!passwordHasher.matches(rawPassword, user.getPassword())) {
+            throw new IllegalArgumentException("Password is incorrect");
+        }
+        user.setPassword(passwordHasher.encode(rawPassword));
+        user.setUpdatedAt(new Date());
+        tenantUserRepository.save(user);
+
+        log.info("Hashed the password of user {} with the current cost", email);
+    }
+
     /**
      * Retrieves a tenant user's details by their ID.
      *